@@ -20,6 +20,7 @@ package one.microstream.afs.nio.types;
  * #L%
  */
 
+import static one.microstream.X.mayNull;
 import static one.microstream.X.notNull;
 
 import java.io.IOException;
@@ -61,7 +62,8 @@ public interface NioIoHandler extends AIoHandler
 	{
 		return new NioIoHandler.Default(
 			notNull(writeController),
-			NioPathResolver.New()
+			NioPathResolver.New()  ,
+			null
 		);
 	}
 	
@@ -69,7 +71,8 @@ public interface NioIoHandler extends AIoHandler
 	{
 		return new NioIoHandler.Default(
 			WriteController.Enabled(),
-			pathResolver
+			pathResolver             ,
+			null
 		);
 	}
 	
@@ -80,7 +83,30 @@ public interface NioIoHandler extends AIoHandler
 	{
 		return new NioIoHandler.Default(
 			notNull(writeController),
-			notNull(pathResolver)
+			notNull(pathResolver)  ,
+			null
+		);
+	}
+	
+	/**
+	 * Creates a new {@link NioIoHandler} instance that serves reads of files opened for reading only
+	 * via the passed {@link NioMappedReader}, e.g. {@link NioMappedReader#New()}.
+	 * 
+	 * @param writeController the write controller to be used.
+	 * @param pathResolver the path resolver to be used.
+	 * @param mappedReader the mapped reader to be used or {@literal null} to read all files conventionally.
+	 * @return a new {@link NioIoHandler} instance.
+	 */
+	public static NioIoHandler New(
+		final WriteController writeController,
+		final NioPathResolver pathResolver   ,
+		final NioMappedReader mappedReader
+	)
+	{
+		return new NioIoHandler.Default(
+			notNull(writeController),
+			notNull(pathResolver)  ,
+			mayNull(mappedReader)
 		);
 	}
 	
@@ -93,6 +119,7 @@ public interface NioIoHandler extends AIoHandler
 		////////////////////
 		
 		private final NioPathResolver pathResolver;
+		private final NioMappedReader mappedReader;
 
 		
 		///////////////////////////////////////////////////////////////////////////
@@ -101,7 +128,9 @@ public interface NioIoHandler extends AIoHandler
 		
 		Default(
 			final WriteController writeController,
-			final NioPathResolver pathResolver)
+			final NioPathResolver pathResolver   ,
+			final NioMappedReader mappedReader
+		)
 		{
 			super(
 				writeController,
@@ -113,6 +142,7 @@ public interface NioIoHandler extends AIoHandler
 			);
 			
 			this.pathResolver = pathResolver;
+			this.mappedReader = mappedReader;
 		}
 		
 		
@@ -150,6 +180,29 @@ public interface NioIoHandler extends AIoHandler
 			return super.castWritableFile(file);
 		}
 		
+		private long readMapped(
+			final NioReadableFile sourceFile  ,
+			final ByteBuffer      targetBuffer,
+			final long            position    ,
+			final long            length
+		)
+		{
+			if(this.mappedReader == null || length == 0)
+			{
+				return -1;
+			}
+			
+			return this.mappedReader.read(sourceFile, targetBuffer, position, length);
+		}
+		
+		private void unmap(final NioFileWrapper file)
+		{
+			if(this.mappedReader != null)
+			{
+				this.mappedReader.unmap(file.actual());
+			}
+		}
+		
 		@Override
 		protected Path toSubjectFile(final AFile file)
 		{
@@ -301,6 +354,8 @@ public interface NioIoHandler extends AIoHandler
 		@Override
 		protected boolean specificClose(final NioReadableFile file)
 		{
+			this.unmap(file);
+			
 			return file.closeChannel();
 		}
 
@@ -339,6 +394,7 @@ public interface NioIoHandler extends AIoHandler
 		{
 			// ensure file is opened for writing
 			this.openWriting(targetFile);
+			this.unmap(targetFile);
 
 			try
 			{
@@ -353,6 +409,8 @@ public interface NioIoHandler extends AIoHandler
 		@Override
 		protected boolean specificDeleteFile(final NioWritableFile file)
 		{
+			this.unmap(file);
+			
 			try
 			{
 				return XIO.delete(file.path());
@@ -432,6 +490,12 @@ public interface NioIoHandler extends AIoHandler
 			final long            position
 		)
 		{
+			final long mappedReadCount = this.readMapped(sourceFile, targetBuffer, position, targetBuffer.remaining());
+			if(mappedReadCount >= 0)
+			{
+				return mappedReadCount;
+			}
+			
 			try
 			{
 				return XIO.read(sourceFile.ensureOpenChannel(), targetBuffer, position);
@@ -450,6 +514,12 @@ public interface NioIoHandler extends AIoHandler
 			final long            length
 		)
 		{
+			final long mappedReadCount = this.readMapped(sourceFile, targetBuffer, position, length);
+			if(mappedReadCount >= 0)
+			{
+				return mappedReadCount;
+			}
+			
 			try
 			{
 				return XIO.read(sourceFile.ensureOpenChannel(), targetBuffer, position, length);
@@ -793,6 +863,8 @@ public interface NioIoHandler extends AIoHandler
 			final NioWritableFile targetFile
 		)
 		{
+			this.unmap(sourceFile);
+			
 			try
 			{
 				XIO.move(
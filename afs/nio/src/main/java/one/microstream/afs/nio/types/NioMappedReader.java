@@ -0,0 +1,305 @@
+package one.microstream.afs.nio.types;
+
+/*-
+ * #%L
+ * microstream-afs-nio
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.notNegative;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import one.microstream.afs.types.AFile;
+import one.microstream.collections.HashTable;
+import one.microstream.memory.XMemory;
+
+
+/**
+ * Serves reads of files that are opened for reading only from read-only memory mappings instead of
+ * issuing a {@link FileChannel#read(ByteBuffer, long)} system call for every single read.
+ * <p>
+ * Files opened for writing are never mapped, as their content is subject to change. For a storage, this means
+ * that only the sealed data files are mapped, while the current head file is read conventionally.
+ * A mapping is created lazily on the first read of a file and is recreated if a read exceeds the mapped range
+ * because the file has grown in the meantime. Truncating, deleting, moving or closing a file discards its mapping.
+ * <p>
+ * Note that the JDK provides no official way to release a mapping explicitly. Discarding a mapping releases it
+ * via {@link XMemory#deallocateDirectByteBuffer(ByteBuffer)} if the configured deallocator supports it, otherwise
+ * the mapping is released as soon as the garbage collector collects it.
+ */
+public interface NioMappedReader
+{
+	/**
+	 * Copies {@code length} bytes starting at {@code position} of the passed file into the passed target buffer
+	 * if the file can be served from a mapping.
+	 *
+	 * @param file the file to be read from.
+	 * @param targetBuffer the buffer to receive the read bytes.
+	 * @param position the file position to start reading at.
+	 * @param length the amount of bytes to be read.
+	 * @return the amount of bytes read or a negative value if the file cannot be served from a mapping
+	 *         and has to be read conventionally.
+	 */
+	public long read(NioReadableFile file, ByteBuffer targetBuffer, long position, long length);
+
+	/**
+	 * Discards the mapping of the passed file, if present.
+	 *
+	 * @param file the file whose mapping shall be discarded.
+	 */
+	public void unmap(AFile file);
+
+	/**
+	 * Discards all mappings.
+	 */
+	public void unmapAll();
+
+
+
+	/**
+	 * Creates a new {@link NioMappedReader} instance mapping all read-only files regardless of their size.
+	 *
+	 * @return a new {@link NioMappedReader} instance.
+	 */
+	public static NioMappedReader New()
+	{
+		return New(Defaults.defaultMinimumFileSize());
+	}
+
+	/**
+	 * Creates a new {@link NioMappedReader} instance mapping all read-only files with a size of at least
+	 * {@code minimumFileSize} bytes. Smaller files are read conventionally, as a mapping's setup cost
+	 * would outweigh its benefit.
+	 *
+	 * @param minimumFileSize the minimum file size in bytes for a file to be mapped.
+	 * @return a new {@link NioMappedReader} instance.
+	 */
+	public static NioMappedReader New(final long minimumFileSize)
+	{
+		return new NioMappedReader.Default(
+			notNegative(minimumFileSize)
+		);
+	}
+
+
+
+	public interface Defaults
+	{
+		public static long defaultMinimumFileSize()
+		{
+			return 0L;
+		}
+	}
+
+
+
+	public final class Default implements NioMappedReader
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long                     minimumFileSize;
+		private final HashTable<AFile, Mapping> mappings       ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final long minimumFileSize)
+		{
+			super();
+			this.minimumFileSize = minimumFileSize;
+			this.mappings        = HashTable.New();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public long read(
+			final NioReadableFile file        ,
+			final ByteBuffer      targetBuffer,
+			final long            position    ,
+			final long            length
+		)
+		{
+			if(file instanceof NioWritableFile || targetBuffer.remaining() < length)
+			{
+				// writable files are subject to change and invalid calls are left to the conventional reading logic.
+				return -1;
+			}
+
+			final Mapping mapping = this.ensureMapping(file, position + length);
+			if(mapping == null)
+			{
+				return -1;
+			}
+
+			return mapping.read(targetBuffer, position, length);
+		}
+
+		private Mapping ensureMapping(final NioReadableFile file, final long requiredBound)
+		{
+			synchronized(this.mappings)
+			{
+				final Mapping existing = this.mappings.get(file.actual());
+				if(existing != null && existing.length >= requiredBound)
+				{
+					return existing;
+				}
+
+				final MappedByteBuffer buffer = this.map(file, requiredBound);
+				if(buffer == null)
+				{
+					return null;
+				}
+
+				if(existing != null)
+				{
+					existing.discard();
+				}
+
+				final Mapping mapping = new Mapping(buffer);
+				this.mappings.put(file.actual(), mapping);
+
+				return mapping;
+			}
+		}
+
+		private MappedByteBuffer map(final NioReadableFile file, final long requiredBound)
+		{
+			try
+			{
+				final FileChannel channel = file.ensureOpenChannel();
+				final long        size    = channel.size();
+
+				// MappedByteBuffer is int-indexed, so (rather hypothetical) huge files are read conventionally.
+				if(size < this.minimumFileSize || size < requiredBound || size > Integer.MAX_VALUE)
+				{
+					return null;
+				}
+
+				return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			}
+			catch(final IOException e)
+			{
+				// mapping is a mere optimization. Any actual problem will be reported by the conventional read.
+				return null;
+			}
+		}
+
+		@Override
+		public void unmap(final AFile file)
+		{
+			final Mapping mapping;
+			synchronized(this.mappings)
+			{
+				mapping = this.mappings.removeFor(file);
+			}
+
+			if(mapping != null)
+			{
+				mapping.discard();
+			}
+		}
+
+		@Override
+		public void unmapAll()
+		{
+			synchronized(this.mappings)
+			{
+				this.mappings.values().iterate(Mapping::discard);
+				this.mappings.clear();
+			}
+		}
+
+
+
+		static final class Mapping
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			final long       length;
+			MappedByteBuffer buffer;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			Mapping(final MappedByteBuffer buffer)
+			{
+				super();
+				this.buffer = buffer         ;
+				this.length = buffer.limit();
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			final synchronized long read(final ByteBuffer targetBuffer, final long position, final long length)
+			{
+				if(this.buffer == null)
+				{
+					// discarded concurrently, so the caller has to fall back to conventional reading.
+					return -1;
+				}
+
+				// a duplicate is required to not interfere with concurrent reads regarding position and limit.
+				final ByteBuffer source = this.buffer.duplicate();
+				source.limit((int)(position + length));
+				source.position((int)position);
+
+				// same limit semantics as the conventional reading logic in XIO.
+				targetBuffer.limit((int)(targetBuffer.position() + length));
+				targetBuffer.put(source);
+
+				return length;
+			}
+
+			final synchronized void discard()
+			{
+				if(this.buffer == null)
+				{
+					return;
+				}
+
+				XMemory.deallocateDirectByteBuffer(this.buffer);
+				this.buffer = null;
+			}
+
+		}
+
+	}
+
+}
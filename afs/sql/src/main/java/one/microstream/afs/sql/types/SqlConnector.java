@@ -21,7 +21,10 @@ package one.microstream.afs.sql.types;
  */
 
 import static one.microstream.X.checkArrayRange;
+import static one.microstream.X.mayNull;
 import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.notNegative;
+import static one.microstream.math.XMath.positive;
 
 import java.nio.ByteBuffer;
 import java.sql.Blob;
@@ -33,10 +36,12 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.LongFunction;
 
 import one.microstream.chars.XChars;
@@ -110,6 +115,104 @@ public interface SqlConnector
 			true
 		);
 	}
+	
+	/**
+	 * Creates a new {@link SqlConnector} which uses caching and writes data in JDBC batches of
+	 * {@link Defaults#batchSize()} rows with {@link Defaults#rowSize()} bytes each.
+	 * <p>
+	 * This considerably reduces the round trips to the database for large stores.
+	 * To let the storage channels write concurrently, the provider's {@link javax.sql.DataSource}
+	 * should be a pooling one, so that every channel can use its own connection.
+	 * 
+	 * @param provider the sql provider for the connector, not null
+	 * @return the newly created connector
+	 * @see #New(SqlProvider, boolean, long, int)
+	 */
+	public static SqlConnector Batching(
+		final SqlProvider provider
+	)
+	{
+		return New(
+			provider            ,
+			true                ,
+			Defaults.rowSize()  ,
+			Defaults.batchSize()
+		);
+	}
+	
+	/**
+	 * Creates a new {@link SqlConnector} with the specified writing behavior.
+	 * 
+	 * @param provider the sql provider for the connector, not null
+	 * @param useCache if metadata of files and directories should be cached
+	 * @param rowSize the maximum amount of bytes stored in a single row, or 0 to use the database's
+	 *        maximum blob size
+	 * @param batchSize the amount of rows written in a single JDBC batch, 1 to write every row separately
+	 * @return the newly created connector
+	 */
+	public static SqlConnector New(
+		final SqlProvider provider ,
+		final boolean     useCache ,
+		final long        rowSize  ,
+		final int         batchSize
+	)
+	{
+		return New(provider, useCache, rowSize, batchSize, null);
+	}
+	
+	/**
+	 * Creates a new {@link SqlConnector} with the specified writing behavior and an optional
+	 * {@link SqlReadCache} which holds read rows off-heap to save database round trips for repeated
+	 * and adjacent reads.
+	 * 
+	 * @param provider the sql provider for the connector, not null
+	 * @param useCache if metadata of files and directories should be cached
+	 * @param rowSize the maximum amount of bytes stored in a single row, or 0 to use the database's
+	 *        maximum blob size
+	 * @param batchSize the amount of rows written in a single JDBC batch, 1 to write every row separately
+	 * @param readCache the cache for read rows, may be null
+	 * @return the newly created connector
+	 */
+	public static SqlConnector New(
+		final SqlProvider  provider ,
+		final boolean      useCache ,
+		final long         rowSize  ,
+		final int          batchSize,
+		final SqlReadCache readCache
+	)
+	{
+		return new Default(
+			notNull(provider)   ,
+			useCache            ,
+			notNegative(rowSize),
+			positive(batchSize) ,
+			mayNull(readCache)
+		);
+	}
+	
+	
+	public interface Defaults
+	{
+		/**
+		 * The default row size for batched writing, 1 MB.
+		 * 
+		 * @return the default row size in bytes
+		 */
+		public static long rowSize()
+		{
+			return 1_048_576L;
+		}
+		
+		/**
+		 * The default amount of rows per JDBC batch for batched writing.
+		 * 
+		 * @return the default batch size
+		 */
+		public static int batchSize()
+		{
+			return 32;
+		}
+	}
 
 
 	public static class Default implements SqlConnector
@@ -120,21 +223,38 @@ public interface SqlConnector
 		public final static int END_COLUMN_INDEX        = 3;
 		public final static int DATA_COLUMN_INDEX       = 4;
 
-		private final SqlProvider          provider                         ;
-		private       Long                 maxBlobSize                      ;
-		private final boolean              useCache                         ;
-		private       Set<String>          directoryCache                   ;
-		private final Map<String, Boolean> fileExistsCache = new HashMap<>();
-		private final Map<String, Long>    fileSizeCache   = new HashMap<>();
+		private final    SqlProvider          provider                                   ;
+		private final    boolean              useCache                                   ;
+		private final    long                 rowSize                                    ;
+		private final    int                  batchSize                                  ;
+		private volatile long                 maxBlobSize                                ;
+		private final    SqlReadCache         readCache                                  ;
+		private volatile Set<String>          directoryCache                             ;
+		private final    Map<String, Boolean> fileExistsCache = new ConcurrentHashMap<>();
+		private final    Map<String, Long>    fileSizeCache   = new ConcurrentHashMap<>();
 
 		Default(
 			final SqlProvider provider,
 			final boolean     useCache
 		)
+		{
+			this(provider, useCache, 0L, 1, null);
+		}
+		
+		Default(
+			final SqlProvider  provider ,
+			final boolean      useCache ,
+			final long         rowSize  ,
+			final int          batchSize,
+			final SqlReadCache readCache
+		)
 		{
 			super();
-			this.provider = provider;
-			this.useCache = useCache;
+			this.provider  = provider ;
+			this.useCache  = useCache ;
+			this.rowSize   = rowSize  ;
+			this.batchSize = batchSize;
+			this.readCache = readCache;
 		}
 		
 		private boolean queryFileExists(
@@ -173,6 +293,28 @@ public interface SqlConnector
 		{
 			return this.provider.queryDirectories(connection, null);
 		}
+		
+		private Set<String> ensureDirectoryCache(
+			final Connection connection
+		)
+		throws SQLException
+		{
+			Set<String> directoryCache = this.directoryCache;
+			if(directoryCache == null)
+			{
+				synchronized(this)
+				{
+					if((directoryCache = this.directoryCache) == null)
+					{
+						directoryCache = ConcurrentHashMap.newKeySet();
+						directoryCache.addAll(this.queryDirectories(connection));
+						this.directoryCache = directoryCache;
+					}
+				}
+			}
+			
+			return directoryCache;
+		}
 
 		private void internalVisitDirectories(
 			final SqlPath        directory ,
@@ -186,14 +328,7 @@ public interface SqlConnector
 
 			if(this.useCache)
 			{
-				synchronized(this)
-				{
-					if(this.directoryCache == null)
-					{
-						this.directoryCache = this.queryDirectories(connection);
-					}
-					directories.addAll(this.directoryCache);
-				}
+				directories.addAll(this.ensureDirectoryCache(connection));
 			}
 			else
 			{
@@ -289,22 +424,20 @@ public interface SqlConnector
 				return this.queryFileSize(file, connection);
 			}
 			
-			synchronized(this)
+			final Long cachedFileSize = this.fileSizeCache.get(file.fullQualifiedName());
+			if(cachedFileSize != null)
 			{
-				return this.fileSizeCache.computeIfAbsent(
-					file.fullQualifiedName(),
-					name -> {
-						try
-						{
-							return this.queryFileSize(file, connection);
-						}
-						catch(final SQLException e)
-						{
-							throw new RuntimeException(e);
-						}
-					}
-				);
+				return cachedFileSize;
 			}
+			
+			// queried outside of any lock, concurrent writes to the same file are not possible anyway.
+			final Long fileSize = this.queryFileSize(file, connection);
+			final Long present  = this.fileSizeCache.putIfAbsent(file.fullQualifiedName(), fileSize);
+			
+			return present != null
+				? present
+				: fileSize
+			;
 		}
 
 		private Long queryFileSize(
@@ -339,6 +472,11 @@ public interface SqlConnector
 			final long                     length
 		)
 		{
+			if(this.readCache != null)
+			{
+				return this.cachedReadData(file, bufferProvider, offset, length);
+			}
+			
 			return this.provider.execute(connection ->
 			{
 				final KeyValue<ByteBuffer, Long> kv = this.internalReadData(
@@ -578,6 +716,133 @@ public interface SqlConnector
 			}
 		}
 
+		/*
+		 * Reads the requested range row by row from the read cache. Rows missing in the cache are fetched,
+		 * together with all rows up to the read-ahead size after the requested range, with one query.
+		 * Unlike the uncached reading, the target buffer is filled in order.
+		 */
+		private long cachedReadData(
+			final SqlPath                  file          ,
+			final LongFunction<ByteBuffer> bufferProvider,
+			final long                     offset        ,
+			final long                     length
+		)
+		{
+			final long end = length > 0L
+				? offset + length
+				: this.fileSize(file)
+			;
+			if(end <= offset)
+			{
+				return 0L;
+			}
+			
+			final String                               fileName     = file.fullQualifiedName();
+			final ByteBuffer                           targetBuffer = bufferProvider.apply(end - offset);
+			final NavigableMap<Long, SqlReadCache.Row> fetchedRows  = new TreeMap<>();
+			
+			long position = offset;
+			while(position < end)
+			{
+				SqlReadCache.Row row = lookupRow(fetchedRows, position);
+				if(row == null && (row = this.readCache.lookup(fileName, position)) == null)
+				{
+					this.fetchRows(file, position, end - 1L + this.readCache.readAheadSize(), fetchedRows);
+					if((row = lookupRow(fetchedRows, position)) == null)
+					{
+						// no more data, the file is shorter than the requested range
+						break;
+					}
+				}
+				
+				final int amount = checkArrayRange(Math.min(row.end() + 1L, end) - position);
+				row.copyTo(position, amount, targetBuffer);
+				position += amount;
+			}
+			
+			return position - offset;
+		}
+		
+		private static SqlReadCache.Row lookupRow(
+			final NavigableMap<Long, SqlReadCache.Row> rows    ,
+			final long                                 position
+		)
+		{
+			final Map.Entry<Long, SqlReadCache.Row> entry = rows.floorEntry(position);
+			
+			return entry != null && entry.getValue().end() >= position
+				? entry.getValue()
+				: null
+			;
+		}
+		
+		private void fetchRows(
+			final SqlPath                              file       ,
+			final long                                 from       ,
+			final long                                 to         ,
+			final NavigableMap<Long, SqlReadCache.Row> fetchedRows
+		)
+		{
+			final String fileName = file.fullQualifiedName();
+			final String sql      = this.provider.readDataQueryWithRange(
+				file.parentPath().fullQualifiedName()
+			);
+			this.provider.execute(connection ->
+			{
+				try(final PreparedStatement statement = connection.prepareStatement(sql))
+				{
+					statement.setString(1, file.identifier());
+					statement.setLong  (2, from             );
+					statement.setLong  (3, to               );
+					try(final ResultSet result = statement.executeQuery())
+					{
+						while(result.next())
+						{
+							final long   rowStart = result.getLong(START_COLUMN_INDEX);
+							final long   rowEnd   = result.getLong(END_COLUMN_INDEX);
+							final byte[] data     = this.readRow(result, DATA_COLUMN_INDEX, rowEnd - rowStart + 1L);
+							fetchedRows.put(rowStart, this.readCache.put(fileName, rowStart, data));
+						}
+					}
+				}
+				
+				return null;
+			});
+		}
+		
+		private byte[] readRow(
+			final ResultSet result     ,
+			final int       columnIndex,
+			final long      length
+		)
+		throws SQLException
+		{
+			try
+			{
+				final Blob blob = result.getBlob(columnIndex);
+				try
+				{
+					return blob.getBytes(1, checkArrayRange(length));
+				}
+				finally
+				{
+					blob.free();
+				}
+			}
+			catch(final SQLException e)
+			{
+				return result.getBytes(columnIndex);
+			}
+		}
+		
+		private void invalidateReadCache(final SqlPath file)
+		{
+			if(this.readCache != null)
+			{
+				this.readCache.invalidate(file.fullQualifiedName());
+			}
+		}
+
 		private void readBlob(
 			final ResultSet  result             ,
 			final int        columnIndex        ,
@@ -626,19 +891,31 @@ public interface SqlConnector
 		)
 		throws SQLException
 		{
-			synchronized(this)
+			// racy single-check idiom: querying the metadata more than once is harmless.
+			long maxBlobSize = this.maxBlobSize;
+			if(maxBlobSize == 0L)
 			{
-				if(this.maxBlobSize == null)
-				{
-					final DatabaseMetaData metaData   = connection.getMetaData();
-					final long             maxLobSize = metaData.getMaxLogicalLobSize();
-					this.maxBlobSize = maxLobSize > 0L
-						? maxLobSize
-						: 1048576L // 1MB
-					;
-				}
-				return this.maxBlobSize;
+				final DatabaseMetaData metaData   = connection.getMetaData();
+				final long             maxLobSize = metaData.getMaxLogicalLobSize();
+				this.maxBlobSize = maxBlobSize = maxLobSize > 0L
+					? maxLobSize
+					: 1048576L // 1MB
+				;
 			}
+			return maxBlobSize;
+		}
+		
+		private long rowSize(
+			final Connection connection
+		)
+		throws SQLException
+		{
+			final long maxBlobSize = this.maxBlobSize(connection);
+			
+			return this.rowSize > 0L
+				? Math.min(this.rowSize, maxBlobSize)
+				: maxBlobSize
+			;
 		}
 
 		@Override
@@ -653,15 +930,12 @@ public interface SqlConnector
 				);
 			}
 			
-			synchronized(this)
-			{
-				return this.fileSizeCache.computeIfAbsent(
-					file.fullQualifiedName(),
-					name -> this.provider.execute(
-						connection -> this.queryFileSize(file, connection)
-					)
-				);
-			}
+			return this.fileSizeCache.computeIfAbsent(
+				file.fullQualifiedName(),
+				name -> this.provider.execute(
+					connection -> this.queryFileSize(file, connection)
+				)
+			);
 		}
 
 		@Override
@@ -681,15 +955,12 @@ public interface SqlConnector
 				);
 			}
 			
-			synchronized(this)
-			{
-				return this.fileExistsCache.computeIfAbsent(
-					file.fullQualifiedName(),
-					name -> this.provider.execute(connection ->
-						this.queryFileExists(file, connection)
-					)
-				);
-			}
+			return this.fileExistsCache.computeIfAbsent(
+				file.fullQualifiedName(),
+				name -> this.provider.execute(connection ->
+					this.queryFileExists(file, connection)
+				)
+			);
 		}
 
 		@Override
@@ -702,15 +973,13 @@ public interface SqlConnector
 				);
 			}
 			
-			synchronized(this)
+			Set<String> directoryCache = this.directoryCache;
+			if(directoryCache == null)
 			{
-				if(this.directoryCache == null)
-				{
-					this.directoryCache = this.provider.execute(this::queryDirectories);
-				}
-				
-				return this.directoryCache.contains(directory.fullQualifiedName());
+				directoryCache = this.provider.execute(this::ensureDirectoryCache);
 			}
+			
+			return directoryCache.contains(directory.fullQualifiedName());
 		}
 
 		@Override
@@ -761,9 +1030,10 @@ public interface SqlConnector
 			
 			if(this.useCache && success)
 			{
-				synchronized(this)
+				final Set<String> directoryCache = this.directoryCache;
+				if(directoryCache != null)
 				{
-					this.directoryCache.add(directory.fullQualifiedName());
+					directoryCache.add(directory.fullQualifiedName());
 				}
 			}
 			
@@ -790,12 +1060,10 @@ public interface SqlConnector
 			
 			if(this.useCache)
 			{
-				synchronized(this)
-				{
-					this.fileExistsCache.remove(file.fullQualifiedName());
-					this.fileSizeCache.remove(file.fullQualifiedName());
-				}
+				this.fileExistsCache.remove(file.fullQualifiedName());
+				this.fileSizeCache.remove(file.fullQualifiedName());
 			}
+			this.invalidateReadCache(file);
 			
 			return success;
 		}
@@ -865,63 +1133,197 @@ public interface SqlConnector
 			return this.internalReadData(file, bufferProvider, offset, length);
 		}
 
-		@Override
-		public long writeData(
+		private static long remaining(
+			final Iterable<? extends ByteBuffer> buffers
+		)
+		{
+			long remaining = 0L;
+			for(final ByteBuffer buffer : buffers)
+			{
+				remaining += buffer.remaining();
+			}
+			return remaining;
+		}
+		
+		private long internalWriteData(
 			final SqlPath                        file         ,
-			final Iterable<? extends ByteBuffer> sourceBuffers
+			final Iterable<? extends ByteBuffer> sourceBuffers,
+			final Connection                     connection
 		)
+		throws SQLException
 		{
-			final long written = this.provider.execute(connection ->
+			final String sql = this.provider.writeDataQuery(
+				file.parentPath().fullQualifiedName()
+			);
+
+			final long buffersLength = remaining(sourceBuffers);
+			final long maxRowSize    = Math.min(
+				this.rowSize(connection),
+				buffersLength
+			);
+
+			final ByteBufferInputStream inputStream = ByteBufferInputStream.New(sourceBuffers);
+			final long                  fileSize    = this.internalFileSize(file, connection);
+			      long                  offset      = Math.max(0L, fileSize);
+			      long                  available   = buffersLength;
+			
+			// one statement for all rows, only the parameters change
+			try(final PreparedStatement statement = connection.prepareStatement(sql))
 			{
-				final String sql = this.provider.writeDataQuery(
-					file.parentPath().fullQualifiedName()
-				);
+				while(available > 0)
+				{
+					final long currentRowSize = Math.min(available, maxRowSize);
+					statement.setString(IDENTIFIER_COLUMN_INDEX, file.identifier()          );
+					statement.setLong  (START_COLUMN_INDEX     , offset                     );
+					statement.setLong  (END_COLUMN_INDEX       , offset + currentRowSize - 1);
+					this.provider.setBlob(
+						statement,
+						DATA_COLUMN_INDEX,
+						LimitedInputStream.New(inputStream, currentRowSize),
+						currentRowSize
+					);
+					statement.executeUpdate();
 
-				long buffersLength = 0L;
+					offset    += currentRowSize;
+					available -= currentRowSize;
+				}
+			}
+
+			return buffersLength;
+		}
+		
+		private long internalWriteDataBatched(
+			final SqlPath                        file         ,
+			final Iterable<? extends ByteBuffer> sourceBuffers,
+			final Connection                     connection
+		)
+		throws SQLException
+		{
+			final String sql = this.provider.writeDataQuery(
+				file.parentPath().fullQualifiedName()
+			);
+			
+			final long buffersLength = remaining(sourceBuffers);
+			final long maxRowSize    = Math.min(
+				this.rowSize(connection),
+				buffersLength
+			);
+			
+			final long fileSize = this.internalFileSize(file, connection);
+			      long offset   = Math.max(0L, fileSize);
+			
+			/*
+			 * Drivers may consume the row streams only when the batch is executed,
+			 * so every row gets its own stream over a view of the source buffers' row range.
+			 */
+			final RowSlicer slicer = new RowSlicer(sourceBuffers);
+			
+			try(final PreparedStatement statement = connection.prepareStatement(sql))
+			{
+				int batchedRows = 0;
+				while(slicer.hasRemaining())
+				{
+					final List<ByteBuffer> row            = slicer.nextRow(maxRowSize);
+					final long             currentRowSize = remaining(row);
+					statement.setString(IDENTIFIER_COLUMN_INDEX, file.identifier()          );
+					statement.setLong  (START_COLUMN_INDEX     , offset                     );
+					statement.setLong  (END_COLUMN_INDEX       , offset + currentRowSize - 1);
+					this.provider.setBlob(
+						statement,
+						DATA_COLUMN_INDEX,
+						ByteBufferInputStream.New(row),
+						currentRowSize
+					);
+					statement.addBatch();
+					offset += currentRowSize;
+					
+					if(++batchedRows == this.batchSize)
+					{
+						statement.executeBatch();
+						batchedRows = 0;
+					}
+				}
+				
+				if(batchedRows > 0)
+				{
+					statement.executeBatch();
+				}
+			}
+			
+			// the source buffers count as consumed, like after streaming them.
+			for(final ByteBuffer buffer : sourceBuffers)
+			{
+				buffer.position(buffer.limit());
+			}
+			
+			return buffersLength;
+		}
+		
+		/**
+		 * Splits the remaining bytes of source buffers into consecutive rows of views on these buffers,
+		 * without copying any data and without changing the source buffers' positions.
+		 */
+		static final class RowSlicer
+		{
+			private final List<ByteBuffer> buffers = new ArrayList<>();
+			private       int              index  ;
+			
+			RowSlicer(final Iterable<? extends ByteBuffer> sourceBuffers)
+			{
+				super();
 				for(final ByteBuffer buffer : sourceBuffers)
 				{
-					buffersLength += buffer.remaining();
+					if(buffer.hasRemaining())
+					{
+						this.buffers.add(buffer.duplicate());
+					}
 				}
-				final long maxBatchSize = Math.min(
-					this.maxBlobSize(connection),
-					buffersLength
-				);
-
-				final ByteBufferInputStream inputStream = ByteBufferInputStream.New(sourceBuffers);
-				final long                  fileSize    = this.internalFileSize(file, connection);
-				      long                  offset      = Math.max(0L, fileSize);
-				      long                  available   = buffersLength;
-				while(available > 0)
+			}
+			
+			boolean hasRemaining()
+			{
+				return this.index < this.buffers.size();
+			}
+			
+			List<ByteBuffer> nextRow(final long rowSize)
+			{
+				final List<ByteBuffer> row      = new ArrayList<>();
+				      long             required = rowSize;
+				while(required > 0L && this.hasRemaining())
 				{
-					final long        currentBatchSize = Math.min(available, maxBatchSize);
-					try(final PreparedStatement statement = connection.prepareStatement(sql))
+					final ByteBuffer current = this.buffers.get(this.index);
+					final int        amount  = (int)Math.min(current.remaining(), required);
+					final ByteBuffer slice   = current.duplicate();
+					slice.limit(slice.position() + amount);
+					row.add(slice);
+					
+					current.position(current.position() + amount);
+					if(!current.hasRemaining())
 					{
-						statement.setString(IDENTIFIER_COLUMN_INDEX, file.identifier()            );
-						statement.setLong  (START_COLUMN_INDEX     , offset                       );
-						statement.setLong  (END_COLUMN_INDEX       , offset + currentBatchSize - 1);
-						this.provider.setBlob(
-							statement,
-							DATA_COLUMN_INDEX,
-							LimitedInputStream.New(inputStream, currentBatchSize),
-							currentBatchSize
-						);
-						statement.executeUpdate();
+						this.index++;
 					}
-
-					offset    += currentBatchSize;
-					available -= currentBatchSize;
+					required -= amount;
 				}
+				return row;
+			}
+		}
 
-				return buffersLength;
-			});
+		@Override
+		public long writeData(
+			final SqlPath                        file         ,
+			final Iterable<? extends ByteBuffer> sourceBuffers
+		)
+		{
+			final long written = this.provider.execute(connection ->
+				this.batchSize > 1
+					? this.internalWriteDataBatched(file, sourceBuffers, connection)
+					: this.internalWriteData(file, sourceBuffers, connection)
+			);
 			
 			if(this.useCache)
 			{
-				synchronized(this)
-				{
-					this.fileExistsCache.put(file.fullQualifiedName(), Boolean.TRUE);
-					this.fileSizeCache.merge(file.fullQualifiedName(), written, Math::addExact);
-				}
+				this.fileExistsCache.put(file.fullQualifiedName(), Boolean.TRUE);
+				this.fileSizeCache.merge(file.fullQualifiedName(), written, Math::addExact);
 			}
 			
 			return written;
@@ -981,18 +1383,17 @@ public interface SqlConnector
 			
 			if(this.useCache)
 			{
-				synchronized(this)
+				this.fileExistsCache.put(sourceFile.fullQualifiedName(), Boolean.FALSE);
+				this.fileExistsCache.put(targetFile.fullQualifiedName(), Boolean.TRUE);
+				
+				final Long fileSize = this.fileSizeCache.remove(sourceFile.fullQualifiedName());
+				if(fileSize != null)
 				{
-					this.fileExistsCache.put(sourceFile.fullQualifiedName(), Boolean.FALSE);
-					this.fileExistsCache.put(targetFile.fullQualifiedName(), Boolean.TRUE);
-					
-					final Long fileSize = this.fileSizeCache.remove(sourceFile.fullQualifiedName());
-					if(fileSize != null)
-					{
-						this.fileSizeCache.put(targetFile.fullQualifiedName(), fileSize);
-					}
+					this.fileSizeCache.put(targetFile.fullQualifiedName(), fileSize);
 				}
 			}
+			this.invalidateReadCache(sourceFile);
+			this.invalidateReadCache(targetFile);
 		}
 
 		@Override
@@ -1079,7 +1480,7 @@ public interface SqlConnector
 					this.internalReadData(
 						file,
 						size -> buffer,
-						0L,
+						segmentStart,
 						newSegmentLength,
 						connection
 					);
@@ -1115,11 +1516,9 @@ public interface SqlConnector
 			
 			if(this.useCache)
 			{
-				synchronized(this)
-				{
-					this.fileSizeCache.put(file.fullQualifiedName(), newLength);
-				}
+				this.fileSizeCache.put(file.fullQualifiedName(), newLength);
 			}
+			this.invalidateReadCache(file);
 		}
 
 	}
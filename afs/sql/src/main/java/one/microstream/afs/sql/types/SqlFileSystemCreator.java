@@ -72,10 +72,19 @@ public abstract class SqlFileSystemCreator extends ConfigurationBasedCreator.Abs
 				sqlConfiguration,
 				dataSourceProvider.provideDataSource(sqlConfiguration.detach())
 			);
-			final boolean cache = configuration.optBoolean("cache").orElse(true);
-			return SqlFileSystem.New(cache
-				? SqlConnector.Caching(sqlProvider)
-				: SqlConnector.New(sqlProvider)
+			final boolean cache         = configuration.optBoolean("cache").orElse(true);
+			final long    rowSize       = sqlConfiguration.optLong("row-size").orElse(0L);
+			final int     batchSize     = sqlConfiguration.optInteger("batch-size").orElse(1);
+			final long    readCacheSize = sqlConfiguration.optLong("read-cache-size").orElse(0L);
+			final long    readAheadSize = sqlConfiguration.optLong("read-ahead-size")
+				.orElse(SqlReadCache.Defaults.readAheadSize())
+			;
+			final SqlReadCache readCache = readCacheSize > 0L
+				? SqlReadCache.New(readCacheSize, readAheadSize)
+				: null
+			;
+			return SqlFileSystem.New(
+				SqlConnector.New(sqlProvider, cache, rowSize, batchSize, readCache)
 			);
 		}
 		catch(InstantiationException | IllegalAccessException |
@@ -427,9 +427,14 @@ public interface SqlProvider
 				{
 					final byte[] bytes = new byte[checkArrayRange(length)];
 					int offset = 0;
-					while(offset < bytes.length - 1)
+					while(offset < bytes.length)
 					{
-						offset += inputStream.read(bytes, offset, bytes.length - offset);
+						final int read = inputStream.read(bytes, offset, bytes.length - offset);
+						if(read < 0)
+						{
+							throw new IOException("Unexpected end of stream: " + offset + " < " + bytes.length);
+						}
+						offset += read;
 					}
 					statement.setBytes(index, bytes);
 				}
@@ -0,0 +1,430 @@
+package one.microstream.afs.sql.types;
+
+/*-
+ * #%L
+ * microstream-afs-sql
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.notNegative;
+import static one.microstream.math.XMath.positive;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+
+/**
+ * Size-bounded cache for data rows read by a {@link SqlConnector}.
+ * <p>
+ * Rows are identified by the file's full qualified name and the row's start position.
+ * Their data is held off-heap in direct buffers. If the cache exceeds its maximum size,
+ * the least recently used rows are evicted.
+ * <p>
+ * Rows are never changed once written, data is only appended in new rows.
+ * So only operations which remove or replace rows, like deleting, moving or truncating files,
+ * invalidate the cached rows of a file.
+ */
+public interface SqlReadCache
+{
+	/**
+	 * The maximum amount of bytes held by this cache.
+	 * 
+	 * @return the maximum size in bytes
+	 */
+	public long maximumSize();
+	
+	/**
+	 * The amount of bytes after a requested range which is read in addition when a read misses the cache.
+	 * All rows overlapping that range are fetched with the same query.
+	 * 
+	 * @return the read-ahead size in bytes
+	 */
+	public long readAheadSize();
+	
+	/**
+	 * The amount of bytes currently held by this cache.
+	 * 
+	 * @return the current size in bytes
+	 */
+	public long size();
+	
+	public long hitCount();
+	
+	public long missCount();
+	
+	public long evictionCount();
+	
+	public default double hitRate()
+	{
+		final long hitCount     = this.hitCount();
+		final long requestCount = hitCount + this.missCount();
+		
+		return requestCount == 0L
+			? 0.0
+			: (double)hitCount / requestCount
+		;
+	}
+	
+	/**
+	 * Looks up the cached row of the specified file which contains the specified position.
+	 * 
+	 * @param file the file's full qualified name
+	 * @param position the position in the file
+	 * @return the cached row or <code>null</code>
+	 */
+	public Row lookup(String file, long position);
+	
+	/**
+	 * Caches the data of a row. Rows larger than the maximum size are not cached.
+	 * 
+	 * @param file the file's full qualified name
+	 * @param start the row's start position in the file
+	 * @param data the row's data
+	 * @return the row, regardless of whether it was cached or not
+	 */
+	public Row put(String file, long start, byte[] data);
+	
+	/**
+	 * Removes all cached rows of the specified file.
+	 * 
+	 * @param file the file's full qualified name
+	 */
+	public void invalidate(String file);
+	
+	public void clear();
+	
+	
+	
+	/**
+	 * Creates a new {@link SqlReadCache} with a read-ahead size of {@link Defaults#readAheadSize()}.
+	 * 
+	 * @param maximumSize the maximum amount of bytes held by the cache
+	 * @return the newly created cache
+	 */
+	public static SqlReadCache New(
+		final long maximumSize
+	)
+	{
+		return New(
+			maximumSize             ,
+			Defaults.readAheadSize()
+		);
+	}
+	
+	/**
+	 * Creates a new {@link SqlReadCache}.
+	 * 
+	 * @param maximumSize the maximum amount of bytes held by the cache
+	 * @param readAheadSize the amount of bytes read in addition after a range which missed the cache
+	 * @return the newly created cache
+	 */
+	public static SqlReadCache New(
+		final long maximumSize  ,
+		final long readAheadSize
+	)
+	{
+		return new Default(
+			positive(maximumSize)     ,
+			notNegative(readAheadSize)
+		);
+	}
+	
+	
+	public interface Defaults
+	{
+		/**
+		 * The default read-ahead size, 1 MB.
+		 * 
+		 * @return the default read-ahead size in bytes
+		 */
+		public static long readAheadSize()
+		{
+			return 1_048_576L;
+		}
+	}
+	
+	
+	/**
+	 * A row's data, held in a direct buffer if it is cached.
+	 */
+	public final class Row
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final String     file ;
+		private final long       start;
+		private final ByteBuffer data ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Row(
+			final String     file ,
+			final long       start,
+			final ByteBuffer data
+		)
+		{
+			super();
+			this.file  = file ;
+			this.start = start;
+			this.data  = data ;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		public long start()
+		{
+			return this.start;
+		}
+		
+		/**
+		 * @return the row's last position in the file (inclusive), like the 'end' column
+		 */
+		public long end()
+		{
+			return this.start + this.data.capacity() - 1L;
+		}
+		
+		public int length()
+		{
+			return this.data.capacity();
+		}
+		
+		/**
+		 * Copies the row's data from the specified file position on into the target buffer.
+		 * 
+		 * @param position the file position to start copying from
+		 * @param length the amount of bytes to copy
+		 * @param target the target buffer
+		 */
+		public void copyTo(
+			final long       position,
+			final int        length  ,
+			final ByteBuffer target
+		)
+		{
+			final int        offset = (int)(position - this.start);
+			final ByteBuffer source = this.data.duplicate();
+			source.limit(offset + length).position(offset);
+			target.put(source);
+		}
+		
+	}
+	
+	
+	public static class Default implements SqlReadCache
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final long                                 maximumSize  ;
+		private final long                                 readAheadSize;
+		private final Map<String, NavigableMap<Long, Row>> files        ;
+		private final LinkedHashMap<Row, Row>              rows         ;
+		private       long                                 size         ;
+		private       long                                 hitCount     ;
+		private       long                                 missCount    ;
+		private       long                                 evictionCount;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Default(
+			final long maximumSize  ,
+			final long readAheadSize
+		)
+		{
+			super();
+			this.maximumSize   = maximumSize    ;
+			this.readAheadSize = readAheadSize  ;
+			this.files         = new HashMap<>();
+			// access-ordered for LRU eviction, rows are identity keys
+			this.rows          = new LinkedHashMap<>(16, 0.75f, true);
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public long maximumSize()
+		{
+			return this.maximumSize;
+		}
+		
+		@Override
+		public long readAheadSize()
+		{
+			return this.readAheadSize;
+		}
+		
+		@Override
+		public synchronized long size()
+		{
+			return this.size;
+		}
+		
+		@Override
+		public synchronized long hitCount()
+		{
+			return this.hitCount;
+		}
+		
+		@Override
+		public synchronized long missCount()
+		{
+			return this.missCount;
+		}
+		
+		@Override
+		public synchronized long evictionCount()
+		{
+			return this.evictionCount;
+		}
+		
+		@Override
+		public synchronized Row lookup(
+			final String file    ,
+			final long   position
+		)
+		{
+			final NavigableMap<Long, Row> fileRows = this.files.get(notNull(file));
+			if(fileRows != null)
+			{
+				final Map.Entry<Long, Row> entry = fileRows.floorEntry(position);
+				if(entry != null && entry.getValue().end() >= position)
+				{
+					// updates the access order
+					this.rows.get(entry.getValue());
+					this.hitCount++;
+					return entry.getValue();
+				}
+			}
+			
+			this.missCount++;
+			return null;
+		}
+		
+		@Override
+		public Row put(
+			final String file ,
+			final long   start,
+			final byte[] data
+		)
+		{
+			// a row that is never cached is not worth a direct buffer, which only the garbage collector would release
+			if(data.length > this.maximumSize)
+			{
+				return new Row(notNull(file), start, ByteBuffer.wrap(data).asReadOnlyBuffer());
+			}
+			
+			// copied to off-heap memory outside of the lock
+			final ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+			buffer.put(data).clear();
+			final Row row = new Row(notNull(file), start, buffer.asReadOnlyBuffer());
+			
+			synchronized(this)
+			{
+				final Row replaced = this.files
+					.computeIfAbsent(file, f -> new TreeMap<>())
+					.put(start, row)
+				;
+				if(replaced != null)
+				{
+					this.rows.remove(replaced);
+					this.size -= replaced.length();
+				}
+				this.rows.put(row, row);
+				this.size += row.length();
+				
+				this.evict();
+			}
+			
+			return row;
+		}
+		
+		private void evict()
+		{
+			while(this.size > this.maximumSize)
+			{
+				final Row eldest = this.rows.keySet().iterator().next();
+				this.remove(eldest);
+				this.evictionCount++;
+			}
+		}
+		
+		private void remove(final Row row)
+		{
+			this.rows.remove(row);
+			this.size -= row.length();
+			
+			final NavigableMap<Long, Row> fileRows = this.files.get(row.file);
+			if(fileRows != null && fileRows.get(row.start) == row)
+			{
+				fileRows.remove(row.start);
+				if(fileRows.isEmpty())
+				{
+					this.files.remove(row.file);
+				}
+			}
+		}
+		
+		@Override
+		public synchronized void invalidate(final String file)
+		{
+			final NavigableMap<Long, Row> fileRows = this.files.remove(notNull(file));
+			if(fileRows != null)
+			{
+				for(final Row row : fileRows.values())
+				{
+					this.rows.remove(row);
+					this.size -= row.length();
+				}
+			}
+		}
+		
+		@Override
+		public synchronized void clear()
+		{
+			this.files.clear();
+			this.rows.clear();
+			this.size = 0L;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,338 @@
+package one.microstream.afs.sql.types;
+
+/*-
+ * #%L
+ * microstream-afs-sql
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.sqlite.SQLiteDataSource;
+
+
+@DisplayName("Check the batched and non-batched writing of the SQL connector with SQLite")
+public class SqlConnectorBatchingTest
+{
+	private static final SqlPath DIRECTORY = SqlPath.New("channel_0");
+	private static final SqlPath FILE      = SqlPath.New("channel_0", "channel_0_1.dat");
+
+	@TempDir
+	Path directory;
+
+	private SqlProvider   provider   ;
+	private AtomicInteger updateCount;
+	private AtomicInteger batchCount ;
+
+	@BeforeEach
+	public void setUp()
+	{
+		final SQLiteDataSource dataSource = new SQLiteDataSource();
+		dataSource.setUrl("jdbc:sqlite:" + this.directory.resolve("storage.db"));
+
+		this.updateCount = new AtomicInteger();
+		this.batchCount  = new AtomicInteger();
+		this.provider    = SqlProviderSqlite.New(this.countingWrites(dataSource));
+		SqlConnector.New(this.provider).createDirectory(DIRECTORY);
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+		// batchSize, rowSize, length
+		"1, 1000, 7500",
+		"3, 1000, 7500",
+		"3, 1000, 6000",
+		"3, 1000, 999" ,
+		"8, 1000, 7500",
+	})
+	public void shouldWriteDataEndingMidRow(
+		final int  batchSize,
+		final long rowSize  ,
+		final int  length
+	)
+	{
+		final SqlConnector connector = this.connector(rowSize, batchSize);
+		final byte[]       data      = data(0, length);
+
+		final long written = connector.writeData(FILE, split(data, 2300, 4100));
+
+		Assertions.assertEquals(length, written);
+		Assertions.assertEquals(length, connector.fileSize(FILE));
+		Assertions.assertArrayEquals(data, read(connector, FILE, 0, length));
+		this.assertRows(length, rowSize);
+		this.assertRoundTrips(batchSize, rowCount(length, rowSize));
+	}
+
+	@ParameterizedTest
+	@CsvSource({"1", "3"})
+	public void shouldAppendToFileEndingMidRow(final int batchSize)
+	{
+		final SqlConnector connector = this.connector(1000, batchSize);
+		final byte[]       first     = data(0, 1500);
+		final byte[]       second    = data(1500, 2250);
+
+		connector.writeData(FILE, split(first, 700));
+		connector.writeData(FILE, split(second, 1800));
+
+		final byte[] expected = Arrays.copyOf(first, 3750);
+		System.arraycopy(second, 0, expected, 1500, second.length);
+
+		Assertions.assertEquals(3750, connector.fileSize(FILE));
+		Assertions.assertArrayEquals(expected, read(connector, FILE, 0, 3750));
+		Assertions.assertArrayEquals(
+			Arrays.copyOfRange(expected, 1400, 2600),
+			read(connector, FILE, 1400, 1200)
+		);
+
+		final List<long[]> rows = this.rows();
+		Assertions.assertEquals(5, rows.size());
+		Assertions.assertArrayEquals(new long[]{1000L, 1499L, 500L}, rows.get(1));
+		Assertions.assertArrayEquals(new long[]{1500L, 2499L, 1000L}, rows.get(2));
+		Assertions.assertArrayEquals(new long[]{3500L, 3749L, 250L}, rows.get(4));
+	}
+
+	@Test
+	public void shouldWriteWithFewerRoundTripsWhenBatched()
+	{
+		final int    length  = 2 * 1_048_576 + 12_345;
+		final long   rowSize = 16_384L;
+		final byte[] data    = data(0, length);
+		final int    rows    = rowCount(length, rowSize);
+
+		this.connector(rowSize, 1).writeData(FILE, split(data, 100_000, 1_000_000));
+		Assertions.assertEquals(rows, this.updateCount.get());
+		Assertions.assertEquals(0   , this.batchCount.get());
+
+		final SqlPath batchedFile = SqlPath.New("channel_0", "channel_0_2.dat");
+		this.updateCount.set(0);
+		final SqlConnector batching = this.connector(rowSize, 32);
+		batching.writeData(batchedFile, split(data, 100_000, 1_000_000));
+		Assertions.assertEquals(0               , this.updateCount.get());
+		Assertions.assertEquals((rows + 31) / 32, this.batchCount.get());
+		Assertions.assertEquals(length          , batching.fileSize(batchedFile));
+		Assertions.assertArrayEquals(data, read(batching, batchedFile, 0, length));
+	}
+
+	private SqlConnector connector(final long rowSize, final int batchSize)
+	{
+		return SqlConnector.New(this.provider, false, rowSize, batchSize);
+	}
+
+	private void assertRows(final long length, final long rowSize)
+	{
+		final List<long[]> rows = this.rows();
+		Assertions.assertEquals(rowCount(length, rowSize), rows.size());
+
+		long expectedStart = 0L;
+		for(final long[] row : rows)
+		{
+			Assertions.assertEquals(expectedStart, row[0]);
+			Assertions.assertTrue(row[1] - row[0] + 1 <= rowSize);
+			Assertions.assertEquals(row[1] - row[0] + 1, row[2]);
+			expectedStart = row[1] + 1;
+		}
+		Assertions.assertEquals(length, expectedStart);
+	}
+
+	private void assertRoundTrips(final int batchSize, final int rowCount)
+	{
+		if(batchSize > 1)
+		{
+			Assertions.assertEquals(0                                     , this.updateCount.get());
+			Assertions.assertEquals((rowCount + batchSize - 1) / batchSize, this.batchCount.get());
+		}
+		else
+		{
+			Assertions.assertEquals(rowCount, this.updateCount.get());
+			Assertions.assertEquals(0       , this.batchCount.get());
+		}
+	}
+
+	/**
+	 * @return start, end and data length of all rows of the file, ordered by start
+	 */
+	private List<long[]> rows()
+	{
+		final String sql = this.provider.readDataQuery(FILE.parentPath().fullQualifiedName());
+		return this.provider.execute(connection ->
+		{
+			final List<long[]> rows = new ArrayList<>();
+			try(final PreparedStatement statement = connection.prepareStatement(sql))
+			{
+				statement.setString(1, FILE.identifier());
+				try(final ResultSet result = statement.executeQuery())
+				{
+					while(result.next())
+					{
+						rows.add(new long[]{
+							result.getLong(2),
+							result.getLong(3),
+							result.getBytes(4).length
+						});
+					}
+				}
+			}
+			rows.sort(Comparator.comparingLong(row -> row[0]));
+			return rows;
+		});
+	}
+
+	private DataSource countingWrites(final DataSource dataSource)
+	{
+		final String writeSql = SqlProviderSqlite.New(dataSource).writeDataQuery(
+			FILE.parentPath().fullQualifiedName()
+		);
+
+		final InvocationHandler dataSourceHandler = (proxy, method, args) ->
+		{
+			final Object result = invoke(method, dataSource, args);
+			return result instanceof Connection
+				? proxy(Connection.class, this.countingConnection((Connection)result, writeSql))
+				: result
+			;
+		};
+		return proxy(DataSource.class, dataSourceHandler);
+	}
+
+	private InvocationHandler countingConnection(final Connection connection, final String writeSql)
+	{
+		return (proxy, method, args) ->
+		{
+			final Object result = invoke(method, connection, args);
+			if(result instanceof PreparedStatement && writeSql.equals(args[0]))
+			{
+				final PreparedStatement statement = (PreparedStatement)result;
+				return proxy(PreparedStatement.class, (InvocationHandler)(p, m, a) ->
+				{
+					if(m.getName().equals("executeUpdate") && m.getParameterCount() == 0)
+					{
+						this.updateCount.incrementAndGet();
+					}
+					else if(m.getName().equals("executeBatch"))
+					{
+						this.batchCount.incrementAndGet();
+					}
+					return invoke(m, statement, a);
+				});
+			}
+			return result;
+		};
+	}
+
+	private static Object invoke(
+		final Method   method,
+		final Object   target,
+		final Object[] args  
+	)
+		throws Throwable
+	{
+		try
+		{
+			return method.invoke(target, args);
+		}
+		catch(final InvocationTargetException e)
+		{
+			throw e.getCause();
+		}
+	}
+
+	private static <T> T proxy(final Class<T> type, final InvocationHandler handler)
+	{
+		return type.cast(Proxy.newProxyInstance(
+			SqlConnectorBatchingTest.class.getClassLoader(),
+			new Class<?>[]{type},
+			handler
+		));
+	}
+
+	private static int rowCount(final long length, final long rowSize)
+	{
+		return (int)((length + rowSize - 1) / rowSize);
+	}
+
+	private static byte[] data(final int offset, final int length)
+	{
+		final byte[] data = new byte[length];
+		for(int i = 0; i < length; i++)
+		{
+			data[i] = (byte)((offset + i) * 31 % 251);
+		}
+		return data;
+	}
+
+	/**
+	 * Splits the data into direct buffers at the specified positions, so that rows span buffers.
+	 */
+	private static List<ByteBuffer> split(final byte[] data, final int... positions)
+	{
+		final List<ByteBuffer> buffers = new ArrayList<>();
+		int start = 0;
+		for(final int position : positions)
+		{
+			if(position > start && position < data.length)
+			{
+				buffers.add(direct(data, start, position));
+				start = position;
+			}
+		}
+		buffers.add(direct(data, start, data.length));
+		return buffers;
+	}
+
+	private static ByteBuffer direct(final byte[] data, final int from, final int to)
+	{
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(to - from);
+		buffer.put(data, from, to - from).flip();
+		return buffer;
+	}
+
+	private static byte[] read(
+		final SqlConnector connector,
+		final SqlPath      file     ,
+		final long         offset   ,
+		final int          length
+	)
+	{
+		final ByteBuffer buffer = connector.readData(file, offset, length);
+		final byte[]     bytes  = new byte[buffer.remaining()];
+		buffer.get(bytes);
+		return bytes;
+	}
+
+}
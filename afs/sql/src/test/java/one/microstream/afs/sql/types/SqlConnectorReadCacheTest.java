@@ -0,0 +1,234 @@
+package one.microstream.afs.sql.types;
+
+/*-
+ * #%L
+ * microstream-afs-sql
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.sqlite.SQLiteDataSource;
+
+
+@DisplayName("Check the truncation and the read cache invalidation of the SQL connector with SQLite")
+public class SqlConnectorReadCacheTest
+{
+	private static final SqlPath DIRECTORY       = SqlPath.New("channel_0");
+	private static final SqlPath OTHER_DIRECTORY = SqlPath.New("channel_1");
+	private static final SqlPath FILE            = SqlPath.New("channel_0", "channel_0_1.dat");
+	private static final int     ROW_SIZE        = 1000;
+	private static final int     LENGTH          = 3500;
+
+	@TempDir
+	Path directory;
+
+	private SqlProvider  provider ;
+	private SqlReadCache readCache;
+	private SqlConnector connector;
+
+	@BeforeEach
+	public void setUp()
+	{
+		final SQLiteDataSource dataSource = new SQLiteDataSource();
+		dataSource.setUrl("jdbc:sqlite:" + this.directory.resolve("storage.db"));
+
+		this.provider  = SqlProviderSqlite.New(dataSource);
+		this.readCache = SqlReadCache.New(1_048_576);
+		this.connector = SqlConnector.New(this.provider, true, ROW_SIZE, 1, this.readCache);
+		this.connector.createDirectory(DIRECTORY);
+		this.connector.createDirectory(OTHER_DIRECTORY);
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+		"1   , true" ,
+		"999 , true" ,
+		"1000, true" ,
+		"1001, true" ,
+		"2345, true" ,
+		"3499, true" ,
+		"1, false"   ,
+		"2345, false",
+		"3499, false",
+	})
+	public void shouldTruncateWithinRow(final int newLength, final boolean useReadCache)
+	{
+		final SqlConnector connector = useReadCache
+			? this.connector
+			: SqlConnector.New(this.provider, true, ROW_SIZE, 1)
+		;
+		final byte[] data = data(0, LENGTH);
+		connector.writeData(FILE, Arrays.asList(ByteBuffer.wrap(data)));
+		Assertions.assertArrayEquals(data, read(connector, FILE, 0, LENGTH));
+
+		connector.truncateFile(FILE, newLength);
+
+		Assertions.assertEquals(newLength, connector.fileSize(FILE));
+		Assertions.assertEquals(newLength, SqlConnector.New(this.provider).fileSize(FILE));
+		Assertions.assertArrayEquals(Arrays.copyOf(data, newLength), read(connector, FILE, 0, newLength));
+
+		final List<long[]> rows = this.rows(FILE);
+		Assertions.assertEquals((newLength + ROW_SIZE - 1) / ROW_SIZE, rows.size());
+		long expectedStart = 0L;
+		for(final long[] row : rows)
+		{
+			Assertions.assertEquals(expectedStart, row[0]);
+			Assertions.assertEquals(row[1] - row[0] + 1, row[2]);
+			expectedStart = row[1] + 1;
+		}
+		Assertions.assertEquals(newLength, expectedStart);
+
+		// appending after the truncation must not bring back truncated data
+		final byte[] appended = data(7, 1200);
+		connector.writeData(FILE, Arrays.asList(ByteBuffer.wrap(appended)));
+		final byte[] expected = Arrays.copyOf(data, newLength + appended.length);
+		System.arraycopy(appended, 0, expected, newLength, appended.length);
+		Assertions.assertArrayEquals(expected, read(connector, FILE, 0, expected.length));
+	}
+
+	@Test
+	public void shouldInvalidateCacheOnTruncate()
+	{
+		final byte[] data = data(0, LENGTH);
+		this.connector.writeData(FILE, Arrays.asList(ByteBuffer.wrap(data)));
+		read(this.connector, FILE, 0, LENGTH);
+		Assertions.assertEquals(LENGTH, this.readCache.size());
+
+		this.connector.truncateFile(FILE, 1500);
+		Assertions.assertEquals(0, this.readCache.size());
+
+		final long missCount = this.readCache.missCount();
+		Assertions.assertEquals(1500, read(this.connector, FILE, 0, LENGTH).length);
+		Assertions.assertTrue(this.readCache.missCount() > missCount);
+	}
+
+	@Test
+	public void shouldInvalidateCacheOnDelete()
+	{
+		this.connector.writeData(FILE, Arrays.asList(ByteBuffer.wrap(data(0, LENGTH))));
+		read(this.connector, FILE, 0, LENGTH);
+		Assertions.assertEquals(LENGTH, this.readCache.size());
+
+		this.connector.deleteFile(FILE);
+		Assertions.assertEquals(0, this.readCache.size());
+		Assertions.assertFalse(this.connector.fileExists(FILE));
+
+		final byte[] data = data(13, 2000);
+		this.connector.writeData(FILE, Arrays.asList(ByteBuffer.wrap(data)));
+		Assertions.assertArrayEquals(data, read(this.connector, FILE, 0, 2000));
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {true, false})
+	public void shouldInvalidateCacheOnMove(final boolean sameParent)
+	{
+		final SqlPath target = sameParent
+			? SqlPath.New("channel_0", "channel_0_2.dat")
+			: SqlPath.New("channel_1", "channel_1_1.dat")
+		;
+
+		final byte[] data = data(0, LENGTH);
+		this.connector.writeData(FILE, Arrays.asList(ByteBuffer.wrap(data)));
+		read(this.connector, FILE, 0, LENGTH);
+		Assertions.assertEquals(LENGTH, this.readCache.size());
+
+		this.connector.moveFile(FILE, target);
+		Assertions.assertEquals(0, this.readCache.size());
+		Assertions.assertFalse(this.connector.fileExists(FILE));
+		Assertions.assertArrayEquals(data, read(this.connector, target, 0, LENGTH));
+
+		// the target's rows are cached now and must not survive the next move
+		final byte[] other = data(21, 800);
+		this.connector.writeData(FILE, Arrays.asList(ByteBuffer.wrap(other)));
+		Assertions.assertArrayEquals(other, read(this.connector, FILE, 0, 800));
+
+		this.connector.deleteFile(target);
+		this.connector.moveFile(FILE, target);
+		Assertions.assertEquals(0, this.readCache.size());
+		Assertions.assertEquals(800, this.connector.fileSize(target));
+		Assertions.assertArrayEquals(other, read(this.connector, target, 0, LENGTH));
+	}
+
+	/**
+	 * @return start, end and data length of all rows of the file, ordered by start
+	 */
+	private List<long[]> rows(final SqlPath file)
+	{
+		final String sql = this.provider.readDataQuery(file.parentPath().fullQualifiedName());
+		return this.provider.execute(connection ->
+		{
+			final List<long[]> rows = new ArrayList<>();
+			try(final PreparedStatement statement = connection.prepareStatement(sql))
+			{
+				statement.setString(1, file.identifier());
+				try(final ResultSet result = statement.executeQuery())
+				{
+					while(result.next())
+					{
+						rows.add(new long[]{
+							result.getLong(2),
+							result.getLong(3),
+							result.getBytes(4).length
+						});
+					}
+				}
+			}
+			rows.sort(Comparator.comparingLong(row -> row[0]));
+			return rows;
+		});
+	}
+
+	private static byte[] data(final int offset, final int length)
+	{
+		final byte[] data = new byte[length];
+		for(int i = 0; i < length; i++)
+		{
+			data[i] = (byte)((offset + i) * 31 % 251);
+		}
+		return data;
+	}
+
+	private static byte[] read(
+		final SqlConnector connector,
+		final SqlPath      file     ,
+		final long         offset   ,
+		final int          length
+	)
+	{
+		final ByteBuffer buffer = connector.readData(file, offset, length);
+		final byte[]     bytes  = new byte[buffer.remaining()];
+		buffer.get(bytes);
+		return bytes;
+	}
+
+}
@@ -0,0 +1,134 @@
+package one.microstream.afs.sql.types;
+
+/*-
+ * #%L
+ * microstream-afs-sql
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+
+@DisplayName("Check the LRU eviction and invalidation of the SQL read cache")
+public class SqlReadCacheTest
+{
+	private static final String FILE       = "channel_0$channel_0_1.dat";
+	private static final String OTHER_FILE = "channel_0$channel_0_2.dat";
+
+	@Test
+	public void shouldNotEvictWhenExactlyAtMaximumSize()
+	{
+		final SqlReadCache cache = SqlReadCache.New(3000, 0);
+		cache.put(FILE, 0   , new byte[1000]);
+		cache.put(FILE, 1000, new byte[1000]);
+		cache.put(FILE, 2000, new byte[1000]);
+
+		Assertions.assertEquals(3000, cache.size());
+		Assertions.assertEquals(0   , cache.evictionCount());
+		Assertions.assertNotNull(cache.lookup(FILE, 0   ));
+		Assertions.assertNotNull(cache.lookup(FILE, 1999));
+		Assertions.assertNotNull(cache.lookup(FILE, 2999));
+	}
+
+	@Test
+	public void shouldEvictLeastRecentlyUsedRowsBeyondMaximumSize()
+	{
+		final SqlReadCache cache = SqlReadCache.New(3000, 0);
+		cache.put(FILE, 0   , new byte[1000]);
+		cache.put(FILE, 1000, new byte[1000]);
+		cache.put(FILE, 2000, new byte[1000]);
+
+		// the first row becomes the most recently used one
+		Assertions.assertNotNull(cache.lookup(FILE, 500));
+
+		cache.put(FILE, 3000, new byte[1]);
+
+		Assertions.assertEquals(2001, cache.size());
+		Assertions.assertEquals(1   , cache.evictionCount());
+		Assertions.assertNull   (cache.lookup(FILE, 1000));
+		Assertions.assertNotNull(cache.lookup(FILE, 0   ));
+		Assertions.assertNotNull(cache.lookup(FILE, 2000));
+		Assertions.assertNotNull(cache.lookup(FILE, 3000));
+
+		cache.put(FILE, 3001, new byte[2000]);
+
+		// the first row is now the least recently used one, then the third row
+		Assertions.assertEquals(3, cache.evictionCount());
+		Assertions.assertEquals(2001, cache.size());
+		Assertions.assertNull   (cache.lookup(FILE, 0   ));
+		Assertions.assertNull   (cache.lookup(FILE, 2000));
+		Assertions.assertNotNull(cache.lookup(FILE, 3000));
+		Assertions.assertNotNull(cache.lookup(FILE, 5000));
+	}
+
+	@Test
+	public void shouldNotCacheRowsLargerThanMaximumSize()
+	{
+		final SqlReadCache cache = SqlReadCache.New(3000, 0);
+		cache.put(FILE, 0, new byte[1000]);
+
+		final byte[] data = new byte[3001];
+		data[3000] = 42;
+		final SqlReadCache.Row row = cache.put(FILE, 1000, data);
+
+		final ByteBuffer target = ByteBuffer.allocate(1);
+		row.copyTo(4000, 1, target);
+		Assertions.assertEquals(42  , target.get(0));
+		Assertions.assertEquals(1000, cache.size());
+		Assertions.assertEquals(0   , cache.evictionCount());
+		Assertions.assertNull   (cache.lookup(FILE, 1000));
+		Assertions.assertNotNull(cache.lookup(FILE, 0   ));
+	}
+
+	@Test
+	public void shouldReplaceRowWithSameStart()
+	{
+		final SqlReadCache cache = SqlReadCache.New(3000, 0);
+		cache.put(FILE, 0, new byte[1000]);
+		cache.put(FILE, 0, new byte[500]);
+
+		Assertions.assertEquals(500, cache.size());
+		Assertions.assertEquals(499, cache.lookup(FILE, 0).end());
+		Assertions.assertNull(cache.lookup(FILE, 500));
+	}
+
+	@Test
+	public void shouldInvalidateOnlyRowsOfTheFile()
+	{
+		final SqlReadCache cache = SqlReadCache.New(3000, 0);
+		cache.put(FILE      , 0   , new byte[1000]);
+		cache.put(FILE      , 1000, new byte[1000]);
+		cache.put(OTHER_FILE, 0   , new byte[700] );
+
+		cache.invalidate(FILE);
+
+		Assertions.assertEquals(700, cache.size());
+		Assertions.assertNull   (cache.lookup(FILE      , 0));
+		Assertions.assertNull   (cache.lookup(FILE      , 1000));
+		Assertions.assertNotNull(cache.lookup(OTHER_FILE, 0));
+
+		// invalidated rows must not be evicted a second time
+		cache.put(FILE, 0, new byte[2300]);
+		Assertions.assertEquals(3000, cache.size());
+		Assertions.assertEquals(0   , cache.evictionCount());
+	}
+
+}
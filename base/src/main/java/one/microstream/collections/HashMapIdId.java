@@ -106,8 +106,8 @@ public final class HashMapIdId implements OptimizableCollection, Composition
 			for(Entry next, entry = oldSlots[i]; entry != null; entry = next)
 			{
 				next = entry.link;
-				entry.link = newSlots[System.identityHashCode(entry.value) & newRange];
-				newSlots[System.identityHashCode(entry.value) & newRange] = entry;
+				entry.link = newSlots[(int)(entry.key & newRange)];
+				newSlots[(int)(entry.key & newRange)] = entry;
 			}
 		}
 		this.hashSlots = newSlots;
@@ -0,0 +1,707 @@
+package one.microstream.collections;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.collections.OpenHashMapIdObject.MAXIMUM_CAPACITY;
+
+import java.lang.ref.Cleaner;
+
+import one.microstream.collections.interfaces.OptimizableCollection;
+import one.microstream.collections.types.XList;
+import one.microstream.functional._longProcedure;
+import one.microstream.memory.XMemory;
+import one.microstream.typing.Composition;
+
+/**
+ * Primitive (read: fast) pseudo map implementation that maps long ids to long values.
+ * <p>
+ * Like {@link OpenHashMapIdObject}, this implementation uses open addressing with linear probing and requires
+ * no entry instance per mapping. Every slot holds its id and value next to each other, so a lookup reads both
+ * from the same cache line. The slots are held either in an on-heap array, see {@link #New()}, or in off-heap
+ * memory, see {@link #NewOffHeap()}, which keeps very large tables out of the garbage collector's work.
+ * <p>
+ * Note that this implementation is not synchronized.
+ */
+public abstract class OpenHashMapIdId implements OptimizableCollection, Composition
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static final OpenHashMapIdId New()
+	{
+		return new OpenHashMapIdId.Heap(OpenHashMapIdObject.MINIMUM_CAPACITY);
+	}
+
+	public static final OpenHashMapIdId New(final int initialCapacity)
+	{
+		return new OpenHashMapIdId.Heap(OpenHashMapIdObject.capacity(initialCapacity));
+	}
+
+	/**
+	 * Creates a new {@link OpenHashMapIdId} instance holding its slots in off-heap memory.
+	 * The memory must be released by calling {@link OffHeap#close()} when the instance is not needed any more.
+	 * Should an instance become unreachable without having been closed, its memory is released as soon as it
+	 * has been garbage collected.
+	 * 
+	 * @return a new off-heap {@link OpenHashMapIdId} instance.
+	 */
+	public static final OpenHashMapIdId.OffHeap NewOffHeap()
+	{
+		return new OpenHashMapIdId.OffHeap(OpenHashMapIdObject.MINIMUM_CAPACITY);
+	}
+
+	public static final OpenHashMapIdId.OffHeap NewOffHeap(final int initialCapacity)
+	{
+		return new OpenHashMapIdId.OffHeap(OpenHashMapIdObject.capacity(initialCapacity));
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	// id 0 (the null id) marks an empty slot, so a mapping for it is held separately.
+	private int     capacity    ;
+	private int     mask        ;
+	private int     threshold   ;
+	private int     size        ;
+	private boolean hasNullId   ;
+	private long    nullIdValue ;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	OpenHashMapIdId()
+	{
+		super();
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// storage //
+	////////////
+
+	abstract long id(int slot);
+
+	abstract long value(int slot);
+
+	abstract void set(int slot, long id, long value);
+
+	abstract void setValue(int slot, long value);
+
+	/**
+	 * Replaces the current slots by new, empty ones of the passed capacity and returns an object representing
+	 * the old slots for {@link #transferSlots(Object, int)}.
+	 */
+	abstract Object replaceSlots(int capacity);
+
+	/**
+	 * Inserts all mappings of the passed old slots via {@link #place(long, long)} and releases them.
+	 */
+	abstract void transferSlots(Object oldSlots, int oldCapacity);
+
+	final void initialize(final int capacity)
+	{
+		this.capacity  = capacity;
+		this.mask      = capacity - 1;
+		this.threshold = OpenHashMapIdObject.threshold(capacity);
+	}
+
+	final int capacity()
+	{
+		return this.capacity;
+	}
+
+	/**
+	 * Validates that the slots can still be accessed before any public operation uses them.
+	 */
+	void ensureOpen()
+	{
+		// on-heap slots are always accessible
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	private int slot(final long id)
+	{
+		// ids are assumed to be roughly sequential, so they are used directly to occupy adjacent slots.
+		return (int)id & this.mask;
+	}
+
+	// returns the slot index of the passed id or the bitwise complement of the empty slot where it belongs.
+	private int find(final long id)
+	{
+		final int mask = this.capacity - 1;
+		for(int i = this.slot(id);; i = i + 1 & mask)
+		{
+			final long slotId = this.id(i);
+			if(slotId == id)
+			{
+				return i;
+			}
+			if(slotId == 0)
+			{
+				return ~i;
+			}
+		}
+	}
+
+	final void place(final long id, final long value)
+	{
+		final int mask = this.capacity - 1;
+		int i = this.slot(id);
+		while(this.id(i) != 0)
+		{
+			i = i + 1 & mask;
+		}
+		this.set(i, id, value);
+	}
+
+	private void rebuild(final int newCapacity)
+	{
+		final int    oldCapacity = this.capacity;
+		final Object oldSlots    = this.replaceSlots(newCapacity);
+		this.initialize(newCapacity);
+		this.transferSlots(oldSlots, oldCapacity);
+	}
+
+	private void insert(final int emptySlot, final long id, final long value)
+	{
+		if(this.size >= this.threshold)
+		{
+			if(this.capacity == MAXIMUM_CAPACITY)
+			{
+				throw new CapacityExceededException();
+			}
+			this.rebuild(this.capacity << 1);
+			this.place(id, value);
+		}
+		else
+		{
+			this.set(emptySlot, id, value);
+		}
+		this.size++;
+	}
+
+	@Override
+	public final long size()
+	{
+		return this.size + (this.hasNullId ? 1 : 0);
+	}
+
+	@Override
+	public final boolean isEmpty()
+	{
+		return this.size() == 0;
+	}
+
+	public final boolean containsId(final long id)
+	{
+		this.ensureOpen();
+
+		return id == 0
+			? this.hasNullId
+			: this.find(id) >= 0
+		;
+	}
+
+	public final boolean add(final long id, final long value)
+	{
+		this.ensureOpen();
+
+		if(id == 0)
+		{
+			if(this.hasNullId)
+			{
+				return false;
+			}
+			this.hasNullId   = true ;
+			this.nullIdValue = value;
+			return true;
+		}
+
+		final int slot;
+		if((slot = this.find(id)) >= 0)
+		{
+			return false; // collision: add logic discards new value
+		}
+		this.insert(~slot, id, value);
+		return true;
+	}
+
+	public final boolean put(final long id, final long value)
+	{
+		this.ensureOpen();
+
+		if(id == 0)
+		{
+			final boolean added = !this.hasNullId;
+			this.hasNullId   = true ;
+			this.nullIdValue = value;
+			return added;
+		}
+
+		final int slot;
+		if((slot = this.find(id)) >= 0)
+		{
+			this.setValue(slot, value); // collision: put logic replaces old value
+			return false;
+		}
+		this.insert(~slot, id, value);
+		return true;
+	}
+
+	/**
+	 * Maps the passed value to the passed id and returns the value that was mapped to it before.
+	 * 
+	 * @param id the id to be mapped.
+	 * @param value the value to be mapped.
+	 * @return the value previously mapped to the id or 0 if there was none.
+	 */
+	public final long putGet(final long id, final long value)
+	{
+		this.ensureOpen();
+
+		if(id == 0)
+		{
+			final long old = this.nullIdValue;
+			this.hasNullId   = true ;
+			this.nullIdValue = value;
+			return old;
+		}
+
+		final int slot;
+		if((slot = this.find(id)) >= 0)
+		{
+			final long old = this.value(slot);
+			this.setValue(slot, value);
+			return old;
+		}
+		this.insert(~slot, id, value);
+		return 0L;
+	}
+
+	/**
+	 * Maps the passed value to the passed id if no value is mapped to it, yet.
+	 * 
+	 * @param id the id to be mapped.
+	 * @param value the value to be mapped.
+	 * @return the value mapped to the id after the call, i.e. either the existing or the passed one.
+	 */
+	public final long addGet(final long id, final long value)
+	{
+		this.ensureOpen();
+
+		if(id == 0)
+		{
+			if(!this.hasNullId)
+			{
+				this.hasNullId   = true ;
+				this.nullIdValue = value;
+			}
+			return this.nullIdValue;
+		}
+
+		final int slot;
+		if((slot = this.find(id)) >= 0)
+		{
+			return this.value(slot);
+		}
+		this.insert(~slot, id, value);
+		return value;
+	}
+
+	public final long get(final long id)
+	{
+		return this.get(id, 0L);
+	}
+
+	public final long get(final long id, final long absentValue)
+	{
+		this.ensureOpen();
+
+		if(id == 0)
+		{
+			return this.hasNullId
+				? this.nullIdValue
+				: absentValue
+			;
+		}
+
+		final int slot;
+		return (slot = this.find(id)) >= 0
+			? this.value(slot)
+			: absentValue
+		;
+	}
+
+	public final long remove(final long id)
+	{
+		this.ensureOpen();
+
+		if(id == 0)
+		{
+			final long old = this.nullIdValue;
+			this.hasNullId   = false;
+			this.nullIdValue = 0L   ;
+			return old;
+		}
+
+		int slot;
+		if((slot = this.find(id)) < 0)
+		{
+			return 0L;
+		}
+		final long old = this.value(slot);
+
+		// backward shift deletion, see OpenHashMapIdObject#remove
+		final int mask = this.capacity - 1;
+		for(int i = slot + 1 & mask; this.id(i) != 0; i = i + 1 & mask)
+		{
+			if((i - this.slot(this.id(i)) & mask) >= (i - slot & mask))
+			{
+				this.set(slot, this.id(i), this.value(i));
+				slot = i;
+			}
+		}
+		this.set(slot, 0L, 0L);
+		this.size--;
+
+		return old;
+	}
+
+	public final XList<Long> getIds()
+	{
+		final BulkList<Long> list = new BulkList<>((int)this.size());
+		this.iterateIds(list::add);
+		return list;
+	}
+
+	public final int iterateIds(final _longProcedure procedure)
+	{
+		this.ensureOpen();
+
+		if(this.hasNullId)
+		{
+			procedure.accept(0);
+		}
+		for(int i = 0; i < this.capacity; i++)
+		{
+			final long id = this.id(i);
+			if(id != 0)
+			{
+				procedure.accept(id);
+			}
+		}
+		return (int)this.size();
+	}
+
+	public final int iterateValues(final _longProcedure procedure)
+	{
+		this.ensureOpen();
+
+		if(this.hasNullId)
+		{
+			procedure.accept(this.nullIdValue);
+		}
+		for(int i = 0; i < this.capacity; i++)
+		{
+			if(this.id(i) != 0)
+			{
+				procedure.accept(this.value(i));
+			}
+		}
+		return (int)this.size();
+	}
+
+	public final void clear()
+	{
+		this.ensureOpen();
+
+		for(int i = 0; i < this.capacity; i++)
+		{
+			this.set(i, 0L, 0L);
+		}
+		this.size        = 0    ;
+		this.hasNullId   = false;
+		this.nullIdValue = 0L   ;
+	}
+
+	/**
+	 * Optimizes the internal storage and returns the remaining amount of entries.
+	 * @return the amount of entries after the optimization is been completed.
+	 */
+	@Override
+	public final long optimize()
+	{
+		this.ensureOpen();
+
+		final int capacity = OpenHashMapIdObject.capacity(this.size);
+		if(capacity < this.capacity)
+		{
+			this.rebuild(capacity);
+		}
+		return this.size();
+	}
+
+
+
+	static final class Heap extends OpenHashMapIdId
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		// id and value of slot i are at index 2 * i and 2 * i + 1.
+		private long[] slots;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Heap(final int capacity)
+		{
+			super();
+			this.replaceSlots(capacity);
+			this.initialize(capacity);
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		final long id(final int slot)
+		{
+			return this.slots[slot << 1];
+		}
+
+		@Override
+		final long value(final int slot)
+		{
+			return this.slots[(slot << 1) + 1];
+		}
+
+		@Override
+		final void set(final int slot, final long id, final long value)
+		{
+			this.slots[slot << 1]       = id   ;
+			this.slots[(slot << 1) + 1] = value;
+		}
+
+		@Override
+		final void setValue(final int slot, final long value)
+		{
+			this.slots[(slot << 1) + 1] = value;
+		}
+
+		@Override
+		final Object replaceSlots(final int capacity)
+		{
+			final long[] oldSlots = this.slots;
+			this.slots = new long[capacity << 1];
+			return oldSlots;
+		}
+
+		@Override
+		final void transferSlots(final Object oldSlots, final int oldCapacity)
+		{
+			final long[] slots = (long[])oldSlots;
+			for(int i = 0; i < slots.length; i += 2)
+			{
+				if(slots[i] != 0)
+				{
+					this.place(slots[i], slots[i + 1]);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * An {@link OpenHashMapIdId} holding its slots in off-heap memory.
+	 * <p>
+	 * The memory is released by {@link #close()}, after which every operation accessing the slots throws an
+	 * {@link IllegalStateException}. Should an instance become unreachable without having been closed,
+	 * its memory is released as soon as it has been garbage collected.
+	 */
+	public static final class OffHeap extends OpenHashMapIdId implements AutoCloseable
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		private static final Cleaner CLEANER = Cleaner.create();
+
+		private static final long SLOT_SIZE = 2 * Long.BYTES;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		// id and value of slot i are at address + 16 * i and address + 16 * i + 8.
+		private       long              address  ;
+		private final Memory            memory   ;
+		private final Cleaner.Cleanable cleanable;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		OffHeap(final int capacity)
+		{
+			super();
+			this.memory = new Memory();
+			this.replaceSlots(capacity);
+			this.initialize(capacity);
+
+			// must not reference this instance, otherwise it would never become phantom reachable
+			this.cleanable = CLEANER.register(this, this.memory);
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		private static long allocateSlots(final int capacity)
+		{
+			final long byteSize = capacity * SLOT_SIZE;
+			final long address  = XMemory.allocate(byteSize);
+			XMemory.fillMemory(address, byteSize, (byte)0);
+
+			return address;
+		}
+
+		@Override
+		final long id(final int slot)
+		{
+			return XMemory.get_long(this.address + slot * SLOT_SIZE);
+		}
+
+		@Override
+		final long value(final int slot)
+		{
+			return XMemory.get_long(this.address + slot * SLOT_SIZE + Long.BYTES);
+		}
+
+		@Override
+		final void set(final int slot, final long id, final long value)
+		{
+			final long slotAddress = this.address + slot * SLOT_SIZE;
+			XMemory.set_long(slotAddress             , id   );
+			XMemory.set_long(slotAddress + Long.BYTES, value);
+		}
+
+		@Override
+		final void setValue(final int slot, final long value)
+		{
+			XMemory.set_long(this.address + slot * SLOT_SIZE + Long.BYTES, value);
+		}
+
+		@Override
+		final Object replaceSlots(final int capacity)
+		{
+			final long oldAddress = this.address;
+			this.address = this.memory.address = allocateSlots(capacity);
+			return oldAddress;
+		}
+
+		@Override
+		final void transferSlots(final Object oldSlots, final int oldCapacity)
+		{
+			final long oldAddress = (Long)oldSlots;
+			for(int i = 0; i < oldCapacity; i++)
+			{
+				final long slotAddress = oldAddress + i * SLOT_SIZE;
+				final long id          = XMemory.get_long(slotAddress);
+				if(id != 0)
+				{
+					this.place(id, XMemory.get_long(slotAddress + Long.BYTES));
+				}
+			}
+			XMemory.free(oldAddress);
+		}
+
+		@Override
+		final void ensureOpen()
+		{
+			if(this.address == 0)
+			{
+				throw new IllegalStateException("Off-heap map is closed.");
+			}
+		}
+
+		public final boolean isClosed()
+		{
+			return this.address == 0;
+		}
+
+		/**
+		 * Releases the off-heap memory of this instance. Subsequent calls have no effect.
+		 */
+		@Override
+		public final synchronized void close()
+		{
+			this.address = 0;
+			this.cleanable.clean();
+		}
+
+
+
+		static final class Memory implements Runnable
+		{
+			long address;
+
+			@Override
+			public final void run()
+			{
+				if(this.address != 0)
+				{
+					XMemory.free(this.address);
+					this.address = 0;
+				}
+			}
+
+		}
+
+	}
+
+}
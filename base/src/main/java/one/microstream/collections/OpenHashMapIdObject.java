@@ -0,0 +1,501 @@
+package one.microstream.collections;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.function.Consumer;
+
+import one.microstream.X;
+import one.microstream.chars.VarString;
+import one.microstream.collections.interfaces.OptimizableCollection;
+import one.microstream.collections.types.XList;
+import one.microstream.functional._longProcedure;
+import one.microstream.math.XMath;
+import one.microstream.typing.Composition;
+import one.microstream.typing.KeyValue;
+
+/**
+ * Primitive (read: fast) pseudo map implementation that maps long id values to objects.
+ * <p>
+ * In contrast to {@link HashMapIdObject}, this implementation uses open addressing with linear probing on two
+ * parallel arrays of ids and objects, so it requires no entry instance per mapping and a lookup hardly ever
+ * leaves the one or two cache lines of its hash slot. Like in {@link HashMapIdObject}, ids are assumed to be
+ * roughly sequential, e.g. object ids or type ids, and are used as their own hash. This places sequential ids
+ * in adjacent slots without any collisions, so iterating them accesses memory sequentially as well.
+ * <p>
+ * Note that this implementation is not synchronized. However, {@link #get(long)} may be called concurrently to
+ * a single thread adding or putting mappings (but not removing them): the arrays and their mask are replaced
+ * as one consistent table when growing, and a slot's object is written before its id. Such an
+ * unsynchronized {@link #get(long)} never fails and never returns an object mapped to another id, but it may
+ * miss a mapping that is being added concurrently. Callers requiring a definite result have to repeat a
+ * {@literal null} lookup while holding the lock that guards modifications.
+ *
+ * @param <E> the type of the mapped objects
+ */
+public final class OpenHashMapIdObject<E> implements OptimizableCollection, Composition
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	static final int MINIMUM_CAPACITY = 8      ;
+	static final int MAXIMUM_CAPACITY = 1 << 30;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	public static final <T> OpenHashMapIdObject<T> New()
+	{
+		return new OpenHashMapIdObject<>(MINIMUM_CAPACITY);
+	}
+
+	public static final <T> OpenHashMapIdObject<T> New(final int initialCapacity)
+	{
+		return new OpenHashMapIdObject<>(capacity(initialCapacity));
+	}
+
+	static int capacity(final int size)
+	{
+		// the capacity required to hold size entries with a load factor of 0.75.
+		return Math.max(MINIMUM_CAPACITY, XMath.pow2BoundCapped((int)Math.min(MAXIMUM_CAPACITY, size * 4L / 3 + 1)));
+	}
+
+	static int threshold(final int capacity)
+	{
+		return capacity == MAXIMUM_CAPACITY
+			? capacity - 1
+			: capacity - (capacity >>> 2)
+		;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	// id 0 (the null id) marks an empty slot, so a mapping for it is held separately.
+	private volatile Table   table       ;
+	private          int     threshold   ;
+	private          int     size        ;
+	private          boolean hasNullId   ;
+	private volatile E       nullIdObject;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	OpenHashMapIdObject(final int capacity)
+	{
+		super();
+		this.allocate(capacity);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	private void allocate(final int capacity)
+	{
+		this.table     = new Table(capacity);
+		this.threshold = threshold(capacity);
+	}
+
+	private static int slot(final long id, final int mask)
+	{
+		// ids are assumed to be roughly sequential, so they are used directly to occupy adjacent slots.
+		return (int)id & mask;
+	}
+
+	// returns the slot index of the passed id or the bitwise complement of the empty slot where it belongs.
+	private int find(final long id)
+	{
+		final long[] ids  = this.table.ids ;
+		final int    mask = this.table.mask;
+		for(int i = slot(id, mask);; i = i + 1 & mask)
+		{
+			if(ids[i] == id)
+			{
+				return i;
+			}
+			if(ids[i] == 0)
+			{
+				return ~i;
+			}
+		}
+	}
+
+	private void rebuild(final int newCapacity)
+	{
+		final long[]   oldIds     = this.table.ids    ;
+		final Object[] oldObjects = this.table.objects;
+
+		// the new table is filled completely before it gets published, so concurrent readers never see it partially.
+		final Table    table   = new Table(newCapacity);
+		final long[]   ids     = table.ids    ;
+		final Object[] objects = table.objects;
+		final int      mask    = table.mask   ;
+		for(int i = 0; i < oldIds.length; i++)
+		{
+			if(oldIds[i] == 0)
+			{
+				continue;
+			}
+			int s = slot(oldIds[i], mask);
+			while(ids[s] != 0)
+			{
+				s = s + 1 & mask;
+			}
+			ids[s]     = oldIds[i]    ;
+			objects[s] = oldObjects[i];
+		}
+
+		this.table     = table;
+		this.threshold = threshold(newCapacity);
+	}
+
+	private void insert(final int emptySlot, final long id, final E object)
+	{
+		if(this.size >= this.threshold)
+		{
+			if(this.table.ids.length == MAXIMUM_CAPACITY)
+			{
+				throw new CapacityExceededException();
+			}
+			this.rebuild(this.table.ids.length << 1);
+			this.insert(~this.find(id), id, object);
+			return;
+		}
+		// object first, so a concurrent reader finding the id never gets the empty slot's null instead.
+		this.table.objects[emptySlot] = object;
+		this.table.ids[emptySlot]     = id    ;
+		this.size++;
+	}
+
+	@SuppressWarnings("unchecked")
+	private E object(final int slot)
+	{
+		return (E)this.table.objects[slot];
+	}
+
+	@Override
+	public final long size()
+	{
+		return this.size + (this.hasNullId ? 1 : 0);
+	}
+
+	@Override
+	public final boolean isEmpty()
+	{
+		return this.size() == 0;
+	}
+
+	public final boolean containsId(final long id)
+	{
+		return id == 0
+			? this.hasNullId
+			: this.find(id) >= 0
+		;
+	}
+
+	public final boolean add(final long id, final E object)
+	{
+		if(id == 0)
+		{
+			if(this.hasNullId)
+			{
+				return false;
+			}
+			this.hasNullId    = true  ;
+			this.nullIdObject = object;
+			return true;
+		}
+
+		final int slot;
+		if((slot = this.find(id)) >= 0)
+		{
+			return false; // collision: add logic discards new object
+		}
+		this.insert(~slot, id, object);
+		return true;
+	}
+
+	public final boolean put(final long id, final E object)
+	{
+		if(id == 0)
+		{
+			final boolean added = !this.hasNullId;
+			this.hasNullId    = true  ;
+			this.nullIdObject = object;
+			return added;
+		}
+
+		final int slot;
+		if((slot = this.find(id)) >= 0)
+		{
+			this.table.objects[slot] = object; // collision: put logic replaces old object
+			return false;
+		}
+		this.insert(~slot, id, object);
+		return true;
+	}
+
+	public final E putGet(final long id, final E object)
+	{
+		if(id == 0)
+		{
+			final E old = this.nullIdObject;
+			this.hasNullId    = true  ;
+			this.nullIdObject = object;
+			return old;
+		}
+
+		final int slot;
+		if((slot = this.find(id)) >= 0)
+		{
+			final E old = this.object(slot);
+			this.table.objects[slot] = object; // collision: put logic replaces old object
+			return old;
+		}
+		this.insert(~slot, id, object);
+		return null;
+	}
+
+	public final E get(final long id)
+	{
+		if(id == 0)
+		{
+			return this.nullIdObject;
+		}
+
+		// inlined find() for the most frequent operation, on one consistent table for concurrent readers.
+		final Table  table = this.table;
+		final long[] ids   = table.ids ;
+		final int    mask  = table.mask;
+		for(int i = slot(id, mask);; i = i + 1 & mask)
+		{
+			if(ids[i] == id)
+			{
+				@SuppressWarnings("unchecked")
+				final E object = (E)table.objects[i];
+				return object;
+			}
+			if(ids[i] == 0)
+			{
+				return null;
+			}
+		}
+	}
+
+	public final E remove(final long id)
+	{
+		if(id == 0)
+		{
+			final E old = this.nullIdObject;
+			this.hasNullId    = false;
+			this.nullIdObject = null ;
+			return old;
+		}
+
+		int slot;
+		if((slot = this.find(id)) < 0)
+		{
+			return null;
+		}
+		final E old = this.object(slot);
+
+		/*
+		 * Backward shift deletion instead of tombstones: every following entry of the probe run that would
+		 * be reachable from its home slot via the freed slot is moved into it, so lookups never have to
+		 * skip removed slots.
+		 */
+		final long[]   ids     = this.table.ids    ;
+		final Object[] objects = this.table.objects;
+		final int      mask    = this.table.mask   ;
+		for(int i = slot + 1 & mask; ids[i] != 0; i = i + 1 & mask)
+		{
+			if((i - slot(ids[i], mask) & mask) >= (i - slot & mask))
+			{
+				ids[slot]     = ids[i]    ;
+				objects[slot] = objects[i];
+				slot = i;
+			}
+		}
+		ids[slot]     = 0   ;
+		objects[slot] = null;
+		this.size--;
+
+		return old;
+	}
+
+	public final XList<E> getObjects()
+	{
+		final BulkList<E> list = new BulkList<>((int)this.size());
+		this.iterateValues(list);
+		return list;
+	}
+
+	public final XList<Long> getIds()
+	{
+		final BulkList<Long> list = new BulkList<>((int)this.size());
+		this.iterateKeys(list);
+		return list;
+	}
+
+	public final int iterateValues(final Consumer<? super E> procedure)
+	{
+		if(this.hasNullId)
+		{
+			procedure.accept(this.nullIdObject);
+		}
+		final long[] ids = this.table.ids;
+		for(int i = 0; i < ids.length; i++)
+		{
+			if(ids[i] != 0)
+			{
+				procedure.accept(this.object(i));
+			}
+		}
+		return (int)this.size();
+	}
+
+	public final int iterateKeys(final Consumer<? super Long> procedure)
+	{
+		return this.iterateIds(procedure::accept);
+	}
+
+	public final int iterateIds(final _longProcedure procedure)
+	{
+		if(this.hasNullId)
+		{
+			procedure.accept(0);
+		}
+		final long[] ids = this.table.ids;
+		for(int i = 0; i < ids.length; i++)
+		{
+			if(ids[i] != 0)
+			{
+				procedure.accept(ids[i]);
+			}
+		}
+		return (int)this.size();
+	}
+
+	public final int iterate(final Consumer<? super KeyValue<Long, E>> procedure)
+	{
+		if(this.hasNullId)
+		{
+			procedure.accept(X.KeyValue(0L, this.nullIdObject));
+		}
+		final long[] ids = this.table.ids;
+		for(int i = 0; i < ids.length; i++)
+		{
+			if(ids[i] != 0)
+			{
+				procedure.accept(X.KeyValue(ids[i], this.object(i)));
+			}
+		}
+		return (int)this.size();
+	}
+
+	public final void clear()
+	{
+		final long[]   ids     = this.table.ids    ;
+		final Object[] objects = this.table.objects;
+		for(int i = 0; i < ids.length; i++)
+		{
+			ids[i]     = 0   ;
+			objects[i] = null;
+		}
+		this.size         = 0    ;
+		this.hasNullId    = false;
+		this.nullIdObject = null ;
+	}
+
+	/**
+	 * Optimizes the internal storage and returns the remaining amount of entries.
+	 * @return the amount of entries after the optimization is been completed.
+	 */
+	@Override
+	public final long optimize()
+	{
+		final int capacity = capacity(this.size);
+		if(capacity < this.table.ids.length)
+		{
+			this.rebuild(capacity);
+		}
+		return this.size();
+	}
+
+	@Override
+	public final String toString()
+	{
+		if(this.isEmpty())
+		{
+			return "{}";
+		}
+
+		final VarString vc = VarString.New().add('{');
+		this.iterate(e ->
+			vc.add(e.key()).add(" -> ").add(e.value()).add(", ")
+		);
+		return vc.deleteLast().setLast('}').toString();
+	}
+
+
+
+
+	/**
+	 * The slot arrays and their mask, replaced as a whole when the capacity changes.
+	 */
+	static final class Table
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		final long[]   ids    ;
+		final Object[] objects;
+		final int      mask   ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Table(final int capacity)
+		{
+			super();
+			this.ids     = new long[capacity];
+			this.objects = new Object[capacity];
+			this.mask    = capacity - 1;
+		}
+
+	}
+
+}
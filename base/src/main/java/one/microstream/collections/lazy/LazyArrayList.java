@@ -0,0 +1,356 @@
+package one.microstream.collections.lazy;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.positive;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import one.microstream.reference.Lazy;
+import one.microstream.reference.LazyReferenceManager;
+
+
+/**
+ * A {@link List} implementation that partitions its elements into segments of limited size, each of which
+ * is held behind a {@link Lazy} reference (see {@link LazySegment}).
+ * <p>
+ * In contrast to an {@link ArrayList}, storing a {@link LazyArrayList} only stores the segments that have been
+ * modified since they have last been stored, plus a small record listing all segments. Loading it only loads
+ * that record, the segments' data is loaded on demand when elements of the segment are accessed.
+ * Segments that are stored and not modified can be unloaded by the {@link LazyReferenceManager} or via
+ * {@link #unloadSegments()}.
+ * <p>
+ * Appended elements fill up the last segment before a new one is started. Segments that exceed the maximum
+ * segment size by inserting elements are split in half, segments that become empty are removed.
+ * <p>
+ * Just like {@link ArrayList}, this implementation is not synchronized.
+ *
+ * @param <E> the type of the elements
+ */
+public final class LazyArrayList<E> extends AbstractList<E> implements RandomAccess
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	public static int defaultMaximumSegmentSize()
+	{
+		return 1000;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	private final int                                          maximumSegmentSize;
+	private final ArrayList<LazySegment.Default<ArrayList<E>>> segments          ;
+	private       int                                          size              ;
+	
+	/**
+	 * The index of the first element of every segment, valid up to (excluding) {@link #validOffsetCount}.
+	 */
+	private transient int[] segmentOffsets  ;
+	private transient int   validOffsetCount;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+	
+	public LazyArrayList()
+	{
+		this(defaultMaximumSegmentSize());
+	}
+	
+	public LazyArrayList(final int maximumSegmentSize)
+	{
+		super();
+		this.maximumSegmentSize = positive(maximumSegmentSize);
+		this.segments           = new ArrayList<>()           ;
+		this.segmentOffsets     = new int[1]                  ;
+	}
+	
+	public LazyArrayList(final Collection<? extends E> elements)
+	{
+		this();
+		this.addAll(elements);
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	public final int maximumSegmentSize()
+	{
+		return this.maximumSegmentSize;
+	}
+	
+	public final int segmentCount()
+	{
+		return this.segments.size();
+	}
+	
+	/**
+	 * Unloads all segments that are stored and not modified.
+	 * 
+	 * @return the number of unloaded segments.
+	 */
+	public final int unloadSegments()
+	{
+		int unloadedCount = 0;
+		for(final LazySegment<?> segment : this.segments)
+		{
+			if(segment.unload())
+			{
+				unloadedCount++;
+			}
+		}
+		
+		return unloadedCount;
+	}
+	
+	@Override
+	public final int size()
+	{
+		return this.size;
+	}
+	
+	@Override
+	public final E get(final int index)
+	{
+		final int segmentIndex = this.segmentIndex(Objects.checkIndex(index, this.size));
+		
+		return this.segments.get(segmentIndex).get().get(index - this.segmentOffsets[segmentIndex]);
+	}
+	
+	@Override
+	public final E set(final int index, final E element)
+	{
+		final int segmentIndex = this.segmentIndex(Objects.checkIndex(index, this.size));
+		
+		return this.segments.get(segmentIndex).modify().set(index - this.segmentOffsets[segmentIndex], element);
+	}
+	
+	@Override
+	public final boolean add(final E element)
+	{
+		this.append(element);
+		
+		return true;
+	}
+	
+	@Override
+	public final void add(final int index, final E element)
+	{
+		if(index == this.size)
+		{
+			this.append(element);
+			return;
+		}
+		if(index < 0 || index > this.size)
+		{
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		}
+		
+		final int                               segmentIndex = this.segmentIndex(index);
+		final LazySegment.Default<ArrayList<E>> segment      = this.segments.get(segmentIndex);
+		
+		segment.modify().add(index - this.segmentOffsets[segmentIndex], element);
+		segment.setSize(segment.size() + 1);
+		this.size++;
+		this.modCount++;
+		this.invalidateOffsets(segmentIndex + 1);
+		
+		if(segment.size() > this.maximumSegmentSize)
+		{
+			this.split(segmentIndex);
+		}
+	}
+	
+	@Override
+	public final E remove(final int index)
+	{
+		final int                               segmentIndex = this.segmentIndex(Objects.checkIndex(index, this.size));
+		final LazySegment.Default<ArrayList<E>> segment      = this.segments.get(segmentIndex);
+		
+		final E removed = segment.modify().remove(index - this.segmentOffsets[segmentIndex]);
+		segment.setSize(segment.size() - 1);
+		this.size--;
+		this.modCount++;
+		
+		if(segment.size() == 0)
+		{
+			this.segments.remove(segmentIndex);
+			this.invalidateOffsets(segmentIndex);
+		}
+		else
+		{
+			this.invalidateOffsets(segmentIndex + 1);
+		}
+		
+		return removed;
+	}
+	
+	@Override
+	public final void clear()
+	{
+		this.segments.clear();
+		this.size             = 0;
+		this.validOffsetCount = 0;
+		this.modCount++;
+	}
+	
+	private void append(final E element)
+	{
+		final int lastIndex = this.segments.size() - 1;
+		
+		final LazySegment.Default<ArrayList<E>> segment =
+			lastIndex < 0 || this.segments.get(lastIndex).size() >= this.maximumSegmentSize
+			? this.addSegment(lastIndex + 1, new ArrayList<>())
+			: this.segments.get(lastIndex)
+		;
+		
+		// appending to the last segment does not shift any segment offset
+		segment.modify().add(element);
+		segment.setSize(segment.size() + 1);
+		this.size++;
+		this.modCount++;
+	}
+	
+	private LazySegment.Default<ArrayList<E>> addSegment(final int segmentIndex, final ArrayList<E> data)
+	{
+		final LazySegment.Default<ArrayList<E>> segment = LazySegment.New(data);
+		segment.setSize(data.size());
+		this.segments.add(segmentIndex, segment);
+		this.invalidateOffsets(segmentIndex);
+		
+		return segment;
+	}
+	
+	private void split(final int segmentIndex)
+	{
+		final LazySegment.Default<ArrayList<E>> segment = this.segments.get(segmentIndex);
+		final ArrayList<E>                      data    = segment.modify();
+		final List<E>                           tail    = data.subList(data.size() / 2, data.size());
+		
+		this.addSegment(segmentIndex + 1, new ArrayList<>(tail));
+		tail.clear();
+		segment.setSize(data.size());
+	}
+	
+	private void invalidateOffsets(final int segmentIndex)
+	{
+		if(segmentIndex < this.validOffsetCount)
+		{
+			this.validOffsetCount = segmentIndex;
+		}
+	}
+	
+	private void ensureOffsets()
+	{
+		final int segmentCount = this.segments.size();
+		if(this.validOffsetCount >= segmentCount)
+		{
+			return;
+		}
+		
+		if(this.segmentOffsets.length < segmentCount)
+		{
+			this.segmentOffsets = Arrays.copyOf(
+				this.segmentOffsets,
+				Math.max(segmentCount, this.segmentOffsets.length * 2)
+			);
+		}
+		
+		int s = this.validOffsetCount;
+		int offset = s == 0
+			? 0
+			: this.segmentOffsets[s - 1] + this.segments.get(s - 1).size()
+		;
+		for(; s < segmentCount; s++)
+		{
+			this.segmentOffsets[s] = offset;
+			offset += this.segments.get(s).size();
+		}
+		this.validOffsetCount = segmentCount;
+	}
+	
+	private int segmentIndex(final int index)
+	{
+		this.ensureOffsets();
+		
+		// binary search for the last segment starting at or before the index. Segments are never empty.
+		int low  = 0;
+		int high = this.segments.size() - 1;
+		while(low < high)
+		{
+			final int middle = (low + high + 1) >>> 1;
+			if(this.segmentOffsets[middle] <= index)
+			{
+				low = middle;
+			}
+			else
+			{
+				high = middle - 1;
+			}
+		}
+		
+		return low;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// Hooks for TypeHandler //
+	//////////////////////////
+	
+	public final List<? extends LazySegment.Default<ArrayList<E>>> $segments()
+	{
+		return Collections.unmodifiableList(this.segments);
+	}
+	
+	@SuppressWarnings("unchecked") // type safety of loaded segments can only be ensured by the persisted data
+	public final void $setSegments(final LazySegment.Default<?>[] segments)
+	{
+		this.segments.clear();
+		this.size = 0;
+		for(final LazySegment.Default<?> segment : segments)
+		{
+			this.segments.add((LazySegment.Default<ArrayList<E>>)segment);
+			this.size += segment.size();
+		}
+		this.validOffsetCount = 0;
+		this.modCount++;
+	}
+	
+}
@@ -0,0 +1,549 @@
+package one.microstream.collections.lazy;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.positive;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import one.microstream.reference.Lazy;
+import one.microstream.reference.LazyReferenceManager;
+
+
+/**
+ * A {@link Map} implementation that partitions its entries by their keys' hash values into segments,
+ * each of which is a {@link HashMap} held behind a {@link Lazy} reference (see {@link LazySegment}).
+ * <p>
+ * In contrast to a {@link HashMap}, storing a {@link LazyHashMap} only stores the segments that have been
+ * modified since they have last been stored, plus a small record listing all segments. Loading it only loads
+ * that record, a segment's data is loaded on demand when a key of the segment is accessed.
+ * Segments that are stored and not modified can be unloaded by the {@link LazyReferenceManager} or via
+ * {@link #unloadSegments()}.
+ * <p>
+ * The number of segments is a power of two. It is doubled whenever the average segment size exceeds the maximum
+ * segment size, which requires loading all segments and causes all of them to be stored again on the next store.
+ * <p>
+ * Since the segment of a key is determined by its hash value and the segmentation is persisted, the keys' hash values
+ * must be stable across processes, e.g. {@link String}, boxed primitive values or types with an equally value-based
+ * {@link Object#hashCode()}. Keys with identity-based hash values cannot be found again after a restart.
+ * <p>
+ * Just like {@link HashMap}, this implementation is not synchronized.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class LazyHashMap<K, V> extends AbstractMap<K, V>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	public static int defaultMaximumSegmentSize()
+	{
+		return 1000;
+	}
+	
+	static int segmentIndex(final Object key, final int segmentBits)
+	{
+		if(segmentBits == 0)
+		{
+			return 0;
+		}
+		
+		// fibonacci hashing: the high bits select the segment, the low bits are left for the segment's hashing
+		return (Objects.hashCode(key) * 0x9E3779B9) >>> Integer.SIZE - segmentBits;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	private final int                                            maximumSegmentSize;
+	private       ArrayList<LazySegment.Default<HashMap<K, V>>> segments          ;
+	private       int                                            segmentBits       ;
+	private       int                                            size              ;
+	
+	private transient EntrySet entrySet;
+	
+	// the number of structural modifications, which invalidate running iterations, like in HashMap.
+	private transient int modCount;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+	
+	public LazyHashMap()
+	{
+		this(defaultMaximumSegmentSize());
+	}
+	
+	public LazyHashMap(final int maximumSegmentSize)
+	{
+		super();
+		this.maximumSegmentSize = positive(maximumSegmentSize);
+		this.segments           = createSegments(0)          ;
+	}
+	
+	public LazyHashMap(final Map<? extends K, ? extends V> entries)
+	{
+		this();
+		this.putAll(entries);
+	}
+	
+	private static <K, V> ArrayList<LazySegment.Default<HashMap<K, V>>> createSegments(final int segmentBits)
+	{
+		final int segmentCount = 1 << segmentBits;
+		
+		final ArrayList<LazySegment.Default<HashMap<K, V>>> segments = new ArrayList<>(segmentCount);
+		for(int i = 0; i < segmentCount; i++)
+		{
+			segments.add(LazySegment.New(new HashMap<>()));
+		}
+		
+		return segments;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	public final int maximumSegmentSize()
+	{
+		return this.maximumSegmentSize;
+	}
+	
+	public final int segmentCount()
+	{
+		return this.segments.size();
+	}
+	
+	/**
+	 * Unloads all segments that are stored and not modified.
+	 * 
+	 * @return the number of unloaded segments.
+	 */
+	public final int unloadSegments()
+	{
+		int unloadedCount = 0;
+		for(final LazySegment<?> segment : this.segments)
+		{
+			if(segment.unload())
+			{
+				unloadedCount++;
+			}
+		}
+		
+		return unloadedCount;
+	}
+	
+	private LazySegment.Default<HashMap<K, V>> segment(final Object key)
+	{
+		return this.segments.get(segmentIndex(key, this.segmentBits));
+	}
+	
+	@Override
+	public final int size()
+	{
+		return this.size;
+	}
+	
+	@Override
+	public final boolean containsKey(final Object key)
+	{
+		return this.segment(key).get().containsKey(key);
+	}
+	
+	@Override
+	public final V get(final Object key)
+	{
+		return this.segment(key).get().get(key);
+	}
+	
+	@Override
+	public final V put(final K key, final V value)
+	{
+		final LazySegment.Default<HashMap<K, V>> segment = this.segment(key);
+		final HashMap<K, V>                      data    = segment.modify();
+		
+		final V oldValue = data.put(key, value);
+		if(data.size() != segment.size())
+		{
+			segment.setSize(data.size());
+			this.modCount++;
+			if(++this.size > this.segments.size() * (long)this.maximumSegmentSize)
+			{
+				this.grow();
+			}
+		}
+		
+		return oldValue;
+	}
+	
+	@Override
+	public final V remove(final Object key)
+	{
+		final LazySegment.Default<HashMap<K, V>> segment = this.segment(key);
+		
+		// a missing key must not mark the segment as modified
+		if(!segment.get().containsKey(key))
+		{
+			return null;
+		}
+		
+		final HashMap<K, V> data     = segment.modify();
+		final V             oldValue = data.remove(key);
+		segment.setSize(data.size());
+		this.size--;
+		this.modCount++;
+		
+		return oldValue;
+	}
+	
+	@Override
+	public final void clear()
+	{
+		this.segments    = createSegments(0);
+		this.segmentBits = 0;
+		this.size        = 0;
+		this.modCount++;
+	}
+	
+	@Override
+	public final Set<Map.Entry<K, V>> entrySet()
+	{
+		if(this.entrySet == null)
+		{
+			this.entrySet = new EntrySet();
+		}
+		
+		return this.entrySet;
+	}
+	
+	private void grow()
+	{
+		final int                                           segmentBits = this.segmentBits + 1;
+		final ArrayList<LazySegment.Default<HashMap<K, V>>> segments    = createSegments(segmentBits);
+		
+		for(final LazySegment<HashMap<K, V>> segment : this.segments)
+		{
+			for(final Map.Entry<K, V> entry : segment.get().entrySet())
+			{
+				segments.get(segmentIndex(entry.getKey(), segmentBits)).modify().put(entry.getKey(), entry.getValue());
+			}
+		}
+		for(final LazySegment.Default<HashMap<K, V>> segment : segments)
+		{
+			segment.setSize(segment.modify().size());
+		}
+		
+		this.segments    = segments   ;
+		this.segmentBits = segmentBits;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// Hooks for TypeHandler //
+	//////////////////////////
+	
+	public final List<? extends LazySegment.Default<HashMap<K, V>>> $segments()
+	{
+		return Collections.unmodifiableList(this.segments);
+	}
+	
+	@SuppressWarnings("unchecked") // type safety of loaded segments can only be ensured by the persisted data
+	public final void $setSegments(final LazySegment.Default<?>[] segments)
+	{
+		if(Integer.bitCount(segments.length) != 1)
+		{
+			throw new IllegalArgumentException("Segment count is not a power of two: " + segments.length);
+		}
+		
+		final ArrayList<LazySegment.Default<HashMap<K, V>>> loadedSegments = new ArrayList<>(segments.length);
+		int size = 0;
+		for(final LazySegment.Default<?> segment : segments)
+		{
+			loadedSegments.add((LazySegment.Default<HashMap<K, V>>)segment);
+			size += segment.size();
+		}
+		
+		this.segments    = loadedSegments                                ;
+		this.segmentBits = Integer.numberOfTrailingZeros(segments.length);
+		this.size        = size                                          ;
+		this.modCount++;
+	}
+	
+	
+	
+	final class EntrySet extends AbstractSet<Map.Entry<K, V>>
+	{
+		@Override
+		public final int size()
+		{
+			return LazyHashMap.this.size;
+		}
+		
+		@Override
+		public final Iterator<Map.Entry<K, V>> iterator()
+		{
+			return new EntryIterator();
+		}
+		
+		@Override
+		public final boolean contains(final Object o)
+		{
+			if(!(o instanceof Map.Entry))
+			{
+				return false;
+			}
+			
+			final Map.Entry<?, ?> entry = (Map.Entry<?, ?>)o;
+			final HashMap<K, V>   data  = LazyHashMap.this.segment(entry.getKey()).get();
+			
+			return data.containsKey(entry.getKey()) && Objects.equals(data.get(entry.getKey()), entry.getValue());
+		}
+		
+		@Override
+		public final boolean remove(final Object o)
+		{
+			if(!this.contains(o))
+			{
+				return false;
+			}
+			
+			LazyHashMap.this.remove(((Map.Entry<?, ?>)o).getKey());
+			
+			return true;
+		}
+		
+		@Override
+		public final void clear()
+		{
+			LazyHashMap.this.clear();
+		}
+		
+	}
+	
+	final class EntryIterator implements Iterator<Map.Entry<K, V>>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final List<LazySegment.Default<HashMap<K, V>>> segments        ;
+		private       int                                      expectedModCount;
+		private       int                                      nextSegmentIndex;
+		private       LazySegment.Default<HashMap<K, V>>       segment         ;
+		private       HashMap<K, V>                            data            ;
+		private       Iterator<Map.Entry<K, V>>                iterator        ;
+		private       LazySegment.Default<HashMap<K, V>>       lastSegment     ;
+		private       HashMap<K, V>                            lastData        ;
+		private       Iterator<Map.Entry<K, V>>                lastIterator    ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		EntryIterator()
+		{
+			super();
+			this.segments         = LazyHashMap.this.segments;
+			this.expectedModCount = LazyHashMap.this.modCount;
+			this.iterator         = Collections.emptyIterator();
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		private void checkForComodification()
+		{
+			if(LazyHashMap.this.modCount != this.expectedModCount)
+			{
+				throw new ConcurrentModificationException();
+			}
+		}
+		
+		@Override
+		public final boolean hasNext()
+		{
+			// iterates the segments it has been created for, a grown map's segments are detected by next().
+			while(!this.iterator.hasNext())
+			{
+				if(this.nextSegmentIndex >= this.segments.size())
+				{
+					return false;
+				}
+				this.segment  = this.segments.get(this.nextSegmentIndex++);
+				this.data     = this.segment.get();
+				this.iterator = this.data.entrySet().iterator();
+			}
+			
+			return true;
+		}
+		
+		@Override
+		public final Map.Entry<K, V> next()
+		{
+			this.checkForComodification();
+			if(!this.hasNext())
+			{
+				throw new NoSuchElementException();
+			}
+			
+			this.lastSegment  = this.segment ;
+			this.lastData     = this.data    ;
+			this.lastIterator = this.iterator;
+			
+			return new SegmentEntry<>(this.segment, this.data, this.iterator.next());
+		}
+		
+		@Override
+		public final void remove()
+		{
+			if(this.lastIterator == null)
+			{
+				throw new IllegalStateException();
+			}
+			this.checkForComodification();
+			
+			modify(this.lastSegment, this.lastData);
+			this.lastIterator.remove();
+			this.lastSegment.setSize(this.lastSegment.size() - 1);
+			LazyHashMap.this.size--;
+			this.expectedModCount = ++LazyHashMap.this.modCount;
+			this.lastIterator = null;
+		}
+		
+	}
+	
+	/**
+	 * Marks the passed segment as modified, ensuring that the iterated data is the one that gets stored.
+	 * If the segment has been unloaded during the iteration and reloading yields a different instance,
+	 * the modification of the iterated one would be lost.
+	 */
+	static <K, V> void modify(final LazySegment.Default<HashMap<K, V>> segment, final HashMap<K, V> data)
+	{
+		if(segment.modify() != data)
+		{
+			throw new ConcurrentModificationException();
+		}
+	}
+	
+	/**
+	 * An entry that marks its segment as modified when its value is set.
+	 */
+	static final class SegmentEntry<K, V> implements Map.Entry<K, V>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final LazySegment.Default<HashMap<K, V>> segment;
+		private final HashMap<K, V>                      data   ;
+		private final Map.Entry<K, V>                    entry  ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		SegmentEntry(
+			final LazySegment.Default<HashMap<K, V>> segment,
+			final HashMap<K, V>                      data   ,
+			final Map.Entry<K, V>                    entry
+		)
+		{
+			super();
+			this.segment = segment;
+			this.data    = data   ;
+			this.entry   = entry  ;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final K getKey()
+		{
+			return this.entry.getKey();
+		}
+		
+		@Override
+		public final V getValue()
+		{
+			return this.entry.getValue();
+		}
+		
+		@Override
+		public final V setValue(final V value)
+		{
+			modify(this.segment, this.data);
+			
+			return this.entry.setValue(value);
+		}
+		
+		@Override
+		public final boolean equals(final Object o)
+		{
+			return this.entry.equals(o);
+		}
+		
+		@Override
+		public final int hashCode()
+		{
+			return this.entry.hashCode();
+		}
+		
+		@Override
+		public final String toString()
+		{
+			return this.entry.toString();
+		}
+		
+	}
+	
+}
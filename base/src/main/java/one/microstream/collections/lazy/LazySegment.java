@@ -0,0 +1,236 @@
+package one.microstream.collections.lazy;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.reference.Lazy;
+import one.microstream.reference.LazyReferenceManager;
+
+
+/**
+ * A segment of a segmented lazy collection like {@link LazyArrayList} or {@link LazyHashMap}:
+ * a part of the collection's elements, held in a data instance behind a {@link Lazy} reference.
+ * <p>
+ * A segment knows its element count without having to load its data, so that its owning collection
+ * can locate elements by only loading the segment that contains them.<br>
+ * Once modified, a segment references its data strongly until it has been stored. This way, a
+ * {@link LazyReferenceManager} can never unload (and thereby discard) modifications that have not been
+ * persisted, yet. When the owning collection gets stored, only the data of modified segments is stored
+ * again, all other segments are left untouched.
+ *
+ * @param <D> the type of the segment's data
+ */
+public interface LazySegment<D>
+{
+	/**
+	 * @return the number of elements in this segment, without loading its data.
+	 */
+	public int size();
+	
+	/**
+	 * Returns the segment's data, loading it if necessary.
+	 * 
+	 * @return the segment's data.
+	 */
+	public D get();
+	
+	/**
+	 * Returns the segment's data without loading it.
+	 * 
+	 * @return the segment's data or {@code null} if it is currently not loaded.
+	 */
+	public D peek();
+	
+	public boolean isLoaded();
+	
+	/**
+	 * @return whether this segment has been modified since it has last been stored.
+	 */
+	public boolean isModified();
+	
+	/**
+	 * Unloads the segment's data, if it is stored and not modified.
+	 * 
+	 * @return whether loaded data has been unloaded.
+	 */
+	public boolean unload();
+	
+	
+	
+	public static <D> LazySegment.Default<D> New(final D data)
+	{
+		return new LazySegment.Default<>(0, Lazy.Reference(data), data);
+	}
+	
+	
+	public final class Default<D> implements LazySegment<D>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		int     size;
+		Lazy<D> data;
+		
+		/**
+		 * The data as long as it contains modifications that have not been stored, yet.
+		 * Strongly referencing it prevents it from being unloaded via {@link #data}.
+		 */
+		transient D modifiedData;
+		
+		/**
+		 * Counts the calls of {@link #modify()}, so that a completing store only clears the modifications
+		 * it has actually stored and none that have been made while it was in progress.
+		 */
+		transient int modificationCount;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Default(final int size, final Lazy<D> data, final D modifiedData)
+		{
+			super();
+			this.size         = size        ;
+			this.data         = data        ;
+			this.modifiedData = modifiedData;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final int size()
+		{
+			return this.size;
+		}
+		
+		@Override
+		public final D get()
+		{
+			return this.modifiedData != null
+				? this.modifiedData
+				: this.data.get()
+			;
+		}
+		
+		@Override
+		public final D peek()
+		{
+			return this.modifiedData != null
+				? this.modifiedData
+				: this.data.peek()
+			;
+		}
+		
+		@Override
+		public final boolean isLoaded()
+		{
+			return this.modifiedData != null || this.data.isLoaded();
+		}
+		
+		@Override
+		public final boolean isModified()
+		{
+			return this.modifiedData != null;
+		}
+		
+		@Override
+		public final boolean unload()
+		{
+			if(this.modifiedData != null || !this.data.isStored())
+			{
+				return false;
+			}
+			
+			return this.data.clear() != null;
+		}
+		
+		/**
+		 * Returns the segment's data, loading it if necessary, and marks the segment as modified.
+		 * 
+		 * @return the segment's data to be modified.
+		 */
+		final synchronized D modify()
+		{
+			this.modificationCount++;
+			if(this.modifiedData == null)
+			{
+				this.modifiedData = this.data.get();
+			}
+			
+			return this.modifiedData;
+		}
+		
+		final void setSize(final int size)
+		{
+			this.size = size;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// Hooks for TypeHandler //
+		//////////////////////////
+		
+		public final Lazy<D> $data()
+		{
+			return this.data;
+		}
+		
+		public final D $modifiedData()
+		{
+			return this.modifiedData;
+		}
+		
+		public final void $setState(final int size, final Lazy<D> data)
+		{
+			this.size         = size;
+			this.data         = data;
+			this.modifiedData = null;
+		}
+		
+		public final synchronized int $modificationCount()
+		{
+			return this.modificationCount;
+		}
+		
+		public final synchronized void $clearModification(final int storedModificationCount)
+		{
+			if(this.modificationCount == storedModificationCount)
+			{
+				this.modifiedData = null;
+			}
+		}
+		
+		@Override
+		public String toString()
+		{
+			return "Segment (" + this.size + (this.isModified() ? ", modified)" : ")");
+		}
+		
+	}
+	
+}
@@ -290,9 +290,8 @@ public final class XSockets
 				
 		do
 		{
-			read(channel, checkedBuffer);
-			
-			if(checkedBuffer.hasRemaining())
+			// a blocking channel only returns without progress if there is no data, so only wait in that case.
+			if(read(channel, checkedBuffer) == 0 && checkedBuffer.hasRemaining())
 			{
 				try
 				{
@@ -358,29 +357,95 @@ public final class XSockets
 			}
 			if(buffer.remaining() < remaining)
 			{
-				// reset timeout if new bytes arrived
+				// reset timeout if new bytes arrived and immediately try again
 				responseTimeoutPoint = System.currentTimeMillis() + responseTimeout;
 				remaining = buffer.remaining();
+				continue;
+			}
+			
+			if(!waitForIoProgress(responseTimeoutPoint))
+			{
+				return;
 			}
-			else if(System.currentTimeMillis() >= responseTimeoutPoint)
+		}
+	}
+	
+	/**
+	 * Writes all bytes of the passed {@link ByteBuffer}s from their position to their limit with as few
+	 * gathering write calls to the passed {@link SocketChannel} as possible, so that multiple buffers
+	 * can be sent without copying them into one buffer first.
+	 * 
+	 * @param channel the target channel
+	 * @param buffers the source buffers, written in order
+	 * @param responseTimeout the time in milliseconds after which the writing is aborted if no bytes could be written
+	 * @throws ComException if a communication error occurs
+	 * @throws ComExceptionTimeout if no bytes could be written for longer than the response timeout
+	 */
+	public static void writeFromBuffers(
+		final SocketChannel channel        ,
+		final ByteBuffer[]  buffers        ,
+		final int           responseTimeout
+	)
+		throws ComException, ComExceptionTimeout
+	{
+		long responseTimeoutPoint = System.currentTimeMillis() + responseTimeout;
+		
+		int offset = 0;
+		while(true)
+		{
+			// skip buffers that have been written completely
+			while(offset < buffers.length && !buffers[offset].hasRemaining())
 			{
-				// otherwise check for timeout
-				throw new ComExceptionTimeout();
+				offset++;
+			}
+			if(offset == buffers.length)
+			{
+				break; // all bytes written, leave loop
 			}
 			
+			final long writtenBytes;
 			try
 			{
-				Thread.sleep(IO_LOOP_SLEEP_TIME);
-				continue; // restart loop to try writing more bytes
+				writtenBytes = channel.write(buffers, offset, buffers.length - offset);
+			}
+			catch(final IOException e)
+			{
+				throw new ComException(e);
+			}
+			
+			if(writtenBytes > 0)
+			{
+				// reset timeout if bytes were written and immediately try again
+				responseTimeoutPoint = System.currentTimeMillis() + responseTimeout;
+				continue;
 			}
-			catch(final InterruptedException e)
+			
+			if(!waitForIoProgress(responseTimeoutPoint))
 			{
-				// if interrupted (rather academic in this simple example) just abort. Calling context must handle.
 				return;
 			}
 		}
 	}
 	
+	private static boolean waitForIoProgress(final long responseTimeoutPoint) throws ComExceptionTimeout
+	{
+		if(System.currentTimeMillis() >= responseTimeoutPoint)
+		{
+			throw new ComExceptionTimeout();
+		}
+		
+		try
+		{
+			Thread.sleep(IO_LOOP_SLEEP_TIME);
+			return true; // restart loop to try transferring more bytes
+		}
+		catch(final InterruptedException e)
+		{
+			// if interrupted (rather academic in this simple example) just abort. Calling context must handle.
+			return false;
+		}
+	}
+	
 
 	
 	///////////////////////////////////////////////////////////////////////////
@@ -21,9 +21,14 @@ package one.microstream.reference;
  */
 
 import static one.microstream.X.mayNull;
+import static one.microstream.X.notNull;
 import static one.microstream.chars.XChars.systemString;
+import static one.microstream.math.XMath.notNegative;
+import static one.microstream.math.XMath.positive;
 import static one.microstream.util.logging.Logging.LazyArg;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.slf4j.Logger;
 
 import one.microstream.chars.VarString;
@@ -140,6 +145,54 @@ public interface Lazy<T> extends Referencing<T>
 		
 		return reference.isLoaded();
 	}
+	
+	/**
+	 * Loads the subjects of all passed lazy references that are not loaded, yet.
+	 * Instead of loading every subject on its own, the object ids of all references sharing the same loader
+	 * are loaded in a single request.
+	 * 
+	 * @param references the lazy references to be loaded, may contain {@literal null} elements.
+	 * 
+	 * @see #loadAll(Iterable, int)
+	 */
+	public static void loadAll(final Iterable<? extends Lazy<?>> references)
+	{
+		LazyLoading.loadAll(references, 0);
+	}
+	
+	/**
+	 * Loads the subjects of all passed lazy references that are not loaded, yet, like {@link #loadAll(Iterable)}.
+	 * Additionally, the lazy references contained in the loaded subgraphs are loaded as well, up to the passed
+	 * depth of nested lazy references. Every level of nesting is loaded in a single request.
+	 * 
+	 * @param references the lazy references to be loaded, may contain {@literal null} elements.
+	 * @param depth the number of levels of nested lazy references to be loaded as well, 0 for none.
+	 */
+	public static void loadAll(final Iterable<? extends Lazy<?>> references, final int depth)
+	{
+		LazyLoading.loadAll(references, notNegative(depth));
+	}
+	
+	/**
+	 * Creates an {@link Iterable} of the subjects of the passed lazy references. Iterating it loads the subjects
+	 * in batches of the passed size via {@link #loadAll(Iterable)}, ahead of returning them.
+	 * 
+	 * @param <T> the type of the lazily referenced subjects
+	 * @param references the lazy references whose subjects shall be iterated.
+	 * @param batchSize the number of references to be loaded in a single request.
+	 * 
+	 * @return an {@link Iterable} of the subjects of the passed lazy references.
+	 */
+	public static <T> Iterable<T> prefetching(
+		final Iterable<? extends Lazy<? extends T>> references,
+		final int                                   batchSize
+	)
+	{
+		notNull(references);
+		positive(batchSize);
+		
+		return () -> new LazyLoading.PrefetchingIterator<>(references.iterator(), batchSize);
+	}
 
 	public static <T> Lazy<T> Reference(final T subject)
 	{
@@ -164,6 +217,7 @@ public interface Lazy<T> extends Referencing<T>
 	public static <T, L extends Lazy<T>> L register(final L lazyReference)
 	{
 		LazyReferenceManager.get().register(lazyReference);
+		LazyLoading.registered(lazyReference);
 		return lazyReference;
 	}
 	
@@ -431,6 +485,27 @@ public interface Lazy<T> extends Referencing<T>
 			);
 		}
 
+		final synchronized boolean requiresLoading()
+		{
+			return this.subject == null && Swizzling.isProperId(this.objectId);
+		}
+		
+		final synchronized ObjectSwizzling loader()
+		{
+			return this.loader;
+		}
+		
+		@SuppressWarnings("unchecked") // safety of cast guaranteed by logic
+		final synchronized void setLoaded(final Object subject)
+		{
+			// a concurrent get() might have loaded the subject in the meantime
+			if(this.subject == null)
+			{
+				this.subject = (T)subject;
+			}
+			this.touch();
+		}
+
 		final synchronized boolean clearIfTimedout(final long millisecondThreshold)
 		{
 			logger.trace(
@@ -564,6 +639,8 @@ public interface Lazy<T> extends Referencing<T>
 		}
 
 		/**
+		 * Note that a {@link LazyReferenceManager} may call this method concurrently from several threads
+		 * during one check cycle, see {@link LazyReferenceManager#New(Checker, _longReference, _longReference, int, int)}.
 		 * 
 		 * @param lazyReference the lazy reference to check against
 		 * @return if additional checks should be prevented
@@ -710,7 +787,9 @@ public interface Lazy<T> extends Referencing<T>
 			 */
 			private long cycleMemoryLimit;
 			private long cycleMemoryUsed;
-			private long cycleClearCount;
+			
+			// references may be checked concurrently, see LazyReferenceManager#New
+			private final AtomicLong cycleClearCount = new AtomicLong();
 			
 			// derive working variables for fast integer arithmetic //
 			
@@ -772,7 +851,7 @@ public interface Lazy<T> extends Referencing<T>
 
 				// querying a MemoryUsage instance takes about 500 ns to query, so it is only done occasionally.
 				this.updateMemoryUsage();
-				this.cycleClearCount = 0;
+				this.cycleClearCount.set(0);
 
 				logger.trace("Begin check cycle: {}", LazyArg(this::DEBUG_cycleState));
 			}
@@ -782,11 +861,11 @@ public interface Lazy<T> extends Referencing<T>
 			{
 				if(this.cycleEvaluator != null)
 				{
-					this.cycleEvaluator.evaluateCycle(this.cycleMemoryStatistics, this.cycleClearCount, this.memoryQuota);
+					this.cycleEvaluator.evaluateCycle(this.cycleMemoryStatistics, this.cycleClearCount.get(), this.memoryQuota);
 				}
 				else
 				{
-					logger.trace("End check cycle: {}\ncleared references: {}", LazyArg(this::DEBUG_cycleState), this.cycleClearCount);
+					logger.trace("End check cycle: {}\ncleared references: {}", LazyArg(this::DEBUG_cycleState), this.cycleClearCount.get());
 				}
 			}
 			
@@ -834,8 +913,11 @@ public interface Lazy<T> extends Referencing<T>
 				 * It will definitely, eventually.
 				 * And an explicit call can still be done by passing an appropriate custom check function that always
 				 * returns null but calls the JVM GC every 1000th or so call.
+				 * 
+				 * When checked concurrently, the memory usage fields might briefly be inconsistent among each other.
+				 * That is irrelevant for a heuristic that is already based on a slightly outdated memory usage.
 				 */
-				if((++this.cycleClearCount & 127L) == 0)
+				if((this.cycleClearCount.incrementAndGet() & 127L) == 0)
 				{
 					this.updateMemoryUsage();
 				}
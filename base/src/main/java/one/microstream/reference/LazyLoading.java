@@ -0,0 +1,222 @@
+package one.microstream.reference;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import one.microstream.collections.BulkList;
+
+
+/**
+ * Logic for loading many {@link Lazy} references at once, see {@link Lazy#loadAll(Iterable, int)}.
+ */
+final class LazyLoading
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+	
+	/**
+	 * The lazy references registered by the current thread while loading the subjects of a level, i.e. the
+	 * lazy references contained in the loaded subgraphs, or {@literal null} if they are not required.
+	 * Loading happens in the requesting thread, so only references created by that loading are collected.
+	 */
+	private static final ThreadLocal<List<Lazy<?>>> NESTED_REFERENCES = new ThreadLocal<>();
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	static void registered(final Lazy<?> lazyReference)
+	{
+		final List<Lazy<?>> nestedReferences = NESTED_REFERENCES.get();
+		if(nestedReferences != null)
+		{
+			nestedReferences.add(lazyReference);
+		}
+	}
+	
+	static void loadAll(final Iterable<? extends Lazy<?>> references, final int depth)
+	{
+		final List<Lazy<?>> outerNestedReferences = NESTED_REFERENCES.get();
+		try
+		{
+			Iterable<? extends Lazy<?>> levelReferences = references;
+			for(int level = 0;; level++)
+			{
+				final List<Lazy<?>> nestedReferences = level < depth
+					? new ArrayList<>()
+					: null
+				;
+				NESTED_REFERENCES.set(nestedReferences);
+				load(levelReferences);
+				
+				if(nestedReferences == null || nestedReferences.isEmpty())
+				{
+					return;
+				}
+				levelReferences = nestedReferences;
+			}
+		}
+		finally
+		{
+			NESTED_REFERENCES.set(outerNestedReferences);
+		}
+	}
+	
+	private static void load(final Iterable<? extends Lazy<?>> references)
+	{
+		// the references are loaded in one batch per loader, which is typically the same for all of them.
+		final IdentityHashMap<ObjectSwizzling, BulkList<Lazy.Default<?>>> batches = new IdentityHashMap<>();
+		for(final Lazy<?> reference : references)
+		{
+			if(reference instanceof Lazy.Default)
+			{
+				final Lazy.Default<?> lazy = (Lazy.Default<?>)reference;
+				if(!lazy.requiresLoading())
+				{
+					continue;
+				}
+				
+				final ObjectSwizzling loader = lazy.loader();
+				if(loader != null)
+				{
+					batches.computeIfAbsent(loader, l -> BulkList.New()).add(lazy);
+					continue;
+				}
+			}
+			
+			// other implementations and references without a loader, yet, are loaded as usual.
+			Lazy.get(reference);
+		}
+		
+		batches.forEach(LazyLoading::load);
+	}
+	
+	private static void load(final ObjectSwizzling loader, final BulkList<Lazy.Default<?>> batch)
+	{
+		final long[] objectIds = new long[batch.intSize()];
+		for(int i = 0; i < objectIds.length; i++)
+		{
+			objectIds[i] = batch.at(i).objectId();
+		}
+		
+		// subjects are collected in the order of the passed object ids
+		final BulkList<Object> subjects = loader.collect(BulkList.New(objectIds.length), objectIds);
+		for(int i = 0; i < objectIds.length; i++)
+		{
+			batch.at(i).setLoaded(subjects.at(i));
+		}
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+	
+	/**
+	 * Dummy constructor to prevent instantiation of this static-only utility class.
+	 * 
+	 * @throws UnsupportedOperationException when called
+	 */
+	private LazyLoading()
+	{
+		// static only
+		throw new UnsupportedOperationException();
+	}
+	
+	
+	
+	static final class PrefetchingIterator<T> implements Iterator<T>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final Iterator<? extends Lazy<? extends T>> references;
+		private final int                                   batchSize ;
+		private final BulkList<Lazy<? extends T>>           batch     ;
+		private       int                                   index     ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		PrefetchingIterator(final Iterator<? extends Lazy<? extends T>> references, final int batchSize)
+		{
+			super();
+			this.references = references            ;
+			this.batchSize  = batchSize             ;
+			this.batch      = BulkList.New(batchSize);
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final boolean hasNext()
+		{
+			return this.index < this.batch.intSize() || this.references.hasNext();
+		}
+		
+		@Override
+		public final T next()
+		{
+			if(this.index >= this.batch.intSize())
+			{
+				this.prefetch();
+			}
+			
+			return Lazy.get(this.batch.at(this.index++));
+		}
+		
+		private void prefetch()
+		{
+			if(!this.references.hasNext())
+			{
+				throw new NoSuchElementException();
+			}
+			
+			this.batch.clear();
+			this.index = 0;
+			while(this.batch.intSize() < this.batchSize && this.references.hasNext())
+			{
+				this.batch.add(this.references.next());
+			}
+			
+			LazyLoading.loadAll(this.batch, 0);
+		}
+		
+	}
+	
+}
@@ -21,10 +21,17 @@ package one.microstream.reference;
  */
 
 import java.lang.ref.WeakReference;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 
+import one.microstream.math.XMath;
 import one.microstream.memory.MemoryStatistics;
 import one.microstream.reference.Lazy.Check;
 import one.microstream.reference.Lazy.Checker;
@@ -52,6 +59,16 @@ public interface LazyReferenceManager
 	}
 
 	public void clear();
+	
+	/**
+	 * Clears the given quota of all loaded and stored references, the least recently touched ones first.
+	 * This is meant to quickly relieve memory pressure, e.g. by a {@link MemoryPressureMonitor}, without
+	 * waiting for the regular check cycles to catch up.
+	 * 
+	 * @param quota the share of loaded references to be cleared in the range [0.0; 1.0].
+	 * @return the number of cleared references.
+	 */
+	public long clearLeastRecentlyTouched(double quota);
 
 	public LazyReferenceManager start();
 
@@ -62,6 +79,14 @@ public interface LazyReferenceManager
 	public boolean removeController(LazyReferenceManager.Controller controller);
 	
 	public boolean isRunning();
+	
+	/**
+	 * Returns the figures of the check cycles executed so far, e.g. the duration of the last cycle and the
+	 * number of references it cleared.
+	 * 
+	 * @return the current {@link Statistics} snapshot.
+	 */
+	public LazyReferenceManager.Statistics statistics();
 
 	public <P extends Consumer<? super Lazy<?>>> P iterate(P iterator);
 
@@ -168,7 +193,49 @@ public interface LazyReferenceManager
 		final _longReference    nanoTimeBudgetProvider
 	)
 	{
-		return new Default(checker, milliTimeCheckIntervalProvider, nanoTimeBudgetProvider);
+		return New(
+			checker                       ,
+			milliTimeCheckIntervalProvider,
+			nanoTimeBudgetProvider        ,
+			Default.DEFAULT_SHARD_COUNT   ,
+			Default.DEFAULT_PARALLELISM
+		);
+	}
+	
+	/**
+	 * Creates a new {@link LazyReferenceManager} that distributes its registered references over
+	 * {@code shardCount} independent registries. Registering a reference requires no lock, only a
+	 * compare-and-swap on the shard selected for it, so concurrently registering threads hardly ever contend.
+	 * <p>
+	 * Each check cycle processes the shards with up to {@code parallelism} threads: the thread executing the
+	 * cycle plus a small pool of daemon worker threads. Note that this means the passed {@link Checker}'s
+	 * {@link Checker#check(Lazy)} method must be safe to be called concurrently if {@code parallelism} is
+	 * greater than 1.<br>
+	 * The time budget applies to every checking thread, so a cycle can consume up to {@code parallelism} times
+	 * the budget in total CPU time. The other factory methods use a parallelism of 1.
+	 * 
+	 * @param checker the checker deciding which references to clear.
+	 * @param milliTimeCheckIntervalProvider the provider for the interval between two check cycles.
+	 * @param nanoTimeBudgetProvider the provider for the time budget of one check cycle.
+	 * @param shardCount the number of shards, rounded up to the next power of 2.
+	 * @param parallelism the maximum number of threads checking shards in one cycle.
+	 * @return a new {@link LazyReferenceManager} instance.
+	 */
+	public static LazyReferenceManager New(
+		final Checker           checker                       ,
+		final _longReference    milliTimeCheckIntervalProvider,
+		final _longReference    nanoTimeBudgetProvider        ,
+		final int               shardCount                    ,
+		final int               parallelism
+	)
+	{
+		return new Default(
+			checker                                           ,
+			milliTimeCheckIntervalProvider                    ,
+			nanoTimeBudgetProvider                            ,
+			XMath.pow2BoundCapped(XMath.positive(shardCount)),
+			XMath.positive(parallelism)
+		);
 	}
 
 	public final class Default implements LazyReferenceManager
@@ -181,9 +248,13 @@ public interface LazyReferenceManager
 		
 		private static final Clearer CLEARER = new Clearer();
 
-		// defaults mean to check every second with a budget of 1 MS (0.1% thread activity)
+		// defaults mean to check every second with a budget of 1 MS per checking thread (0.1% activity per thread)
 		        static final long    DEFAULT_CHECK_INTERVAL_MS = 1_000        ;
 		        static final long    DEFAULT_TIME_BUDGET_NS    =     1_000_000;
+		        
+		// enough shards to keep registering threads apart. Checking them in parallel is opt-in.
+		        static final int     DEFAULT_SHARD_COUNT       = XMath.pow2BoundCapped(4 * Runtime.getRuntime().availableProcessors());
+		        static final int     DEFAULT_PARALLELISM       = 1;
 
 
 
@@ -194,13 +265,19 @@ public interface LazyReferenceManager
 		private final    Checker        checker                       ;
 		private final    _longReference millitimeCheckIntervalProvider;
 		private final    _longReference nanoTimeBudgetProvider        ;
-		private final    Entry          head   = new Entry(null)      ;
-		private          Entry          tail   = this.head            ;
-		private          Entry          cursor = this.head            ; // current "last" entry for checking
+		private final    Shard[]        shards                        ;
+		private final    int            shardMask                     ;
+		private final    int            parallelism                   ;
 		
+		// all of the following fields are guarded by this instance's monitor.
 		private boolean         running        ;
 		private ControllerEntry headController ;
 		private long            controllerCount;
+		private int             shardOffset    ; // first shard to be checked in the next cycle
+		private Statistics      statistics     ;
+		
+		// created lazily on demand. Its worker threads are daemons that terminate on their own when idle.
+		private ForkJoinPool    pool           ;
 		
 		
 		
@@ -211,13 +288,19 @@ public interface LazyReferenceManager
 		Default(
 			final Checker        checker               ,
 			final _longReference checkIntervalProvider ,
-			final _longReference nanoTimeBudgetProvider
+			final _longReference nanoTimeBudgetProvider,
+			final int            shardCount            ,
+			final int            parallelism
 		)
 		{
 			super();
 			this.checker                        = checker               ;
 			this.millitimeCheckIntervalProvider = checkIntervalProvider ;
 			this.nanoTimeBudgetProvider         = nanoTimeBudgetProvider;
+			this.shards                         = Shard.Array(shardCount);
+			this.shardMask                      = shardCount - 1        ;
+			this.parallelism                    = parallelism           ;
+			this.statistics                     = Statistics.Default.Empty();
 		}
 		
 		private synchronized boolean mayRun()
@@ -318,22 +401,51 @@ public interface LazyReferenceManager
 		// methods //
 		////////////
 		
-//		private int countReferences()
-//		{
-//			return this.iterate(new Consumer<Lazy<?>>()
-//			{
-//				int count;
-//
-//				@Override
-//				public void accept(final Lazy<?> t)
-//				{
-//					if(t.peek() != null)
-//					{
-//						this.count++;
-//					}
-//				}
-//			}).count;
-//		}
+		private synchronized ForkJoinPool pool()
+		{
+			if(this.pool == null)
+			{
+				this.pool = new ForkJoinPool(
+					this.parallelism,
+					p ->
+					{
+						final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+						thread.setName(LazyReferenceManager.class.getSimpleName() + "-Worker-" + thread.getPoolIndex());
+						thread.setDaemon(true);
+						return thread;
+					},
+					null,
+					false
+				);
+			}
+			return this.pool;
+		}
+		
+		private synchronized int shardOffset()
+		{
+			return this.shardOffset;
+		}
+		
+		private synchronized void completeCycle(
+			final ShardChecker[] shardCheckers ,
+			final int            checkedShards ,
+			final long           cycleNanoTime
+		)
+		{
+			long checkCount  = 0;
+			long clearCount  = 0;
+			long unlinkCount = 0;
+			for(final ShardChecker shardChecker : shardCheckers)
+			{
+				checkCount  += shardChecker.checkCount ;
+				clearCount  += shardChecker.clearCount ;
+				unlinkCount += shardChecker.unlinkCount;
+			}
+			
+			// shards that were not reached because the time budget ran out are checked first in the next cycle.
+			this.shardOffset = this.shardOffset + checkedShards & this.shardMask;
+			this.statistics  = this.statistics.next(cycleNanoTime, checkCount, clearCount, unlinkCount);
+		}
 
 		final void internalCleanUp(final long nanoTimeBudget, final Checker checker)
 		{
@@ -348,12 +460,11 @@ public interface LazyReferenceManager
 			 * So the age old note might still be relevant.
 			 */
 			
+			final long cycleStart      = System.nanoTime();
 			final long timeBudgetBound = XTime.calculateNanoTimeBudgetBound(nanoTimeBudget);
 
-			final Entry currentTail;
-
 			/*
-			 * This local synchronized block is crucial to prevent deadlocks!
+			 * No lock on the manager instance may be held while checking references!
 			 * The reference manager thread may never keep a lock on the manager instance and then require
 			 * a lock on a lazy reference in order to complete its cleanup cycle.
 			 * Consider the following szenario:
@@ -365,68 +476,52 @@ public interface LazyReferenceManager
 			 * => deadlock (happened in productive use, although very rare)
 			 * The solution to prevent this is:
 			 * The lock on the manager instance is only held for a very short time without requiring any additional lock
-			 * internally to leave the lock again, only to consistently query the current tail entry.
-			 * The rest of the algorithm does not interfere with any other thread, so it can be done without lock.
+			 * internally to leave the lock again, e.g. to query the current shard offset.
+			 * Checking a shard locks only that shard and registering never locks a shard, so the above
+			 * scenario cannot occur with shard locks, either.
 			 *
 			 * Of course it is important that no other method calling this method keeps the mgr.lock for the whole
 			 * check cycle, otherwise the deadlock can still occur (i.e. no synchronized method!).
 			 * Happened in productive use after fixing this method :(.
 			 */
-			synchronized(this)
+			final int            offset        = this.shardOffset();
+			final AtomicInteger  shardClaimer  = new AtomicInteger();
+			final ShardChecker[] shardCheckers = new ShardChecker[Math.min(this.parallelism, this.shards.length)];
+			for(int i = 0; i < shardCheckers.length; i++)
 			{
-				currentTail = this.tail;
+				shardCheckers[i] = new ShardChecker(this.shards, offset, shardClaimer, checker, timeBudgetBound);
 			}
+			
+			checker.beginCheckCycle();
 
-			Entry last, e = (last = this.cursor).nextLazyManagerEntry;
-
-			// special case check initially, there is only the head with no next entry
-			if(e == null)
+			if(shardCheckers.length == 1)
 			{
-				return;
+				shardCheckers[0].run();
 			}
-		
-			checker.beginCheckCycle();
-
-			cleanUp:
-			do // do at least one check, no matter what
+			else
 			{
-				// keep strong reference to avoid intermediate garbage collection
-				final Lazy<?> ref = e.get();
-
-				// check for orphan entry
-				if(ref != null)
+				final ForkJoinPool      pool  = this.pool();
+				final ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[shardCheckers.length - 1];
+				for(int i = 0; i < tasks.length; i++)
 				{
-					// leave checking logic completely to checker (also for lock atomicity reasons)
-					checker.check(ref);
+					tasks[i] = pool.submit(shardCheckers[i + 1]);
 				}
-				else if(e != currentTail)
-				{
-					// remove orphan entry (never remove current tail entry for list consistency reasons)
-					e = last.nextLazyManagerEntry = e.nextLazyManagerEntry;
-					continue;
-				}
-
-				if(e == currentTail)
+				
+				// the calling thread takes part instead of just waiting for the workers.
+				shardCheckers[0].run();
+				for(final ForkJoinTask<?> task : tasks)
 				{
-					/*
-					 * if the iteration reached the current tail entry, the cursor gets reset (outside the loop)
-					 * and the iteration gets aborted. Rationale behind that:
-					 * It might be that there have been added new entry to the chain while the iteration was
-					 * executed. However these entries are newly created, hence will hardly timeout right away.
-					 * The oldest entries near the head are much more likely for that, so it is efficient to restart.
-					 */
-					last = this.head;
-					break cleanUp;
+					task.join();
 				}
-
-				e = (last = e).nextLazyManagerEntry;
 			}
-			while(System.nanoTime() < timeBudgetBound);
-
-			// remember last checked entry for next cleanup run. Cursor field is strictly only used by one thread.
-			this.cursor = last;
 
 			checker.endCheckCycle();
+			
+			this.completeCycle(
+				shardCheckers,
+				Math.min(shardClaimer.get(), this.shards.length),
+				System.nanoTime() - cycleStart
+			);
 		}
 
 		final void cleanUpBudgeted()
@@ -444,11 +539,11 @@ public interface LazyReferenceManager
 		////////////
 
 		@Override
-		public synchronized void register(final Lazy<?> lazyReference)
+		public void register(final Lazy<?> lazyReference)
 		{
 //			XDebug.debugln(this + " registering " + lazyReference.peek());
 			// uniqueness of references is guaranteed by calling this method only exactely once per reference instance
-			this.tail = this.tail.nextLazyManagerEntry = new Entry(lazyReference);
+			this.shards[System.identityHashCode(lazyReference) & this.shardMask].add(new Entry(lazyReference));
 		}
 		
 
@@ -479,6 +574,28 @@ public interface LazyReferenceManager
 			this.internalCleanUp(Long.MAX_VALUE, CLEARER);
 		}
 
+		@Override
+		public long clearLeastRecentlyTouched(final double quota)
+		{
+			if(quota < 0.0 || quota > 1.0)
+			{
+				throw new IllegalArgumentException("Quota must be in the range [0.0; 1.0].");
+			}
+			
+			// first pass to find out how old a reference must be to belong to the quota, second pass to clear.
+			final LeastRecentlyTouchedClearer clearer = this.iterate(
+				new LeastRecentlyTouchedClearer(System.currentTimeMillis())
+			);
+			if(!clearer.prepareClearing(quota))
+			{
+				return 0;
+			}
+			
+			this.internalCleanUp(Long.MAX_VALUE, clearer);
+			
+			return clearer.clearCount();
+		}
+
 		@Override
 		public void cleanUp(final long nanoTimeBudget)
 		{
@@ -623,14 +740,24 @@ public interface LazyReferenceManager
 		}
 
 		@Override
-		public synchronized <P extends Consumer<? super Lazy<?>>> P iterate(final P iterator)
+		public final synchronized Statistics statistics()
 		{
-			for(Entry e = this.head; (e = e.nextLazyManagerEntry) != null;)
+			return this.statistics;
+		}
+
+		@Override
+		public <P extends Consumer<? super Lazy<?>>> P iterate(final P iterator)
+		{
+			// no lock required: entries are only ever prepended and unlinked entries still point to their successor.
+			for(final Shard shard : this.shards)
 			{
-				final Lazy<?> ref = e.get();
-				if(ref != null)
+				for(Entry e = shard.head; e != null; e = e.nextLazyManagerEntry)
 				{
-					iterator.accept(ref);
+					final Lazy<?> ref = e.get();
+					if(ref != null)
+					{
+						iterator.accept(ref);
+					}
 				}
 			}
 			return iterator;
@@ -713,9 +840,325 @@ public interface LazyReferenceManager
 			}
 
 		}
+		
+		/*
+		 * Sorting all references by their age would be too expensive for a large number of references,
+		 * so their ages are counted in a logarithmic histogram with 4 sub-buckets per power of 2, instead.
+		 * All references in buckets older than the bucket where the quota is reached are cleared,
+		 * plus as many references from that bucket as are needed to reach the quota.
+		 */
+		static final class LeastRecentlyTouchedClearer
+		implements Consumer<Lazy<?>>, Checker, Lazy.ClearingEvaluator
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			private final long       now                                 ;
+			private final long[]     bucketCounts = new long[256]        ;
+			private       long       loadedCount                         ;
+			private       int        boundaryBucket                      ;
+			private final AtomicLong boundaryBucketRemaining = new AtomicLong();
+			private final AtomicLong clearCount              = new AtomicLong();
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+			
+			LeastRecentlyTouchedClearer(final long now)
+			{
+				super();
+				this.now = now;
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
+			private int bucket(final Lazy<?> lazyReference)
+			{
+				final long age = this.now - lazyReference.lastTouched();
+				if(age < 4)
+				{
+					return age < 0 ? 0 : (int)age;
+				}
+				
+				final int log2 = 63 - Long.numberOfLeadingZeros(age);
+				
+				return log2 * 4 + (int)(age >>> log2 - 2 & 3);
+			}
+			
+			@Override
+			public final void accept(final Lazy<?> lazyReference)
+			{
+				if(lazyReference.isStored() && lazyReference.peek() != null)
+				{
+					this.bucketCounts[this.bucket(lazyReference)]++;
+					this.loadedCount++;
+				}
+			}
+			
+			final boolean prepareClearing(final double quota)
+			{
+				long remaining = (long)Math.ceil(this.loadedCount * quota);
+				if(remaining == 0)
+				{
+					return false;
+				}
+				
+				int b = this.bucketCounts.length;
+				while(remaining > this.bucketCounts[--b])
+				{
+					remaining -= this.bucketCounts[b];
+				}
+				this.boundaryBucket = b;
+				this.boundaryBucketRemaining.set(remaining);
+				
+				return true;
+			}
+			
+			final long clearCount()
+			{
+				return this.clearCount.get();
+			}
+			
+			@Override
+			public final boolean check(final Lazy<?> lazyReference)
+			{
+				return lazyReference.clear(this);
+			}
+			
+			@Override
+			public final boolean needsClearing(final Lazy<?> lazyReference)
+			{
+				final int bucket = this.bucket(lazyReference);
+				if(bucket > this.boundaryBucket
+					|| bucket == this.boundaryBucket && this.boundaryBucketRemaining.getAndDecrement() > 0
+				)
+				{
+					this.clearCount.incrementAndGet();
+					return true;
+				}
+				
+				return false;
+			}
+			
+		}
+		
+		static final class Shard
+		{
+			private static final AtomicReferenceFieldUpdater<Shard, Entry> HEAD =
+				AtomicReferenceFieldUpdater.newUpdater(Shard.class, Entry.class, "head")
+			;
+			
+			static Shard[] Array(final int shardCount)
+			{
+				final Shard[] shards = new Shard[shardCount];
+				for(int i = 0; i < shards.length; i++)
+				{
+					shards[i] = new Shard();
+				}
+				return shards;
+			}
+			
+			/*
+			 * New entries are prepended, so the chain runs from the most recently to the least recently registered
+			 * entry. Only the checking logic modifies the links of entries already in the chain, and it never
+			 * removes the head entry, so prepending never interferes with checking.
+			 */
+			volatile Entry head  ;
+			
+			// last checked entry of an incomplete check run or null. Guarded by the shard's monitor.
+			Entry          cursor;
+			
+			final void add(final Entry entry)
+			{
+				Entry head;
+				do
+				{
+					entry.nextLazyManagerEntry = head = this.head;
+				}
+				while(!HEAD.compareAndSet(this, head, entry));
+			}
+			
+		}
+		
+		static final class ShardChecker implements Runnable
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			private final Shard[]       shards         ;
+			private final int           offset         ;
+			private final AtomicInteger shardClaimer   ;
+			private final Checker       checker        ;
+			private final long          timeBudgetBound;
+			
+			long checkCount ;
+			long clearCount ;
+			long unlinkCount;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+			
+			ShardChecker(
+				final Shard[]       shards         ,
+				final int           offset         ,
+				final AtomicInteger shardClaimer   ,
+				final Checker       checker        ,
+				final long          timeBudgetBound
+			)
+			{
+				super();
+				this.shards          = shards         ;
+				this.offset          = offset         ;
+				this.shardClaimer    = shardClaimer   ;
+				this.checker         = checker        ;
+				this.timeBudgetBound = timeBudgetBound;
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
+			@Override
+			public final void run()
+			{
+				final int mask = this.shards.length - 1;
+				for(int i; (i = this.shardClaimer.getAndIncrement()) < this.shards.length;)
+				{
+					if(!this.checkShard(this.shards[this.offset + i & mask]))
+					{
+						// time budget exhausted. Leave the remaining shards for the next cycle.
+						break;
+					}
+				}
+			}
+			
+			/**
+			 * Checks the entries of the passed shard, beginning where the last incomplete run stopped, until
+			 * every entry has been checked once or the time budget is exhausted.
+			 * 
+			 * @return whether the shard has been checked completely.
+			 */
+			private boolean checkShard(final Shard shard)
+			{
+				synchronized(shard)
+				{
+					final Entry start    = shard.cursor   ;
+					boolean     fromHead = start == null  ;
+					Entry       last     = fromHead ? this.checkHead(shard, null) : start;
+					
+					while(last != null)
+					{
+						final Entry next = this.nextNonOrphan(last);
+						if(next == null)
+						{
+							if(fromHead)
+							{
+								break;
+							}
+							
+							// wrap around to the entries registered before the entry where this run started.
+							fromHead = true;
+							last     = this.checkHead(shard, start);
+						}
+						else if(next == start)
+						{
+							break;
+						}
+						else
+						{
+							this.check(next);
+							last = next;
+							
+							if(System.nanoTime() >= this.timeBudgetBound)
+							{
+								// remember last checked entry for the next cycle.
+								shard.cursor = last;
+								return false;
+							}
+						}
+					}
+					
+					shard.cursor = null;
+					return true;
+				}
+			}
+			
+			private Entry checkHead(final Shard shard, final Entry start)
+			{
+				final Entry head = shard.head;
+				if(head == null || head == start)
+				{
+					return null;
+				}
+				
+				this.check(head);
+				
+				return head;
+			}
+			
+			/*
+			 * Unlinks all orphan entries directly following the passed entry with a single write
+			 * and returns the first following entry that is not an orphan or null.
+			 */
+			private Entry nextNonOrphan(final Entry last)
+			{
+				Entry e = last.nextLazyManagerEntry;
+				if(e == null || e.get() != null)
+				{
+					return e;
+				}
+				
+				long orphanCount = 0;
+				do
+				{
+					e = e.nextLazyManagerEntry;
+					orphanCount++;
+				}
+				while(e != null && e.get() == null);
+				
+				last.nextLazyManagerEntry = e;
+				this.unlinkCount += orphanCount;
+				
+				return e;
+			}
+			
+			private void check(final Entry entry)
+			{
+				// keep strong reference to avoid intermediate garbage collection
+				final Lazy<?> ref = entry.get();
+				
+				// orphans are unlinked by the next run, unloaded references have nothing to be cleared.
+				if(ref == null || ref.peek() == null)
+				{
+					return;
+				}
+				
+				// leave checking logic completely to checker (also for lock atomicity reasons)
+				this.checker.check(ref);
+				this.checkCount++;
+				
+				if(ref.peek() == null)
+				{
+					this.clearCount++;
+				}
+			}
+			
+		}
 
 	}
-
 	
 	@FunctionalInterface
 	public interface Controller
@@ -731,4 +1174,158 @@ public interface LazyReferenceManager
 				
 	}
 
+	
+	/**
+	 * Runtime figures of the check cycles a {@link LazyReferenceManager} has executed so far.
+	 * Instances are immutable snapshots, a new one is created for every completed cycle.
+	 */
+	public interface Statistics
+	{
+		public long cycleCount();
+		
+		public long lastCycleNanoTime();
+		
+		public long lastCycleCheckCount();
+		
+		public long lastCycleClearCount();
+		
+		public long lastCycleUnlinkCount();
+		
+		public long totalClearCount();
+		
+		public long totalUnlinkCount();
+		
+		public Statistics next(long cycleNanoTime, long cycleCheckCount, long cycleClearCount, long cycleUnlinkCount);
+		
+		
+		
+		public final class Default implements Statistics
+		{
+			static Statistics.Default Empty()
+			{
+				return new Statistics.Default(0, 0, 0, 0, 0, 0, 0);
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			private final long cycleCount          ;
+			private final long lastCycleNanoTime   ;
+			private final long lastCycleCheckCount ;
+			private final long lastCycleClearCount ;
+			private final long lastCycleUnlinkCount;
+			private final long totalClearCount     ;
+			private final long totalUnlinkCount    ;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+			
+			Default(
+				final long cycleCount          ,
+				final long lastCycleNanoTime   ,
+				final long lastCycleCheckCount ,
+				final long lastCycleClearCount ,
+				final long lastCycleUnlinkCount,
+				final long totalClearCount     ,
+				final long totalUnlinkCount
+			)
+			{
+				super();
+				this.cycleCount           = cycleCount          ;
+				this.lastCycleNanoTime    = lastCycleNanoTime   ;
+				this.lastCycleCheckCount  = lastCycleCheckCount ;
+				this.lastCycleClearCount  = lastCycleClearCount ;
+				this.lastCycleUnlinkCount = lastCycleUnlinkCount;
+				this.totalClearCount      = totalClearCount     ;
+				this.totalUnlinkCount     = totalUnlinkCount    ;
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
+			@Override
+			public final long cycleCount()
+			{
+				return this.cycleCount;
+			}
+			
+			@Override
+			public final long lastCycleNanoTime()
+			{
+				return this.lastCycleNanoTime;
+			}
+			
+			@Override
+			public final long lastCycleCheckCount()
+			{
+				return this.lastCycleCheckCount;
+			}
+			
+			@Override
+			public final long lastCycleClearCount()
+			{
+				return this.lastCycleClearCount;
+			}
+			
+			@Override
+			public final long lastCycleUnlinkCount()
+			{
+				return this.lastCycleUnlinkCount;
+			}
+			
+			@Override
+			public final long totalClearCount()
+			{
+				return this.totalClearCount;
+			}
+			
+			@Override
+			public final long totalUnlinkCount()
+			{
+				return this.totalUnlinkCount;
+			}
+			
+			@Override
+			public final Statistics next(
+				final long cycleNanoTime   ,
+				final long cycleCheckCount ,
+				final long cycleClearCount ,
+				final long cycleUnlinkCount
+			)
+			{
+				return new Statistics.Default(
+					this.cycleCount + 1                      ,
+					cycleNanoTime                            ,
+					cycleCheckCount                          ,
+					cycleClearCount                          ,
+					cycleUnlinkCount                         ,
+					this.totalClearCount  + cycleClearCount  ,
+					this.totalUnlinkCount + cycleUnlinkCount
+				);
+			}
+			
+			@Override
+			public String toString()
+			{
+				return "cycles = " + this.cycleCount
+					+ ", last cycle: " + this.lastCycleNanoTime + " ns, "
+					+ this.lastCycleCheckCount + " checked, "
+					+ this.lastCycleClearCount + " cleared, "
+					+ this.lastCycleUnlinkCount + " unlinked"
+				;
+			}
+			
+		}
+		
+	}
+
 }
@@ -0,0 +1,360 @@
+package one.microstream.reference;
+
+/*-
+ * #%L
+ * microstream-base
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.X.notNull;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import org.slf4j.Logger;
+
+import one.microstream.util.logging.Logging;
+
+
+/**
+ * Event-driven clearing of lazy references on memory pressure.
+ * <p>
+ * Instead of polling the memory usage in every check cycle, a started monitor sets collection usage thresholds
+ * on the JVM's heap memory pools and subscribes to the notifications sent when a pool exceeds them.
+ * Only the usage after a garbage collection is considered, since the current usage includes garbage that has not
+ * been collected, yet, and exceeds any threshold under normal allocation churn.
+ * On such a notification, the least recently touched references are cleared via
+ * {@link LazyReferenceManager#clearLeastRecentlyTouched(double)}, with a quota estimated from how far the
+ * pool's usage exceeds the target usage. If the usage is still above the threshold after the next garbage
+ * collection, another notification triggers another clearing, and so on until the target usage is reached.
+ * <p>
+ * The regular check cycles of the {@link LazyReferenceManager} are still required for timeout-based clearing,
+ * but can run with a considerably longer interval, e.g. with a {@link Lazy#CheckerTimeout(long)}.
+ * If no heap memory pool supports collection usage thresholds, {@link #start()} does nothing and {@link #isRunning()}
+ * returns {@code false}, so that memory-based polling must be used as a fallback.
+ * <p>
+ * Note that memory pool thresholds are JVM-wide settings. A running monitor replaces the thresholds set by
+ * other components and restores them when it is stopped.
+ */
+public interface MemoryPressureMonitor
+{
+	public MemoryPressureMonitor start();
+	
+	public MemoryPressureMonitor stop();
+	
+	public boolean isRunning();
+	
+	public long notificationCount();
+	
+	public long clearCount();
+	
+	
+	
+	public interface Defaults
+	{
+		public static double defaultThresholdQuota()
+		{
+			// clearing starts when a heap pool is filled to 80%.
+			return 0.8;
+		}
+		
+		public static double defaultTargetQuota()
+		{
+			// and continues until a pool is filled to 60% at the most.
+			return 0.6;
+		}
+		
+	}
+	
+	
+	
+	public static MemoryPressureMonitor New(final LazyReferenceManager lazyReferenceManager)
+	{
+		return New(lazyReferenceManager, Defaults.defaultThresholdQuota(), Defaults.defaultTargetQuota());
+	}
+	
+	/**
+	 * Creates a new {@link MemoryPressureMonitor} instance.
+	 * 
+	 * @param lazyReferenceManager the manager whose references are cleared on memory pressure.
+	 * @param thresholdQuota the quota of a heap pool's maximum size that triggers clearing when exceeded.
+	 * @param targetQuota the quota of a heap pool's maximum size that clearing aims at.
+	 * @return a new, not yet started {@link MemoryPressureMonitor} instance.
+	 */
+	public static MemoryPressureMonitor New(
+		final LazyReferenceManager lazyReferenceManager,
+		final double               thresholdQuota      ,
+		final double               targetQuota
+	)
+	{
+		if(!Lazy.Checker.isValidMemoryQuota(thresholdQuota) || !Lazy.Checker.isValidMemoryQuota(targetQuota))
+		{
+			throw new IllegalArgumentException("Memory quotas must be in the range [0.0; 1.0].");
+		}
+		if(targetQuota > thresholdQuota)
+		{
+			throw new IllegalArgumentException("Target quota may not be greater than the threshold quota.");
+		}
+		
+		return new MemoryPressureMonitor.Default(notNull(lazyReferenceManager), thresholdQuota, targetQuota);
+	}
+	
+	public final class Default implements MemoryPressureMonitor, NotificationListener
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+		
+		private final static Logger logger = Logging.getLogger(Default.class);
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final LazyReferenceManager                    lazyReferenceManager         ;
+		private final double                                  thresholdQuota               ;
+		private final double                                  targetQuota                  ;
+		private final AtomicBoolean                           clearing                     = new AtomicBoolean();
+		private final AtomicReference<MemoryNotificationInfo> pendingNotification          = new AtomicReference<>();
+		
+		// all of the following fields are guarded by this instance's monitor.
+		private       List<MemoryPoolMXBean>                  monitoredPools               ;
+		private       long[]                                  previousCollectionThresholds ;
+		private       long                                    notificationCount            ;
+		private       long                                    clearCount                   ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Default(
+			final LazyReferenceManager lazyReferenceManager,
+			final double               thresholdQuota      ,
+			final double               targetQuota
+		)
+		{
+			super();
+			this.lazyReferenceManager = lazyReferenceManager;
+			this.thresholdQuota       = thresholdQuota      ;
+			this.targetQuota          = targetQuota         ;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		private static NotificationEmitter notificationEmitter()
+		{
+			// the platform's MemoryMXBean is specified to be a NotificationEmitter.
+			return (NotificationEmitter)ManagementFactory.getMemoryMXBean();
+		}
+		
+		private static long maximum(final MemoryUsage usage)
+		{
+			// the maximum might be undefined, in which case the currently committed memory is the best guess.
+			return usage.getMax() < 0
+				? usage.getCommitted()
+				: usage.getMax()
+			;
+		}
+		
+		@Override
+		public final synchronized MemoryPressureMonitor start()
+		{
+			if(this.monitoredPools != null)
+			{
+				return this;
+			}
+			
+			final List<MemoryPoolMXBean> pools = new ArrayList<>();
+			for(final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+			{
+				if(pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported())
+				{
+					pools.add(pool);
+				}
+			}
+			if(pools.isEmpty())
+			{
+				logger.warn(
+					"No heap memory pool supports collection usage thresholds, memory pressure cannot be monitored."
+				);
+				return this;
+			}
+			
+			this.previousCollectionThresholds = new long[pools.size()];
+			for(int i = 0; i < pools.size(); i++)
+			{
+				final MemoryPoolMXBean pool = pools.get(i);
+				
+				this.previousCollectionThresholds[i] = pool.getCollectionUsageThreshold();
+				pool.setCollectionUsageThreshold((long)(maximum(pool.getUsage()) * this.thresholdQuota));
+			}
+			this.monitoredPools = pools;
+			
+			notificationEmitter().addNotificationListener(this, null, null);
+			
+			return this;
+		}
+		
+		@Override
+		public final synchronized MemoryPressureMonitor stop()
+		{
+			if(this.monitoredPools == null)
+			{
+				return this;
+			}
+			
+			try
+			{
+				notificationEmitter().removeNotificationListener(this);
+			}
+			catch(final ListenerNotFoundException e)
+			{
+				// already removed, nothing to do.
+			}
+			
+			for(int i = 0; i < this.monitoredPools.size(); i++)
+			{
+				this.monitoredPools.get(i).setCollectionUsageThreshold(this.previousCollectionThresholds[i]);
+			}
+			this.monitoredPools               = null;
+			this.previousCollectionThresholds = null;
+			
+			return this;
+		}
+		
+		@Override
+		public final synchronized boolean isRunning()
+		{
+			return this.monitoredPools != null;
+		}
+		
+		@Override
+		public final synchronized long notificationCount()
+		{
+			return this.notificationCount;
+		}
+		
+		@Override
+		public final synchronized long clearCount()
+		{
+			return this.clearCount;
+		}
+		
+		@Override
+		public final void handleNotification(final Notification notification, final Object handback)
+		{
+			// the usage threshold is not set, its notifications can only stem from thresholds of other components.
+			if(!MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType()))
+			{
+				return;
+			}
+			
+			synchronized(this)
+			{
+				this.notificationCount++;
+			}
+			
+			// only the most recent notification is relevant, older pending ones are outdated.
+			this.pendingNotification.set(MemoryNotificationInfo.from((CompositeData)notification.getUserData()));
+			if(!this.clearing.compareAndSet(false, true))
+			{
+				// the ongoing clearing handles the pending notification when it is done.
+				return;
+			}
+			
+			// notifications are delivered by a JVM-internal thread that may not be blocked.
+			final Thread thread = new Thread(
+				this::clearPending,
+				MemoryPressureMonitor.class.getSimpleName() + '@' + System.identityHashCode(this)
+			);
+			thread.setDaemon(true);
+			thread.start();
+		}
+		
+		private void clearPending()
+		{
+			do
+			{
+				for(MemoryNotificationInfo info; (info = this.pendingNotification.getAndSet(null)) != null;)
+				{
+					this.clear(info.getPoolName(), info.getUsage());
+				}
+				this.clearing.set(false);
+			}
+			// a notification might have arrived between the last check and resetting the clearing state.
+			while(this.pendingNotification.get() != null && this.clearing.compareAndSet(false, true));
+		}
+		
+		private void clear(final String poolName, final MemoryUsage usage)
+		{
+			final long target = (long)(maximum(usage) * this.targetQuota);
+			if(usage.getUsed() <= target)
+			{
+				return;
+			}
+			
+			/*
+			 * The share of memory occupied by lazily loaded data is unknown, so the share of references to be
+			 * cleared is assumed to be the share of memory exceeding the target.
+			 * If that was not enough, the next notification after the next garbage collection clears more.
+			 */
+			final double quota = (double)(usage.getUsed() - target) / usage.getUsed();
+			
+			try
+			{
+				final long clearCount = this.lazyReferenceManager.clearLeastRecentlyTouched(quota);
+				synchronized(this)
+				{
+					this.clearCount += clearCount;
+				}
+				
+				logger.debug(
+					"Memory pressure in pool {} ({} of {} bytes used): cleared {} lazy references.",
+					poolName, usage.getUsed(), maximum(usage), clearCount
+				);
+			}
+			catch(final Exception e)
+			{
+				logger.error("Clearing lazy references on memory pressure failed.", e);
+			}
+		}
+		
+	}
+	
+}
@@ -20,6 +20,8 @@ package one.microstream.reference;
  * #L%
  */
 
+import java.util.function.Consumer;
+
 public interface ObjectSwizzling
 {
 	/**
@@ -32,4 +34,28 @@ public interface ObjectSwizzling
 	 * @return the instance associated with the passed {@literal objectId}.
 	 */
 	public Object getObject(long objectId);
+	
+	/**
+	 * Retrieves the instances associated with the passed {@literal objectIds} and passes them to the passed
+	 * {@literal collector} in the order of the passed {@literal objectIds}.<br>
+	 * The default implementation retrieves every instance on its own via {@link #getObject(long)}.
+	 * Implementations loading from persisted data should override it to load all instances in as few requests
+	 * as possible.
+	 * 
+	 * @param <C> the type of the collector
+	 * @param collector the collector to pass the retrieved instances to.
+	 * @param objectIds the {@literal objectIds} defining which instances to retrieve.
+	 * 
+	 * @return the passed {@literal collector}.
+	 */
+	public default <C extends Consumer<Object>> C collect(final C collector, final long... objectIds)
+	{
+		for(final long objectId : objectIds)
+		{
+			collector.accept(this.getObject(objectId));
+		}
+		
+		return collector;
+	}
+	
 }
@@ -0,0 +1,112 @@
+package one.microstream.benchmarks.jmh;
+
+/*-
+ * #%L
+ * microstream-benchmarks-jmh
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+import one.microstream.reference.Lazy;
+
+/**
+ * Generators for the synthetic object graphs used by the benchmarks. All generators are deterministic,
+ * so consecutive runs and different releases work on structurally identical data.
+ */
+public final class BenchmarkData
+{
+	/**
+	 * Creates a wide graph: one list directly referencing the passed amount of entities.
+	 *
+	 * @param entityCount the amount of entities.
+	 *
+	 * @return the list of entities.
+	 */
+	public static List<Entity> wideGraph(final int entityCount)
+	{
+		final ArrayList<Entity> entities = new ArrayList<>(entityCount);
+		for(int i = 0; i < entityCount; i++)
+		{
+			entities.add(new Entity(i));
+		}
+
+		return entities;
+	}
+
+	/**
+	 * Creates a deep graph: a chain of entities, each one referencing the next one.
+	 *
+	 * @param entityCount the amount of entities and therefore the depth of the graph.
+	 *
+	 * @return the first entity of the chain.
+	 */
+	public static Entity deepGraph(final int entityCount)
+	{
+		Entity first = null;
+		for(int i = entityCount; i-- > 0;)
+		{
+			first = new Entity(i).setNext(first);
+		}
+
+		return first;
+	}
+
+	/**
+	 * Creates a list of lazy references, each one holding a segment of entities.
+	 *
+	 * @param entityCount the total amount of entities.
+	 * @param segmentSize the amount of entities per lazy reference.
+	 *
+	 * @return the list of lazy references.
+	 */
+	public static List<Lazy<List<Entity>>> lazyGraph(final int entityCount, final int segmentSize)
+	{
+		final ArrayList<Lazy<List<Entity>>> segments = new ArrayList<>(entityCount / segmentSize + 1);
+		for(int i = 0; i < entityCount; i += segmentSize)
+		{
+			final int               size    = Math.min(segmentSize, entityCount - i);
+			final ArrayList<Entity> segment = new ArrayList<>(size);
+			for(int s = 0; s < size; s++)
+			{
+				segment.add(new Entity(i + s));
+			}
+			segments.add(Lazy.Reference(segment));
+		}
+
+		return segments;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	/**
+	 * Dummy constructor to prevent instantiation of this static-only utility class.
+	 *
+	 * @throws UnsupportedOperationException when called
+	 */
+	private BenchmarkData()
+	{
+		// static only
+		throw new UnsupportedOperationException();
+	}
+
+}
@@ -0,0 +1,75 @@
+package one.microstream.benchmarks.jmh;
+
+/*-
+ * #%L
+ * microstream-benchmarks-jmh
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar. Accepts the usual JMH command line options, but writes the results
+ * as JSON to <code>jmh-result.json</code> by default, so results of different releases can be compared by tools.
+ * <p>
+ * Example: <code>java -jar benchmarks.jar StoreBenchmark -p entityCount=100000 -p channelCount=4 -rff store.json</code>
+ */
+public final class BenchmarkRunner
+{
+	public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+	public static void main(final String... args) throws RunnerException, CommandLineOptionException
+	{
+		final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+		
+		final ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+		if(!commandLineOptions.getResultFormat().hasValue())
+		{
+			options.resultFormat(ResultFormatType.JSON);
+		}
+		if(!commandLineOptions.getResult().hasValue())
+		{
+			options.result(DEFAULT_RESULT_FILE);
+		}
+
+		new Runner(options.build()).run();
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	/**
+	 * Dummy constructor to prevent instantiation of this static-only utility class.
+	 *
+	 * @throws UnsupportedOperationException when called
+	 */
+	private BenchmarkRunner()
+	{
+		// static only
+		throw new UnsupportedOperationException();
+	}
+
+}
@@ -0,0 +1,116 @@
+package one.microstream.benchmarks.jmh;
+
+/*-
+ * #%L
+ * microstream-benchmarks-jmh
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import one.microstream.storage.embedded.types.EmbeddedStorage;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+import one.microstream.storage.types.Storage;
+
+/**
+ * Utility to create, start and dispose the temporary storages used by the benchmarks.
+ */
+public final class BenchmarkStorage
+{
+	public static Path createDirectory()
+	{
+		try
+		{
+			return Files.createTempDirectory("microstream-jmh-");
+		}
+		catch(final IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public static EmbeddedStorageManager start(final Path directory, final int channelCount)
+	{
+		return EmbeddedStorage.Foundation(
+			Storage.ConfigurationBuilder()
+				.setStorageFileProvider(Storage.FileProvider(directory))
+				.setChannelCountProvider(Storage.ChannelCountProvider(channelCount))
+				.createConfiguration()
+		)
+		.start();
+	}
+
+	public static void shutdown(final EmbeddedStorageManager storageManager)
+	{
+		if(storageManager != null && storageManager.isRunning())
+		{
+			storageManager.shutdown();
+		}
+	}
+
+	public static void delete(final Path directory)
+	{
+		if(directory == null || !Files.exists(directory))
+		{
+			return;
+		}
+
+		try(final Stream<Path> paths = Files.walk(directory))
+		{
+			paths.sorted(Comparator.reverseOrder()).forEach(BenchmarkStorage::deleteFile);
+		}
+		catch(final IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void deleteFile(final Path path)
+	{
+		try
+		{
+			Files.delete(path);
+		}
+		catch(final IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	/**
+	 * Dummy constructor to prevent instantiation of this static-only utility class.
+	 *
+	 * @throws UnsupportedOperationException when called
+	 */
+	private BenchmarkStorage()
+	{
+		// static only
+		throw new UnsupportedOperationException();
+	}
+
+}
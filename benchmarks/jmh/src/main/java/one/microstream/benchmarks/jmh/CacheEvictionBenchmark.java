@@ -0,0 +1,137 @@
+package one.microstream.benchmarks.jmh;
+
+/*-
+ * #%L
+ * microstream-benchmarks-jmh
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.cache.types.CacheConfiguration;
+import one.microstream.cache.types.CachingProvider;
+import one.microstream.cache.types.EvictionManager;
+import one.microstream.cache.types.EvictionPolicy;
+
+/**
+ * Measures writes to a full cache, where every put of a new key evicts an entry, for the scanning and the
+ * tracking {@link EvictionPolicy} implementations. The time per put of the scanning policies grows with the
+ * cache size, the one of the tracking policies should not.
+ * <p>
+ * Example: <code>java -jar benchmarks.jar CacheEvictionBenchmark -p maxCacheSize=1000000 -t 4</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CacheEvictionBenchmark
+{
+	@Param({"Sampling", "LinkedLeastRecentlyUsed", "BucketedLeastFrequentlyUsed", "RandomSampling"})
+	public String policy;
+
+	@Param({"10000", "100000"})
+	public int maxCacheSize;
+
+	private CacheManager        cacheManager;
+	private Cache<Long, String> cache       ;
+
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		this.cacheManager = new CachingProvider().getCacheManager();
+		this.cache        = this.cacheManager.createCache(
+			"eviction-" + this.policy + "-" + this.maxCacheSize,
+			CacheConfiguration.Builder(Long.class, String.class)
+				.evictionManagerFactory(() -> EvictionManager.OnEntryCreation(this.createPolicy()))
+				.build()
+		);
+
+		for(long key = 0; key < this.maxCacheSize; key++)
+		{
+			this.cache.put(key, "value");
+		}
+	}
+
+	private EvictionPolicy createPolicy()
+	{
+		switch(this.policy)
+		{
+			case "Sampling":
+				return EvictionPolicy.LeastRecentlyUsed(this.maxCacheSize);
+			case "LinkedLeastRecentlyUsed":
+				return EvictionPolicy.LinkedLeastRecentlyUsed(this.maxCacheSize);
+			case "BucketedLeastFrequentlyUsed":
+				return EvictionPolicy.BucketedLeastFrequentlyUsed(this.maxCacheSize);
+			case "RandomSampling":
+				return EvictionPolicy.RandomSampling(this.maxCacheSize, EvictionPolicy.LeastRecentlyUsedComparator());
+			default:
+				throw new IllegalArgumentException("Unknown policy: " + this.policy);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		this.cacheManager.destroyCache(this.cache.getName());
+		this.cacheManager.close();
+	}
+
+	/**
+	 * Puts a key which is most likely absent, so the put has to evict an entry.
+	 */
+	@Benchmark
+	public void putEvicting()
+	{
+		this.cache.put(ThreadLocalRandom.current().nextLong(), "value");
+	}
+
+	/**
+	 * Mixes reads of a hot key range with evicting puts, which gives the policies access patterns to follow.
+	 */
+	@Benchmark
+	public String getAndPutEvicting()
+	{
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		if(random.nextInt(4) == 0)
+		{
+			this.cache.put(random.nextLong(), "value");
+			return null;
+		}
+		return this.cache.get((long)random.nextInt(this.maxCacheSize / 10));
+	}
+
+}
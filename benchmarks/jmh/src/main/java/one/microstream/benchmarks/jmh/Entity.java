@@ -0,0 +1,94 @@
+package one.microstream.benchmarks.jmh;
+
+/*-
+ * #%L
+ * microstream-benchmarks-jmh
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic entity type used by all benchmarks. Mixes primitive, string, array and reference fields to
+ * resemble a typical business entity.
+ */
+public class Entity
+{
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	private final long         id      ;
+	private final String       name    ;
+	private final double[]     values  ;
+	private       Entity       next    ;
+	private final List<Entity> children;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	public Entity(final long id)
+	{
+		super();
+		this.id       = id;
+		this.name     = "Entity-" + id;
+		this.values   = new double[]{id, id * 0.5, id * 0.25, id * 0.125};
+		this.children = new ArrayList<>(0);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	public long id()
+	{
+		return this.id;
+	}
+
+	public String name()
+	{
+		return this.name;
+	}
+
+	public double[] values()
+	{
+		return this.values;
+	}
+
+	public Entity next()
+	{
+		return this.next;
+	}
+
+	public Entity setNext(final Entity next)
+	{
+		this.next = next;
+		return this;
+	}
+
+	public List<Entity> children()
+	{
+		return this.children;
+	}
+
+}
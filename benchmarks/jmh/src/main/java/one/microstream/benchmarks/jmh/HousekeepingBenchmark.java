@@ -0,0 +1,110 @@
+package one.microstream.benchmarks.jmh;
+
+/*-
+ * #%L
+ * microstream-benchmarks-jmh
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+
+/**
+ * Measures a full storage garbage collection and a full file check. Before every invocation, a part of the
+ * entities is replaced, so every garbage collection has to mark the whole graph and sweep the replaced entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class HousekeepingBenchmark
+{
+	@Param({"10000", "100000"})
+	public int entityCount;
+
+	@Param({"1", "4"})
+	public int channelCount;
+
+	@Param({"10"})
+	public int replacementInterval;
+
+	private Path                   directory     ;
+	private EmbeddedStorageManager storageManager;
+	private List<Entity>           entities      ;
+	private long                   nextId        ;
+
+	@Setup(Level.Trial)
+	public void startStorage()
+	{
+		this.directory      = BenchmarkStorage.createDirectory();
+		this.storageManager = BenchmarkStorage.start(this.directory, this.channelCount);
+		this.entities       = BenchmarkData.wideGraph(this.entityCount);
+		this.nextId         = this.entityCount;
+
+		this.storageManager.setRoot(this.entities);
+		this.storageManager.storeRoot();
+	}
+
+	@Setup(Level.Invocation)
+	public void createGarbage()
+	{
+		for(int i = 0; i < this.entities.size(); i += this.replacementInterval)
+		{
+			this.entities.set(i, new Entity(this.nextId++));
+		}
+		this.storageManager.store(this.entities);
+	}
+
+	@TearDown(Level.Trial)
+	public void stopStorage()
+	{
+		BenchmarkStorage.shutdown(this.storageManager);
+		BenchmarkStorage.delete(this.directory);
+	}
+
+	@Benchmark
+	public void fullGarbageCollection()
+	{
+		this.storageManager.issueFullGarbageCollection();
+	}
+
+	@Benchmark
+	public void fullFileCheck()
+	{
+		this.storageManager.issueFullFileCheck();
+	}
+
+}
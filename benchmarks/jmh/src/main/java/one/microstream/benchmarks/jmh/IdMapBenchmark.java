@@ -0,0 +1,221 @@
+package one.microstream.benchmarks.jmh;
+
+/*-
+ * #%L
+ * microstream-benchmarks-jmh
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.collections.HashMapIdId;
+import one.microstream.collections.HashMapIdObject;
+import one.microstream.collections.OpenHashMapIdId;
+import one.microstream.collections.OpenHashMapIdObject;
+
+/**
+ * Compares the chained id maps {@link HashMapIdObject} and {@link HashMapIdId} with their open addressing
+ * counterparts {@link OpenHashMapIdObject} and {@link OpenHashMapIdId}, including the off-heap variant of the
+ * latter. Sequential ids resemble object and type ids, random ids show the behavior for arbitrary keys.
+ * <p>
+ * Example: <code>java -jar benchmarks.jar IdMapBenchmark -p size=1000000 -p ids=random</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class IdMapBenchmark
+{
+	private static final long   FIRST_ID = 1_000_000_000_000_000_000L;
+	private static final Object VALUE    = new Object();
+
+	@Param({"HashMapIdObject", "OpenHashMapIdObject", "HashMapIdId", "OpenHashMapIdId", "OpenHashMapIdIdOffHeap"})
+	public String implementation;
+
+	@Param({"10000", "1000000"})
+	public int size;
+
+	@Param({"sequential", "random"})
+	public String ids;
+
+	private long[] keys ;
+	private IdMap  map  ;
+	private int    index;
+
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		this.keys = new long[this.size];
+		final Random random = new Random(42);
+		for(int i = 0; i < this.size; i++)
+		{
+			this.keys[i] = "random".equals(this.ids)
+				? random.nextLong()
+				: FIRST_ID + i
+			;
+		}
+
+		this.map = this.createMap();
+		this.fill(this.map);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		this.map.close();
+	}
+
+	private IdMap createMap()
+	{
+		switch(this.implementation)
+		{
+			case "HashMapIdObject":
+			{
+				final HashMapIdObject<Object> map = HashMapIdObject.New();
+				return IdMap.New(id -> map.put(id, VALUE), id -> map.get(id) != null, () -> {/* no-op */});
+			}
+			case "OpenHashMapIdObject":
+			{
+				final OpenHashMapIdObject<Object> map = OpenHashMapIdObject.New();
+				return IdMap.New(id -> map.put(id, VALUE), id -> map.get(id) != null, () -> {/* no-op */});
+			}
+			case "HashMapIdId":
+			{
+				final HashMapIdId map = new HashMapIdId();
+				return IdMap.New(id -> map.put(id, 1L), id -> map.get(id) != 0L, () -> {/* no-op */});
+			}
+			case "OpenHashMapIdId":
+			{
+				final OpenHashMapIdId map = OpenHashMapIdId.New();
+				return IdMap.New(id -> map.put(id, 1L), id -> map.get(id) != 0L, () -> {/* no-op */});
+			}
+			case "OpenHashMapIdIdOffHeap":
+			{
+				final OpenHashMapIdId.OffHeap map = OpenHashMapIdId.NewOffHeap();
+				return IdMap.New(id -> map.put(id, 1L), id -> map.get(id) != 0L, map::close);
+			}
+			default:
+				throw new IllegalArgumentException("Unknown implementation: " + this.implementation);
+		}
+	}
+
+	private void fill(final IdMap map)
+	{
+		for(final long key : this.keys)
+		{
+			map.put(key);
+		}
+	}
+
+	private long nextKey()
+	{
+		final int index = this.index;
+		this.index = index + 1 == this.keys.length ? 0 : index + 1;
+		return this.keys[index];
+	}
+
+	/**
+	 * Looks up contained ids in their insertion order.
+	 */
+	@Benchmark
+	public boolean get()
+	{
+		return this.map.contains(this.nextKey());
+	}
+
+	/**
+	 * Looks up ids which are not contained, which probes a whole collision chain or run.
+	 */
+	@Benchmark
+	public boolean getAbsent()
+	{
+		return this.map.contains(~this.nextKey());
+	}
+
+	/**
+	 * Fills an empty map with all ids, including all of its growth steps.
+	 */
+	@Benchmark
+	public void fill()
+	{
+		final IdMap map = this.createMap();
+		try
+		{
+			this.fill(map);
+		}
+		finally
+		{
+			map.close();
+		}
+	}
+
+
+	interface IdMap extends AutoCloseable
+	{
+		public void put(long id);
+
+		public boolean contains(long id);
+
+		@Override
+		public void close();
+
+
+		public static IdMap New(final LongConsumer putter, final LongPredicate checker, final Runnable closer)
+		{
+			return new IdMap()
+			{
+				@Override
+				public void put(final long id)
+				{
+					putter.accept(id);
+				}
+
+				@Override
+				public boolean contains(final long id)
+				{
+					return checker.test(id);
+				}
+
+				@Override
+				public void close()
+				{
+					closer.run();
+				}
+			};
+		}
+	}
+
+}
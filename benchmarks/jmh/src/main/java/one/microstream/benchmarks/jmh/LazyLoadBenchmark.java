@@ -0,0 +1,142 @@
+package one.microstream.benchmarks.jmh;
+
+/*-
+ * #%L
+ * microstream-benchmarks-jmh
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.reference.Lazy;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+
+/**
+ * Measures {@link Lazy#get()} for cold references, which have to be loaded from a freshly started storage, and for
+ * warm references, which are already loaded.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class LazyLoadBenchmark
+{
+	@State(Scope.Benchmark)
+	public static class WarmState
+	{
+		@Param({"10000", "100000"})
+		public int entityCount;
+
+		@Param({"1", "4"})
+		public int channelCount;
+
+		@Param({"100"})
+		public int segmentSize;
+
+		Path                         directory     ;
+		EmbeddedStorageManager       storageManager;
+		List<Lazy<List<Entity>>>     segments      ;
+
+		@Setup(Level.Trial)
+		public void startStorage()
+		{
+			this.directory      = BenchmarkStorage.createDirectory();
+			this.storageManager = BenchmarkStorage.start(this.directory, this.channelCount);
+			this.segments       = BenchmarkData.lazyGraph(this.entityCount, this.segmentSize);
+
+			this.storageManager.setRoot(this.segments);
+			this.storageManager.storeRoot();
+		}
+
+		@TearDown(Level.Trial)
+		public void stopStorage()
+		{
+			BenchmarkStorage.shutdown(this.storageManager);
+			BenchmarkStorage.delete(this.directory);
+		}
+
+		final long loadAll()
+		{
+			long count = 0;
+			for(final Lazy<List<Entity>> segment : this.segments)
+			{
+				count += segment.get().size();
+			}
+
+			return count;
+		}
+
+	}
+
+	public static class ColdState extends WarmState
+	{
+		/*
+		 * Clearing the lazy references would not suffice: the cleared segments would still be registered
+		 * in the object registry and be returned from there instead of being loaded from the storage.
+		 * A restarted storage has neither registered nor cached anything, yet.
+		 */
+		@SuppressWarnings("unchecked")
+		@Setup(Level.Invocation)
+		public void restartStorage()
+		{
+			BenchmarkStorage.shutdown(this.storageManager);
+			this.storageManager = BenchmarkStorage.start(this.directory, this.channelCount);
+			this.segments       = (List<Lazy<List<Entity>>>)this.storageManager.root();
+
+			for(final Lazy<List<Entity>> segment : this.segments)
+			{
+				if(segment.isLoaded())
+				{
+					throw new IllegalStateException("Segment is loaded before the measurement.");
+				}
+			}
+		}
+
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public long coldLoad(final ColdState state)
+	{
+		return state.loadAll();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public long warmLoad(final WarmState state)
+	{
+		return state.loadAll();
+	}
+
+}
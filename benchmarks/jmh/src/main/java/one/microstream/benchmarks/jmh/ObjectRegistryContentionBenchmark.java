@@ -0,0 +1,126 @@
+package one.microstream.benchmarks.jmh;
+
+/*-
+ * #%L
+ * microstream-benchmarks-jmh
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.persistence.internal.StripedObjectRegistry;
+import one.microstream.persistence.types.PersistenceObjectIdProvider;
+import one.microstream.persistence.types.PersistenceObjectManager;
+import one.microstream.persistence.types.PersistenceObjectRegistry;
+
+/**
+ * Measures the object id lookups that every storer performs for every traversed instance, issued concurrently
+ * by several threads through a {@link PersistenceObjectManager}, for the default registry and the
+ * {@link StripedObjectRegistry}. With the default registry, every lookup synchronizes on the registry instance,
+ * with the striped one, lookups of already registered instances do not take any global lock.
+ * <p>
+ * Example: <code>java -jar benchmarks.jar ObjectRegistryContentionBenchmark -t 8</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Threads(8)
+@Fork(1)
+public class ObjectRegistryContentionBenchmark
+{
+	private static final long FIRST_OBJECT_ID = 1_000_000_000_000_000_000L;
+
+	@Param({"Default", "Striped"})
+	public String registry;
+
+	@Param({"100000"})
+	public int objectCount;
+
+	private Object[]                         objects      ;
+	private PersistenceObjectManager<Object> objectManager;
+
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		final PersistenceObjectRegistry objectRegistry = "Striped".equals(this.registry)
+			? PersistenceObjectRegistry.NewStriped()
+			: PersistenceObjectRegistry.New()
+		;
+
+		this.objects = new Object[this.objectCount];
+		for(int i = 0; i < this.objectCount; i++)
+		{
+			objectRegistry.registerObject(FIRST_OBJECT_ID + i, this.objects[i] = new Object());
+		}
+
+		this.objectManager = PersistenceObjectManager.New(
+			objectRegistry,
+			PersistenceObjectIdProvider.Transient(FIRST_OBJECT_ID + this.objectCount)
+		);
+	}
+
+	private Object randomObject()
+	{
+		return this.objects[ThreadLocalRandom.current().nextInt(this.objects.length)];
+	}
+
+	/**
+	 * The lookup a storer performs for every instance of a stored graph.
+	 */
+	@Benchmark
+	public long ensureObjectId()
+	{
+		return this.objectManager.ensureObjectId(this.randomObject());
+	}
+
+	@Benchmark
+	public long lookupObjectId()
+	{
+		return this.objectManager.lookupObjectId(this.randomObject());
+	}
+
+	/**
+	 * Mixes lookups with a consolidation now and then, as it is done by the housekeeping of a storage.
+	 */
+	@Benchmark
+	public long lookupObjectIdWithConsolidation()
+	{
+		if(ThreadLocalRandom.current().nextInt(10_000) == 0)
+		{
+			this.objectManager.consolidate();
+		}
+		return this.objectManager.lookupObjectId(this.randomObject());
+	}
+
+}
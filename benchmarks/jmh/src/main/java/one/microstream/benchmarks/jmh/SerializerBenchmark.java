@@ -0,0 +1,89 @@
+package one.microstream.benchmarks.jmh;
+
+/*-
+ * #%L
+ * microstream-benchmarks-jmh
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import one.microstream.persistence.binary.util.ObjectCopier;
+import one.microstream.persistence.binary.util.Serializer;
+
+/**
+ * Measures round trips through the {@link Serializer} and the {@link ObjectCopier}, which use the binary
+ * persistence layer without any storage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SerializerBenchmark
+{
+	@Param({"1000", "100000"})
+	public int entityCount;
+
+	private List<Entity>       graph     ;
+	private Serializer<byte[]> serializer;
+	private ObjectCopier       copier    ;
+
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		this.graph      = BenchmarkData.wideGraph(this.entityCount);
+		this.serializer = Serializer.Bytes();
+		this.copier     = ObjectCopier.New();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception
+	{
+		this.serializer.close();
+		this.copier.close();
+	}
+
+	@Benchmark
+	public List<Entity> serializerRoundTrip()
+	{
+		return this.serializer.deserialize(this.serializer.serialize(this.graph));
+	}
+
+	@Benchmark
+	public List<Entity> objectCopierCopy()
+	{
+		return this.copier.copy(this.graph);
+	}
+
+}
@@ -66,8 +66,10 @@ import org.slf4j.Logger;
 import one.microstream.X;
 import one.microstream.cache.types.MBeanServerUtils.MBeanType;
 import one.microstream.collections.BulkList;
-import one.microstream.collections.types.XList;
+import one.microstream.collections.types.XGettingList;
 import one.microstream.exceptions.IORuntimeException;
+import one.microstream.math.XMath;
+import one.microstream.persistence.binary.types.Binary;
 import one.microstream.persistence.binary.util.Serializer;
 import one.microstream.reference.Reference;
 import one.microstream.reflect.ClassLoaderProvider;
@@ -181,6 +183,8 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 	{
 		private final static Logger logger = Logging.getLogger(Default.class);
 		
+		private final static int KEY_LOCKS_PER_PROCESSOR = 16;
+		
 		private final String                                      name                    ;
 		private final CacheManager                                manager                 ;
 		private final CacheConfiguration<K, V>                    configuration           ;
@@ -192,12 +196,19 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 		private final ExpiryPolicy                                expiryPolicy            ;
 		private final EvictionManager<K, V>                       evictionManager         ;
 		private final CacheTable                                  cacheTable              ;
-		private final XList<CacheEntryListenerRegistration<K, V>> listenerRegistrations   ;
+		private final Object[]                                    keyLocks                ;
 		private final ExecutorService                             executorService         ;
 		private final CacheConfigurationMXBean                    cacheConfigurationMXBean;
 		private final CacheStatisticsMXBean                       cacheStatisticsMXBean   ;
 		private final AtomicBoolean                               isStatisticsEnabled     = new AtomicBoolean();
 		private final AtomicBoolean                               isClosed                = new AtomicBoolean();
+		private final Object                                      listenerLock            = new Object();
+		
+		/*
+		 * Immutable snapshot, replaced on (de)registration, so that the cache operations
+		 * can read it without acquiring any lock.
+		 */
+		private volatile XGettingList<CacheEntryListenerRegistration<K, V>> listenerRegistrations;
 
 		/*
 		 * According to spec cache and configuration, which may be mutable,
@@ -218,14 +229,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			this.configuration   = configuration;
 
 			this.objectConverter = configuration.isStoreByValue()
-				? ObjectConverter.ByValue(
-					Serializer.Binary(
-						configuration.getSerializerFoundation()
-							.setClassLoaderProvider(
-								ClassLoaderProvider.New(Thread.currentThread().getContextClassLoader())
-							)
-					)
-				)
+				? createByValueConverter(configuration)
 				: ObjectConverter.ByReference()
 			;
 
@@ -262,8 +266,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			this.keyValidator   = CacheValueValidator.New("key",   configuration.getKeyType()  );
 			this.valueValidator = CacheValueValidator.New("value", configuration.getValueType());
 
-			this.cacheTable               = CacheTable.New();
-			this.listenerRegistrations    = X.synchronize(BulkList.New());
+			this.cacheTable               = CacheTable.New(this.objectConverter);
+			this.keyLocks                 = createKeyLocks();
+			this.listenerRegistrations    = X.empty();
 			this.executorService          = Executors.newFixedThreadPool(1);
 			this.cacheConfigurationMXBean = new CacheConfigurationMXBean.Default(this.configuration);
 			this.cacheStatisticsMXBean    = new CacheStatisticsMXBean.Default(this::size);
@@ -293,6 +298,22 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			);
 		}
 
+		private static ObjectConverter createByValueConverter(final CacheConfiguration<?, ?> configuration)
+		{
+			final Serializer<Binary> serializer = Serializer.Binary(
+				configuration.getSerializerFoundation()
+					.setClassLoaderProvider(
+						ClassLoaderProvider.New(Thread.currentThread().getContextClassLoader())
+					)
+			);
+
+			final long offHeapCapacity = configuration.getOffHeapCapacity();
+			return offHeapCapacity > 0L
+				? ObjectConverter.ByValueOffHeap(serializer, OffHeapArena.New(offHeapCapacity))
+				: ObjectConverter.ByValue(serializer)
+			;
+		}
+
 		@Override
 		public String getName()
 		{
@@ -345,11 +366,15 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 		private void createAndRegisterCacheEntryListener(final CacheEntryListenerConfiguration<K, V> cacheEntryListenerConfiguration)
 		{
-			synchronized(this.listenerRegistrations)
+			synchronized(this.listenerLock)
 			{
-				this.listenerRegistrations.add(
+				final BulkList<CacheEntryListenerRegistration<K, V>> registrations =
+					BulkList.New(this.listenerRegistrations)
+				;
+				registrations.add(
 					CacheEntryListenerRegistration.New(cacheEntryListenerConfiguration)
 				);
+				this.listenerRegistrations = registrations.immure();
 			}
 		}
 
@@ -362,11 +387,15 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				c.removeCacheEntryListenerConfiguration(cacheEntryListenerConfiguration)
 			);
 
-			synchronized(this.listenerRegistrations)
+			synchronized(this.listenerLock)
 			{
-				this.listenerRegistrations.removeBy(
+				final BulkList<CacheEntryListenerRegistration<K, V>> registrations =
+					BulkList.New(this.listenerRegistrations)
+				;
+				registrations.removeBy(
 					reg -> cacheEntryListenerConfiguration.equals(reg.getConfiguration())
 				);
+				this.listenerRegistrations = registrations.immure();
 			}
 		}
 
@@ -402,7 +431,10 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			this.listenerRegistrations.forEach(
 				reg -> this.closeIfCloseable(reg.getCacheEntryListener())
 			);
-			this.listenerRegistrations.clear();
+			synchronized(this.listenerLock)
+			{
+				this.listenerRegistrations = X.empty();
+			}
 
 			this.executorService.shutdown();
 			try
@@ -415,6 +447,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			}
 
 			this.cacheTable.clear();
+			this.objectConverter.close();
 			
 			logger.debug("MicroStream Cache '{}' closed", this.name);
 		}
@@ -422,10 +455,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 		@Override
 		public long size()
 		{
-			synchronized(this.cacheTable)
-			{
-				return this.cacheTable.size();
-			}
+			return this.cacheTable.size();
 		}
 
 		@Override
@@ -487,7 +517,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final Object internalKey = this.objectConverter.internalize(key);
 			final long   now         = System.currentTimeMillis();
 
-			synchronized(this.cacheTable)
+			synchronized(this.lockFor(internalKey))
 			{
 				final CachedValue cachedValue = this.cacheTable.get(internalKey);
 				return cachedValue != null && !cachedValue.isExpiredAt(now);
@@ -590,9 +620,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final long                       now                 = System.currentTimeMillis();
 			final ObjectConverter            objectConverter     = this.objectConverter;
 			final Object                     internalKey         = objectConverter.internalize(key);
-			final Object                     internalValue       = objectConverter.internalize(value);
+			final Object                     internalValue       = this.internalizeValue(value);
 
-			synchronized(this.cacheTable)
+			synchronized(this.lockFor(internalKey))
 			{
 				CachedValue   cachedValue = this.cacheTable.get(internalKey);
 				final boolean isExpired   = cachedValue != null && cachedValue.isExpiredAt(now);
@@ -646,7 +676,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 					this.updateExpiryForUpdate(cachedValue, now);
 
-					cachedValue.value(internalValue, now);
+					this.replaceValue(cachedValue, internalValue, now);
 					this.writeCacheEntry(entry);
 					putCount++;
 
@@ -692,9 +722,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			int                              putCount            = 0;
 			final long                       now                 = System.currentTimeMillis();
 			final Object                     internalKey         = this.objectConverter.internalize(key);
-			final Object                     internalValue       = this.objectConverter.internalize(value);
+			final Object                     internalValue       = this.internalizeValue(value);
 
-			synchronized(this.cacheTable)
+			synchronized(this.lockFor(internalKey))
 			{
 				CachedValue   cachedValue = this.cacheTable.get(internalKey);
 				final boolean isExpired   = cachedValue != null && cachedValue.isExpiredAt(now);
@@ -749,7 +779,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 					this.updateExpiryForUpdate(cachedValue, now);
 
-					cachedValue.value(internalValue, now);
+					this.replaceValue(cachedValue, internalValue, now);
 					this.writeCacheEntry(entry);
 					putCount++;
 
@@ -815,52 +845,52 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				: null;
 			CacheWriterException             exception           = null;
 
-			synchronized(this.cacheTable)
-			{
-				final boolean isWriteThrough = this.cacheWriter != null
-					&& this.configuration.isWriteThrough() && useWriteThrough;
+			final boolean isWriteThrough = this.cacheWriter != null
+				&& this.configuration.isWriteThrough() && useWriteThrough;
 
-				final Collection<Cache.Entry<? extends K, ? extends V>> entriesToWrite = new ArrayList<>();
-				final HashSet<K>                                        keysToPut      = new HashSet<>();
-				for(final Map.Entry<? extends K, ? extends V> entry : map.entrySet())
-				{
-					final K key   = entry.getKey();
-					final V value = entry.getValue();
+			final Collection<Cache.Entry<? extends K, ? extends V>> entriesToWrite = new ArrayList<>();
+			final HashSet<K>                                        keysToPut      = new HashSet<>();
+			for(final Map.Entry<? extends K, ? extends V> entry : map.entrySet())
+			{
+				final K key   = entry.getKey();
+				final V value = entry.getValue();
 
-					keysToPut.add(key);
+				keysToPut.add(key);
 
-					if(isWriteThrough)
-					{
-						entriesToWrite.add(CacheEntry.New(key, value));
-					}
+				if(isWriteThrough)
+				{
+					entriesToWrite.add(CacheEntry.New(key, value));
 				}
+			}
 
-				if(isWriteThrough)
+			if(isWriteThrough)
+			{
+				try
 				{
-					try
-					{
-						this.cacheWriter.writeAll(entriesToWrite);
-					}
-					catch(final CacheWriterException e)
-					{
-						exception = e;
-					}
-					catch(final Exception e)
-					{
-						exception = new CacheWriterException(e);
-					}
+					this.cacheWriter.writeAll(entriesToWrite);
+				}
+				catch(final CacheWriterException e)
+				{
+					exception = e;
+				}
+				catch(final Exception e)
+				{
+					exception = new CacheWriterException(e);
+				}
 
-					for(final Cache.Entry<? extends K, ? extends V> entry : entriesToWrite)
-					{
-						keysToPut.remove(entry.getKey());
-					}
+				for(final Cache.Entry<? extends K, ? extends V> entry : entriesToWrite)
+				{
+					keysToPut.remove(entry.getKey());
 				}
+			}
 
-				for(final K key : keysToPut)
+			for(final K key : keysToPut)
+			{
+				final V       value         = map.get(key);
+				final Object  internalKey   = this.objectConverter.internalize(key);
+				final Object  internalValue = this.internalizeValue(value);
+				synchronized(this.lockFor(internalKey))
 				{
-					final V       value         = map.get(key);
-					final Object  internalKey   = this.objectConverter.internalize(key);
-					final Object  internalValue = this.objectConverter.internalize(value);
 					CachedValue   cachedValue   = this.cacheTable.get(internalKey);
 
 					final boolean isExpired     = cachedValue != null && cachedValue.isExpiredAt(now);
@@ -916,7 +946,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 						this.updateExpiryForUpdate(cachedValue, now);
 
-						cachedValue.value(internalValue, now);
+						this.replaceValue(cachedValue, internalValue, now);
 
 						/*
 						 * Do not count loadAll calls as puts. useWriteThrough is false when called from loadAll.
@@ -934,6 +964,10 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 							);
 						}
 					}
+					else
+					{
+						this.objectConverter.release(internalValue);
+					}
 				}
 			}
 
@@ -971,10 +1005,10 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				? CacheEventDispatcher.New()
 				: null;
 			final Object                     internalKey         = this.objectConverter.internalize(key);
-			final Object                     internalValue       = this.objectConverter.internalize(value);
+			final Object                     internalValue       = this.internalizeValue(value);
 			boolean                          result;
 
-			synchronized(this.cacheTable)
+			synchronized(this.lockFor(internalKey))
 			{
 				CachedValue   cachedValue = this.cacheTable.get(internalKey);
 
@@ -1026,6 +1060,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				}
 				else
 				{
+					this.objectConverter.release(internalValue);
 					result = false;
 				}
 			}
@@ -1071,7 +1106,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final Object                     internalKey         = this.objectConverter.internalize(key);
 			boolean                          result;
 
-			synchronized(this.cacheTable)
+			synchronized(this.lockFor(internalKey))
 			{
 				this.deleteCacheEntry(key);
 
@@ -1087,8 +1122,8 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				}
 				else
 				{
-					this.cacheTable.remove(internalKey);
 					final V value = this.objectConverter.externalize(cachedValue.value());
+					this.cacheTable.remove(internalKey);
 
 					if(eventDispatcher != null)
 					{
@@ -1137,7 +1172,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			boolean                          hit                 = false;
 			boolean                          result;
 
-			synchronized(this.cacheTable)
+			synchronized(this.lockFor(internalKey))
 			{
 				final CachedValue cachedValue = this.cacheTable.get(internalKey);
 				if(cachedValue == null || cachedValue.isExpiredAt(now))
@@ -1222,7 +1257,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final Object                     internalKey         = this.objectConverter.internalize(key);
 			V                                result;
 
-			synchronized(this.cacheTable)
+			synchronized(this.lockFor(internalKey))
 			{
 				this.deleteCacheEntry(key);
 
@@ -1233,8 +1268,8 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				}
 				else
 				{
-					this.cacheTable.remove(internalKey);
 					result = this.objectConverter.externalize(cachedValue.value(now));
+					this.cacheTable.remove(internalKey);
 
 					if(eventDispatcher != null)
 					{
@@ -1292,7 +1327,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			long                             hitCount            = 0;
 			boolean                          result;
 
-			synchronized(this.cacheTable)
+			synchronized(this.lockFor(internalKey))
 			{
 				final CachedValue cachedValue = this.cacheTable.get(internalKey);
 				if(cachedValue == null || cachedValue.isExpiredAt(now))
@@ -1312,8 +1347,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 						this.updateExpiryForUpdate(cachedValue, now);
 
-						cachedValue.value(
-							this.objectConverter.internalize(newValue),
+						this.replaceValue(
+							cachedValue,
+							this.internalizeValue(newValue),
 							now
 						);
 
@@ -1383,7 +1419,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final Object                     internalKey         = this.objectConverter.internalize(key);
 			boolean                          result;
 
-			synchronized(this.cacheTable)
+			synchronized(this.lockFor(internalKey))
 			{
 				final CachedValue cachedValue = this.cacheTable.get(internalKey);
 				if(cachedValue == null || cachedValue.isExpiredAt(now))
@@ -1399,8 +1435,8 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 					this.updateExpiryForUpdate(cachedValue, now);
 
-					final Object newInternalValue = this.objectConverter.internalize(value);
-					cachedValue.value(newInternalValue, now);
+					final Object newInternalValue = this.internalizeValue(value);
+					this.replaceValue(cachedValue, newInternalValue, now);
 
 					if(eventDispatcher != null)
 					{
@@ -1458,7 +1494,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final Object                     internalKey         = this.objectConverter.internalize(key);
 			V                                result;
 
-			synchronized(this.cacheTable)
+			synchronized(this.lockFor(internalKey))
 			{
 				final CachedValue cachedValue = this.cacheTable.get(internalKey);
 				if(cachedValue == null || cachedValue.isExpiredAt(now))
@@ -1474,8 +1510,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 					this.updateExpiryForUpdate(cachedValue, now);
 
-					cachedValue.value(
-						this.objectConverter.internalize(value),
+					this.replaceValue(
+						cachedValue,
+						this.internalizeValue(value),
 						now
 					);
 
@@ -1532,37 +1569,38 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			cacheWriterKeys.addAll(keys);
 			CacheException exception = null;
 
-			synchronized(this.cacheTable)
+			if(this.cacheWriter != null && this.configuration.isWriteThrough())
 			{
-				if(this.cacheWriter != null && this.configuration.isWriteThrough())
+				try
 				{
-					try
-					{
-						this.cacheWriter.deleteAll(cacheWriterKeys);
-					}
-					catch(final CacheWriterException e)
-					{
-						exception = e;
-					}
-					catch(final Exception e)
-					{
-						exception = new CacheWriterException(e);
-					}
+					this.cacheWriter.deleteAll(cacheWriterKeys);
+				}
+				catch(final CacheWriterException e)
+				{
+					exception = e;
+				}
+				catch(final Exception e)
+				{
+					exception = new CacheWriterException(e);
+				}
 
-					// At this point, cacheWriterKeys will contain only those that were _not_ written
-					// Now delete only those that the writer deleted
-					for(final K key : keys)
+				// At this point, cacheWriterKeys will contain only those that were _not_ written
+				// Now delete only those that the writer deleted
+				for(final K key : keys)
+				{
+					// only delete those keys that the writer deleted. per CacheWriter spec.
+					if(!cacheWriterKeys.contains(key))
 					{
-						// only delete those keys that the writer deleted. per CacheWriter spec.
-						if(!cacheWriterKeys.contains(key))
+						final Object      internalKey = this.objectConverter.internalize(key);
+						synchronized(this.lockFor(internalKey))
 						{
-							final Object      internalKey = this.objectConverter.internalize(key);
-							final CachedValue cachedValue = this.cacheTable.remove(internalKey);
+							final CachedValue cachedValue = this.cacheTable.get(internalKey);
 							if(cachedValue != null)
 							{
 								deletedKeys.add(key);
 
 								final V value = this.objectConverter.externalize(cachedValue.value());
+								this.cacheTable.remove(internalKey);
 
 								if(cachedValue.isExpiredAt(now))
 								{
@@ -1584,18 +1622,22 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 						}
 					}
 				}
-				else
+			}
+			else
+			{
+				for(final K key : keys)
 				{
-					for(final K key : keys)
+					// only delete those keys that the writer deleted. per CacheWriter spec.
+					final Object      internalKey = this.objectConverter.internalize(key);
+					synchronized(this.lockFor(internalKey))
 					{
-						// only delete those keys that the writer deleted. per CacheWriter spec.
-						final Object      internalKey = this.objectConverter.internalize(key);
-						final CachedValue cachedValue = this.cacheTable.remove(internalKey);
+						final CachedValue cachedValue = this.cacheTable.get(internalKey);
 						if(cachedValue != null)
 						{
 							deletedKeys.add(key);
 
 							final V value = this.objectConverter.externalize(cachedValue.value());
+							this.cacheTable.remove(internalKey);
 
 							if(cachedValue.isExpiredAt(now))
 							{
@@ -1646,46 +1688,53 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				: null;
 			CacheException                   exception           = null;
 
-			synchronized(this.cacheTable)
-			{
-				final HashSet<K> keys = new HashSet<>();
-				this.cacheTable.keys().forEach(key -> keys.add(this.objectConverter.externalize(key)));
+			final HashSet<K> keys = new HashSet<>();
+			this.cacheTable.keys().forEach(key -> keys.add(this.objectConverter.externalize(key)));
 
-				final Set<K> keysToDelete;
+			final Set<K> keysToDelete;
 
-				if(this.cacheWriter != null && this.configuration.isWriteThrough())
-				{
-					keysToDelete = new HashSet<>(keys);
+			if(this.cacheWriter != null && this.configuration.isWriteThrough())
+			{
+				keysToDelete = new HashSet<>(keys);
 
-					if(keysToDelete.size() > 0)
+				if(keysToDelete.size() > 0)
+				{
+					try
 					{
-						try
-						{
-							this.cacheWriter.deleteAll(keysToDelete);
-						}
-						catch(final CacheWriterException e)
-						{
-							exception = e;
-						}
-						catch(final Exception e)
-						{
-							exception = new CacheWriterException(e);
-						}
+						this.cacheWriter.deleteAll(keysToDelete);
+					}
+					catch(final CacheWriterException e)
+					{
+						exception = e;
+					}
+					catch(final Exception e)
+					{
+						exception = new CacheWriterException(e);
 					}
 				}
-				else
-				{
-					keysToDelete = Collections.emptySet();
-				}
+			}
+			else
+			{
+				keysToDelete = Collections.emptySet();
+			}
 
-				// remove the deleted keys that were successfully deleted from the set
-				for(final K key : keys)
+			// remove the deleted keys that were successfully deleted from the set
+			for(final K key : keys)
+			{
+				if(!keysToDelete.contains(key))
 				{
-					if(!keysToDelete.contains(key))
+					final Object      internalKey = this.objectConverter.internalize(key);
+					synchronized(this.lockFor(internalKey))
 					{
-						final Object      internalKey = this.objectConverter.internalize(key);
-						final CachedValue cachedValue = this.cacheTable.remove(internalKey);
+						final CachedValue cachedValue = this.cacheTable.get(internalKey);
+						if(cachedValue == null)
+						{
+							// removed concurrently in the meantime
+							continue;
+						}
+
 						final V           value       = this.objectConverter.externalize(cachedValue.value());
+						this.cacheTable.remove(internalKey);
 
 						if(cachedValue.isExpiredAt(now))
 						{
@@ -1731,10 +1780,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 		{
 			this.ensureOpen();
 
-			synchronized(this.cacheTable)
-			{
-				this.cacheTable.clear();
-			}
+			this.cacheTable.clear();
 		}
 
 		@Override
@@ -1859,7 +1905,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final Object                     internalKey     = this.objectConverter.internalize(key);
 			T                                result          = null;
 
-			synchronized(this.cacheTable)
+			synchronized(this.lockFor(internalKey))
 			{
 				final CachedValue cachedValue = this.cacheTable.get(internalKey);
 				final boolean     isExpired   = cachedValue != null && cachedValue.isExpiredAt(now);
@@ -2014,7 +2060,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			}
 
 			cachedValue = CachedValue.New(
-				this.objectConverter.internalize(entry.getValue()),
+				this.internalizeValue(entry.getValue()),
 				now,
 				this.expiryForCreation().getAdjustedTime(now)
 			);
@@ -2066,8 +2112,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 			this.updateExpiryForUpdate(cachedValue, now);
 
-			cachedValue.value(
-				this.objectConverter.internalize(entry.getValue()),
+			this.replaceValue(
+				cachedValue,
+				this.internalizeValue(entry.getValue()),
 				now
 			);
 
@@ -2117,6 +2164,61 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			}
 		}
 
+		/*
+		 * Single-key operations are guarded by one of a fixed set of monitors, picked by the key's hash,
+		 * so that operations on different keys can run in parallel while each key is still processed atomically,
+		 * including the invocation of loader, writer and expiry policy.
+		 */
+		private static Object[] createKeyLocks()
+		{
+			final Object[] keyLocks = new Object[
+				XMath.pow2BoundCapped(Runtime.getRuntime().availableProcessors() * KEY_LOCKS_PER_PROCESSOR)
+			];
+			for(int i = 0; i < keyLocks.length; i++)
+			{
+				keyLocks[i] = new Object();
+			}
+			return keyLocks;
+		}
+
+		private Object lockFor(final Object internalKey)
+		{
+			final int hash = internalKey.hashCode();
+			return this.keyLocks[(hash ^ hash >>> 16) & this.keyLocks.length - 1];
+		}
+
+		private boolean holdsKeyLock()
+		{
+			for(final Object keyLock : this.keyLocks)
+			{
+				if(Thread.holdsLock(keyLock))
+				{
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private <T> Object internalizeValue(final T value)
+		{
+			return this.objectConverter instanceof ObjectConverter.ByValueOffHeap
+				? ((ObjectConverter.ByValueOffHeap)this.objectConverter).internalizeValue(value, this::makeOffHeapRoom)
+				: this.objectConverter.internalizeValue(value)
+			;
+		}
+
+		private boolean makeOffHeapRoom()
+		{
+			/*
+			 * Evicting locks the keys of the evicted entries one by one. Waiting for them while holding another
+			 * key's lock could deadlock with a thread doing the same, so in that case the conversion just fails.
+			 */
+			return this.evictionManager != null
+				&& !this.holdsKeyLock()
+				&& this.evictionManager.makeRoom(this, this.cacheTable)
+			;
+		}
+
 		private void ensureOpen()
 		{
 			if(this.isClosed.get())
@@ -2140,7 +2242,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final Object  internalKey         = this.objectConverter.internalize(key);
 			V             value               = null;
 
-			synchronized(this.cacheTable)
+			synchronized(this.lockFor(internalKey))
 			{
 				CachedValue   cachedValue = this.cacheTable.get(internalKey);
 				final boolean isExpired   = cachedValue != null && cachedValue.isExpiredAt(now);
@@ -2171,7 +2273,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 							: now
 						;
 						cachedValue = CachedValue.New(
-							this.objectConverter.internalize(value),
+							this.internalizeValue(value),
 							creationTime,
 							this.expiryForCreation().getAdjustedTime(creationTime)
 						);
@@ -2217,6 +2319,17 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			return value;
 		}
 
+		private void replaceValue(
+			final CachedValue cachedValue  ,
+			final Object      internalValue,
+			final long        now
+		)
+		{
+			final Object oldInternalValue = cachedValue.value();
+			cachedValue.value(internalValue, now);
+			this.objectConverter.release(oldInternalValue);
+		}
+
 		private void putValue(
 			final K                          key            ,
 			final V                          value          ,
@@ -2244,17 +2357,27 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final CacheEventDispatcher<K, V> eventDispatcher = this.listenerRegistrations.size() > 0L
 				? CacheEventDispatcher.New()
 				: null;
+			final HashSet<K> evictedKeys = new HashSet<>();
 
-			synchronized(this.cacheTable)
+			for(final KeyValue<Object, CachedValue> entryToEvict : entriesToEvict)
 			{
-				for(final KeyValue<Object, CachedValue> entryToEvict : entriesToEvict)
+				synchronized(this.lockFor(entryToEvict.key()))
 				{
-					this.cacheTable.remove(entryToEvict.key());
+					// skip entries which have been removed or replaced since they were picked
+					if(this.cacheTable.get(entryToEvict.key()) != entryToEvict.value())
+					{
+						continue;
+					}
 
+					// externalized before the removal, which releases the value
 					final K evictedKey   = this.objectConverter.externalize(entryToEvict.key());
 					final V evictedValue = this.objectConverter.externalize(entryToEvict.value().value());
+					if(!this.cacheTable.remove(entryToEvict.key(), entryToEvict.value()))
+					{
+						continue;
+					}
 
-					this.deleteCacheEntry(evictedKey);
+					evictedKeys.add(evictedKey);
 
 					if(eventDispatcher != null)
 					{
@@ -2268,14 +2391,38 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				}
 			}
 
-			if(this.isStatisticsEnabled.get() && evictionCount > 0)
+			// the writer is called after releasing the locks, so that a slow writer does not block other keys
+			CacheException exception = null;
+			if(!evictedKeys.isEmpty() && this.cacheWriter != null && this.configuration.isWriteThrough())
 			{
-				if(eventDispatcher != null)
+				try
+				{
+					this.cacheWriter.deleteAll(evictedKeys);
+				}
+				catch(final CacheWriterException e)
 				{
-					eventDispatcher.dispatch(this.listenerRegistrations);
+					exception = e;
 				}
+				catch(final Exception e)
+				{
+					exception = new CacheWriterException(e);
+				}
+			}
+
+			// the entries are evicted regardless of the writer's outcome
+			if(eventDispatcher != null)
+			{
+				eventDispatcher.dispatch(this.listenerRegistrations);
+			}
+			if(this.isStatisticsEnabled.get() && evictionCount > 0)
+			{
 				this.cacheStatisticsMXBean.increaseCacheEvictions(evictionCount);
 			}
+
+			if(exception != null)
+			{
+				throw exception;
+			}
 		}
 
 		private void updateExpiryForAccess(final CachedValue cachedValue, final long now )
@@ -2486,9 +2633,11 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					final K                             key         = objectConverter.externalize(entry.key());
 					try
 					{
-						if(!cachedValue.isExpiredAt(this.now))
+						final V value;
+						if(!cachedValue.isExpiredAt(this.now)
+							&& (value = this.externalizeValue(objectConverter, cachedValue)) != null
+						)
 						{
-							final V value  = objectConverter.externalize(cachedValue.value(this.now));
 							this.nextEntry = CacheEntry.New(key, value);
 
 							try
@@ -2513,6 +2662,23 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				}
 			}
 
+			/*
+			 * The iteration is not guarded by the per-key locks, so the value may be released concurrently.
+			 * A replaced value is read again, a removed one is skipped.
+			 */
+			private V externalizeValue(final ObjectConverter objectConverter, final CachedValue cachedValue)
+			{
+				for(;;)
+				{
+					final Object internalValue = cachedValue.value(this.now);
+					final V      value         = objectConverter.externalize(internalValue);
+					if(value != null || cachedValue.value() == internalValue)
+					{
+						return value;
+					}
+				}
+			}
+
 			@Override
 			public boolean hasNext()
 			{
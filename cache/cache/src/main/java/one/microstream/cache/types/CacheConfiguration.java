@@ -24,6 +24,7 @@ package one.microstream.cache.types;
 import static one.microstream.X.coalesce;
 import static one.microstream.X.notNull;
 import static one.microstream.chars.XChars.notEmpty;
+import static one.microstream.math.XMath.notNegative;
 
 import java.io.File;
 import java.io.InputStream;
@@ -60,7 +61,8 @@ import one.microstream.storage.embedded.types.EmbeddedStorageManager;
  * <p>
  * Added features:<br>
  * - {@link #getEvictionManagerFactory()}<br>
- * - {@link #getSerializerFoundation()}
+ * - {@link #getSerializerFoundation()}<br>
+ * - {@link #getOffHeapCapacity()}
  * </p>
  * <p>
  * Can be adapted to MicroStream's generic {@link Configuration} layer.
@@ -1199,6 +1201,14 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 	 */
 	public SerializerFoundation<?> getSerializerFoundation();
 
+	/**
+	 * Gets the capacity of the off-heap memory for the cached values, if they are stored by value.
+	 *
+	 * @return the off-heap capacity in bytes, or 0 if the values are held on the heap
+	 * @see ObjectConverter.ByValueOffHeap
+	 */
+	public long getOffHeapCapacity();
+
 	/**
 	 * Creates a new {@link Builder} for a {@link CacheConfiguration}.
 	 *
@@ -1540,6 +1550,18 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 	     */
 		public Builder<K, V> serializerFoundation(SerializerFoundation<?> serializerFoundation);
 
+		/**
+		 * Sets the capacity of the off-heap memory for the cached values.
+		 * <p>
+		 * If the cache stores by value and the capacity is greater than 0, the serialized values are held off-heap.
+		 * Puts fail if the capacity is exhausted, so an eviction manager should keep the memory consumption below,
+		 * see {@link EvictionPolicy#MaxByteSizePredicate(long)}.
+		 *
+		 * @param offHeapCapacity the off-heap capacity in bytes, 0 to hold the values on the heap
+		 * @return this
+		 */
+		public Builder<K, V> offHeapCapacity(long offHeapCapacity);
+
 		/**
 		 * Builds a {@link CacheConfiguration} based on the values of this {@link Builder}.
 		 * 
@@ -1562,6 +1584,7 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			private boolean                                        statisticsEnabled;
 			private boolean                                        managementEnabled;
 			private SerializerFoundation<?>                        serializerFoundation;
+			private long                                           offHeapCapacity;
 
 			Default(final Class<K> keyType, final Class<V> valueType)
 			{
@@ -1649,6 +1672,13 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 				return this;
 			}
 
+			@Override
+			public Builder<K, V> offHeapCapacity(final long offHeapCapacity)
+			{
+				this.offHeapCapacity = notNegative(offHeapCapacity);
+				return this;
+			}
+
 			@Override
 			public CacheConfiguration<K, V> build()
 			{
@@ -1679,7 +1709,8 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 					this.storeByValue,
 					this.statisticsEnabled,
 					this.managementEnabled,
-					serializerFoundation
+					serializerFoundation,
+					this.offHeapCapacity
 				);
 			}
 
@@ -1734,16 +1765,19 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 
 			final Factory<EvictionManager<K, V>> evictionManagerFactory;
 			final SerializerFoundation<?>        serializerFoundation;
+			final long                           offHeapCapacity;
 			if(other instanceof CacheConfiguration)
 			{
 				final CacheConfiguration<K, V> msCacheConfig = (CacheConfiguration<K, V>)other;
 				evictionManagerFactory = msCacheConfig.getEvictionManagerFactory();
 				serializerFoundation   = msCacheConfig.getSerializerFoundation();
+				offHeapCapacity        = msCacheConfig.getOffHeapCapacity();
 			}
 			else
 			{
 				evictionManagerFactory = DefaultEvictionManagerFactory();
 				serializerFoundation   = SerializerFoundation.New();
+				offHeapCapacity        = 0L;
 			}
 
 			return new Default<>(
@@ -1759,7 +1793,8 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 				complete.isStoreByValue(),
 				complete.isStatisticsEnabled(),
 				complete.isManagementEnabled(),
-				serializerFoundation
+				serializerFoundation,
+				offHeapCapacity
 			);
 		}
 
@@ -1776,13 +1811,15 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			other.isStoreByValue(),
 			false,
 			false,
-			SerializerFoundation.New());
+			SerializerFoundation.New(),
+			0L);
 	}
 
 	public static class Default<K, V> extends MutableConfiguration<K, V> implements CacheConfiguration<K, V>
 	{
 		private final Factory<EvictionManager<K, V>> evictionManagerFactory;
 		private final SerializerFoundation<?>        serializerFoundation;
+		private final long                           offHeapCapacity;
 
 		Default(
 			final Class<K>                                       keyType,
@@ -1797,7 +1834,8 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			final boolean                                        isStoreByValue,
 			final boolean                                        isStatisticsEnabled,
 			final boolean                                        isManagementEnabled,
-			final SerializerFoundation<?>                        serializerFoundation
+			final SerializerFoundation<?>                        serializerFoundation,
+			final long                                           offHeapCapacity
 		)
 		{
 			super();
@@ -1818,6 +1856,7 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			this.isStoreByValue           = isStoreByValue;
 			this.isManagementEnabled      = isManagementEnabled;
 			this.serializerFoundation = serializerFoundation;
+			this.offHeapCapacity      = offHeapCapacity;
 		}
 
 		@Override
@@ -1852,6 +1891,12 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			return this.serializerFoundation;
 		}
 
+		@Override
+		public long getOffHeapCapacity()
+		{
+			return this.offHeapCapacity;
+		}
+
 		@Override
 		public int hashCode()
 		{
@@ -1870,6 +1915,7 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			result = prime * result + (this.valueType == null ? 0 : this.valueType.hashCode());
 			result = prime * result + (this.evictionManagerFactory == null ? 0 : this.evictionManagerFactory.hashCode());
 			result = prime * result + (this.serializerFoundation == null ? 0 : this.serializerFoundation.hashCode());
+			result = prime * result + Long.hashCode(this.offHeapCapacity);
 			return result;
 		}
 
@@ -1993,6 +2039,10 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			{
 				return false;
 			}
+			if(this.offHeapCapacity != other.getOffHeapCapacity())
+			{
+				return false;
+			}
 			return true;
 		}
 		
@@ -2011,7 +2061,8 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 				.add("isWriteThrough=").add(this.isWriteThrough).lf()
 				.add("isStatisticsEnabled=").add(this.isStatisticsEnabled).lf()
 				.add("isStoreByValue=").add(this.isStoreByValue).lf()
-				.add("isManagementEnabled=").add(this.isManagementEnabled)
+				.add("isManagementEnabled=").add(this.isManagementEnabled).lf()
+				.add("offHeapCapacity=").add(this.offHeapCapacity)
 				.toString()
 			;
 		}
@@ -26,6 +26,7 @@ import javax.cache.CacheException;
 import javax.cache.configuration.Factory;
 
 import one.microstream.chars.XChars;
+import one.microstream.configuration.types.ByteSize;
 import one.microstream.configuration.types.Configuration;
 import one.microstream.configuration.types.ConfigurationLoader;
 import one.microstream.configuration.types.ConfigurationParserIni;
@@ -124,6 +125,9 @@ public interface CacheConfigurationBuilderConfigurationBased
 			configuration.optBoolean(MANAGEMENT_ENABLED).ifPresent(value ->
 				builder.enableManagement(value)
 			);
+			configuration.opt(OFF_HEAP_CAPACITY, ByteSize.class).ifPresent(value ->
+				builder.offHeapCapacity(value.bytes())
+			);
 
 			final CacheStore<K, V> cacheStore = this.buildCacheStore(configuration);
 			if(cacheStore != null)
@@ -99,4 +99,11 @@ public interface CacheConfigurationPropertyNames
 	 */
 	public static final String MANAGEMENT_ENABLED                  = "management-enabled";
 	
+	/**
+	 * Byte size, e.g. "4 gb".
+	 * 
+	 * @see CacheConfiguration#getOffHeapCapacity()
+	 */
+	public static final String OFF_HEAP_CAPACITY                   = "off-heap-capacity";
+	
 }
@@ -30,6 +30,7 @@ import javax.cache.CacheException;
 import javax.cache.configuration.Factory;
 
 import one.microstream.cache.types.CacheConfiguration.Builder;
+import one.microstream.configuration.types.ByteSizeParser;
 import one.microstream.storage.configuration.Configuration;
 import one.microstream.storage.configuration.ConfigurationPropertyParser;
 
@@ -173,6 +174,10 @@ public interface CacheConfigurationPropertyParser
 						builder.enableManagement();
 					}
 				break;
+
+				case OFF_HEAP_CAPACITY:
+					builder.offHeapCapacity(ByteSizeParser.New().parse(value).bytes());
+				break;
 			}
 		}
 
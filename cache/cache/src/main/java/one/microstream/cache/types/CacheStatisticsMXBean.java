@@ -21,7 +21,7 @@ package one.microstream.cache.types;
  * #L%
  */
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.LongSupplier;
 
 
@@ -52,15 +52,15 @@ public interface CacheStatisticsMXBean extends javax.cache.management.CacheStati
 		
 		private final transient LongSupplier sizeSupplier;
 		
-		private final AtomicLong      cacheRemovals                = new AtomicLong();
-		private final AtomicLong      cacheExpiries                = new AtomicLong();
-		private final AtomicLong      cachePuts                    = new AtomicLong();
-		private final AtomicLong      cacheHits                    = new AtomicLong();
-		private final AtomicLong      cacheMisses                  = new AtomicLong();
-		private final AtomicLong      cacheEvictions               = new AtomicLong();
-		private final AtomicLong      cachePutTimeTakenNanos       = new AtomicLong();
-		private final AtomicLong      cacheGetTimeTakenNanos       = new AtomicLong();
-		private final AtomicLong      cacheRemoveTimeTakenNanos    = new AtomicLong();
+		private final LongAdder       cacheRemovals                = new LongAdder();
+		private final LongAdder       cacheExpiries                = new LongAdder();
+		private final LongAdder       cachePuts                    = new LongAdder();
+		private final LongAdder       cacheHits                    = new LongAdder();
+		private final LongAdder       cacheMisses                  = new LongAdder();
+		private final LongAdder       cacheEvictions               = new LongAdder();
+		private final LongAdder       cachePutTimeTakenNanos       = new LongAdder();
+		private final LongAdder       cacheGetTimeTakenNanos       = new LongAdder();
+		private final LongAdder       cacheRemoveTimeTakenNanos    = new LongAdder();
 		
 		Default(final LongSupplier sizeSupplier)
 		{
@@ -70,15 +70,15 @@ public interface CacheStatisticsMXBean extends javax.cache.management.CacheStati
 		@Override
 		public void clear()
 		{
-			this.cachePuts.set(0);
-			this.cacheMisses.set(0);
-			this.cacheRemovals.set(0);
-			this.cacheExpiries.set(0);
-			this.cacheHits.set(0);
-			this.cacheEvictions.set(0);
-			this.cacheGetTimeTakenNanos.set(0);
-			this.cachePutTimeTakenNanos.set(0);
-			this.cacheRemoveTimeTakenNanos.set(0);
+			this.cachePuts.reset();
+			this.cacheMisses.reset();
+			this.cacheRemovals.reset();
+			this.cacheExpiries.reset();
+			this.cacheHits.reset();
+			this.cacheEvictions.reset();
+			this.cacheGetTimeTakenNanos.reset();
+			this.cachePutTimeTakenNanos.reset();
+			this.cacheRemoveTimeTakenNanos.reset();
 		}
 		
 		public long getEntryCount()
@@ -173,79 +173,79 @@ public interface CacheStatisticsMXBean extends javax.cache.management.CacheStati
 		@Override
 		public void increaseCacheRemovals(final long number)
 		{
-			this.cacheRemovals.getAndAdd(number);
+			this.cacheRemovals.add(number);
 		}
 		
 		@Override
 		public void increaseCacheExpiries(final long number)
 		{
-			this.cacheExpiries.getAndAdd(number);
+			this.cacheExpiries.add(number);
 		}
 		
 		@Override
 		public void increaseCachePuts(final long number)
 		{
-			this.cachePuts.getAndAdd(number);
+			this.cachePuts.add(number);
 		}
 		
 		@Override
 		public void increaseCacheHits(final long number)
 		{
-			this.cacheHits.getAndAdd(number);
+			this.cacheHits.add(number);
 		}
 		
 		@Override
 		public void increaseCacheMisses(final long number)
 		{
-			this.cacheMisses.getAndAdd(number);
+			this.cacheMisses.add(number);
 		}
 		
 		@Override
 		public void increaseCacheEvictions(final long number)
 		{
-			this.cacheEvictions.getAndAdd(number);
+			this.cacheEvictions.add(number);
 		}
 		
 		@Override
 		public void addGetTimeNano(final long duration)
 		{
-			if(this.cacheGetTimeTakenNanos.get() <= Long.MAX_VALUE - duration)
+			if(this.cacheGetTimeTakenNanos.sum() <= Long.MAX_VALUE - duration)
 			{
-				this.cacheGetTimeTakenNanos.addAndGet(duration);
+				this.cacheGetTimeTakenNanos.add(duration);
 			}
 			else
 			{
 				// Counter full. Just reset.
 				this.clear();
-				this.cacheGetTimeTakenNanos.set(duration);
+				this.cacheGetTimeTakenNanos.add(duration);
 			}
 		}
 		
 		@Override
 		public void addPutTimeNano(final long duration)
 		{
-			if(this.cachePutTimeTakenNanos.get() <= Long.MAX_VALUE - duration)
+			if(this.cachePutTimeTakenNanos.sum() <= Long.MAX_VALUE - duration)
 			{
-				this.cachePutTimeTakenNanos.addAndGet(duration);
+				this.cachePutTimeTakenNanos.add(duration);
 			}
 			else
 			{
 				this.clear();
-				this.cachePutTimeTakenNanos.set(duration);
+				this.cachePutTimeTakenNanos.add(duration);
 			}
 		}
 		
 		@Override
 		public void addRemoveTimeNano(final long duration)
 		{
-			if(this.cacheRemoveTimeTakenNanos.get() <= Long.MAX_VALUE - duration)
+			if(this.cacheRemoveTimeTakenNanos.sum() <= Long.MAX_VALUE - duration)
 			{
-				this.cacheRemoveTimeTakenNanos.addAndGet(duration);
+				this.cacheRemoveTimeTakenNanos.add(duration);
 			}
 			else
 			{
 				this.clear();
-				this.cacheRemoveTimeTakenNanos.set(duration);
+				this.cacheRemoveTimeTakenNanos.add(duration);
 			}
 		}
 		
@@ -21,17 +21,31 @@ package one.microstream.cache.types;
  * #L%
  */
 
+import static one.microstream.X.notNull;
+
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import one.microstream.X;
-import one.microstream.collections.EqHashTable;
+import one.microstream.branching.ThrowBreak;
 import one.microstream.functional.Aggregator;
 import one.microstream.typing.KeyValue;
 
 
+/**
+ * Backing storage of a {@link Cache}.
+ * <p>
+ * Implementations must be safe for concurrent use, since the cache only guards single-key operations
+ * with per-key locks, and the eviction manager may read the table from its own thread at any time.
+ * Bulk operations like {@link #iterate(Consumer)} are weakly consistent: they reflect some state of the table
+ * at or since their start and never throw {@link java.util.ConcurrentModificationException}.
+ * <p>
+ * The values of entries which are removed or replaced are {@link ObjectConverter#release(Object) released}.
+ * So callers which need a removed value have to externalize it before removing it.
+ */
 public interface CacheTable
 {
 	public CachedValue get(Object key);
@@ -40,6 +54,15 @@ public interface CacheTable
 	
 	public CachedValue remove(Object key);
 	
+	/**
+	 * Removes the entry for the given key only if it is currently mapped to the given value.
+	 * 
+	 * @param key the key of the entry to remove
+	 * @param value the value expected to be associated with the key
+	 * @return <code>true</code> if the entry was removed
+	 */
+	public boolean remove(Object key, CachedValue value);
+	
 	public Iterable<Object> keys();
 	
 	public Iterator<KeyValue<Object, CachedValue>> iterator();
@@ -50,6 +73,20 @@ public interface CacheTable
 	
 	public long size();
 	
+	/**
+	 * The amount of memory occupied by the values outside of the heap, see {@link ObjectConverter.ByValueOffHeap}.
+	 * 
+	 * @return the off-heap size in bytes, or 0 if the values are held on the heap
+	 */
+	public long byteSize();
+	
+	/**
+	 * The maximum amount of memory the values may occupy outside of the heap, see {@link OffHeapArena#capacity()}.
+	 * 
+	 * @return the off-heap capacity in bytes, or 0 if the values are held on the heap
+	 */
+	public long byteCapacity();
+	
 	public void clear();
 	
 	public KeyValue<Object, CachedValue> min(Comparator<? super KeyValue<Object, CachedValue>> comparator);
@@ -59,57 +96,149 @@ public interface CacheTable
 		long                                              length    ,
 		Comparator<? super KeyValue<Object, CachedValue>> comparator
 	);
+	
+	/**
+	 * Sets the {@link Observer} which gets notified about all entries added to or removed from this table,
+	 * or <code>null</code> to remove the current one.
+	 * 
+	 * @param observer the new observer, may be <code>null</code>
+	 */
+	public void setObserver(Observer observer);
+	
+	
+	/**
+	 * Gets notified about the entries which are added to or removed from a {@link CacheTable},
+	 * e.g. to keep the data structures of an {@link EvictionPolicy} up to date.
+	 * <p>
+	 * The notifications are issued by the modifying thread, right after the modification.
+	 * Reads of the table are not reported.
+	 */
+	public interface Observer
+	{
+		public void entryAdded(KeyValue<Object, CachedValue> entry);
+		
+		public void entryRemoved(KeyValue<Object, CachedValue> entry);
+		
+		public void entriesCleared();
+	}
 			
 	
 	public static CacheTable New()
 	{
-		return new Default();
+		return New(ObjectConverter.ByReference());
+	}
+	
+	public static CacheTable New(final ObjectConverter objectConverter)
+	{
+		return new Default(
+			notNull(objectConverter)
+		);
 	}
 	
 	
 	public static class Default implements CacheTable
 	{
-		final EqHashTable<Object, CachedValue> table;
+		/*
+		 * The entries are stored as key-value pairs, so that iterating, searching and sampling
+		 * can hand them out directly without creating a wrapper instance per visited entry.
+		 */
+		final ConcurrentHashMap<Object, KeyValue<Object, CachedValue>> table;
 		
-		Default()
+		private final ObjectConverter objectConverter;
+		private volatile Observer     observer;
+		
+		Default(final ObjectConverter objectConverter)
 		{
 			super();
 			
-			this.table = EqHashTable.New();
+			this.table           = new ConcurrentHashMap<>();
+			this.objectConverter = objectConverter;
 		}
 		
 		@Override
 		public CachedValue get(final Object key)
 		{
-			return this.table.get(key);
+			final KeyValue<Object, CachedValue> entry = this.table.get(key);
+			return entry != null
+				? entry.value()
+				: null
+			;
 		}
 		
 		@Override
 		public boolean put(final Object key, final CachedValue value)
 		{
-			return this.table.put(key, value);
+			final KeyValue<Object, CachedValue> entry    = X.KeyValue(key, value);
+			final KeyValue<Object, CachedValue> replaced = this.table.put(key, entry);
+			
+			this.removed(replaced);
+			
+			final Observer observer;
+			if((observer = this.observer) != null)
+			{
+				observer.entryAdded(entry);
+			}
+			
+			return replaced == null;
 		}
 		
 		@Override
 		public CachedValue remove(final Object key)
 		{
-			return this.table.removeFor(key);
+			final KeyValue<Object, CachedValue> entry = this.table.remove(key);
+			this.removed(entry);
+			return entry != null
+				? entry.value()
+				: null
+			;
+		}
+		
+		@Override
+		public boolean remove(final Object key, final CachedValue value)
+		{
+			final KeyValue<Object, CachedValue> entry = this.table.get(key);
+			
+			// entries are compared by identity, so a replacing put in the meantime lets this removal fail
+			if(entry != null
+				&& entry.value() == value
+				&& this.table.remove(key, entry)
+			)
+			{
+				this.removed(entry);
+				return true;
+			}
+			
+			return false;
+		}
+		
+		private void removed(final KeyValue<Object, CachedValue> entry)
+		{
+			if(entry == null)
+			{
+				return;
+			}
+			
+			final Observer observer;
+			if((observer = this.observer) != null)
+			{
+				observer.entryRemoved(entry);
+			}
+			
+			this.objectConverter.release(entry.value().value());
 		}
 		
 		@Override
 		public Iterable<Object> keys()
 		{
-			return this.table.keys();
+			return this.table.keySet();
 		}
 		
 		@Override
 		public Iterator<KeyValue<Object, CachedValue>> iterator()
 		{
-			final Iterator<KeyValue<Object, CachedValue>> it = this.table.iterator();
-			/*
-			 * Iterator#remove is used by Cache, so we have to implement it
-			 * since EqHashTable's iterators don't.
-			 */
+			final Iterator<KeyValue<Object, CachedValue>> it = this.table.values().iterator();
+			
+			// Iterator#remove is used by Cache and must be reported to the observer and release the value
 			return new Iterator<KeyValue<Object, CachedValue>>()
 			{
 				KeyValue<Object, CachedValue> next;
@@ -129,7 +258,8 @@ public interface CacheTable
 				@Override
 				public void remove()
 				{
-					CacheTable.Default.this.table.remove(this.next);
+					it.remove();
+					CacheTable.Default.this.removed(this.next);
 				}
 			};
 		}
@@ -137,31 +267,89 @@ public interface CacheTable
 		@Override
 		public void iterate(final Consumer<KeyValue<Object, CachedValue>> procedure)
 		{
-			this.table.iterate(procedure);
+			try
+			{
+				this.table.values().forEach(procedure);
+			}
+			catch(final ThrowBreak b)
+			{
+				// procedure signaled to stop the iteration, like the iteration of the base collections supports
+			}
 		}
 
 		@Override
 		public KeyValue<Object, CachedValue> search(final Predicate<? super KeyValue<Object, CachedValue>> predicate)
 		{
-			return this.table.search(predicate);
+			// a parallelism threshold of Long.MAX_VALUE performs the search sequentially in the calling thread
+			return this.table.searchValues(Long.MAX_VALUE, entry ->
+				predicate.test(entry)
+					? entry
+					: null
+			);
 		}
 		
 		@Override
 		public long size()
 		{
-			return this.table.size();
+			return this.table.mappingCount();
+		}
+		
+		@Override
+		public long byteSize()
+		{
+			return this.objectConverter instanceof ByteSized
+				? ((ByteSized)this.objectConverter).byteSize()
+				: 0L
+			;
+		}
+		
+		@Override
+		public long byteCapacity()
+		{
+			return this.objectConverter instanceof ObjectConverter.ByValueOffHeap
+				? ((ObjectConverter.ByValueOffHeap)this.objectConverter).arena().capacity()
+				: 0L
+			;
 		}
 		
 		@Override
 		public void clear()
 		{
-			this.table.clear();
+			// entry by entry, so that exactly the values of the removed entries are released
+			for(final KeyValue<Object, CachedValue> entry : this.table.values())
+			{
+				if(this.table.remove(entry.key(), entry))
+				{
+					this.objectConverter.release(entry.value().value());
+				}
+			}
+			
+			final Observer observer;
+			if((observer = this.observer) != null)
+			{
+				observer.entriesCleared();
+			}
+		}
+		
+		@Override
+		public void setObserver(final Observer observer)
+		{
+			this.observer = observer;
 		}
 		
 		@Override
 		public KeyValue<Object, CachedValue> min(final Comparator<? super KeyValue<Object, CachedValue>> comparator)
 		{
-			return this.table.min(comparator);
+			KeyValue<Object, CachedValue> min = null;
+			for(final KeyValue<Object, CachedValue> entry : this.table.values())
+			{
+				if(min == null || comparator.compare(entry, min) < 0)
+				{
+					min = entry;
+				}
+			}
+			
+			return min;
 		}
 				
 		@Override
@@ -171,7 +359,10 @@ public interface CacheTable
 			final Comparator<? super KeyValue<Object, CachedValue>> comparator
 		)
 		{
-			return this.table.iterate(new RangeMin<>(offset, length, comparator)).yield();
+			final RangeMin<KeyValue<Object, CachedValue>> rangeMin = new RangeMin<>(offset, length, comparator);
+			this.iterate(rangeMin);
+			
+			return rangeMin.yield();
 		}
 		
 		
@@ -56,13 +56,17 @@ public interface CachedValue
 	
 	public static class Default implements CachedValue
 	{
-		private Object     value;
-		private final long creationTime;
-		private long       accessTime;
-		private long       accessCount;
-		private long       modificationTime;
-		private long       modificationCount;
-		private long       expiryTime;
+		/*
+		 * Modifications happen under the owning cache's per-key lock,
+		 * but the fields are read lock-free (e.g. by the eviction manager), hence volatile.
+		 */
+		private volatile Object value;
+		private final    long   creationTime;
+		private volatile long   accessTime;
+		private volatile long   accessCount;
+		private volatile long   modificationTime;
+		private volatile long   modificationCount;
+		private volatile long   expiryTime;
 		
 		Default(final Object value, final long creationTime, final long expiryTime)
 		{
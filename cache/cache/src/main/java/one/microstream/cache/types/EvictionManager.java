@@ -40,6 +40,18 @@ public interface EvictionManager<K, V>
 	
 	public void uninstall(Cache<K, V> cache, CacheTable cacheTable);
 	
+	/**
+	 * Evicts entries to make room for a new value right away, because the cache's off-heap memory is exhausted.
+	 * 
+	 * @param cache the cache to evict entries from
+	 * @param cacheTable the cache's table
+	 * @return <code>true</code> if entries have been evicted, <code>false</code> if nothing could be evicted
+	 */
+	public default boolean makeRoom(final Cache<K, V> cache, final CacheTable cacheTable)
+	{
+		return false;
+	}
+	
 	
 	public static <K, V> EvictionManager<K, V> OnEntryCreation(final EvictionPolicy evictionPolicy)
 	{
@@ -65,6 +77,20 @@ public interface EvictionManager<K, V>
 	
 	public static abstract class Abstract<K, V> implements EvictionManager<K, V>
 	{
+		/*
+		 * Off-heap memory is considered full when less than this fraction of its capacity is left,
+		 * so entries are evicted before an allocation fails.
+		 */
+		final static int OFF_HEAP_HEADROOM_DIVISOR = 16;
+		
+		static boolean isOffHeapFull(final CacheTable cacheTable)
+		{
+			final long capacity = cacheTable.byteCapacity();
+			return capacity > 0L
+				&& cacheTable.byteSize() >= capacity - capacity / OFF_HEAP_HEADROOM_DIVISOR
+			;
+		}
+		
 		final EvictionPolicy evictionPolicy;
 
 		Abstract(final EvictionPolicy evictionPolicy)
@@ -74,17 +100,61 @@ public interface EvictionManager<K, V>
 			this.evictionPolicy = notNull(evictionPolicy);
 		}
 		
+		/*
+		 * Policies which keep track of the entries by themselves are connected to the table,
+		 * including the entries which are already contained.
+		 */
+		void attach(final CacheTable cacheTable)
+		{
+			if(this.evictionPolicy instanceof CacheTable.Observer)
+			{
+				final CacheTable.Observer observer = (CacheTable.Observer)this.evictionPolicy;
+				cacheTable.setObserver(observer);
+				cacheTable.iterate(observer::entryAdded);
+			}
+		}
+		
+		void detach(final CacheTable cacheTable)
+		{
+			if(this.evictionPolicy instanceof CacheTable.Observer)
+			{
+				cacheTable.setObserver(null);
+				((CacheTable.Observer)this.evictionPolicy).entriesCleared();
+			}
+		}
+		
 		void evict(
 			final Cache<K, V> cache,
 			final CacheTable  cacheTable
 		)
 		{
-			final Iterable<KeyValue<Object, CachedValue>> entriesToEvict;
-			if((entriesToEvict = this.evictionPolicy.pickEntriesToEvict(cacheTable)) != null)
+			Iterable<KeyValue<Object, CachedValue>> entriesToEvict;
+			if((entriesToEvict = this.evictionPolicy.pickEntriesToEvict(cacheTable)) == null
+				&& isOffHeapFull(cacheTable)
+			)
+			{
+				entriesToEvict = this.evictionPolicy.pickEntriesToMakeRoom(cacheTable);
+			}
+			if(entriesToEvict != null)
 			{
 				cache.evict(entriesToEvict);
 			}
 		}
+		
+		@Override
+		public boolean makeRoom(final Cache<K, V> cache, final CacheTable cacheTable)
+		{
+			final Iterable<KeyValue<Object, CachedValue>> entriesToEvict;
+			if((entriesToEvict = this.evictionPolicy.pickEntriesToMakeRoom(cacheTable)) == null
+				|| !entriesToEvict.iterator().hasNext()
+			)
+			{
+				return false;
+			}
+			
+			cache.evict(entriesToEvict);
+			return true;
+		}
 	}
 		
 	
@@ -102,6 +172,8 @@ public interface EvictionManager<K, V>
 		{
 			if(this.listenerConfiguration == null)
 			{
+				this.attach(cacheTable);
+				
 				final CacheEntryCreatedListener<K, V> entryCreatedListener = events ->
 					events.forEach(event -> this.evict(cache, cacheTable))
 				;
@@ -125,6 +197,8 @@ public interface EvictionManager<K, V>
 				cache.deregisterCacheEntryListener(this.listenerConfiguration);
 				
 				this.listenerConfiguration = null;
+				
+				this.detach(cacheTable);
 			}
 		}
 		
@@ -154,6 +228,8 @@ public interface EvictionManager<K, V>
 			this.cache      = cache;
 			this.cacheTable = cacheTable;
 			
+			this.attach(cacheTable);
+			
 			if(!this.running.get())
 			{
 				this.running.set(true);
@@ -167,6 +243,8 @@ public interface EvictionManager<K, V>
 			this.running.set(false);
 			this.cache      = null;
 			this.cacheTable = null;
+			
+			this.detach(cacheTable);
 		}
 		
 		void evict()
@@ -22,12 +22,19 @@ package one.microstream.cache.types;
  */
 
 import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.positive;
 
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
 
 import one.microstream.X;
+import one.microstream.collections.BulkList;
 import one.microstream.collections.EqHashEnum;
 import one.microstream.collections.types.XEnum;
 import one.microstream.reference._intReference;
@@ -47,12 +54,39 @@ public interface EvictionPolicy
 	 */
 	public Iterable<KeyValue<Object, CachedValue>> pickEntriesToEvict(CacheTable cacheTable);
 	
+	/**
+	 * Select the entries which should be evicted to make room for a new value, regardless of whether
+	 * the policy deems eviction necessary, e.g. because the cache's off-heap memory is exhausted.
+	 * <p>
+	 * The default implementation delegates to {@link #pickEntriesToEvict(CacheTable)}.
+	 * 
+	 * @param cacheTable the source cache table to check
+	 * @return all entries which should be evicted
+	 */
+	public default Iterable<KeyValue<Object, CachedValue>> pickEntriesToMakeRoom(final CacheTable cacheTable)
+	{
+		return this.pickEntriesToEvict(cacheTable);
+	}
+	
 	
 	public static Predicate<CacheTable> MaxCacheSizePredicate(final long maxCacheSize)
 	{
 		return cache -> cache.size() >= maxCacheSize;
 	}
 	
+	/**
+	 * Eviction necessity for caches which hold their values off-heap, based on the occupied memory.
+	 * 
+	 * @param maxByteSize the off-heap size in bytes at which entries start to get evicted
+	 * @return a new eviction necessity predicate
+	 * @see CacheTable#byteSize()
+	 * @see CacheConfiguration#getOffHeapCapacity()
+	 */
+	public static Predicate<CacheTable> MaxByteSizePredicate(final long maxByteSize)
+	{
+		return cache -> cache.byteSize() >= maxByteSize;
+	}
+	
 	public static Comparator<KeyValue<Object, CachedValue>> LeastRecentlyUsedComparator()
 	{
 		return (kv1, kv2) -> Long.compare(kv1.value().accessTime(), kv2.value().accessTime());
@@ -219,6 +253,154 @@ public interface EvictionPolicy
 			evictionPermission
 		);
 	}
+	
+	/**
+	 * Creates a policy which evicts the least recently used entries, tracked by an intrusive linked list.
+	 * Picking an entry to evict has constant cost, regardless of the cache's size.
+	 * 
+	 * @param maxCacheSize the size at which entries start to get evicted
+	 * @return a new eviction policy
+	 * @see Linked
+	 */
+	public static EvictionPolicy LinkedLeastRecentlyUsed(final long maxCacheSize)
+	{
+		return LinkedLeastRecentlyUsed(
+			() -> DefaultElementCount(),
+			MaxCacheSizePredicate(maxCacheSize),
+			null
+		);
+	}
+	
+	public static EvictionPolicy LinkedLeastRecentlyUsed(
+		final int  elementCount,
+		final long maxCacheSize
+	)
+	{
+		return LinkedLeastRecentlyUsed(
+			() -> elementCount,
+			MaxCacheSizePredicate(maxCacheSize),
+			null
+		);
+	}
+	
+	public static EvictionPolicy LinkedLeastRecentlyUsed(
+		final _intReference                             elementCount,
+		final Predicate<CacheTable>                     evictionNecessity,
+		final Predicate<KeyValue<Object, CachedValue>>  evictionPermission
+	)
+	{
+		return new Linked(
+			elementCount,
+			evictionNecessity,
+			evictionPermission,
+			true
+		);
+	}
+	
+	/**
+	 * Creates a policy which evicts the entries in the order they were added to the cache,
+	 * tracked by an intrusive linked list. Picking an entry to evict has constant cost.
+	 * 
+	 * @param maxCacheSize the size at which entries start to get evicted
+	 * @return a new eviction policy
+	 * @see Linked
+	 */
+	public static EvictionPolicy LinkedFirstInFirstOut(final long maxCacheSize)
+	{
+		return LinkedFirstInFirstOut(
+			() -> DefaultElementCount(),
+			MaxCacheSizePredicate(maxCacheSize),
+			null
+		);
+	}
+	
+	public static EvictionPolicy LinkedFirstInFirstOut(
+		final _intReference                             elementCount,
+		final Predicate<CacheTable>                     evictionNecessity,
+		final Predicate<KeyValue<Object, CachedValue>>  evictionPermission
+	)
+	{
+		return new Linked(
+			elementCount,
+			evictionNecessity,
+			evictionPermission,
+			false
+		);
+	}
+	
+	/**
+	 * Creates a policy which evicts the least frequently used entries, tracked in buckets of
+	 * exponentially growing access count ranges. Picking an entry to evict has constant cost,
+	 * regardless of the cache's size.
+	 * 
+	 * @param maxCacheSize the size at which entries start to get evicted
+	 * @return a new eviction policy
+	 * @see FrequencyBuckets
+	 */
+	public static EvictionPolicy BucketedLeastFrequentlyUsed(final long maxCacheSize)
+	{
+		return BucketedLeastFrequentlyUsed(
+			() -> DefaultElementCount(),
+			MaxCacheSizePredicate(maxCacheSize),
+			null
+		);
+	}
+	
+	public static EvictionPolicy BucketedLeastFrequentlyUsed(
+		final _intReference                             elementCount,
+		final Predicate<CacheTable>                     evictionNecessity,
+		final Predicate<KeyValue<Object, CachedValue>>  evictionPermission
+	)
+	{
+		return new FrequencyBuckets(
+			elementCount,
+			evictionNecessity,
+			evictionPermission
+		);
+	}
+	
+	/**
+	 * Creates a policy which evicts the minimum, defined by <code>comparator</code>, of a few randomly
+	 * chosen entries. Picking an entry to evict has constant cost, regardless of the cache's size.
+	 * 
+	 * @param maxCacheSize the size at which entries start to get evicted
+	 * @param comparator the order of the entries, the minimum of a sample gets evicted
+	 * @return a new eviction policy
+	 * @see RandomSampling
+	 * @see #LeastRecentlyUsedComparator()
+	 * @see #LeastFrequentlyUsedComparator()
+	 * @see #BiggestObjectsComparator()
+	 */
+	public static EvictionPolicy RandomSampling(
+		final long                                      maxCacheSize,
+		final Comparator<KeyValue<Object, CachedValue>> comparator
+	)
+	{
+		return RandomSampling(
+			() -> DefaultElementCount(),
+			MaxCacheSizePredicate(maxCacheSize),
+			null,
+			comparator,
+			RandomSampling.DEFAULT_SAMPLE_SIZE
+		);
+	}
+	
+	public static EvictionPolicy RandomSampling(
+		final _intReference                             elementCount,
+		final Predicate<CacheTable>                     evictionNecessity,
+		final Predicate<KeyValue<Object, CachedValue>>  evictionPermission,
+		final Comparator<KeyValue<Object, CachedValue>> comparator,
+		final int                                       sampleSize
+	)
+	{
+		return new RandomSampling(
+			elementCount,
+			evictionNecessity,
+			evictionPermission,
+			comparator,
+			positive(sampleSize)
+		);
+	}
 		
 	
 
@@ -267,6 +449,12 @@ public interface EvictionPolicy
 				return null;
 			}
 			
+			return this.pickEntriesToMakeRoom(cacheTable);
+		}
+		
+		@Override
+		public Iterable<KeyValue<Object, CachedValue>> pickEntriesToMakeRoom(final CacheTable cacheTable)
+		{
 			final int elementCount = this.elementCount.get();
 			if(elementCount <= 0)
 			{
@@ -362,6 +550,12 @@ public interface EvictionPolicy
 				return null;
 			}
 			
+			return this.pickEntriesToMakeRoom(cacheTable);
+		}
+		
+		@Override
+		public Iterable<KeyValue<Object, CachedValue>> pickEntriesToMakeRoom(final CacheTable cacheTable)
+		{
 			final int elementCount = this.elementCount.get();
 			if(elementCount <= 0)
 			{
@@ -385,4 +579,577 @@ public interface EvictionPolicy
 		
 	}
 	
+	
+	/**
+	 * Base type of eviction policies which keep track of the cache's entries in their own data structure,
+	 * instead of scanning the {@link CacheTable} for entries to evict. It gets connected to the table by the
+	 * {@link EvictionManager}, therefore an instance must not be shared by several caches.
+	 * <p>
+	 * Accesses are not reported to the policy, which keeps reading from the cache free of any locking.
+	 * Instead, they are detected lazily by the access count of an entry, when it is considered for eviction.
+	 * The number of entries considered per entry to evict is bounded, so picking entries has a constant
+	 * worst-case cost.
+	 * <p>
+	 * Added and removed entries are not applied to the policy's data structure right away, either. They are
+	 * appended to a lock-free write buffer, which is drained in batches by whichever thread gets the policy's
+	 * lock without waiting for it, and at the latest before entries are picked. This way, writing threads never
+	 * block each other on the policy, only the draining thread and the picking thread hold its lock.
+	 */
+	public static abstract class Tracking implements EvictionPolicy, CacheTable.Observer
+	{
+		final static int MAX_CANDIDATES_PER_ENTRY = 16;
+		final static int DRAIN_THRESHOLD          = 64;
+		
+		private final _intReference                            elementCount;
+		private final Predicate<CacheTable>                    evictionNecessity;
+		private final Predicate<KeyValue<Object, CachedValue>> evictionPermission;
+		private final HashMap<Object, Node>                    nodes;
+		private final ConcurrentLinkedQueue<Write>             writeBuffer;
+		private final AtomicInteger                            bufferedWrites;
+		private final ReentrantLock                            lock;
+		
+		Tracking(
+			final _intReference                            elementCount,
+			final Predicate<CacheTable>                    evictionNecessity,
+			final Predicate<KeyValue<Object, CachedValue>> evictionPermission
+		)
+		{
+			super();
+			
+			this.elementCount       = notNull(elementCount);
+			this.evictionNecessity  = evictionNecessity;
+			this.evictionPermission = evictionPermission != null
+				? evictionPermission
+				: kv -> true;
+			this.nodes              = new HashMap<>();
+			this.writeBuffer        = new ConcurrentLinkedQueue<>();
+			this.bufferedWrites     = new AtomicInteger();
+			this.lock               = new ReentrantLock();
+		}
+		
+		/**
+		 * Adds a node to the policy's data structure.
+		 */
+		abstract void link(Node node);
+		
+		/**
+		 * Removes a node from the policy's data structure.
+		 */
+		abstract void unlink(Node node);
+		
+		/**
+		 * Removes and returns the next node to evict from the policy's data structure,
+		 * or <code>null</code> if it is empty.
+		 */
+		abstract Node nextCandidate();
+		
+		abstract void clearNodes();
+		
+		@Override
+		public void entryAdded(final KeyValue<Object, CachedValue> entry)
+		{
+			this.buffer(new Write(Write.ADDED, entry));
+		}
+		
+		@Override
+		public void entryRemoved(final KeyValue<Object, CachedValue> entry)
+		{
+			this.buffer(new Write(Write.REMOVED, entry));
+		}
+		
+		@Override
+		public void entriesCleared()
+		{
+			this.buffer(new Write(Write.CLEARED, null));
+		}
+		
+		private void buffer(final Write write)
+		{
+			this.writeBuffer.offer(write);
+			
+			// draining is left to another thread if it is currently holding the lock anyway
+			if(this.bufferedWrites.incrementAndGet() >= DRAIN_THRESHOLD && this.lock.tryLock())
+			{
+				try
+				{
+					this.drainWriteBuffer();
+				}
+				finally
+				{
+					this.lock.unlock();
+				}
+			}
+		}
+		
+		/**
+		 * Applies the buffered writes in their order. Must be called while holding the lock.
+		 */
+		private void drainWriteBuffer()
+		{
+			int drained = 0;
+			for(Write write; (write = this.writeBuffer.poll()) != null; drained++)
+			{
+				switch(write.type)
+				{
+					case Write.ADDED:
+						this.applyAdded(write.entry);
+						break;
+					case Write.REMOVED:
+						this.applyRemoved(write.entry);
+						break;
+					default:
+						this.applyCleared();
+						break;
+				}
+			}
+			this.bufferedWrites.addAndGet(-drained);
+		}
+		
+		private void applyAdded(final KeyValue<Object, CachedValue> entry)
+		{
+			final Node node     = new Node(entry);
+			final Node replaced = this.nodes.put(entry.key(), node);
+			if(replaced != null)
+			{
+				this.unlink(replaced);
+			}
+			this.link(node);
+		}
+		
+		private void applyRemoved(final KeyValue<Object, CachedValue> entry)
+		{
+			// the node may belong to a newer entry of the same key, or have been picked already
+			final Node node = this.nodes.get(entry.key());
+			if(node != null && node.entry == entry)
+			{
+				this.nodes.remove(entry.key());
+				this.unlink(node);
+			}
+		}
+		
+		private void applyCleared()
+		{
+			this.nodes.clear();
+			this.clearNodes();
+		}
+		
+		@Override
+		public Iterable<KeyValue<Object, CachedValue>> pickEntriesToEvict(final CacheTable cacheTable)
+		{
+			if(this.evictionNecessity != null && !this.evictionNecessity.test(cacheTable))
+			{
+				return null;
+			}
+			
+			return this.pickEntriesToMakeRoom(cacheTable);
+		}
+		
+		@Override
+		public Iterable<KeyValue<Object, CachedValue>> pickEntriesToMakeRoom(final CacheTable cacheTable)
+		{
+			final int elementCount = this.elementCount.get();
+			if(elementCount <= 0)
+			{
+				throw new RuntimeException("Illegal element count for eviction: " + elementCount + " <= 0");
+			}
+			
+			this.lock.lock();
+			try
+			{
+				this.drainWriteBuffer();
+				return this.lockedPickEntriesToEvict(cacheTable, elementCount);
+			}
+			finally
+			{
+				this.lock.unlock();
+			}
+		}
+		
+		private Iterable<KeyValue<Object, CachedValue>> lockedPickEntriesToEvict(
+			final CacheTable cacheTable  ,
+			final int        elementCount
+		)
+		{
+			final BulkList<KeyValue<Object, CachedValue>> entriesToEvict = BulkList.New(elementCount);
+			final BulkList<Node>                           rejectedNodes  = BulkList.New();
+			
+			for(int candidates = elementCount * MAX_CANDIDATES_PER_ENTRY;
+				candidates > 0 && entriesToEvict.size() < elementCount;
+				candidates--
+			)
+			{
+				final Node node;
+				if((node = this.nextCandidate()) == null)
+				{
+					break;
+				}
+				
+				final KeyValue<Object, CachedValue> entry = node.entry;
+				if(cacheTable.get(entry.key()) != entry.value())
+				{
+					// stale node, e.g. of an entry removed concurrently to a clear
+					this.nodes.remove(entry.key(), node);
+					continue;
+				}
+				if(!this.evictionPermission.test(entry))
+				{
+					rejectedNodes.add(node);
+					continue;
+				}
+				
+				this.nodes.remove(entry.key());
+				entriesToEvict.add(entry);
+			}
+			
+			// rejected entries stay tracked, but are not considered again right away
+			rejectedNodes.iterate(this::link);
+			
+			return entriesToEvict.isEmpty()
+				? null
+				: entriesToEvict
+			;
+		}
+		
+		
+		/**
+		 * An added or removed entry, or the clearing of all entries, waiting to be applied to the policy.
+		 */
+		static final class Write
+		{
+			static final int ADDED   = 0;
+			static final int REMOVED = 1;
+			static final int CLEARED = 2;
+			
+			final int                           type ;
+			final KeyValue<Object, CachedValue> entry;
+			
+			Write(final int type, final KeyValue<Object, CachedValue> entry)
+			{
+				super();
+				
+				this.type  = type ;
+				this.entry = entry;
+			}
+			
+		}
+		
+		
+		static final class Node
+		{
+			final KeyValue<Object, CachedValue> entry;
+			long                                seenAccessCount;
+			Node                                previous, next;
+			int                                 index = -1;
+			
+			Node(final KeyValue<Object, CachedValue> entry)
+			{
+				super();
+				
+				this.entry           = entry;
+				this.seenAccessCount = entry.value().accessCount();
+			}
+			
+			final long accessCount()
+			{
+				return this.entry.value().accessCount();
+			}
+			
+			/**
+			 * Checks if the entry has been accessed since the last check, and resets the check.
+			 */
+			final boolean pollAccess()
+			{
+				final long accessCount = this.accessCount();
+				if(accessCount == this.seenAccessCount)
+				{
+					return false;
+				}
+				this.seenAccessCount = accessCount;
+				return true;
+			}
+			
+			/*
+			 * Circular doubly linked list handling, with a sentinel node as head.
+			 */
+			
+			static Node Sentinel()
+			{
+				final Node sentinel = new Node();
+				sentinel.previous = sentinel.next = sentinel;
+				return sentinel;
+			}
+			
+			private Node()
+			{
+				super();
+				
+				this.entry = null;
+			}
+			
+			final void insertAfter(final Node node)
+			{
+				this.previous      = node;
+				this.next          = node.next;
+				node.next.previous = this;
+				node.next          = this;
+			}
+			
+			final void remove()
+			{
+				this.previous.next = this.next;
+				this.next.previous = this.previous;
+				this.previous      = this.next = null;
+			}
+			
+		}
+		
+	}
+	
+	
+	/**
+	 * Keeps the entries in an intrusive doubly linked list, ordered by their insertion.
+	 * <p>
+	 * With <code>promoteAccessed</code>, entries which have been accessed since they were put at the front
+	 * are moved to the front again instead of being evicted ("lazy promotion"). This approximates least recently
+	 * used closely, without a list update on every read. Without it, the entries are evicted first in, first out.
+	 */
+	public static class Linked extends Tracking
+	{
+		private final Node    head;
+		private final boolean promoteAccessed;
+		
+		Linked(
+			final _intReference                            elementCount,
+			final Predicate<CacheTable>                    evictionNecessity,
+			final Predicate<KeyValue<Object, CachedValue>> evictionPermission,
+			final boolean                                  promoteAccessed
+		)
+		{
+			super(elementCount, evictionNecessity, evictionPermission);
+			
+			this.head            = Node.Sentinel();
+			this.promoteAccessed = promoteAccessed;
+		}
+		
+		@Override
+		void link(final Node node)
+		{
+			node.insertAfter(this.head);
+		}
+		
+		@Override
+		void unlink(final Node node)
+		{
+			node.remove();
+		}
+		
+		@Override
+		Node nextCandidate()
+		{
+			final Node head = this.head;
+			
+			Node tail;
+			for(int promotions = 0; (tail = head.previous) != head; promotions++)
+			{
+				if(!this.promoteAccessed || promotions >= MAX_CANDIDATES_PER_ENTRY || !tail.pollAccess())
+				{
+					tail.remove();
+					return tail;
+				}
+				
+				tail.remove();
+				tail.insertAfter(head);
+			}
+			
+			return null;
+		}
+		
+		@Override
+		void clearNodes()
+		{
+			this.head.previous = this.head.next = this.head;
+		}
+		
+	}
+	
+	
+	/**
+	 * Keeps the entries in buckets by their access count, with exponentially growing ranges:
+	 * bucket <i>n</i> contains the entries which have been accessed between 2<sup><i>n</i>-1</sup> and
+	 * 2<sup><i>n</i></sup>-1 times. Within a bucket, the entries are ordered by their insertion.
+	 * <p>
+	 * The least frequently used candidate is the oldest entry of the lowest non-empty bucket, found in constant time.
+	 * Entries which have been accessed in the meantime are moved to their current bucket before being evicted.
+	 */
+	public static class FrequencyBuckets extends Tracking
+	{
+		final static int BUCKET_COUNT = Long.SIZE;
+		
+		static int bucketIndex(final long accessCount)
+		{
+			return Math.min(BUCKET_COUNT - 1, Long.SIZE - Long.numberOfLeadingZeros(accessCount));
+		}
+		
+		private final Node[] buckets;
+		private long         nonEmptyBuckets;
+		
+		FrequencyBuckets(
+			final _intReference                            elementCount,
+			final Predicate<CacheTable>                    evictionNecessity,
+			final Predicate<KeyValue<Object, CachedValue>> evictionPermission
+		)
+		{
+			super(elementCount, evictionNecessity, evictionPermission);
+			
+			this.buckets = new Node[BUCKET_COUNT];
+			for(int i = 0; i < BUCKET_COUNT; i++)
+			{
+				this.buckets[i] = Node.Sentinel();
+			}
+		}
+		
+		@Override
+		void link(final Node node)
+		{
+			node.seenAccessCount = node.accessCount();
+			
+			final int bucketIndex = bucketIndex(node.seenAccessCount);
+			node.index = bucketIndex;
+			node.insertAfter(this.buckets[bucketIndex]);
+			this.nonEmptyBuckets |= 1L << bucketIndex;
+		}
+		
+		@Override
+		void unlink(final Node node)
+		{
+			final int bucketIndex = node.index;
+			node.remove();
+			
+			final Node bucket = this.buckets[bucketIndex];
+			if(bucket.next == bucket)
+			{
+				this.nonEmptyBuckets &= ~(1L << bucketIndex);
+			}
+		}
+		
+		@Override
+		Node nextCandidate()
+		{
+			for(int moves = 0; this.nonEmptyBuckets != 0; moves++)
+			{
+				final int  bucketIndex = Long.numberOfTrailingZeros(this.nonEmptyBuckets);
+				final Node oldest      = this.buckets[bucketIndex].previous;
+				
+				this.unlink(oldest);
+				if(moves >= MAX_CANDIDATES_PER_ENTRY || bucketIndex(oldest.accessCount()) == bucketIndex)
+				{
+					return oldest;
+				}
+				
+				// accessed in the meantime, move up to the matching bucket
+				this.link(oldest);
+			}
+			
+			return null;
+		}
+		
+		@Override
+		void clearNodes()
+		{
+			for(final Node bucket : this.buckets)
+			{
+				bucket.previous = bucket.next = bucket;
+			}
+			this.nonEmptyBuckets = 0;
+		}
+		
+	}
+	
+	
+	/**
+	 * Keeps the entries in a dense array, which allows to draw random samples in constant time.
+	 * The candidate is the minimum of a sample, defined by the comparator.
+	 * <p>
+	 * In contrast to {@link Sampling}, the cost to pick an entry does not depend on the cache's size,
+	 * and the sample is spread over the whole cache instead of being a contiguous range.
+	 */
+	public static class RandomSampling extends Tracking
+	{
+		final static int DEFAULT_SAMPLE_SIZE = 16;
+		
+		private final Comparator<KeyValue<Object, CachedValue>> comparator;
+		private final int                                       sampleSize;
+		private final Random                                    random;
+		private Node[]                                          nodes;
+		private int                                             size;
+		
+		RandomSampling(
+			final _intReference                             elementCount,
+			final Predicate<CacheTable>                     evictionNecessity,
+			final Predicate<KeyValue<Object, CachedValue>>  evictionPermission,
+			final Comparator<KeyValue<Object, CachedValue>> comparator,
+			final int                                       sampleSize
+		)
+		{
+			super(elementCount, evictionNecessity, evictionPermission);
+			
+			this.comparator = notNull(comparator);
+			this.sampleSize = sampleSize;
+			this.random     = new Random();
+			this.nodes      = new Node[DEFAULT_SAMPLE_SIZE];
+		}
+		
+		@Override
+		void link(final Node node)
+		{
+			if(this.size == this.nodes.length)
+			{
+				this.nodes = Arrays.copyOf(this.nodes, this.nodes.length * 2);
+			}
+			node.index = this.size;
+			this.nodes[this.size++] = node;
+		}
+		
+		@Override
+		void unlink(final Node node)
+		{
+			// move the last node into the gap to keep the array dense
+			final Node last = this.nodes[--this.size];
+			this.nodes[node.index] = last;
+			last.index = node.index;
+			this.nodes[this.size] = null;
+			node.index = -1;
+		}
+		
+		@Override
+		Node nextCandidate()
+		{
+			if(this.size == 0)
+			{
+				return null;
+			}
+			
+			Node candidate = this.nodes[this.random.nextInt(this.size)];
+			for(int i = 1; i < this.sampleSize; i++)
+			{
+				final Node node = this.nodes[this.random.nextInt(this.size)];
+				if(this.comparator.compare(node.entry, candidate.entry) < 0)
+				{
+					candidate = node;
+				}
+			}
+			
+			this.unlink(candidate);
+			return candidate;
+		}
+		
+		@Override
+		void clearNodes()
+		{
+			Arrays.fill(this.nodes, 0, this.size, null);
+			this.size = 0;
+		}
+		
+	}
+	
 }
@@ -1,6 +1,11 @@
 
 package one.microstream.cache.types;
 
+import static one.microstream.X.notNull;
+
+import java.util.function.BooleanSupplier;
+
+import one.microstream.cache.exceptions.OffHeapCapacityExhaustedException;
 import one.microstream.persistence.binary.types.Binary;
 import one.microstream.persistence.binary.util.Serializer;
 
@@ -30,6 +35,39 @@ public interface ObjectConverter
 	
 	public <T> T externalize(Object internal);
 	
+	/**
+	 * Converts a value which is going to be held by the cache, in contrast to keys and values
+	 * which are only internalized temporarily, e.g. for lookups or comparisons.
+	 * Values converted by this method are {@link #release(Object) released} when the cache drops them.
+	 * 
+	 * @param <T> the value's type
+	 * @param value the value to convert
+	 * @return the internal representation of the value
+	 */
+	public default <T> Object internalizeValue(final T value)
+	{
+		return this.internalize(value);
+	}
+	
+	/**
+	 * Releases the resources of a value which has been converted by {@link #internalizeValue(Object)}
+	 * and is no longer held by the cache.
+	 * 
+	 * @param internalValue the internal representation of the value
+	 */
+	public default void release(final Object internalValue)
+	{
+		// no-op by default
+	}
+	
+	/**
+	 * Releases all resources of this converter, when the cache is closed.
+	 */
+	public default void close()
+	{
+		// no-op by default
+	}
+	
 	
 	public static ObjectConverter ByReference()
 	{
@@ -41,6 +79,17 @@ public interface ObjectConverter
 		return new ByValue(serializer);
 	}
 	
+	public static ObjectConverter ByValueOffHeap(
+		final Serializer<Binary> serializer,
+		final OffHeapArena       arena
+	)
+	{
+		return new ByValueOffHeap(
+			notNull(serializer),
+			notNull(arena)
+		);
+	}
+	
 	
 	public static class ByReference implements ObjectConverter
 	{
@@ -94,4 +143,120 @@ public interface ObjectConverter
 		
 	}
 	
+	/**
+	 * Keeps the serialized values held by the cache off-heap, in the memory of an {@link OffHeapArena}.
+	 * Only the small handles of the values remain on the heap, and values are deserialized directly
+	 * from off-heap memory.
+	 * Keys and temporarily converted values are serialized on-heap, like by {@link ByValue}.
+	 * <p>
+	 * The used off-heap memory is reported by {@link #byteSize()}, which can be used to evict by memory
+	 * consumption, see {@link EvictionPolicy#MaxByteSizePredicate(long)}.
+	 * If the arena's capacity is exhausted, a conversion of a new value lets its cache evict entries to make
+	 * room, see {@link #internalizeValue(Object, BooleanSupplier)}. Only if that does not help, it fails with
+	 * an {@link OffHeapCapacityExhaustedException}.
+	 */
+	public static class ByValueOffHeap extends ByValue implements ByteSized
+	{
+		/*
+		 * Evicted entries can still be pinned by running deserializations, or free memory of the wrong size,
+		 * so several rounds of eviction may be needed, but not endlessly many.
+		 */
+		final static int MAX_ROOM_ATTEMPTS = 64;
+		
+		private final Serializer<Binary> serializer;
+		private final OffHeapArena       arena     ;
+		
+		ByValueOffHeap(
+			final Serializer<Binary> serializer,
+			final OffHeapArena       arena
+		)
+		{
+			super(serializer);
+			
+			this.serializer = serializer;
+			this.arena      = arena     ;
+		}
+		
+		public OffHeapArena arena()
+		{
+			return this.arena;
+		}
+		
+		@Override
+		public <T> Object internalizeValue(final T value)
+		{
+			return this.internalizeValue(value, () -> false);
+		}
+		
+		/**
+		 * Converts a value like {@link #internalizeValue(Object)}, but if the arena's capacity is exhausted,
+		 * <code>roomMaker</code> is asked to free memory, e.g. by evicting entries, before trying again.
+		 * 
+		 * @param <T> the value's type
+		 * @param value the value to convert
+		 * @param roomMaker frees off-heap memory and returns whether it did anything
+		 * @return the internal value
+		 * @throws OffHeapCapacityExhaustedException if no room could be made for the value
+		 */
+		public <T> Object internalizeValue(final T value, final BooleanSupplier roomMaker)
+			throws OffHeapCapacityExhaustedException
+		{
+			final Binary serializedData = this.serializer.serialize(value);
+			for(int attempt = 1; ; attempt++)
+			{
+				try
+				{
+					return SerializedObject.OffHeap(value.hashCode(), serializedData, this.arena);
+				}
+				catch(final OffHeapCapacityExhaustedException e)
+				{
+					if(attempt >= MAX_ROOM_ATTEMPTS || !roomMaker.getAsBoolean())
+					{
+						throw e;
+					}
+				}
+			}
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Returns <code>null</code> for an off-heap value which has been released concurrently,
+		 * which can only happen to lock-free reads, like iterations.
+		 */
+		@Override
+		public <T> T externalize(final Object internal)
+		{
+			return internal instanceof SerializedObject.OffHeap
+				? ((SerializedObject.OffHeap)internal).deserialize(this.serializer)
+				: super.externalize(internal)
+			;
+		}
+		
+		@Override
+		public void release(final Object internalValue)
+		{
+			if(internalValue instanceof SerializedObject.OffHeap)
+			{
+				((SerializedObject.OffHeap)internalValue).release();
+			}
+		}
+		
+		@Override
+		public void close()
+		{
+			this.arena.close();
+		}
+		
+		/**
+		 * @return the amount of off-heap memory occupied by the values
+		 */
+		@Override
+		public long byteSize()
+		{
+			return this.arena.usedByteSize();
+		}
+		
+	}
+	
 }
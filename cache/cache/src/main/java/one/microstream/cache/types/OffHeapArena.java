@@ -0,0 +1,570 @@
+
+package one.microstream.cache.types;
+
+/*-
+ * #%L
+ * microstream-cache
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.positive;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import javax.cache.CacheException;
+
+import one.microstream.cache.exceptions.OffHeapCapacityExhaustedException;
+import one.microstream.memory.XMemory;
+
+
+/**
+ * Off-heap memory for the serialized values of a {@link Cache}, see {@link ObjectConverter.ByValueOffHeap}.
+ * <p>
+ * The memory is reserved in slabs of equal size, which are divided into slots of a single size class each.
+ * Freed slots are reused by values of the same size class, and slabs which became empty are handed over to
+ * other size classes when the capacity is exhausted. Values which are bigger than a slab get a dedicated block.
+ * The reserved memory never exceeds the capacity. Note that it is allocated as direct buffers,
+ * so the JVM's maximum direct memory size has to be large enough.
+ * <p>
+ * Allocated memory is identified by a slot reference, which is only valid until it is freed again.
+ */
+public interface OffHeapArena
+{
+	/**
+	 * The maximum amount of bytes this arena reserves.
+	 * 
+	 * @return the capacity in bytes
+	 */
+	public long capacity();
+	
+	/**
+	 * The amount of bytes currently reserved by this arena, used or not.
+	 * 
+	 * @return the reserved size in bytes
+	 */
+	public long reservedByteSize();
+	
+	/**
+	 * The amount of bytes currently occupied by allocated slots, including the rounding up to their size class.
+	 * 
+	 * @return the used size in bytes
+	 */
+	public long usedByteSize();
+	
+	/**
+	 * Allocates a slot which can hold <code>length</code> bytes.
+	 * 
+	 * @param length the amount of bytes to allocate
+	 * @return the reference of the allocated slot
+	 * @throws OffHeapCapacityExhaustedException if the capacity is exhausted
+	 * @throws CacheException if the arena is closed
+	 */
+	public long allocate(int length) throws OffHeapCapacityExhaustedException, CacheException;
+	
+	/**
+	 * Creates a new buffer which shares the memory of an allocated slot, with position 0 and limit
+	 * <code>length</code>. Access to the buffer is only valid as long as the slot is not freed.
+	 * 
+	 * @param slot the reference of the slot
+	 * @param length the amount of bytes the slot was allocated for
+	 * @return a direct buffer, which views the slot's memory
+	 * @throws CacheException if the arena is closed
+	 */
+	public ByteBuffer buffer(long slot, int length) throws CacheException;
+	
+	/**
+	 * Frees an allocated slot, its memory may be reused right away.
+	 * 
+	 * @param slot the reference of the slot
+	 * @param length the amount of bytes the slot was allocated for
+	 */
+	public void free(long slot, int length);
+	
+	/**
+	 * Drops all reserved memory. Nothing can be allocated or accessed afterwards.
+	 * <p>
+	 * Since buffers handed out before may still be in use, the memory is not released right away,
+	 * but as soon as the arena and these buffers have been garbage collected.
+	 */
+	public void close();
+	
+	
+	
+	public static OffHeapArena New(final long capacity)
+	{
+		return New(
+			capacity                ,
+			Defaults.defaultSlabSize()
+		);
+	}
+	
+	public static OffHeapArena New(
+		final long capacity,
+		final int  slabSize
+	)
+	{
+		return new Default(
+			positive(capacity),
+			positive(slabSize)
+		);
+	}
+	
+	
+	public interface Defaults
+	{
+		/**
+		 * The default size of a slab, 1 MB.
+		 * 
+		 * @return the default slab size in bytes
+		 */
+		public static int defaultSlabSize()
+		{
+			return 1_048_576;
+		}
+		
+		/**
+		 * The size of the smallest size class, 32 bytes.
+		 * 
+		 * @return the minimum slot size in bytes
+		 */
+		public static int minimumSlotSize()
+		{
+			return 32;
+		}
+		
+		/**
+		 * The factor by which the slot sizes of consecutive size classes grow, 1.25.
+		 * 
+		 * @return the size class growth factor
+		 */
+		public static double slotSizeGrowthFactor()
+		{
+			return 1.25;
+		}
+	}
+	
+	
+	public static class Default implements OffHeapArena
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+		
+		// pseudo size class of a slab which is a dedicated block for a single big value
+		private final static int BLOCK = -1;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// static methods //
+		///////////////////
+		
+		static int[] slotSizes(final int slabSize)
+		{
+			int[] slotSizes = new int[16];
+			int   count     = 0;
+			for(long size = Math.min(Defaults.minimumSlotSize(), slabSize); ; )
+			{
+				if(count == slotSizes.length)
+				{
+					slotSizes = Arrays.copyOf(slotSizes, count * 2);
+				}
+				slotSizes[count++] = (int)size;
+				if(size == slabSize)
+				{
+					break;
+				}
+				
+				// next size, aligned to 8 bytes and capped to the slab size
+				final long next = (long)Math.ceil(size * Defaults.slotSizeGrowthFactor() / 8) * 8;
+				size = Math.min(Math.max(next, size + 8), slabSize);
+			}
+			
+			return Arrays.copyOf(slotSizes, count);
+		}
+		
+		static long slot(final int slabIndex, final int offset)
+		{
+			return (long)slabIndex << Integer.SIZE | offset;
+		}
+		
+		static int slabIndex(final long slot)
+		{
+			return (int)(slot >>> Integer.SIZE);
+		}
+		
+		static int offset(final long slot)
+		{
+			return (int)slot;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final long           capacity        ;
+		private final int            slabSize        ;
+		private final int[]          slotSizes       ;
+		
+		// per size class: the free slots, and the slab new slots are cut off from
+		private final long[][]       freeSlots       ;
+		private final int[]          freeSlotCounts  ;
+		private final int[]          currentSlabs    ;
+		private final int[]          nextOffsets     ;
+		
+		// per slab: the memory, its size class and the number of allocated slots
+		private volatile ByteBuffer[] slabs          ;
+		private int[]                slabSizeClasses ;
+		private int[]                slabUseCounts   ;
+		private int                  slabCount       ;
+		private int[]                unusedSlabs     ;
+		private int                  unusedSlabCount ;
+		private int                  emptySlabCount  ;
+		
+		private long                 reservedByteSize;
+		private long                 usedByteSize    ;
+		private volatile boolean     closed          ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Default(
+			final long capacity,
+			final int  slabSize
+		)
+		{
+			super();
+			this.capacity        = capacity                   ;
+			this.slabSize        = slabSize                   ;
+			this.slotSizes       = slotSizes(slabSize)        ;
+			
+			final int sizeClassCount = this.slotSizes.length;
+			this.freeSlots       = new long[sizeClassCount][] ;
+			this.freeSlotCounts  = new int[sizeClassCount]    ;
+			this.currentSlabs    = new int[sizeClassCount]    ;
+			this.nextOffsets     = new int[sizeClassCount]    ;
+			Arrays.fill(this.currentSlabs, -1);
+			for(int c = 0; c < sizeClassCount; c++)
+			{
+				this.freeSlots[c] = new long[16];
+			}
+			
+			this.slabs           = new ByteBuffer[16]         ;
+			this.slabSizeClasses = new int[16]                ;
+			this.slabUseCounts   = new int[16]                ;
+			this.unusedSlabs     = new int[16]                ;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public long capacity()
+		{
+			return this.capacity;
+		}
+		
+		@Override
+		public synchronized long reservedByteSize()
+		{
+			return this.reservedByteSize;
+		}
+		
+		@Override
+		public synchronized long usedByteSize()
+		{
+			return this.usedByteSize;
+		}
+		
+		private int sizeClass(final int length)
+		{
+			final int index = Arrays.binarySearch(this.slotSizes, length);
+			return index >= 0
+				? index
+				: -index - 1
+			;
+		}
+		
+		@Override
+		public synchronized long allocate(final int length) throws OffHeapCapacityExhaustedException, CacheException
+		{
+			if(this.closed)
+			{
+				throw new CacheException("Off-heap arena is closed");
+			}
+			if(length <= 0)
+			{
+				throw new IllegalArgumentException("Illegal length: " + length);
+			}
+			
+			if(length > this.slabSize)
+			{
+				return this.allocateBlock(length);
+			}
+			
+			final int sizeClass = this.sizeClass(length);
+			for(int c = sizeClass; c < this.slotSizes.length; c++)
+			{
+				// a free slot of a bigger size class only helps if no more slabs can be provided
+				if(this.freeSlotCounts[c] > 0 && (c == sizeClass || !this.canProvideSlab()))
+				{
+					return this.occupy(this.freeSlots[c][--this.freeSlotCounts[c]], c);
+				}
+				if(c == sizeClass)
+				{
+					if(this.currentSlabs[c] < 0 || this.nextOffsets[c] + this.slotSizes[c] > this.slabSize)
+					{
+						if(!this.canProvideSlab())
+						{
+							continue;
+						}
+						this.currentSlabs[c] = this.provideSlab(c);
+						this.nextOffsets[c]  = 0;
+					}
+					final long slot = slot(this.currentSlabs[c], this.nextOffsets[c]);
+					this.nextOffsets[c] += this.slotSizes[c];
+					
+					return this.occupy(slot, c);
+				}
+			}
+			
+			throw new OffHeapCapacityExhaustedException(
+				"Off-heap capacity of " + this.capacity + " bytes exhausted, cannot allocate " + length + " bytes"
+			);
+		}
+		
+		private long occupy(final long slot, final int sizeClass)
+		{
+			if(this.slabUseCounts[slabIndex(slot)]++ == 0)
+			{
+				this.emptySlabCount--;
+			}
+			this.usedByteSize += this.slotSizes[sizeClass];
+			
+			return slot;
+		}
+		
+		private long allocateBlock(final int length)
+		{
+			// empty slabs are dropped to make room for the block
+			while(this.reservedByteSize + length > this.capacity)
+			{
+				final int slabIndex = this.reclaimEmptySlab();
+				if(slabIndex < 0)
+				{
+					throw new OffHeapCapacityExhaustedException(
+						"Off-heap capacity of " + this.capacity + " bytes exhausted, cannot allocate " + length + " bytes"
+					);
+				}
+				this.emptySlabCount--;
+				
+				// like a freed block, an empty slab has no slots that are accessed any more
+				XMemory.deallocateDirectByteBuffer(this.dropSlab(slabIndex, this.slabSize));
+			}
+			
+			final int slabIndex = this.addSlab(XMemory.allocateDirectNative(length), BLOCK);
+			this.slabUseCounts[slabIndex] = 1;
+			this.reservedByteSize += length;
+			this.usedByteSize     += length;
+			
+			return slot(slabIndex, 0);
+		}
+		
+		private boolean canProvideSlab()
+		{
+			return this.reservedByteSize + this.slabSize <= this.capacity
+				|| this.emptySlabCount > 0
+			;
+		}
+		
+		private int provideSlab(final int sizeClass)
+		{
+			if(this.reservedByteSize + this.slabSize <= this.capacity)
+			{
+				this.reservedByteSize += this.slabSize;
+				this.emptySlabCount++;
+				return this.addSlab(XMemory.allocateDirectNative(this.slabSize), sizeClass);
+			}
+			
+			final int slabIndex = this.reclaimEmptySlab();
+			this.slabSizeClasses[slabIndex] = sizeClass;
+			
+			return slabIndex;
+		}
+		
+		/**
+		 * Detaches an empty slab from its size class.
+		 * 
+		 * @return the slab's index or -1 if there is no empty slab
+		 */
+		private int reclaimEmptySlab()
+		{
+			for(int i = 0; i < this.slabCount; i++)
+			{
+				final int sizeClass = this.slabSizeClasses[i];
+				if(sizeClass < 0 || this.slabUseCounts[i] != 0)
+				{
+					continue;
+				}
+				
+				if(this.currentSlabs[sizeClass] == i)
+				{
+					this.currentSlabs[sizeClass] = -1;
+				}
+				
+				// remove the slab's slots from the free slots of its size class
+				final long[] freeSlots = this.freeSlots[sizeClass];
+				int          count     = 0;
+				for(int s = 0; s < this.freeSlotCounts[sizeClass]; s++)
+				{
+					if(slabIndex(freeSlots[s]) != i)
+					{
+						freeSlots[count++] = freeSlots[s];
+					}
+				}
+				this.freeSlotCounts[sizeClass] = count;
+				
+				return i;
+			}
+			
+			return -1;
+		}
+		
+		private int addSlab(final ByteBuffer slab, final int sizeClass)
+		{
+			final int slabIndex;
+			if(this.unusedSlabCount > 0)
+			{
+				slabIndex = this.unusedSlabs[--this.unusedSlabCount];
+			}
+			else
+			{
+				if(this.slabCount == this.slabSizeClasses.length)
+				{
+					final int newLength = this.slabCount * 2;
+					this.slabSizeClasses = Arrays.copyOf(this.slabSizeClasses, newLength);
+					this.slabUseCounts   = Arrays.copyOf(this.slabUseCounts  , newLength);
+					this.slabs           = Arrays.copyOf(this.slabs          , newLength);
+				}
+				slabIndex = this.slabCount++;
+			}
+			
+			this.slabs[slabIndex]           = slab;
+			this.slabSizeClasses[slabIndex] = sizeClass;
+			this.slabUseCounts[slabIndex]   = 0;
+			
+			return slabIndex;
+		}
+		
+		private ByteBuffer dropSlab(final int slabIndex, final int size)
+		{
+			final ByteBuffer slab = this.slabs[slabIndex];
+			this.slabs[slabIndex]           = null;
+			this.slabSizeClasses[slabIndex] = BLOCK;
+			this.slabUseCounts[slabIndex]   = 0;
+			this.reservedByteSize -= size;
+			
+			if(this.unusedSlabCount == this.unusedSlabs.length)
+			{
+				this.unusedSlabs = Arrays.copyOf(this.unusedSlabs, this.unusedSlabCount * 2);
+			}
+			this.unusedSlabs[this.unusedSlabCount++] = slabIndex;
+			
+			return slab;
+		}
+		
+		@Override
+		public ByteBuffer buffer(final long slot, final int length) throws CacheException
+		{
+			if(this.closed)
+			{
+				throw new CacheException("Off-heap arena is closed");
+			}
+			
+			// no lock needed: the slab of a valid slot has been published before the slot itself
+			final int        offset = offset(slot);
+			final ByteBuffer buffer = this.slabs[slabIndex(slot)].duplicate();
+			buffer.limit(offset + length).position(offset);
+			
+			return buffer.slice().order(ByteOrder.nativeOrder());
+		}
+		
+		@Override
+		public synchronized void free(final long slot, final int length)
+		{
+			if(this.closed)
+			{
+				return;
+			}
+			
+			final int slabIndex = slabIndex(slot);
+			final int sizeClass = this.slabSizeClasses[slabIndex];
+			if(sizeClass == BLOCK)
+			{
+				this.usedByteSize -= length;
+				final ByteBuffer block = this.dropSlab(slabIndex, length);
+				
+				// a slot is only freed when nobody accesses it any more, so the memory can be released right away
+				XMemory.deallocateDirectByteBuffer(block);
+				return;
+			}
+			
+			long[] freeSlots = this.freeSlots[sizeClass];
+			if(this.freeSlotCounts[sizeClass] == freeSlots.length)
+			{
+				this.freeSlots[sizeClass] = freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+			}
+			freeSlots[this.freeSlotCounts[sizeClass]++] = slot;
+			
+			if(--this.slabUseCounts[slabIndex] == 0)
+			{
+				this.emptySlabCount++;
+			}
+			this.usedByteSize -= this.slotSizes[sizeClass];
+		}
+		
+		@Override
+		public synchronized void close()
+		{
+			/*
+			 * The slabs are kept and left to the garbage collector instead of being deallocated, so that an access
+			 * which has passed the closed check in buffer(), e.g. of a concurrent iteration, cannot hit released
+			 * memory. Hence, the reserved byte size does not cover the memory of a closed arena.
+			 */
+			this.closed           = true;
+			this.slabCount        = 0;
+			this.unusedSlabCount  = 0;
+			this.emptySlabCount   = 0;
+			this.reservedByteSize = 0;
+			this.usedByteSize     = 0;
+			Arrays.fill(this.freeSlotCounts, 0);
+			Arrays.fill(this.currentSlabs, -1);
+		}
+		
+	}
+	
+}
@@ -23,7 +23,16 @@ package one.microstream.cache.types;
 
 import static one.microstream.X.notNull;
 
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import javax.cache.CacheException;
+
+import one.microstream.cache.exceptions.OffHeapCapacityExhaustedException;
 import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.binary.types.ChunksWrapper;
+import one.microstream.persistence.binary.util.Serializer;
 
 
 public interface SerializedObject extends ByteSized
@@ -35,6 +44,31 @@ public interface SerializedObject extends ByteSized
 		return new Default(hashCode, serializedData);
 	}
 	
+	/**
+	 * Copies the serialized data into memory allocated from <code>arena</code>.
+	 * 
+	 * @param hashCode the hash code of the original object
+	 * @param serializedData the serialized object
+	 * @param arena the off-heap memory to hold the serialized data
+	 * @return the new off-heap serialized object
+	 * @throws OffHeapCapacityExhaustedException if the arena's capacity is exhausted
+	 */
+	public static SerializedObject.OffHeap OffHeap(
+		final int          hashCode      ,
+		final Binary       serializedData,
+		final OffHeapArena arena
+	)
+		throws OffHeapCapacityExhaustedException, CacheException
+	{
+		final long length = serializedData.totalLength();
+		if(length > Integer.MAX_VALUE)
+		{
+			throw new CacheException("Serialized object too big for off-heap storage: " + length + " bytes");
+		}
+		
+		return new OffHeap(hashCode, serializedData, (int)length, notNull(arena));
+	}
+	
 	public static class Default implements SerializedObject
 	{
 		private final int    hashCode;
@@ -77,4 +111,170 @@ public interface SerializedObject extends ByteSized
 		
 	}
 	
+	/**
+	 * Serialized object which is held in the memory of an {@link OffHeapArena}.
+	 * <p>
+	 * The memory is freed by {@link #release()} as soon as no deserialization of it is running any more and
+	 * no data handed out by {@link #serializedData()} is reachable any more,
+	 * or, if it is never released, when this instance is garbage collected.
+	 */
+	public static class OffHeap implements SerializedObject
+	{
+		private final static Cleaner CLEANER = Cleaner.create();
+		
+		private final static AtomicIntegerFieldUpdater<OffHeap> REFERENCES =
+			AtomicIntegerFieldUpdater.newUpdater(OffHeap.class, "references");
+		
+		private final static AtomicIntegerFieldUpdater<OffHeap> RELEASED =
+			AtomicIntegerFieldUpdater.newUpdater(OffHeap.class, "released");
+		
+		private final int                hashCode  ;
+		private final OffHeapArena       arena     ;
+		private final long               slot      ;
+		private final int                length    ;
+		private final Cleaner.Cleanable  cleanable ;
+		
+		// the owner's reference plus one per running deserialization, 0 when the memory is freed
+		private volatile int             references;
+		private volatile int             released  ;
+		
+		OffHeap(
+			final int          hashCode      ,
+			final Binary       serializedData,
+			final int          length        ,
+			final OffHeapArena arena
+		)
+		{
+			super();
+			
+			final long       slot   = arena.allocate(length);
+			final ByteBuffer target = arena.buffer(slot, length);
+			for(final ByteBuffer source : serializedData.buffers())
+			{
+				target.put(source.duplicate());
+			}
+			
+			this.hashCode   = hashCode;
+			this.arena      = arena   ;
+			this.slot       = slot    ;
+			this.length     = length  ;
+			this.references = 1       ;
+			
+			// must not reference this instance, otherwise it would never become phantom reachable
+			this.cleanable  = CLEANER.register(this, () -> arena.free(slot, length));
+		}
+		
+		/**
+		 * Deserializes the object directly from off-heap memory.
+		 * 
+		 * @param <T> the object's type
+		 * @param serializer the serializer which created the serialized data
+		 * @return the deserialized object, or <code>null</code> if this object has already been released
+		 */
+		public <T> T deserialize(final Serializer<Binary> serializer)
+		{
+			if(!this.acquire())
+			{
+				return null;
+			}
+			
+			try
+			{
+				final ByteBuffer buffer = this.arena.buffer(this.slot, this.length);
+				
+				// the chunks wrapper takes the position as the data length
+				buffer.position(this.length);
+				
+				return serializer.deserialize(ChunksWrapper.New(buffer));
+			}
+			finally
+			{
+				this.unpin();
+			}
+		}
+		
+		/**
+		 * Releases the owner's reference. The memory is freed as soon as no deserialization is running any more.
+		 * Subsequent calls have no effect.
+		 */
+		public void release()
+		{
+			if(RELEASED.compareAndSet(this, 0, 1))
+			{
+				this.unpin();
+			}
+		}
+		
+		private boolean acquire()
+		{
+			for(int references; (references = this.references) > 0;)
+			{
+				if(REFERENCES.compareAndSet(this, references, references + 1))
+				{
+					return true;
+				}
+			}
+			
+			return false;
+		}
+		
+		private void unpin()
+		{
+			if(REFERENCES.decrementAndGet(this) == 0)
+			{
+				// runs the arena's free at most once and deregisters it from the cleaner
+				this.cleanable.clean();
+			}
+		}
+		
+		/**
+		 * Returns the serialized data as a view of the off-heap memory, without copying it. The memory stays
+		 * allocated as long as the returned data is reachable, even if this object is released in the meantime.
+		 * The returned data must not be modified.
+		 * 
+		 * @return the serialized data
+		 * @throws IllegalStateException if this object has already been released
+		 */
+		@Override
+		public Binary serializedData()
+		{
+			if(!this.acquire())
+			{
+				throw new IllegalStateException("Serialized object has already been released");
+			}
+			
+			final ByteBuffer buffer = this.arena.buffer(this.slot, this.length);
+			
+			// the chunks wrapper takes the position as the data length
+			buffer.position(this.length);
+			
+			// the view keeps the memory pinned until it becomes unreachable itself
+			CLEANER.register(buffer, this::unpin);
+			
+			return ChunksWrapper.New(buffer);
+		}
+		
+		@Override
+		public long byteSize()
+		{
+			return this.length;
+		}
+		
+		@Override
+		public int hashCode()
+		{
+			return this.hashCode;
+		}
+		
+		@Override
+		public boolean equals(final Object obj)
+		{
+			return obj == this
+				|| (   obj instanceof SerializedObject
+				    && obj.hashCode() == this.hashCode
+				   );
+		}
+		
+	}
+	
 }
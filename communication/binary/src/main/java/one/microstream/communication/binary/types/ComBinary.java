@@ -202,13 +202,15 @@ public class ComBinary
 	)
 		throws ComException, ComExceptionTimeout
 	{
-		// the chunk header (specifying the chunk data length) is sent first, then the actual chunk data.
-		connection.write(headerBuffer, operationTimeout());
+		/*
+		 * the chunk header (specifying the chunk data length) is sent first, then the actual chunk data.
+		 * Both are passed as one sequence of buffers to allow a gathering write directly from the chunk buffers.
+		 */
+		final ByteBuffer[] chunkBuffers = new ByteBuffer[buffers.length + 1];
+		chunkBuffers[0] = headerBuffer;
+		System.arraycopy(buffers, 0, chunkBuffers, 1, buffers.length);
 		
-		for(final ByteBuffer bb : buffers)
-		{
-			connection.write(bb, operationTimeout());
-		}
+		connection.write(chunkBuffers, operationTimeout());
 	}
 	
 	
@@ -100,6 +100,20 @@ public interface ComPersistenceChannelBinary<C> extends ComPersistenceChannel<C,
 			return this.defaultBufferRead;
 		}
 		
+		protected void updateDefaultBufferRead(final ByteBuffer filledBuffer)
+		{
+			/*
+			 * The read buffer is reused for all chunks. Only a chunk larger than the buffer is read into a
+			 * newly allocated, larger buffer, which is then reused for all subsequent chunks, so that not
+			 * every large chunk allocates a buffer of its own. The smaller buffer is not deallocated explicitly
+			 * but left to the GC, as it is not certain that no loaded entity data still refers to it.
+			 */
+			if(filledBuffer != this.defaultBufferRead && XMemory.isDirectByteBuffer(filledBuffer))
+			{
+				this.defaultBufferRead = filledBuffer;
+			}
+		}
+		
 		protected ByteBuffer ensureDefaultBufferWrite()
 		{
 			if(this.defaultBufferWrite == null)
@@ -181,6 +195,7 @@ public interface ComPersistenceChannelBinary<C> extends ComPersistenceChannel<C,
 				 */
 				throw new PersistenceExceptionTransfer(e);
 			}
+			this.updateDefaultBufferRead(filledContentBuffer);
 			
 //			DEBUG_printBufferBinaryValues(filledContentBuffer);
 			
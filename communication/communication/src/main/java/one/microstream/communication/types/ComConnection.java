@@ -48,6 +48,21 @@ public interface ComConnection
 	
 	public void setTimeOut(int inactivityTimeout);
 	
+	/**
+	 * Writes the passed buffers in order. Implementations that operate directly on a socket channel
+	 * should use a gathering write to avoid one system call (or a copy) per buffer.
+	 * 
+	 * @param buffers the buffers to be written completely
+	 * @param timeout the timeout in milliseconds for each write progress
+	 */
+	public default void write(final ByteBuffer[] buffers, final int timeout)
+	{
+		for(final ByteBuffer buffer : buffers)
+		{
+			this.write(buffer, timeout);
+		}
+	}
+	
 	public class Default implements ComConnection
 	{
 		private final SocketChannel channel;
@@ -97,7 +112,8 @@ public interface ComConnection
 								
 			try
 			{
-				executor
+				// the filled buffer can be a new one if the passed buffer is too small for the requested length.
+				return executor
 					.submit(() -> { return XSockets.read(this.channel, buffer, length); })
 					.get(this.readTimeOut, TimeUnit.MILLISECONDS);
 			}
@@ -113,8 +129,6 @@ public interface ComConnection
 			{
 				executor.shutdownNow();
 			}
-			
-			return buffer;
 		}
 
 		@Override
@@ -122,6 +136,12 @@ public interface ComConnection
 		{
 			XSockets.writeFromBuffer(this.channel, buffer, timeout);
 		}
+		
+		@Override
+		public void write(final ByteBuffer[] buffers, final int timeout)
+		{
+			XSockets.writeFromBuffers(this.channel, buffers, timeout);
+		}
 
 		@Override
 		public void enableSecurity()
@@ -21,8 +21,12 @@ package one.microstream.communication.types;
  */
 
 import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.positive;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 
@@ -72,6 +76,50 @@ public interface ComConnectionAcceptor<C>
 		);
 	}
 	
+	/**
+	 * Wraps the passed {@link ComConnectionAcceptor} to accept and serve every connection in a dedicated thread,
+	 * so that one slow or long-lived client does not hold up the other clients of a {@link ComHost}.
+	 * <p>
+	 * At most {@code maximumConnectionCount} connections are served at the same time. While the limit is reached,
+	 * the host's listening thread waits for a connection to end before accepting the next one, so further
+	 * clients queue up in the listener's backlog instead of consuming resources.
+	 * 
+	 * @param <C> the communication layer type
+	 * @param acceptor the wrapped acceptor that handles a single connection.
+	 * @param maximumConnectionCount the maximum number of concurrently served connections.
+	 * @return a new concurrent {@link ComConnectionAcceptor} instance.
+	 */
+	public static <C> ComConnectionAcceptor.Concurrent<C> Concurrent(
+		final ComConnectionAcceptor<C> acceptor              ,
+		final int                      maximumConnectionCount
+	)
+	{
+		return Concurrent(acceptor, maximumConnectionCount, Concurrent.defaultThreadFactory());
+	}
+	
+	/**
+	 * Same as {@link #Concurrent(ComConnectionAcceptor, int)}, but with the threads serving the connections
+	 * being created by the passed {@link ThreadFactory}.
+	 * 
+	 * @param <C> the communication layer type
+	 * @param acceptor the wrapped acceptor that handles a single connection.
+	 * @param maximumConnectionCount the maximum number of concurrently served connections.
+	 * @param threadFactory the factory to create a thread per connection.
+	 * @return a new concurrent {@link ComConnectionAcceptor} instance.
+	 */
+	public static <C> ComConnectionAcceptor.Concurrent<C> Concurrent(
+		final ComConnectionAcceptor<C> acceptor              ,
+		final int                      maximumConnectionCount,
+		final ThreadFactory            threadFactory
+	)
+	{
+		return new ComConnectionAcceptor.Concurrent<>(
+			notNull(acceptor)               ,
+			positive(maximumConnectionCount),
+			notNull(threadFactory)
+		);
+	}
+	
 	public final class Default<C> implements ComConnectionAcceptor<C>
 	{
 		///////////////////////////////////////////////////////////////////////////
@@ -183,4 +231,108 @@ public interface ComConnectionAcceptor<C>
 		
 	}
 	
+	public final class Concurrent<C> implements ComConnectionAcceptor<C>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// static methods //
+		///////////////////
+		
+		public static ThreadFactory defaultThreadFactory()
+		{
+			final AtomicInteger threadNumber = new AtomicInteger();
+			
+			return runnable ->
+			{
+				final Thread thread = new Thread(runnable, "MicroStream-ComConnection-" + threadNumber.incrementAndGet());
+				
+				// serving threads must not keep the process alive after the host has been stopped.
+				thread.setDaemon(true);
+				
+				return thread;
+			};
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final ComConnectionAcceptor<C> acceptor              ;
+		private final int                      maximumConnectionCount;
+		private final ThreadFactory            threadFactory         ;
+		private final Semaphore                connectionPermits     ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Concurrent(
+			final ComConnectionAcceptor<C> acceptor              ,
+			final int                      maximumConnectionCount,
+			final ThreadFactory            threadFactory
+		)
+		{
+			super();
+			this.acceptor               = acceptor                            ;
+			this.maximumConnectionCount = maximumConnectionCount              ;
+			this.threadFactory          = threadFactory                       ;
+			this.connectionPermits      = new Semaphore(maximumConnectionCount);
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final ComProtocolProvider<C> protocolProvider()
+		{
+			return this.acceptor.protocolProvider();
+		}
+		
+		public final int maximumConnectionCount()
+		{
+			return this.maximumConnectionCount;
+		}
+		
+		public final int activeConnectionCount()
+		{
+			return this.maximumConnectionCount - this.connectionPermits.availablePermits();
+		}
+		
+		@Override
+		public final void acceptConnection(final C connection, final ComHost<C> parent)
+		{
+			// blocks the host's listening thread as long as the connection limit is reached.
+			this.connectionPermits.acquireUninterruptibly();
+			
+			try
+			{
+				this.threadFactory.newThread(() -> this.serveConnection(connection, parent)).start();
+			}
+			catch(final Throwable t)
+			{
+				this.connectionPermits.release();
+				throw t;
+			}
+		}
+		
+		private void serveConnection(final C connection, final ComHost<C> parent)
+		{
+			try
+			{
+				this.acceptor.acceptConnection(connection, parent);
+			}
+			finally
+			{
+				this.connectionPermits.release();
+			}
+		}
+		
+	}
+	
 }
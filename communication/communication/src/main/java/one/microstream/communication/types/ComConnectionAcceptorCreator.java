@@ -20,6 +20,8 @@ package one.microstream.communication.types;
  * #L%
  */
 
+import static one.microstream.math.XMath.positive;
+
 /**
  * 
  *
@@ -44,6 +46,23 @@ public interface ComConnectionAcceptorCreator<C>
 		return new ComConnectionAcceptorCreator.Default<>();
 	}
 	
+	/**
+	 * Creates a {@link ComConnectionAcceptorCreator} whose acceptors serve each connection in a dedicated thread,
+	 * with at most {@code maximumConnectionCount} connections being served at the same time.
+	 * 
+	 * @param <C> the communication layer type
+	 * @param maximumConnectionCount the maximum number of concurrently served connections.
+	 * @return a new concurrent {@link ComConnectionAcceptorCreator} instance.
+	 * 
+	 * @see ComConnectionAcceptor#Concurrent(ComConnectionAcceptor, int)
+	 */
+	public static <C> ComConnectionAcceptorCreator<C> Concurrent(final int maximumConnectionCount)
+	{
+		return new ComConnectionAcceptorCreator.Concurrent<>(
+			positive(maximumConnectionCount)
+		);
+	}
+	
 	public final class Default<C> implements ComConnectionAcceptorCreator<C>
 	{
 		///////////////////////////////////////////////////////////////////////////
@@ -85,4 +104,57 @@ public interface ComConnectionAcceptorCreator<C>
 		
 	}
 	
+	public final class Concurrent<C> implements ComConnectionAcceptorCreator<C>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final int maximumConnectionCount;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Concurrent(final int maximumConnectionCount)
+		{
+			super();
+			this.maximumConnectionCount = maximumConnectionCount;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public ComConnectionAcceptor<C> createConnectionAcceptor(
+			final ComProtocolProvider<C>     protocolProvider       ,
+			final ComProtocolStringConverter protocolStringConverter,
+			final ComConnectionHandler<C>    connectionHandler      ,
+			final ComPersistenceAdaptor<C>   persistenceAdaptor     ,
+			final ComHostChannelAcceptor<C>  channelAcceptor        ,
+			final ComHostExceptionHandler<C> exceptionHandler       ,
+			final ComPeerIdentifier          peerIdentifier
+		)
+		{
+			return ComConnectionAcceptor.Concurrent(
+				ComConnectionAcceptor.New(
+					protocolProvider       ,
+					protocolStringConverter,
+					connectionHandler      ,
+					persistenceAdaptor     ,
+					channelAcceptor        ,
+					exceptionHandler       ,
+					peerIdentifier
+				),
+				this.maximumConnectionCount
+			);
+		}
+		
+	}
+	
 }
@@ -178,24 +178,30 @@ public interface ComHost<C> extends Runnable
 			// repeatedly accept new connections until stopped.
 			while(!this.stopped)
 			{
+				final ComConnectionListener<C> connectionListener;
 				synchronized(this)
 				{
 					if(!this.isListening())
 					{
 						break;
 					}
-					
-					this.synchAcceptConnection();
+					connectionListener = this.liveConnectionListener;
 				}
+				
+				/*
+				 * Listening and accepting is done without holding the lock, otherwise #isListening would
+				 * be blocked as long as a connection is being waited for or being accepted.
+				 */
+				this.acceptConnection(connectionListener);
 			}
 		}
 		
-		private void synchAcceptConnection()
+		private void acceptConnection(final ComConnectionListener<C> connectionListener)
 		{
 			final C connection;
 			try
 			{
-				connection = this.liveConnectionListener.listenForConnection();
+				connection = connectionListener.listenForConnection();
 			}
 			catch(final ComException e)
 			{
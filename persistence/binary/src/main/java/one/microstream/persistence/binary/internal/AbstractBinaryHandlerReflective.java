@@ -36,6 +36,7 @@ import one.microstream.persistence.binary.types.Binary;
 import one.microstream.persistence.binary.types.BinaryPersistence;
 import one.microstream.persistence.binary.types.BinaryTypeHandler;
 import one.microstream.persistence.binary.types.BinaryValueFunctions;
+import one.microstream.persistence.binary.types.BinaryValuePlan;
 import one.microstream.persistence.binary.types.BinaryValueSetter;
 import one.microstream.persistence.binary.types.BinaryValueStorer;
 import one.microstream.persistence.exceptions.PersistenceExceptionTypeConsistency;
@@ -234,6 +235,12 @@ implements PersistenceTypeHandlerReflective<Binary, T>
 	private final BinaryValueSetter[]
 		setters
 	;
+	
+	// compiled forms of storers and setters. Null if not enabled or not compilable (e.g. custom legacy setters).
+	private final BinaryValuePlan
+		storingPlan,
+		settingPlan
+	;
 	private final EqConstHashEnum<Field>
 		declOrderFields,
 		referenceFields,
@@ -268,6 +275,20 @@ implements PersistenceTypeHandlerReflective<Binary, T>
 		final PersistenceEagerStoringFieldEvaluator eagerEvaluator   ,
 		final boolean                               switchByteOrder
 	)
+	{
+		this(type, typeName, persistableFields, persisterFields, lengthResolver, eagerEvaluator, switchByteOrder, false);
+	}
+	
+	protected AbstractBinaryHandlerReflective(
+		final Class<T>                              type             ,
+		final String                                typeName         ,
+		final XGettingEnum<Field>                   persistableFields,
+		final XGettingEnum<Field>                   persisterFields  ,
+		final PersistenceFieldLengthResolver        lengthResolver   ,
+		final PersistenceEagerStoringFieldEvaluator eagerEvaluator   ,
+		final boolean                               switchByteOrder  ,
+		final boolean                               compileValuePlans
+	)
 	{
 		super(type, typeName);
 		
@@ -309,6 +330,10 @@ implements PersistenceTypeHandlerReflective<Binary, T>
 		
 		// setters set a field's value from a buffered persistent form to the instance in memory.
 		this.setters = this.deriveSetters();
+		
+		// plans replace the per-field value function calls with a single per-type loop, if possible.
+		this.storingPlan = compileValuePlans ? BinaryValuePlan.compileStoring(this.storers) : null;
+		this.settingPlan = compileValuePlans ? BinaryValuePlan.compileSetting(this.setters) : null;
 
 		// binary content length (without the entity header) is calculated based on the storing ("all") members.
 		this.binaryContentLength = calculcateBinaryContentLength(this.storingMembers);
@@ -413,6 +438,16 @@ implements PersistenceTypeHandlerReflective<Binary, T>
 	{
 		return this.switchByteOrder;
 	}
+	
+	public final boolean hasCompiledStoringPlan()
+	{
+		return this.storingPlan != null;
+	}
+	
+	public final boolean hasCompiledSettingPlan()
+	{
+		return this.settingPlan != null;
+	}
 			
 	@Override
 	public XGettingEnum<Field> instanceFields()
@@ -512,6 +547,20 @@ implements PersistenceTypeHandlerReflective<Binary, T>
 		final PersistenceStoreHandler<Binary> handler
 	)
 	{
+		if(this.storingPlan != null)
+		{
+			data.storeFixedSize(
+				handler                  ,
+				this.binaryContentLength ,
+				this.typeId()            ,
+				objectId                 ,
+				instance                 ,
+				this.storingMemoryOffsets,
+				this.storingPlan
+			);
+			return;
+		}
+		
 		data.storeFixedSize(
 			handler                  ,
 			this.binaryContentLength ,
@@ -539,7 +588,14 @@ implements PersistenceTypeHandlerReflective<Binary, T>
 			throw new TypeCastException(this.type(), instance);
 		}
 
-		data.updateFixedSize(instance, this.setters, this.settingMemoryOffsets, handler);
+		if(this.settingPlan != null)
+		{
+			data.updateFixedSize(instance, this.settingPlan, this.settingMemoryOffsets, handler);
+		}
+		else
+		{
+			data.updateFixedSize(instance, this.setters, this.settingMemoryOffsets, handler);
+		}
 		
 		this.setPersister(instance, handler);
 	}
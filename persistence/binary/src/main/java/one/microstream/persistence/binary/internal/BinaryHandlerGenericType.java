@@ -43,6 +43,31 @@ public final class BinaryHandlerGenericType<T> extends AbstractBinaryHandlerRefl
 		final PersistenceTypeInstantiator<Binary, T> instantiator              ,
 		final boolean                                switchByteOrder
 	)
+	{
+		return New(
+			type                      ,
+			typeName                  ,
+			persistableFields         ,
+			persisterFields           ,
+			lengthResolver            ,
+			eagerStoringFieldEvaluator,
+			instantiator              ,
+			switchByteOrder           ,
+			false
+		);
+	}
+	
+	public static <T> BinaryHandlerGenericType<T> New(
+		final Class<T>                               type                      ,
+		final String                                 typeName                  ,
+		final XGettingEnum<Field>                    persistableFields         ,
+		final XGettingEnum<Field>                    persisterFields           ,
+		final PersistenceFieldLengthResolver         lengthResolver            ,
+		final PersistenceEagerStoringFieldEvaluator  eagerStoringFieldEvaluator,
+		final PersistenceTypeInstantiator<Binary, T> instantiator              ,
+		final boolean                                switchByteOrder           ,
+		final boolean                                compileValuePlans
+	)
 	{
 		return new BinaryHandlerGenericType<>(
 			type                      ,
@@ -52,7 +77,8 @@ public final class BinaryHandlerGenericType<T> extends AbstractBinaryHandlerRefl
 			lengthResolver            ,
 			eagerStoringFieldEvaluator,
 			instantiator              ,
-			switchByteOrder
+			switchByteOrder           ,
+			compileValuePlans
 		);
 	}
 	
@@ -78,10 +104,20 @@ public final class BinaryHandlerGenericType<T> extends AbstractBinaryHandlerRefl
 		final PersistenceFieldLengthResolver         lengthResolver            ,
 		final PersistenceEagerStoringFieldEvaluator  eagerStoringFieldEvaluator,
 		final PersistenceTypeInstantiator<Binary, T> instantiator              ,
-		final boolean                                switchByteOrder
+		final boolean                                switchByteOrder           ,
+		final boolean                                compileValuePlans
 	)
 	{
-		super(type, typeName, persistableFields, persisterFields, lengthResolver, eagerStoringFieldEvaluator, switchByteOrder);
+		super(
+			type                      ,
+			typeName                  ,
+			persistableFields         ,
+			persisterFields           ,
+			lengthResolver            ,
+			eagerStoringFieldEvaluator,
+			switchByteOrder           ,
+			compileValuePlans
+		);
 		this.instantiator = notNull(instantiator);
 	}
 
@@ -0,0 +1,125 @@
+package one.microstream.persistence.binary.java.lang;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.persistence.binary.internal.AbstractBinaryHandlerCustomValueVariableLength;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.types.PersistenceCustomTypeHandlerRegistry;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+
+/**
+ * Alternative type handler for {@link String} that stores Latin-1 strings with one byte per character
+ * and all other strings as UTF-8 or UTF-16 (whichever is shorter), discriminated by a leading coder byte.
+ * <p>
+ * Since its persisted structure differs from the one of {@link BinaryHandlerString}, registering it
+ * in an existing database creates a new type definition for {@link String}. Existing string records keep
+ * being loadable via {@link BinaryLegacyTypeHandlerString}, which is why both have to be registered together,
+ * see {@link #registerIn(PersistenceCustomTypeHandlerRegistry)}.
+ */
+public final class BinaryHandlerStringCompact extends AbstractBinaryHandlerCustomValueVariableLength<String, String>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	public static BinaryHandlerStringCompact New()
+	{
+		return new BinaryHandlerStringCompact();
+	}
+	
+	/**
+	 * Registers a {@link BinaryHandlerStringCompact} replacing the default {@link String} handler and a
+	 * {@link BinaryLegacyTypeHandlerString} for loading string records stored by the default handler.
+	 * 
+	 * @param <R> the registry type
+	 * @param registry the registry to register the handlers in
+	 * @return the passed registry
+	 */
+	public static <R extends PersistenceCustomTypeHandlerRegistry<Binary>> R registerIn(
+		final R registry
+	)
+	{
+		registry.registerTypeHandler(BinaryHandlerStringCompact.New());
+		registry.registerLegacyTypeHandler(BinaryLegacyTypeHandlerString.New());
+		
+		return registry;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	BinaryHandlerStringCompact()
+	{
+		super(
+			String.class,
+			CustomFields(
+				CustomField(byte.class, "coder"),
+				bytes("value")
+			)
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// override methods //
+	/////////////////////
+
+	@Override
+	public void store(
+		final Binary                          data    ,
+		final String                          instance,
+		final long                            objectId,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		data.storeStringCompactSingleValue(this.typeId(), objectId, instance);
+	}
+
+	@Override
+	public String create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		return data.buildStringCompact();
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// validation //
+	///////////////
+	
+	@Override
+	public String getValidationStateFromInstance(final String instance)
+	{
+		return instance;
+	}
+
+	@Override
+	public String getValidationStateFromBinary(final Binary data)
+	{
+		return data.buildStringCompact();
+	}
+
+}
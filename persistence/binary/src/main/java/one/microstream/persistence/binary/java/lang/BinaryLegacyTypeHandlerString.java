@@ -0,0 +1,103 @@
+package one.microstream.persistence.binary.java.lang;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.binary.types.BinaryLegacyTypeHandler;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceReferenceLoader;
+
+/**
+ * Legacy type handler for {@link String} records stored in the UTF-16 form of {@link BinaryHandlerString}.
+ * Required to keep such records loadable after the {@link String} handler has been replaced by
+ * {@link BinaryHandlerStringCompact}. It is matched to the legacy type definition by its structure.
+ */
+public final class BinaryLegacyTypeHandlerString extends BinaryLegacyTypeHandler.AbstractCustom<String>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	public static BinaryLegacyTypeHandlerString New()
+	{
+		return new BinaryLegacyTypeHandlerString();
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	BinaryLegacyTypeHandlerString()
+	{
+		// must be exactly the structure of BinaryHandlerString
+		super(
+			String.class,
+			CustomFields(
+				chars("value")
+			)
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// override methods //
+	/////////////////////
+	
+	@Override
+	public boolean hasPersistedReferences()
+	{
+		return false;
+	}
+	
+	@Override
+	public boolean hasPersistedVariableLength()
+	{
+		return true;
+	}
+	
+	@Override
+	public boolean hasVaryingPersistedLengthInstances()
+	{
+		return true;
+	}
+
+	@Override
+	public String create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		return data.buildString();
+	}
+	
+	@Override
+	public void updateState(final Binary data, final String instance, final PersistenceLoadHandler handler)
+	{
+		// no-op, strings are immutable and completely created in #create
+	}
+	
+	@Override
+	public void iterateLoadableReferences(final Binary data, final PersistenceReferenceLoader iterator)
+	{
+		// no references
+	}
+
+}
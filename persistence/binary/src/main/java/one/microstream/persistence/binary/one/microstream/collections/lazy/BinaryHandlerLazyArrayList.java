@@ -0,0 +1,149 @@
+package one.microstream.persistence.binary.one.microstream.collections.lazy;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.X;
+import one.microstream.collections.lazy.LazyArrayList;
+import one.microstream.collections.lazy.LazySegment;
+import one.microstream.persistence.binary.internal.AbstractBinaryHandlerCustomCollection;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.types.Persistence;
+import one.microstream.persistence.types.PersistenceFunction;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceReferenceLoader;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+
+
+public final class BinaryHandlerLazyArrayList
+extends AbstractBinaryHandlerCustomCollection<LazyArrayList<?>>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	static final long BINARY_OFFSET_MAXIMUM_SEGMENT_SIZE =                                                    0;
+	static final long BINARY_OFFSET_SEGMENTS             = BINARY_OFFSET_MAXIMUM_SEGMENT_SIZE + Integer.BYTES;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	@SuppressWarnings({"unchecked",  "rawtypes"})
+	private static Class<LazyArrayList<?>> handledType()
+	{
+		// no idea how to get ".class" to work otherwise
+		return (Class)LazyArrayList.class;
+	}
+	
+	private static int getBuildItemSegmentCount(final Binary data)
+	{
+		return X.checkArrayRange(data.getListElementCountReferences(BINARY_OFFSET_SEGMENTS));
+	}
+	
+	public static BinaryHandlerLazyArrayList New()
+	{
+		return new BinaryHandlerLazyArrayList();
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	BinaryHandlerLazyArrayList()
+	{
+		// binary layout definition
+		super(
+			handledType(),
+			CustomFields(
+				CustomField(int.class, "maximumSegmentSize"),
+				Complex("segments",
+					CustomField(LazySegment.class, "segment")
+				)
+			)
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	@Override
+	public final void store(
+		final Binary                          data    ,
+		final LazyArrayList<?>                instance,
+		final long                            objectId,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		// only modified segments are stored again, untouched segments are only referenced
+		data.storeIterableAsList(
+			this.typeId()                                ,
+			objectId                                     ,
+			BINARY_OFFSET_SEGMENTS                       ,
+			instance.$segments()                         ,
+			instance.segmentCount()                      ,
+			BinaryHandlerLazySegment.SegmentStorer(handler)
+		);
+		data.store_int(
+			BINARY_OFFSET_MAXIMUM_SEGMENT_SIZE,
+			instance.maximumSegmentSize()
+		);
+	}
+
+	@Override
+	public final LazyArrayList<?> create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		return new LazyArrayList<>(data.read_int(BINARY_OFFSET_MAXIMUM_SEGMENT_SIZE));
+	}
+
+	@Override
+	public final void updateState(
+		final Binary                 data    ,
+		final LazyArrayList<?>       instance,
+		final PersistenceLoadHandler handler
+	)
+	{
+		final LazySegment.Default<?>[] segments = new LazySegment.Default<?>[getBuildItemSegmentCount(data)];
+		data.collectElementsIntoArray(BINARY_OFFSET_SEGMENTS, handler, segments);
+		
+		// only the segments are loaded here, their data is loaded on demand.
+		instance.$setSegments(segments);
+	}
+
+	@Override
+	public final void iterateInstanceReferences(final LazyArrayList<?> instance, final PersistenceFunction iterator)
+	{
+		Persistence.iterateReferencesIterable(iterator, instance.$segments());
+	}
+
+	@Override
+	public final void iterateLoadableReferences(final Binary data, final PersistenceReferenceLoader iterator)
+	{
+		data.iterateListElementReferences(BINARY_OFFSET_SEGMENTS, iterator);
+	}
+	
+}
@@ -0,0 +1,192 @@
+package one.microstream.persistence.binary.one.microstream.collections.lazy;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.lang.reflect.Constructor;
+
+import one.microstream.collections.lazy.LazySegment;
+import one.microstream.persistence.binary.internal.AbstractBinaryHandlerCustom;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.persistence.types.PersistenceFunction;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceReferenceLoader;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+import one.microstream.reference.Lazy;
+import one.microstream.reflect.XReflect;
+
+
+public final class BinaryHandlerLazySegment extends AbstractBinaryHandlerCustom<LazySegment.Default<?>>
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	static final long BINARY_OFFSET_DATA   =                                                0;
+	static final long BINARY_OFFSET_SIZE   = BINARY_OFFSET_DATA + Binary.objectIdByteLength();
+	static final long BINARY_LENGTH        = BINARY_OFFSET_SIZE +             Integer.BYTES;
+	
+	@SuppressWarnings("rawtypes")
+	static final Constructor<LazySegment.Default> CONSTRUCTOR = XReflect.setAccessible(
+		XReflect.getDeclaredConstructor(LazySegment.Default.class, int.class, Lazy.class, Object.class)
+	);
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	@SuppressWarnings({"unchecked",  "rawtypes"})
+	private static Class<LazySegment.Default<?>> handledType()
+	{
+		// no idea how to get ".class" to work otherwise
+		return (Class)LazySegment.Default.class;
+	}
+	
+	public static BinaryHandlerLazySegment New()
+	{
+		return new BinaryHandlerLazySegment();
+	}
+	
+	/**
+	 * Creates a {@link PersistenceFunction} for storing the segments of a segmented lazy collection:
+	 * modified segments are stored eagerly, all others are only stored if they are not stored, yet.
+	 * 
+	 * @param handler the store handler of the storing collection.
+	 * @return a {@link PersistenceFunction} for the collection's segments.
+	 */
+	static PersistenceFunction SegmentStorer(final PersistenceStoreHandler<Binary> handler)
+	{
+		return new PersistenceFunction()
+		{
+			@Override
+			public <T> long apply(final T segment)
+			{
+				return ((LazySegment<?>)segment).isModified()
+					? handler.applyEager(segment)
+					: handler.apply(segment)
+				;
+			}
+		};
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	BinaryHandlerLazySegment()
+	{
+		super(
+			handledType(),
+			CustomFields(
+				CustomField(Lazy.class, "data"),
+				CustomField(int.class , "size")
+			)
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	@Override
+	public final void store(
+		final Binary                          data    ,
+		final LazySegment.Default<?>          instance,
+		final long                            objectId,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		final long dataObjectId = handler.apply(instance.$data());
+		
+		// modified data must be stored even if the lazy reference to it is already stored
+		final int    modificationCount = instance.$modificationCount();
+		final Object modifiedData      = instance.$modifiedData();
+		if(modifiedData != null)
+		{
+			handler.applyEager(modifiedData);
+			
+			// only a successful commit makes the modification persistent, otherwise it must be stored again.
+			// modifications made until an asynchronous commit completes have not been stored and must be kept.
+			handler.registerCommitListener(() -> instance.$clearModification(modificationCount));
+		}
+		
+		data.storeEntityHeader(BINARY_LENGTH, this.typeId(), objectId);
+		data.store_long(BINARY_OFFSET_DATA, dataObjectId);
+		data.store_int(BINARY_OFFSET_SIZE, instance.size());
+	}
+
+	@Override
+	public final LazySegment.Default<?> create(final Binary data, final PersistenceLoadHandler handler)
+	{
+		// the size is already required for the owning collection's state, which may be updated first.
+		return XReflect.invoke(CONSTRUCTOR, data.read_int(BINARY_OFFSET_SIZE), null, null);
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	@Override
+	public final void updateState(
+		final Binary                 data    ,
+		final LazySegment.Default<?> instance,
+		final PersistenceLoadHandler handler
+	)
+	{
+		((LazySegment.Default)instance).$setState(
+			data.read_int(BINARY_OFFSET_SIZE),
+			(Lazy<?>)handler.lookupObject(data.read_long(BINARY_OFFSET_DATA))
+		);
+	}
+	
+	@Override
+	public final void iterateInstanceReferences(final LazySegment.Default<?> instance, final PersistenceFunction iterator)
+	{
+		iterator.apply(instance.$data());
+	}
+	
+	@Override
+	public final void iterateLoadableReferences(final Binary data, final PersistenceReferenceLoader iterator)
+	{
+		iterator.acceptObjectId(data.read_long(BINARY_OFFSET_DATA));
+	}
+	
+	@Override
+	public final boolean hasPersistedReferences()
+	{
+		return true;
+	}
+
+	@Override
+	public final boolean hasPersistedVariableLength()
+	{
+		return false;
+	}
+	
+	@Override
+	public final boolean hasVaryingPersistedLengthInstances()
+	{
+		return false;
+	}
+
+}
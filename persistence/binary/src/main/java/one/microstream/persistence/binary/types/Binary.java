@@ -25,6 +25,7 @@ import static one.microstream.X.mayNull;
 import static one.microstream.X.notNull;
 
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
@@ -117,6 +118,21 @@ public abstract class Binary implements Chunk
 		LIST_HEADER_LENGTH        = LIST_OFFSET_ELEMENTS
 	;
 	
+	/* compact string binary layout:
+	 * [coder byte][list header][bytes]
+	 * The coder defines how the list's bytes have to be interpreted.
+	 */
+	private static final byte
+		STRING_CODER_LATIN1 = 0,
+		STRING_CODER_UTF16  = 1,
+		STRING_CODER_UTF8   = 2
+	;
+	
+	private static final long
+		COMPACT_STRING_OFFSET_CODER = 0                                      ,
+		COMPACT_STRING_OFFSET_LIST  = COMPACT_STRING_OFFSET_CODER + Byte.BYTES
+	;
+	
 	/* sized array binary layout:
 	 * [entity header][8 byte array length][list of elements without the arrays' trailing nulls]
 	 */
@@ -1146,6 +1162,151 @@ public abstract class Binary implements Chunk
 		this.storeCharsAsList(0, chars, offset, length);
 	}
 	
+	/**
+	 * Stores the passed {@link String} in a compact form: Latin-1 strings byte for byte, other strings
+	 * as UTF-8 or UTF-16, whichever is shorter, along with a coder byte defining the used encoding.
+	 * The string's characters are read directly, without an intermediate {@code char[]} copy.
+	 * 
+	 * @param typeId the type id
+	 * @param objectId the object id
+	 * @param string the string to store
+	 * 
+	 * @see #buildStringCompact()
+	 */
+	public final void storeStringCompactSingleValue(
+		final long   typeId  ,
+		final long   objectId,
+		final String string
+	)
+	{
+		final int length     = string.length();
+		long      utf8Length = 0;
+		boolean   isLatin1   = true;
+		boolean   isUtf8Safe = true;
+		
+		for(int i = 0; i < length; i++)
+		{
+			final char c = string.charAt(i);
+			if(c < 0x80)
+			{
+				utf8Length += 1;
+			}
+			else if(c < 0x100)
+			{
+				utf8Length += 2;
+			}
+			else
+			{
+				isLatin1 = false;
+				if(c < 0x800)
+				{
+					utf8Length += 2;
+				}
+				else if(!Character.isSurrogate(c))
+				{
+					utf8Length += 3;
+				}
+				else if(Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1)))
+				{
+					utf8Length += 4;
+					i++;
+				}
+				else
+				{
+					// unpaired surrogates cannot be represented in (standard) UTF-8.
+					isUtf8Safe = false;
+					utf8Length += 3;
+				}
+			}
+		}
+		
+		final byte coder;
+		final long byteLength;
+		if(isLatin1)
+		{
+			coder      = STRING_CODER_LATIN1;
+			byteLength = length;
+		}
+		else if(isUtf8Safe && utf8Length < (long)length << 1)
+		{
+			coder      = STRING_CODER_UTF8;
+			byteLength = utf8Length;
+		}
+		else
+		{
+			coder      = STRING_CODER_UTF16;
+			byteLength = (long)length << 1;
+		}
+		
+		this.storeEntityHeader(
+			COMPACT_STRING_OFFSET_LIST + toBinaryListTotalByteLength(byteLength),
+			typeId,
+			objectId
+		);
+		this.store_byte(COMPACT_STRING_OFFSET_CODER, coder);
+		this.storeListHeader(COMPACT_STRING_OFFSET_LIST, byteLength, byteLength);
+		
+		final long elementsAddress = this.address + COMPACT_STRING_OFFSET_LIST + LIST_OFFSET_ELEMENTS;
+		switch(coder)
+		{
+			case STRING_CODER_LATIN1:
+			{
+				for(int i = 0; i < length; i++)
+				{
+					this.set_byteToAddress(elementsAddress + i, (byte)string.charAt(i));
+				}
+				break;
+			}
+			case STRING_CODER_UTF8:
+			{
+				this.storeUtf8ToAddress(elementsAddress, string);
+				break;
+			}
+			default:
+			{
+				for(int i = 0; i < length; i++)
+				{
+					this.set_charToAddress(elementsAddress + ((long)i << 1), string.charAt(i));
+				}
+			}
+		}
+	}
+	
+	private void storeUtf8ToAddress(final long address, final String string)
+	{
+		final int length = string.length();
+		
+		long a = address;
+		for(int i = 0; i < length; i++)
+		{
+			final char c = string.charAt(i);
+			if(c < 0x80)
+			{
+				this.set_byteToAddress(a++, (byte)c);
+			}
+			else if(c < 0x800)
+			{
+				this.set_byteToAddress(a++, (byte)(0xC0 | c >> 6));
+				this.set_byteToAddress(a++, (byte)(0x80 | c & 0x3F));
+			}
+			else if(Character.isHighSurrogate(c))
+			{
+				// only valid surrogate pairs can occur here, see calling context.
+				final int cp = Character.toCodePoint(c, string.charAt(++i));
+				this.set_byteToAddress(a++, (byte)(0xF0 | cp >> 18));
+				this.set_byteToAddress(a++, (byte)(0x80 | cp >> 12 & 0x3F));
+				this.set_byteToAddress(a++, (byte)(0x80 | cp >> 6 & 0x3F));
+				this.set_byteToAddress(a++, (byte)(0x80 | cp & 0x3F));
+			}
+			else
+			{
+				this.set_byteToAddress(a++, (byte)(0xE0 | c >> 12));
+				this.set_byteToAddress(a++, (byte)(0x80 | c >> 6 & 0x3F));
+				this.set_byteToAddress(a++, (byte)(0x80 | c & 0x3F));
+			}
+		}
+	}
+	
 	public final void storeStringValue(
 		final long   binaryOffset,
 		final String string
@@ -1220,6 +1381,20 @@ public abstract class Binary implements Chunk
 			address = storers[i].storeValueFromMemory(instance, memoryOffsets[i], address, handler);
 		}
 	}
+	
+	public final void storeFixedSize(
+		final PersistenceStoreHandler<Binary> handler      ,
+		final long                            contentLength,
+		final long                            typeId       ,
+		final long                            objectId     ,
+		final Object                          instance     ,
+		final long[]                          memoryOffsets,
+		final BinaryValuePlan                 storingPlan
+	)
+	{
+		this.storeEntityHeader(contentLength, typeId, objectId);
+		storingPlan.storeValuesFromMemory(instance, memoryOffsets, this.address, handler);
+	}
 
 	public final String[] buildStrings(final long stringsListOffset)
 	{
@@ -1410,6 +1585,53 @@ public abstract class Binary implements Chunk
 		// since Java 9, there is no sane way to build a string without copying the loaded data multiple times.
 		return String.valueOf(this.build_chars(offset));
 	}
+	
+	/**
+	 * Builds a {@link String} from the compact form written by
+	 * {@link #storeStringCompactSingleValue(long, long, String)}.
+	 * Latin-1 and UTF-8 strings are decoded directly from their bytes, without an intermediate {@code char[]}.
+	 * 
+	 * @return the built string
+	 */
+	public final String buildStringCompact()
+	{
+		final byte coder     = this.read_byte(COMPACT_STRING_OFFSET_CODER);
+		final long byteCount = this.getBinaryListElementCountValidating(COMPACT_STRING_OFFSET_LIST, Byte.BYTES);
+		final long address   = this.binaryListElementsAddress(COMPACT_STRING_OFFSET_LIST);
+		
+		switch(coder)
+		{
+			case STRING_CODER_LATIN1:
+			{
+				final byte[] bytes = new byte[X.checkArrayRange(byteCount)];
+				this.update_bytesFromAddress(address, bytes);
+				return new String(bytes, StandardCharsets.ISO_8859_1);
+			}
+			case STRING_CODER_UTF8:
+			{
+				final byte[] bytes = new byte[X.checkArrayRange(byteCount)];
+				this.update_bytesFromAddress(address, bytes);
+				return new String(bytes, StandardCharsets.UTF_8);
+			}
+			case STRING_CODER_UTF16:
+			{
+				if((byteCount & 1) != 0)
+				{
+					throw new BinaryPersistenceException("Odd byte count for UTF-16 string: " + byteCount);
+				}
+				final char[] chars = new char[X.checkArrayRange(byteCount >>> 1)];
+				for(int i = 0; i < chars.length; i++)
+				{
+					chars[i] = this.get_charFromAddress(address + ((long)i << 1));
+				}
+				return String.valueOf(chars);
+			}
+			default:
+			{
+				throw new BinaryPersistenceException("Unknown string coder: " + coder);
+			}
+		}
+	}
 
 	
 	public final byte[] create_bytes()
@@ -2075,6 +2297,16 @@ public abstract class Binary implements Chunk
 			address = setters[i].setValueToMemory(address, instance, memoryOffsets[i], handler);
 		}
 	}
+	
+	public final void updateFixedSize(
+		final Object                 instance     ,
+		final BinaryValuePlan        settingPlan  ,
+		final long[]                 memoryOffsets,
+		final PersistenceLoadHandler handler
+	)
+	{
+		settingPlan.setValuesToMemory(this.loadItemEntityContentAddress(), instance, memoryOffsets, handler);
+	}
 
 		
 	/**
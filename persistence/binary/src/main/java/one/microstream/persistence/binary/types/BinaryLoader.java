@@ -691,7 +691,7 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 
 		private void registerSkipOid(final long objectId)
 		{
-			synchronized(this.objectRegistry)
+			synchronized(this.objectRegistry.buildLock())
 			{
 				for(BinaryLoadItem e = this.buildItemsHashSlots[(int)(objectId & this.buildItemsHashRange)]; e != null; e = e.link)
 				{
@@ -851,7 +851,7 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 		@Override
 		public final Object get()
 		{
-			synchronized(this.objectRegistry)
+			synchronized(this.objectRegistry.buildLock())
 			{
 				this.readLoadOnce();
 				this.build();
@@ -865,7 +865,7 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 		@Override
 		public final Object getObject(final long objectId)
 		{
-			synchronized(this.objectRegistry)
+			synchronized(this.objectRegistry.buildLock())
 			{
 				this.requireReference(objectId);
 				this.readLoadOidData();
@@ -880,7 +880,7 @@ public interface BinaryLoader extends PersistenceLoader, PersistenceLoadHandler
 		@Override
 		public final <C extends Consumer<Object>> C collect(final C collector, final long... objectIds)
 		{
-			synchronized(this.objectRegistry)
+			synchronized(this.objectRegistry.buildLock())
 			{
 				for(int i = 0; i < objectIds.length; i++)
 				{
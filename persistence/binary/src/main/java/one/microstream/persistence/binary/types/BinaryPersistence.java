@@ -116,6 +116,9 @@ import one.microstream.persistence.binary.one.microstream.collections.BinaryHand
 import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerHashTable;
 import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerLimitList;
 import one.microstream.persistence.binary.one.microstream.collections.BinaryHandlerSingleton;
+import one.microstream.persistence.binary.one.microstream.collections.lazy.BinaryHandlerLazyArrayList;
+import one.microstream.persistence.binary.one.microstream.collections.lazy.BinaryHandlerLazyHashMap;
+import one.microstream.persistence.binary.one.microstream.collections.lazy.BinaryHandlerLazySegment;
 import one.microstream.persistence.binary.one.microstream.reference.BinaryHandlerLazyDefault;
 import one.microstream.persistence.binary.one.microstream.util.BinaryHandlerSubstituterDefault;
 import one.microstream.persistence.internal.PersistenceTypeDictionaryFileHandler;
@@ -380,7 +383,10 @@ public final class BinaryPersistence extends Persistence
 			BinaryHandlerEqHashTable.New()          ,
 			BinaryHandlerEqConstHashTable.New()     ,
 			BinaryHandlerSingleton.New()            ,
-			BinaryHandlerSubstituterDefault.New()
+			BinaryHandlerSubstituterDefault.New()   ,
+			BinaryHandlerLazySegment.New()          ,
+			BinaryHandlerLazyArrayList.New()        ,
+			BinaryHandlerLazyHashMap.New()
 			/* (29.10.2013 TM)TODO: more MicroStream default custom handlers
 			 * - VarString
 			 * - VarByte
@@ -24,7 +24,9 @@ import one.microstream.collections.EqHashEnum;
 import one.microstream.collections.EqHashTable;
 import one.microstream.collections.types.XEnum;
 import one.microstream.collections.types.XTable;
+import one.microstream.persistence.binary.java.lang.BinaryHandlerStringCompact;
 import one.microstream.persistence.binary.one.microstream.persistence.types.BinaryRootReferenceProvider;
+import one.microstream.persistence.types.Persistence;
 import one.microstream.persistence.types.PersistenceCustomTypeHandlerRegistry;
 import one.microstream.persistence.types.PersistenceCustomTypeHandlerRegistryEnsurer;
 import one.microstream.persistence.types.PersistenceFoundation;
@@ -33,6 +35,7 @@ import one.microstream.persistence.types.PersistenceManager;
 import one.microstream.persistence.types.PersistenceRootReferenceProvider;
 import one.microstream.persistence.types.PersistenceRootsProvider;
 import one.microstream.persistence.types.PersistenceTypeHandlerCreator;
+import one.microstream.persistence.types.PersistenceTypeRegistry;
 
 
 /**
@@ -54,6 +57,22 @@ extends PersistenceFoundation<Binary, F>
 	public BinaryValueTranslatorMappingProvider getValueTranslatorMappingProvider();
 	
 	public BinaryValueTranslatorProvider getValueTranslatorProvider();
+	
+	/**
+	 * Returns whether generic type handlers compile their per-field value functions into a per-type
+	 * {@link BinaryValuePlan}. Defaults to {@literal false}.
+	 * 
+	 * @return whether value plan compilation is enabled.
+	 */
+	public boolean isValuePlanCompilationEnabled();
+	
+	/**
+	 * Returns whether {@link String} instances are persisted in the compact form of
+	 * {@link BinaryHandlerStringCompact}. Defaults to {@literal false}.
+	 * 
+	 * @return whether compact strings are enabled.
+	 */
+	public boolean isCompactStringsEnabled();
 			
 	
 	
@@ -73,6 +92,30 @@ extends PersistenceFoundation<Binary, F>
 		BinaryValueTranslatorMappingProvider valueTranslatorMappingProvider
 	);
 	
+	/**
+	 * Enables or disables the compilation of generic type handlers' per-field value functions into a per-type
+	 * {@link BinaryValuePlan}, which replaces one interface call per field and entity with a single loop.
+	 * Must be set before the type handler creator is created.
+	 * 
+	 * @param valuePlanCompilationEnabled whether value plan compilation is enabled.
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setValuePlanCompilationEnabled(boolean valuePlanCompilationEnabled);
+	
+	/**
+	 * Enables or disables persisting {@link String} instances in the compact form of
+	 * {@link BinaryHandlerStringCompact}: Latin-1 strings with one byte per character, others as UTF-8 or UTF-16.
+	 * <p>
+	 * Enabling it for an existing database adds a new type definition for {@link String}. Strings stored
+	 * before keep being loadable via the legacy type mapping, but they are only converted to the compact form
+	 * when they are stored again. Once enabled, it must not be disabled again, since the default handler cannot
+	 * load compact strings.
+	 * 
+	 * @param compactStringsEnabled whether compact strings are enabled.
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setCompactStringsEnabled(boolean compactStringsEnabled);
+	
 	@Override
 	public PersistenceManager<Binary> createPersistenceManager();
 
@@ -95,6 +138,8 @@ extends PersistenceFoundation<Binary, F>
 		private XEnum<BinaryValueTranslatorKeyBuilder> translatorKeyBuilders  ;
 		private BinaryValueTranslatorMappingProvider   valueTranslatorMapping ;
 		private BinaryValueTranslatorProvider          valueTranslatorProvider;
+		private boolean                                valuePlanCompilation   ;
+		private boolean                                compactStrings         ;
 		
 		
 		
@@ -169,6 +214,18 @@ extends PersistenceFoundation<Binary, F>
 			return this.valueTranslatorProvider;
 		}
 		
+		@Override
+		public boolean isValuePlanCompilationEnabled()
+		{
+			return this.valuePlanCompilation;
+		}
+		
+		@Override
+		public boolean isCompactStringsEnabled()
+		{
+			return this.compactStrings;
+		}
+		
 		
 		
 		///////////////////////////////////////////////////////////////////////////
@@ -203,6 +260,20 @@ extends PersistenceFoundation<Binary, F>
 			return this.$();
 		}
 		
+		@Override
+		public F setValuePlanCompilationEnabled(final boolean valuePlanCompilationEnabled)
+		{
+			this.valuePlanCompilation = valuePlanCompilationEnabled;
+			return this.$();
+		}
+		
+		@Override
+		public F setCompactStringsEnabled(final boolean compactStringsEnabled)
+		{
+			this.compactStrings = compactStringsEnabled;
+			return this.$();
+		}
+		
 	
 
 		///////////////////////////////////////////////////////////////////////////
@@ -236,7 +307,8 @@ extends PersistenceFoundation<Binary, F>
 				this.getReferenceFieldEagerEvaluator(),
 				this.getInstantiatorProvider(),
 				this.referenceTypeHandlerManager(),
-				this.isByteOrderMismatch()
+				this.isByteOrderMismatch(),
+				this.isValuePlanCompilationEnabled()
 			);
 		}
 		
@@ -247,14 +319,52 @@ extends PersistenceFoundation<Binary, F>
 		{
 			return (f, rthm) ->
 			{
-				return BinaryPersistence.createDefaultCustomTypeHandlerRegistry(
-					rthm,
-					f.getSizedArrayLengthController(),
-					f.getTypeHandlerCreator(),
-					f.customTypeHandlers().values()
-				);
+				final PersistenceCustomTypeHandlerRegistry<Binary> registry =
+					BinaryPersistence.createDefaultCustomTypeHandlerRegistry(
+						rthm,
+						f.getSizedArrayLengthController(),
+						f.getTypeHandlerCreator(),
+						f.customTypeHandlers().values()
+					)
+				;
+				
+				return isCompactStringsEnabled(f)
+					? BinaryHandlerStringCompact.registerIn(registry)
+					: registry
+				;
 			};
 		}
+		
+		static boolean isCompactStringsEnabled(final PersistenceFoundation<Binary, ?> foundation)
+		{
+			return foundation instanceof BinaryPersistenceFoundation
+				&& ((BinaryPersistenceFoundation<?>)foundation).isCompactStringsEnabled()
+			;
+		}
+		
+		@Override
+		protected PersistenceTypeRegistry ensureTypeRegistry()
+		{
+			if(!this.isCompactStringsEnabled())
+			{
+				return super.ensureTypeRegistry();
+			}
+			
+			/*
+			 * The native TypeId of String belongs to the default handler's structure.
+			 * The compact handler must get a TypeId of its own, the native one remains with the legacy type.
+			 */
+			final PersistenceTypeRegistry registry = PersistenceTypeRegistry.New();
+			Persistence.iterateJavaBasicTypes((type, typeId) ->
+			{
+				if(type != String.class)
+				{
+					registry.registerType(typeId, type);
+				}
+			});
+			
+			return registry;
+		}
 
 		@Override
 		protected synchronized PersistenceCustomTypeHandlerRegistry<Binary> ensureCustomTypeHandlerRegistry()
@@ -27,8 +27,11 @@ import static one.microstream.persistence.types.PersistenceLogging.STORER_CONTEX
 import static one.microstream.util.logging.Logging.LazyArg;
 import static one.microstream.util.logging.Logging.LazyArgInContext;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.slf4j.Logger;
 
+import one.microstream.collections.BulkList;
 import one.microstream.hashing.XHashing;
 import one.microstream.math.XMath;
 import one.microstream.persistence.types.PersistenceAcceptor;
@@ -134,6 +137,9 @@ public interface BinaryStorer extends PersistenceStorer
 		private Item[] hashSlots;
 		private int    hashRange;
 		private long   itemCount;
+		
+		// actions to be executed after a successful commit, created lazily since hardly any storer needs them.
+		private BulkList<Runnable> commitListeners;
 
 		/*
 		 * item hashing structures get initialized lazily for the following reasons:
@@ -269,6 +275,9 @@ public interface BinaryStorer extends PersistenceStorer
 				// initializing/clearing item chain
 				(this.tail = this.head).next = null;
 				
+				// discarded data is never committed
+				this.commitListeners = null;
+				
 				this.synchCreateStoringChunksBuffers();
 			}
 		}
@@ -516,25 +525,13 @@ public interface BinaryStorer extends PersistenceStorer
 			// isEmpty locks internally
 			if(!this.isEmpty())
 			{
-				// must validate here, too, in case the WriteController disabled writing during the storer's existence.
-				this.target.validateIsStoringEnabled();
-				
-				final Binary writeData;
-				synchronized(this.head)
-				{
-					this.typeManager.checkForPendingRootInstances();
-					this.typeManager.checkForPendingRootsStoring(this);
-					writeData = this.synchComplete();
-				}
+				final Binary writeData = this.prepareCommit();
 				
 				// very costly IO-operation does not need to occupy the lock
 				this.target.write(writeData);
 				
-				synchronized(this.head)
-				{
-					this.typeManager.clearStorePendingRoots();
-					this.objectManager.mergeEntries(this);
-				}
+				this.mergeCommitted();
+				this.notifyCommitListeners();
 			}
 			this.clear();
 			
@@ -544,6 +541,85 @@ public interface BinaryStorer extends PersistenceStorer
 			return null;
 		}
 		
+		@Override
+		public final CompletableFuture<Void> commitAsync()
+		{
+			logger.debug(
+				"Committing {} object(s) asynchronously",
+				LazyArg(this::size)   // use lazy here, #size() locks
+			);
+			
+			// isEmpty locks internally
+			if(this.isEmpty())
+			{
+				this.clear();
+				return CompletableFuture.completedFuture(null);
+			}
+			
+			final Binary writeData = this.prepareCommit();
+			
+			// the entries may only become globally visible after the data has been written, exactly like in #commit
+			return this.target.writeAsync(writeData).thenRun(() ->
+			{
+				this.mergeCommitted();
+				this.notifyCommitListeners();
+				this.clear();
+				
+				logger.debug("Asynchronous commit finished successfully");
+			});
+		}
+		
+		private Binary prepareCommit()
+		{
+			// must validate here, too, in case the WriteController disabled writing during the storer's existence.
+			this.target.validateIsStoringEnabled();
+			
+			synchronized(this.head)
+			{
+				this.typeManager.checkForPendingRootInstances();
+				this.typeManager.checkForPendingRootsStoring(this);
+				return this.synchComplete();
+			}
+		}
+		
+		private void mergeCommitted()
+		{
+			synchronized(this.head)
+			{
+				this.typeManager.clearStorePendingRoots();
+				this.objectManager.mergeEntries(this);
+			}
+		}
+		
+		private void notifyCommitListeners()
+		{
+			final BulkList<Runnable> commitListeners;
+			synchronized(this.head)
+			{
+				commitListeners = this.commitListeners;
+				this.commitListeners = null;
+			}
+			
+			// listeners are executed without holding the lock, so they can do whatever they need to.
+			if(commitListeners != null)
+			{
+				commitListeners.iterate(Runnable::run);
+			}
+		}
+		
+		@Override
+		public final void registerCommitListener(final Runnable action)
+		{
+			synchronized(this.head)
+			{
+				if(this.commitListeners == null)
+				{
+					this.commitListeners = BulkList.New();
+				}
+				this.commitListeners.add(notNull(action));
+			}
+		}
+		
 		public final long lookupOid(final Object object)
 		{
 			synchronized(this.head)
@@ -102,6 +102,46 @@ public interface BinaryTypeHandlerCreator extends PersistenceTypeHandlerCreator<
 		final Referencing<PersistenceTypeHandlerManager<Binary>> typeHandlerManager        ,
 		final boolean                                            switchByteOrder
 	)
+	{
+		return New(
+			typeAnalyzer              ,
+			typeResolver              ,
+			lengthResolver            ,
+			eagerStoringFieldEvaluator,
+			instantiatorProvider      ,
+			typeHandlerManager        ,
+			switchByteOrder           ,
+			false
+		);
+	}
+	
+	/**
+	 * Creates a new {@link BinaryTypeHandlerCreator} instance.
+	 * <p>
+	 * If {@code compileValuePlans} is {@literal true}, the created generic type handlers translate their
+	 * per-field value storers and setters into a per-type {@link BinaryValuePlan} once, replacing the
+	 * per-field interface calls when storing and loading entities with a single loop.
+	 * 
+	 * @param typeAnalyzer the type analyzer
+	 * @param typeResolver the type resolver
+	 * @param lengthResolver the field length resolver
+	 * @param eagerStoringFieldEvaluator the eager storing field evaluator
+	 * @param instantiatorProvider the type instantiator provider
+	 * @param typeHandlerManager the type handler manager
+	 * @param switchByteOrder if the byte order has to be switched
+	 * @param compileValuePlans if generic type handlers shall use compiled value plans
+	 * @return a new {@link BinaryTypeHandlerCreator}
+	 */
+	public static BinaryTypeHandlerCreator New(
+		final PersistenceTypeAnalyzer                            typeAnalyzer              ,
+		final PersistenceTypeResolver                            typeResolver              ,
+		final PersistenceFieldLengthResolver                     lengthResolver            ,
+		final PersistenceEagerStoringFieldEvaluator              eagerStoringFieldEvaluator,
+		final PersistenceTypeInstantiatorProvider<Binary>        instantiatorProvider      ,
+		final Referencing<PersistenceTypeHandlerManager<Binary>> typeHandlerManager        ,
+		final boolean                                            switchByteOrder           ,
+		final boolean                                            compileValuePlans
+	)
 	{
 		return new BinaryTypeHandlerCreator.Default(
 			notNull(typeAnalyzer)              ,
@@ -110,7 +150,8 @@ public interface BinaryTypeHandlerCreator extends PersistenceTypeHandlerCreator<
 			notNull(eagerStoringFieldEvaluator),
 			notNull(instantiatorProvider)      ,
 			notNull(typeHandlerManager)        ,
-			switchByteOrder
+			switchByteOrder                    ,
+			compileValuePlans
 		);
 	}
 
@@ -125,6 +166,7 @@ public interface BinaryTypeHandlerCreator extends PersistenceTypeHandlerCreator<
 		final PersistenceTypeInstantiatorProvider<Binary>        instantiatorProvider    ;
 		final Referencing<PersistenceTypeHandlerManager<Binary>> typeHandlerManager      ;
 		final boolean                                            switchByteOrder         ;
+		final boolean                                            compileValuePlans       ;
 		      EntityTypeHandlerManager                           entityTypeHandlerManager;
 		
 		
@@ -141,11 +183,35 @@ public interface BinaryTypeHandlerCreator extends PersistenceTypeHandlerCreator<
 			final Referencing<PersistenceTypeHandlerManager<Binary>>   typeHandlerManager        ,
 			final boolean                                              switchByteOrder
 		)
+		{
+			this(
+				typeAnalyzer              ,
+				typeResolver              ,
+				lengthResolver            ,
+				eagerStoringFieldEvaluator,
+				instantiatorProvider      ,
+				typeHandlerManager        ,
+				switchByteOrder           ,
+				false
+			);
+		}
+		
+		Default(
+			final PersistenceTypeAnalyzer                              typeAnalyzer              ,
+			final PersistenceTypeResolver                              typeResolver              ,
+			final PersistenceFieldLengthResolver                       lengthResolver            ,
+			final PersistenceEagerStoringFieldEvaluator                eagerStoringFieldEvaluator,
+			final PersistenceTypeInstantiatorProvider<Binary>          instantiatorProvider      ,
+			final Referencing<PersistenceTypeHandlerManager<Binary>>   typeHandlerManager        ,
+			final boolean                                              switchByteOrder           ,
+			final boolean                                              compileValuePlans
+		)
 		{
 			super(typeAnalyzer, typeResolver, lengthResolver, eagerStoringFieldEvaluator);
 			this.instantiatorProvider = instantiatorProvider;
 			this.typeHandlerManager   = typeHandlerManager  ;
 			this.switchByteOrder      = switchByteOrder     ;
+			this.compileValuePlans    = compileValuePlans   ;
 		}
 
 
@@ -262,7 +328,8 @@ public interface BinaryTypeHandlerCreator extends PersistenceTypeHandlerCreator<
 				this.lengthResolver(),
 				this.eagerStoringFieldEvaluator(),
 				this.instantiatorProvider.provideTypeInstantiator(type),
-				this.switchByteOrder
+				this.switchByteOrder,
+				this.compileValuePlans
 			);
 		}
 		
@@ -911,6 +911,72 @@ public final class BinaryValueFunctions
 		}
 	}
 
+	/**
+	 * Maps the passed storer to its {@link BinaryValuePlan} operation code or to
+	 * {@link BinaryValuePlan#OP_UNKNOWN} if it is not one of the storers provided by this class.
+	 *
+	 * @param storer the storer to be mapped.
+	 * @return the storer's operation code.
+	 */
+	static byte storingOpcode(final BinaryValueStorer storer)
+	{
+		// identity comparisons only, the constants are the only instances
+		return storer == STORE_byte                     ? BinaryValuePlan.OP_byte
+			: storer == STORE_boolean                   ? BinaryValuePlan.OP_boolean
+			: storer == STORE_short                     ? BinaryValuePlan.OP_short
+			: storer == STORE_char                      ? BinaryValuePlan.OP_char
+			: storer == STORE_int                       ? BinaryValuePlan.OP_int
+			: storer == STORE_float                     ? BinaryValuePlan.OP_float
+			: storer == STORE_long                      ? BinaryValuePlan.OP_long
+			: storer == STORE_double                    ? BinaryValuePlan.OP_double
+			: storer == STORE_REFERENCE                 ? BinaryValuePlan.OP_REF
+			: storer == STORE_REFERENCE_EAGER           ? BinaryValuePlan.OP_REF_EAGER
+			: storer == STORE_short_REVERSED            ? BinaryValuePlan.OP_short_REV
+			: storer == STORE_char_REVERSED             ? BinaryValuePlan.OP_char_REV
+			: storer == STORE_int_REVERSED              ? BinaryValuePlan.OP_int_REV
+			: storer == STORE_float_REVERSED            ? BinaryValuePlan.OP_float_REV
+			: storer == STORE_long_REVERSED             ? BinaryValuePlan.OP_long_REV
+			: storer == STORE_double_REVERSED           ? BinaryValuePlan.OP_double_REV
+			: storer == STORE_REFERENCE_REVERSED        ? BinaryValuePlan.OP_REF_REV
+			: storer == STORE_REFERENCE_EAGER_REVERSED  ? BinaryValuePlan.OP_REF_EAGER_REV
+			: BinaryValuePlan.OP_UNKNOWN
+		;
+	}
+
+	/**
+	 * Maps the passed setter to its {@link BinaryValuePlan} operation code or to
+	 * {@link BinaryValuePlan#OP_UNKNOWN} if it is not one of the setters provided by this class.
+	 *
+	 * @param setter the setter to be mapped.
+	 * @return the setter's operation code.
+	 */
+	static byte settingOpcode(final BinaryValueSetter setter)
+	{
+		// identity comparisons only, the constants are the only instances
+		return setter == SETTER_byte            ? BinaryValuePlan.OP_byte
+			: setter == SETTER_boolean          ? BinaryValuePlan.OP_boolean
+			: setter == SETTER_short            ? BinaryValuePlan.OP_short
+			: setter == SETTER_char             ? BinaryValuePlan.OP_char
+			: setter == SETTER_int              ? BinaryValuePlan.OP_int
+			: setter == SETTER_float            ? BinaryValuePlan.OP_float
+			: setter == SETTER_long             ? BinaryValuePlan.OP_long
+			: setter == SETTER_double           ? BinaryValuePlan.OP_double
+			: setter == SETTER_REF              ? BinaryValuePlan.OP_REF
+			: setter == SETTER_short_REVERSED   ? BinaryValuePlan.OP_short_REV
+			: setter == SETTER_char_REVERSED    ? BinaryValuePlan.OP_char_REV
+			: setter == SETTER_int_REVERSED     ? BinaryValuePlan.OP_int_REV
+			: setter == SETTER_float_REVERSED   ? BinaryValuePlan.OP_float_REV
+			: setter == SETTER_long_REVERSED    ? BinaryValuePlan.OP_long_REV
+			: setter == SETTER_double_REVERSED  ? BinaryValuePlan.OP_double_REV
+			: setter == SETTER_REF_REVERSED     ? BinaryValuePlan.OP_REF_REV
+			: setter == SETTER_SKIP_1           ? BinaryValuePlan.OP_SKIP_1
+			: setter == SETTER_SKIP_2           ? BinaryValuePlan.OP_SKIP_2
+			: setter == SETTER_SKIP_4           ? BinaryValuePlan.OP_SKIP_4
+			: setter == SETTER_SKIP_8           ? BinaryValuePlan.OP_SKIP_8
+			: BinaryValuePlan.OP_UNKNOWN
+		;
+	}
+
 	
 	
 	///////////////////////////////////////////////////////////////////////////
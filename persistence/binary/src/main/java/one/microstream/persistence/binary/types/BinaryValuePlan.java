@@ -0,0 +1,451 @@
+package one.microstream.persistence.binary.types;
+
+/*-
+ * #%L
+ * microstream-persistence-binary
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import one.microstream.memory.XMemory;
+import one.microstream.persistence.types.PersistenceLoadHandler;
+import one.microstream.persistence.types.PersistenceStoreHandler;
+
+/**
+ * A per-type compiled form of a sequence of {@link BinaryValueStorer}s or {@link BinaryValueSetter}s.
+ * <p>
+ * Instead of one interface call per field per entity (which becomes megamorphic and thus not inlinable as soon
+ * as a handful of different value function instances are used across all types), the sequence is translated
+ * once per type handler into a compact array of operation codes that is executed by a single switch loop
+ * directly calling the {@link XMemory} primitives. This keeps the whole field copying and reference swizzling
+ * of an entity inside one method that the JIT can compile as a whole.
+ * <p>
+ * Only the value functions provided by {@link BinaryValueFunctions} can be compiled. For any other
+ * (e.g. custom legacy value translators), the compilation methods return {@literal null} and the caller
+ * has to keep using the value function instances.
+ *
+ * @see BinaryValueFunctions
+ */
+public final class BinaryValuePlan
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	static final byte
+		OP_UNKNOWN        = -1,
+		OP_byte           =  0,
+		OP_boolean        =  1,
+		OP_short          =  2,
+		OP_char           =  3,
+		OP_int            =  4,
+		OP_float          =  5,
+		OP_long           =  6,
+		OP_double         =  7,
+		OP_REF            =  8,
+		OP_REF_EAGER      =  9,
+		OP_short_REV      = 10,
+		OP_char_REV       = 11,
+		OP_int_REV        = 12,
+		OP_float_REV      = 13,
+		OP_long_REV       = 14,
+		OP_double_REV     = 15,
+		OP_REF_REV        = 16,
+		OP_REF_EAGER_REV  = 17,
+		OP_SKIP_1         = 18,
+		OP_SKIP_2         = 19,
+		OP_SKIP_4         = 20,
+		OP_SKIP_8         = 21
+	;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	/**
+	 * Compiles the passed storers into a {@link BinaryValuePlan} or returns {@literal null} if at least
+	 * one of them is not a known {@link BinaryValueFunctions} storer.
+	 *
+	 * @param storers the storers in persistent order.
+	 * @return a compiled plan or {@literal null}.
+	 */
+	public static BinaryValuePlan compileStoring(final BinaryValueStorer[] storers)
+	{
+		final byte[] opcodes = new byte[storers.length];
+		for(int i = 0; i < storers.length; i++)
+		{
+			if((opcodes[i] = BinaryValueFunctions.storingOpcode(storers[i])) == OP_UNKNOWN)
+			{
+				return null;
+			}
+		}
+
+		return new BinaryValuePlan(opcodes);
+	}
+
+	/**
+	 * Compiles the passed setters into a {@link BinaryValuePlan} or returns {@literal null} if at least
+	 * one of them is not a known {@link BinaryValueFunctions} setter.
+	 *
+	 * @param setters the setters in persistent order.
+	 * @return a compiled plan or {@literal null}.
+	 */
+	public static BinaryValuePlan compileSetting(final BinaryValueSetter[] setters)
+	{
+		final byte[] opcodes = new byte[setters.length];
+		for(int i = 0; i < setters.length; i++)
+		{
+			if((opcodes[i] = BinaryValueFunctions.settingOpcode(setters[i])) == OP_UNKNOWN)
+			{
+				return null;
+			}
+		}
+
+		return new BinaryValuePlan(opcodes);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	private final byte[] opcodes;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	BinaryValuePlan(final byte[] opcodes)
+	{
+		super();
+		this.opcodes = opcodes;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	public final int length()
+	{
+		return this.opcodes.length;
+	}
+
+	/**
+	 * Copies all values of {@code source} at the passed memory offsets to the binary form starting at
+	 * {@code address}, translating references to object ids via the passed handler.
+	 *
+	 * @param source the instance to read the values from.
+	 * @param memoryOffsets the source's memory offsets in persistent order.
+	 * @param address the absolute target memory address.
+	 * @param handler the handler to resolve references to object ids.
+	 * @return the absolute memory address following the last written value.
+	 */
+	public final long storeValuesFromMemory(
+		final Object                          source       ,
+		final long[]                          memoryOffsets,
+		final long                            address      ,
+		final PersistenceStoreHandler<Binary> handler
+	)
+	{
+		final byte[] opcodes = this.opcodes;
+
+		long a = address;
+		for(int i = 0; i < opcodes.length; i++)
+		{
+			final long o = memoryOffsets[i];
+			switch(opcodes[i])
+			{
+				case OP_byte:
+				{
+					XMemory.set_byte(a, XMemory.get_byte(source, o));
+					a += Byte.BYTES;
+					break;
+				}
+				case OP_boolean:
+				{
+					XMemory.set_boolean(a, XMemory.get_boolean(source, o));
+					a += Byte.BYTES;
+					break;
+				}
+				case OP_short:
+				{
+					XMemory.set_short(a, XMemory.get_short(source, o));
+					a += Short.BYTES;
+					break;
+				}
+				case OP_char:
+				{
+					XMemory.set_char(a, XMemory.get_char(source, o));
+					a += Character.BYTES;
+					break;
+				}
+				case OP_int:
+				{
+					XMemory.set_int(a, XMemory.get_int(source, o));
+					a += Integer.BYTES;
+					break;
+				}
+				case OP_float:
+				{
+					XMemory.set_float(a, XMemory.get_float(source, o));
+					a += Float.BYTES;
+					break;
+				}
+				case OP_long:
+				{
+					XMemory.set_long(a, XMemory.get_long(source, o));
+					a += Long.BYTES;
+					break;
+				}
+				case OP_double:
+				{
+					XMemory.set_double(a, XMemory.get_double(source, o));
+					a += Double.BYTES;
+					break;
+				}
+				case OP_REF:
+				{
+					XMemory.set_long(a, handler.apply(XMemory.getObject(source, o)));
+					a += Binary.objectIdByteLength();
+					break;
+				}
+				case OP_REF_EAGER:
+				{
+					XMemory.set_long(a, handler.applyEager(XMemory.getObject(source, o)));
+					a += Binary.objectIdByteLength();
+					break;
+				}
+				case OP_short_REV:
+				{
+					XMemory.set_short(a, Short.reverseBytes(XMemory.get_short(source, o)));
+					a += Short.BYTES;
+					break;
+				}
+				case OP_char_REV:
+				{
+					XMemory.set_char(a, Character.reverseBytes(XMemory.get_char(source, o)));
+					a += Character.BYTES;
+					break;
+				}
+				case OP_int_REV:
+				{
+					XMemory.set_int(a, Integer.reverseBytes(XMemory.get_int(source, o)));
+					a += Integer.BYTES;
+					break;
+				}
+				case OP_float_REV:
+				{
+					// see BinaryValueFunctions: the reversed raw bits are written directly to preserve NaN patterns.
+					XMemory.set_int(a, Integer.reverseBytes(Float.floatToRawIntBits(XMemory.get_float(source, o))));
+					a += Float.BYTES;
+					break;
+				}
+				case OP_long_REV:
+				{
+					XMemory.set_long(a, Long.reverseBytes(XMemory.get_long(source, o)));
+					a += Long.BYTES;
+					break;
+				}
+				case OP_double_REV:
+				{
+					XMemory.set_long(a, Long.reverseBytes(Double.doubleToRawLongBits(XMemory.get_double(source, o))));
+					a += Double.BYTES;
+					break;
+				}
+				case OP_REF_REV:
+				{
+					XMemory.set_long(a, Long.reverseBytes(handler.apply(XMemory.getObject(source, o))));
+					a += Binary.objectIdByteLength();
+					break;
+				}
+				case OP_REF_EAGER_REV:
+				{
+					XMemory.set_long(a, Long.reverseBytes(handler.applyEager(XMemory.getObject(source, o))));
+					a += Binary.objectIdByteLength();
+					break;
+				}
+				default:
+				{
+					// can only happen if a setting plan is used for storing
+					throw new IllegalStateException("Invalid storing operation code " + opcodes[i] + " at index " + i);
+				}
+			}
+		}
+
+		return a;
+	}
+
+	/**
+	 * Sets all values read from the binary form starting at {@code address} to {@code target} at the passed
+	 * memory offsets, resolving object ids to instances via the passed handler.
+	 *
+	 * @param address the absolute source memory address.
+	 * @param target the instance to set the values to.
+	 * @param memoryOffsets the target's memory offsets in persistent order.
+	 * @param handler the handler to resolve object ids to instances.
+	 * @return the absolute memory address following the last read value.
+	 */
+	public final long setValuesToMemory(
+		final long                   address      ,
+		final Object                 target       ,
+		final long[]                 memoryOffsets,
+		final PersistenceLoadHandler handler
+	)
+	{
+		final byte[] opcodes = this.opcodes;
+
+		long a = address;
+		for(int i = 0; i < opcodes.length; i++)
+		{
+			final long o = memoryOffsets[i];
+			switch(opcodes[i])
+			{
+				case OP_byte:
+				{
+					XMemory.set_byte(target, o, XMemory.get_byte(a));
+					a += Byte.BYTES;
+					break;
+				}
+				case OP_boolean:
+				{
+					XMemory.set_boolean(target, o, XMemory.get_boolean(a));
+					a += Byte.BYTES;
+					break;
+				}
+				case OP_short:
+				{
+					XMemory.set_short(target, o, XMemory.get_short(a));
+					a += Short.BYTES;
+					break;
+				}
+				case OP_char:
+				{
+					XMemory.set_char(target, o, XMemory.get_char(a));
+					a += Character.BYTES;
+					break;
+				}
+				case OP_int:
+				{
+					XMemory.set_int(target, o, XMemory.get_int(a));
+					a += Integer.BYTES;
+					break;
+				}
+				case OP_float:
+				{
+					XMemory.set_float(target, o, XMemory.get_float(a));
+					a += Float.BYTES;
+					break;
+				}
+				case OP_long:
+				{
+					XMemory.set_long(target, o, XMemory.get_long(a));
+					a += Long.BYTES;
+					break;
+				}
+				case OP_double:
+				{
+					XMemory.set_double(target, o, XMemory.get_double(a));
+					a += Double.BYTES;
+					break;
+				}
+				case OP_REF:
+				{
+					XMemory.setObject(target, o, handler.lookupObject(XMemory.get_long(a)));
+					a += Binary.objectIdByteLength();
+					break;
+				}
+				case OP_short_REV:
+				{
+					XMemory.set_short(target, o, Short.reverseBytes(XMemory.get_short(a)));
+					a += Short.BYTES;
+					break;
+				}
+				case OP_char_REV:
+				{
+					XMemory.set_char(target, o, Character.reverseBytes(XMemory.get_char(a)));
+					a += Character.BYTES;
+					break;
+				}
+				case OP_int_REV:
+				{
+					XMemory.set_int(target, o, Integer.reverseBytes(XMemory.get_int(a)));
+					a += Integer.BYTES;
+					break;
+				}
+				case OP_float_REV:
+				{
+					// see BinaryValueFunctions: the raw bits are reversed before the conversion to preserve NaN patterns.
+					XMemory.set_float(target, o, Float.intBitsToFloat(Integer.reverseBytes(XMemory.get_int(a))));
+					a += Float.BYTES;
+					break;
+				}
+				case OP_long_REV:
+				{
+					XMemory.set_long(target, o, Long.reverseBytes(XMemory.get_long(a)));
+					a += Long.BYTES;
+					break;
+				}
+				case OP_double_REV:
+				{
+					XMemory.set_double(target, o, Double.longBitsToDouble(Long.reverseBytes(XMemory.get_long(a))));
+					a += Double.BYTES;
+					break;
+				}
+				case OP_REF_REV:
+				{
+					XMemory.setObject(target, o, handler.lookupObject(Long.reverseBytes(XMemory.get_long(a))));
+					a += Binary.objectIdByteLength();
+					break;
+				}
+				case OP_SKIP_1:
+				{
+					a += Byte.BYTES;
+					break;
+				}
+				case OP_SKIP_2:
+				{
+					a += Short.BYTES;
+					break;
+				}
+				case OP_SKIP_4:
+				{
+					a += Integer.BYTES;
+					break;
+				}
+				case OP_SKIP_8:
+				{
+					a += Long.BYTES;
+					break;
+				}
+				default:
+				{
+					// can only happen if a storing plan is used for setting
+					throw new IllegalStateException("Invalid setting operation code " + opcodes[i] + " at index " + i);
+				}
+			}
+		}
+
+		return a;
+	}
+
+}
@@ -1025,7 +1025,7 @@ public final class DefaultObjectRegistry implements PersistenceObjectRegistry
 		);
 	}
 	
-	private static Long countOidChainLength(final Entry firstEntry)
+	static Long countOidChainLength(final Entry firstEntry)
 	{
 		long count = 0;
 		for(Entry e = firstEntry; e != null; e = e.oidNext)
@@ -1039,7 +1039,7 @@ public final class DefaultObjectRegistry implements PersistenceObjectRegistry
 		return count;
 	}
 	
-	private static Long countRefChainLength(final Entry firstEntry)
+	static Long countRefChainLength(final Entry firstEntry)
 	{
 		long count = 0;
 		for(Entry e = firstEntry; e != null; e = e.refNext)
@@ -1053,7 +1053,7 @@ public final class DefaultObjectRegistry implements PersistenceObjectRegistry
 		return count;
 	}
 	
-	private static void registerDistribution(
+	static void registerDistribution(
 		final EqHashTable<Long, Long> distributionTable,
 		final Long                    bucketLength
 	)
@@ -1070,7 +1070,7 @@ public final class DefaultObjectRegistry implements PersistenceObjectRegistry
 		}
 	}
 	
-	private static void complete(final EqHashTable<Long, Long> distributionTable)
+	static void complete(final EqHashTable<Long, Long> distributionTable)
 	{
 		distributionTable.keys().sort(XSort::compare);
 		final Long highest = distributionTable.last().key();
@@ -0,0 +1,1141 @@
+package one.microstream.persistence.internal;
+
+/*-
+ * #%L
+ * microstream-persistence
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.KeyValue;
+import static one.microstream.math.XMath.positive;
+
+import one.microstream.collections.EqHashTable;
+import one.microstream.collections.types.XGettingTable;
+import one.microstream.hashing.HashStatisticsBucketBased;
+import one.microstream.hashing.XHashing;
+import one.microstream.math.XMath;
+import one.microstream.persistence.exceptions.PersistenceExceptionConsistency;
+import one.microstream.persistence.exceptions.PersistenceExceptionConsistencyObject;
+import one.microstream.persistence.exceptions.PersistenceExceptionConsistencyObjectId;
+import one.microstream.persistence.exceptions.PersistenceExceptionImproperObjectId;
+import one.microstream.persistence.internal.DefaultObjectRegistry.Entry;
+import one.microstream.persistence.types.PersistenceAcceptor;
+import one.microstream.persistence.types.PersistenceObjectRegistry;
+import one.microstream.reference.Swizzling;
+import one.microstream.typing.KeyValue;
+
+/**
+ * A {@link PersistenceObjectRegistry} implementation for highly concurrent usage.
+ * <p>
+ * In contrast to {@link DefaultObjectRegistry}, which synchronizes every operation on the registry instance,
+ * the entries are distributed over independently locked stripes: one set of stripes per objectId and one per
+ * object identity. Lookups only lock the one stripe they query, registering locks exactly one stripe of each kind
+ * (always in the order objectId stripe, then object stripe) and consolidating or rebuilding is done stripe by
+ * stripe, so other threads can continue to work on all other stripes in the meantime.
+ * <p>
+ * Operations spanning the whole registry, like {@link #size()} or {@link #clear()}, are not atomic in regard
+ * to concurrently executed registrations.
+ * <p>
+ * The registry reports itself as {@link #isConcurrent() concurrent}, so its callers only synchronize on it for
+ * operations consisting of multiple calls. Building loaded instances is synchronized on a separate
+ * {@link #buildLock() build lock}.
+ */
+public final class StripedObjectRegistry implements PersistenceObjectRegistry
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	public static final float defaultHashDensity()
+	{
+		return DefaultObjectRegistry.defaultHashDensity();
+	}
+	
+	public static final int defaultStripeCount()
+	{
+		// enough stripes to make collisions of concurrently working threads unlikely.
+		return XHashing.padHashLength(Runtime.getRuntime().availableProcessors() * 4L);
+	}
+	
+	
+
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	static final long calculateCapacity(final int hashLength, final float hashDensity)
+	{
+		return hashLength >= XMath.highestPowerOf2_int()
+			? Long.MAX_VALUE
+			: (long)(hashLength * hashDensity)
+		;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// static constructors //
+	////////////////////////
+	
+	public static StripedObjectRegistry New()
+	{
+		return New(defaultStripeCount());
+	}
+	
+	public static StripedObjectRegistry New(final int stripeCount)
+	{
+		return New(defaultHashDensity(), 1, stripeCount);
+	}
+	
+	/**
+	 * @param hashDensity reasonable values are within [0.75; 2.00].
+	 * @param minimumCapacity the initial minimum capacity of the whole registry
+	 * @param stripeCount the amount of independently locked stripes. Padded to the next power of 2.
+	 * @return the newly created {@link StripedObjectRegistry}
+	 */
+	public static StripedObjectRegistry New(
+		final float hashDensity    ,
+		final long  minimumCapacity,
+		final int   stripeCount
+	)
+	{
+		return new StripedObjectRegistry(
+			XHashing.padHashLength(positive(stripeCount)),
+			DefaultObjectRegistry.validateHashDensity(hashDensity),
+			DefaultObjectRegistry.validateCapacity(minimumCapacity)
+		);
+	}
+	
+	
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	private final OidStripe[] oidStripes ;
+	private final RefStripe[] refStripes ;
+	private final int         stripeRange; // bit mask used to select a stripe.
+	
+	// configuration changes are synchronized on the registry instance, entry operations are not.
+	private volatile float hashDensity;
+	private volatile long  minCapacity;
+	
+	// integrated special constants registry, guarded by its own monitor.
+	private final EqHashTable<Long, Object> constants = EqHashTable.New();
+	
+	// separate from the registry's monitor, so that building loaded instances does not block storing.
+	private final Object buildLock = new Object();
+
+	
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	StripedObjectRegistry(
+		final int   stripeCount    ,
+		final float hashDensity    ,
+		final long  minimumCapacity
+	)
+	{
+		super();
+		this.hashDensity = hashDensity    ;
+		this.minCapacity = minimumCapacity;
+		this.stripeRange = stripeCount - 1;
+		this.oidStripes  = new OidStripe[stripeCount];
+		this.refStripes  = new RefStripe[stripeCount];
+		
+		// the bits used to select a stripe are skipped for selecting a stripe's hash table slot.
+		final int stripeShift = XMath.log2pow2(stripeCount);
+		for(int i = 0; i < stripeCount; i++)
+		{
+			this.oidStripes[i] = new OidStripe(stripeShift);
+			this.refStripes[i] = new RefStripe(stripeShift);
+		}
+		
+		this.internalReset(minimumCapacity);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	private OidStripe oidStripe(final long objectId)
+	{
+		return this.oidStripes[(int)objectId & this.stripeRange];
+	}
+	
+	private RefStripe refStripe(final Object object)
+	{
+		return this.refStripes[DefaultObjectRegistry.hash(object) & this.stripeRange];
+	}
+	
+	private long calculateStripeCapacity(final long capacity)
+	{
+		final int stripeCount = this.oidStripes.length;
+		
+		return Math.max(capacity / stripeCount + (capacity % stripeCount == 0 ? 0 : 1), 1);
+	}
+	
+	private int calculateRequiredStripeHashLength(final long capacity)
+	{
+		return XHashing.padHashLength((long)(this.calculateStripeCapacity(capacity) / this.hashDensity));
+	}
+	
+	private void internalReset(final long minimumCapacity)
+	{
+		final int   hashLength  = this.calculateRequiredStripeHashLength(minimumCapacity);
+		final float hashDensity = this.hashDensity;
+		
+		for(final OidStripe stripe : this.oidStripes)
+		{
+			synchronized(stripe)
+			{
+				stripe.reset(hashLength, hashDensity);
+			}
+		}
+		for(final RefStripe stripe : this.refStripes)
+		{
+			synchronized(stripe)
+			{
+				stripe.reset(hashLength, hashDensity);
+			}
+		}
+	}
+	
+	private void internalUpdateCapacity()
+	{
+		final float hashDensity = this.hashDensity;
+		
+		for(final OidStripe stripe : this.oidStripes)
+		{
+			synchronized(stripe)
+			{
+				stripe.updateCapacity(hashDensity);
+			}
+		}
+		for(final RefStripe stripe : this.refStripes)
+		{
+			synchronized(stripe)
+			{
+				stripe.updateCapacity(hashDensity);
+			}
+		}
+	}
+	
+	@Override
+	public final StripedObjectRegistry Clone()
+	{
+		return StripedObjectRegistry.New(this.hashDensity, this.minCapacity, this.oidStripes.length);
+	}
+
+	@Override
+	public final int hashRange()
+	{
+		long hashRange = 0;
+		for(final OidStripe stripe : this.oidStripes)
+		{
+			synchronized(stripe)
+			{
+				hashRange += stripe.table.length;
+			}
+		}
+		
+		return (int)Math.min(hashRange, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public final float hashDensity()
+	{
+		return this.hashDensity;
+	}
+	
+	@Override
+	public final long minimumCapacity()
+	{
+		return this.minCapacity;
+	}
+
+	@Override
+	public final long capacity()
+	{
+		long capacity = 0;
+		for(final OidStripe stripe : this.oidStripes)
+		{
+			synchronized(stripe)
+			{
+				if(stripe.capacity == Long.MAX_VALUE)
+				{
+					return Long.MAX_VALUE;
+				}
+				capacity += stripe.capacity;
+			}
+		}
+		
+		return capacity;
+	}
+
+	@Override
+	public final long size()
+	{
+		long size = 0;
+		for(final OidStripe stripe : this.oidStripes)
+		{
+			synchronized(stripe)
+			{
+				size += stripe.size;
+			}
+		}
+		
+		return size;
+	}
+
+	@Override
+	public final boolean isEmpty()
+	{
+		return this.size() == 0;
+	}
+	
+	@Override
+	public final synchronized boolean setHashDensity(final float hashDensity)
+	{
+		this.hashDensity = DefaultObjectRegistry.validateHashDensity(hashDensity);
+		
+		this.internalUpdateCapacity();
+		return this.ensureCapacity(this.minCapacity);
+	}
+	
+	@Override
+	public final synchronized boolean setConfiguration(
+		final float hashDensity    ,
+		final long  minimumCapacity
+	)
+	{
+		// both values are checked before modifying any state
+		DefaultObjectRegistry.validateHashDensity(hashDensity);
+		DefaultObjectRegistry.validateCapacity(minimumCapacity);
+		
+		this.hashDensity = hashDensity;
+		this.minCapacity = minimumCapacity;
+		
+		this.internalUpdateCapacity();
+		return this.ensureCapacity(minimumCapacity);
+	}
+	
+	@Override
+	public final synchronized boolean setMinimumCapacity(final long minimumCapacity)
+	{
+		this.minCapacity = DefaultObjectRegistry.validateCapacity(minimumCapacity);
+		
+		this.internalUpdateCapacity();
+		return this.ensureCapacity(minimumCapacity);
+	}
+	
+	@Override
+	public final boolean ensureCapacity(final long desiredCapacity)
+	{
+		DefaultObjectRegistry.validateCapacity(desiredCapacity);
+		
+		final int   requiredHashLength = this.calculateRequiredStripeHashLength(desiredCapacity);
+		final float hashDensity        = this.hashDensity;
+		
+		boolean rebuilt = false;
+		for(final OidStripe stripe : this.oidStripes)
+		{
+			synchronized(stripe)
+			{
+				rebuilt |= stripe.ensureHashLength(requiredHashLength, hashDensity);
+			}
+		}
+		for(final RefStripe stripe : this.refStripes)
+		{
+			synchronized(stripe)
+			{
+				rebuilt |= stripe.ensureHashLength(requiredHashLength, hashDensity);
+			}
+		}
+		
+		return rebuilt;
+	}
+
+	@Override
+	public final boolean containsObjectId(final long objectId)
+	{
+		final OidStripe stripe = this.oidStripe(objectId);
+		synchronized(stripe)
+		{
+			return stripe.lookup(objectId) != null;
+		}
+	}
+	
+	@Override
+	public final long lookupObjectId(final Object object)
+	{
+		if(object == null)
+		{
+			throw new NullPointerException();
+		}
+		
+		final RefStripe stripe = this.refStripe(object);
+		synchronized(stripe)
+		{
+			final Entry entry = stripe.lookup(object);
+			
+			return entry == null
+				? Swizzling.notFoundId()
+				: entry.objectId
+			;
+		}
+	}
+
+	@Override
+	public final Object lookupObject(final long objectId)
+	{
+		final OidStripe stripe = this.oidStripe(objectId);
+		synchronized(stripe)
+		{
+			final Entry entry = stripe.lookup(objectId);
+			
+			return entry == null
+				? null
+				: entry.get()
+			;
+		}
+	}
+	
+	@Override
+	public final boolean isValid(final long objectId, final Object object)
+	{
+		return this.internalValidate(objectId, object, false);
+	}
+	
+	@Override
+	public final void validate(final long objectId, final Object object)
+	{
+		this.internalValidate(objectId, object, true);
+	}
+	
+	private boolean internalValidate(final long objectId, final Object object, final boolean throwException)
+	{
+		final long registeredObjectId = this.lookupObjectId(object);
+		if(registeredObjectId == objectId)
+		{
+			// already registered entry
+			return true;
+		}
+		
+		if(Swizzling.isNotFoundId(registeredObjectId))
+		{
+			final Object registeredObject = this.lookupObject(objectId);
+			if(registeredObject == null)
+			{
+				// consistently not registered object
+				return true;
+			}
+			
+			if(!throwException)
+			{
+				return false;
+			}
+			if(registeredObject == object)
+			{
+				throw new PersistenceExceptionConsistency("Inconsistent object registry for objectId " + objectId);
+			}
+			throw new PersistenceExceptionConsistencyObject(objectId, registeredObject, object);
+		}
+		
+		if(!throwException)
+		{
+			return false;
+		}
+		throw new PersistenceExceptionConsistencyObjectId(object, registeredObjectId, objectId);
+	}
+	
+	private static void validateArguments(final long objectId, final Object object)
+	{
+		if(object == null)
+		{
+			throw new NullPointerException();
+		}
+		if(Swizzling.isNotProperId(objectId))
+		{
+			throw new PersistenceExceptionImproperObjectId();
+		}
+	}
+	
+	@Override
+	public final boolean registerObject(final long objectId, final Object object)
+	{
+		validateArguments(objectId, object);
+		
+		// lock order is always objectId stripe first, object stripe second. Hence no deadlocks.
+		final OidStripe oidStripe = this.oidStripe(objectId);
+		final RefStripe refStripe = this.refStripe(object);
+		synchronized(oidStripe)
+		{
+			synchronized(refStripe)
+			{
+				return this.internalAddGet(oidStripe, refStripe, objectId, object) == null;
+			}
+		}
+	}
+
+	@Override
+	public final Object optionalRegisterObject(final long objectId, final Object object)
+	{
+		validateArguments(objectId, object);
+		
+		final OidStripe oidStripe = this.oidStripe(objectId);
+		final RefStripe refStripe = this.refStripe(object);
+		synchronized(oidStripe)
+		{
+			synchronized(refStripe)
+			{
+				final Object alreadyRegistered = this.internalAddGet(oidStripe, refStripe, objectId, object);
+				
+				return alreadyRegistered != null
+					? alreadyRegistered
+					: object
+				;
+			}
+		}
+	}
+	
+	/**
+	 * Returns the object already registered for the passed objectId or registers the passed object and
+	 * returns {@literal null}. Both stripes must be locked by the calling thread.
+	 */
+	private Object internalAddGet(
+		final OidStripe oidStripe,
+		final RefStripe refStripe,
+		final long      objectId ,
+		final Object    object
+	)
+	{
+		final Entry existing = oidStripe.lookup(objectId);
+		if(existing != null)
+		{
+			final Object registered;
+			if((registered = existing.get()) != null)
+			{
+				return registered;
+			}
+			
+			/*
+			 * Orphan entry removal is always right, even in case of an error.
+			 * Only the objectId chain can be cleaned up here, as the object stripe of the former referent
+			 * is not locked. The orphan in there is harmless and will be removed by the next consolidation.
+			 */
+			oidStripe.remove(existing);
+		}
+		
+		final Entry registeredEntry = refStripe.lookup(object);
+		if(registeredEntry != null)
+		{
+			throw new PersistenceExceptionConsistencyObjectId(object, registeredEntry.objectId, objectId);
+		}
+		
+		final Entry entry = new Entry(objectId, object, null, null);
+		final float hashDensity = this.hashDensity;
+		oidStripe.add(entry, hashDensity);
+		refStripe.add(entry, hashDensity);
+		
+		return null;
+	}
+	
+	@Override
+	public final boolean registerConstant(final long objectId, final Object constant)
+	{
+		if(!this.registerObject(objectId, constant))
+		{
+			return false;
+		}
+		
+		synchronized(this.constants)
+		{
+			this.constants.add(objectId, constant);
+		}
+		
+		return true;
+	}
+
+	@Override
+	public final <A extends PersistenceAcceptor> A iterateEntries(final A acceptor)
+	{
+		for(final OidStripe stripe : this.oidStripes)
+		{
+			synchronized(stripe)
+			{
+				stripe.iterateEntries(acceptor);
+			}
+		}
+		
+		return acceptor;
+	}
+	
+	// consolidation //
+	
+	@Override
+	public final boolean consolidate()
+	{
+		/*
+		 * Every stripe is locked and consolidated on its own, so all other stripes remain available
+		 * to concurrently working threads. In contrast to the single-locked implementation, orphans are
+		 * counted and removed per objectId stripe and per object stripe independently.
+		 */
+		final long  stripeMinimumCapacity = this.calculateStripeCapacity(this.minCapacity);
+		final float hashDensity           = this.hashDensity;
+		
+		boolean rebuilt = false;
+		for(final OidStripe stripe : this.oidStripes)
+		{
+			synchronized(stripe)
+			{
+				stripe.consolidate();
+				rebuilt |= stripe.checkForDecrease(
+					this.calculateRequiredStripeHashLength(Math.max(stripe.size, stripeMinimumCapacity)),
+					hashDensity
+				);
+			}
+		}
+		for(final RefStripe stripe : this.refStripes)
+		{
+			synchronized(stripe)
+			{
+				stripe.consolidate();
+				rebuilt |= stripe.checkForDecrease(
+					this.calculateRequiredStripeHashLength(Math.max(stripe.size, stripeMinimumCapacity)),
+					hashDensity
+				);
+			}
+		}
+		
+		return rebuilt;
+	}
+	
+	// clearing //
+	
+	@Override
+	public final synchronized void clear()
+	{
+		final EqHashTable<Long, Object> constants = this.copyConstants();
+		this.clearAll();
+		this.internalReregisterConstants(constants);
+	}
+	
+	@Override
+	public final synchronized void clearAll()
+	{
+		for(final OidStripe stripe : this.oidStripes)
+		{
+			synchronized(stripe)
+			{
+				stripe.clear();
+			}
+		}
+		for(final RefStripe stripe : this.refStripes)
+		{
+			synchronized(stripe)
+			{
+				stripe.clear();
+			}
+		}
+	}
+
+	@Override
+	public final synchronized void truncate()
+	{
+		// reinitialize storage strucuture with at least enough capacity for the incoming constants.
+		final EqHashTable<Long, Object> constants = this.copyConstants();
+		this.internalReset(Math.max(constants.size(), this.minCapacity));
+		this.internalReregisterConstants(constants);
+	}
+	
+	@Override
+	public final synchronized void truncateAll()
+	{
+		// hash table reset, no constants reregistering.
+		this.internalReset(this.minCapacity);
+	}
+	
+	// locking //
+	
+	@Override
+	public final boolean isConcurrent()
+	{
+		return true;
+	}
+	
+	@Override
+	public final Object buildLock()
+	{
+		return this.buildLock;
+	}
+	
+	// Constants handling //
+	
+	private EqHashTable<Long, Object> copyConstants()
+	{
+		synchronized(this.constants)
+		{
+			return EqHashTable.New(this.constants);
+		}
+	}
+	
+	private void internalReregisterConstants(final EqHashTable<Long, Object> constants)
+	{
+		for(final KeyValue<Long, Object> e : constants)
+		{
+			// NOT registerConstant() at this point!
+			this.registerObject(e.key(), e.value());
+		}
+	}
+	
+	// HashStatistics //
+	
+	@Override
+	public final XGettingTable<String, HashStatisticsBucketBased> createHashStatistics()
+	{
+		return EqHashTable.New(
+			KeyValue("PerObjectIds", this.internalCreateHashStatisticsOids()),
+			KeyValue("PerObjects", this.internalCreateHashStatisticsRefs())
+		);
+	}
+	
+	private HashStatisticsBucketBased internalCreateHashStatisticsOids()
+	{
+		final EqHashTable<Long, Long> distributionTable = EqHashTable.New();
+		
+		long hashLength = 0, size = 0;
+		for(final OidStripe stripe : this.oidStripes)
+		{
+			synchronized(stripe)
+			{
+				final Entry[] table = stripe.table;
+				for(int h = 0; h < table.length; h++)
+				{
+					DefaultObjectRegistry.registerDistribution(
+						distributionTable,
+						DefaultObjectRegistry.countOidChainLength(table[h])
+					);
+				}
+				hashLength += table.length;
+				size       += stripe.size;
+			}
+		}
+		DefaultObjectRegistry.complete(distributionTable);
+		
+		return HashStatisticsBucketBased.New(
+			hashLength                     ,
+			size                           ,
+			this.hashDensity               ,
+			distributionTable.keys().last(),
+			distributionTable
+		);
+	}
+
+	private HashStatisticsBucketBased internalCreateHashStatisticsRefs()
+	{
+		final EqHashTable<Long, Long> distributionTable = EqHashTable.New();
+		
+		long hashLength = 0, size = 0;
+		for(final RefStripe stripe : this.refStripes)
+		{
+			synchronized(stripe)
+			{
+				final Entry[] table = stripe.table;
+				for(int h = 0; h < table.length; h++)
+				{
+					DefaultObjectRegistry.registerDistribution(
+						distributionTable,
+						DefaultObjectRegistry.countRefChainLength(table[h])
+					);
+				}
+				hashLength += table.length;
+				size       += stripe.size;
+			}
+		}
+		DefaultObjectRegistry.complete(distributionTable);
+		
+		return HashStatisticsBucketBased.New(
+			hashLength                     ,
+			size                           ,
+			this.hashDensity               ,
+			distributionTable.keys().last(),
+			distributionTable
+		);
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// member types //
+	/////////////////
+
+	/**
+	 * Hash table of entries chained via {@link Entry#oidNext}. All methods must be called while holding the
+	 * stripe's monitor.
+	 */
+	static final class OidStripe
+	{
+		final int     shift    ;
+		      Entry[] table    ;
+		      int     hashRange;
+		      long    capacity ;
+		      long    size     ;
+		
+		OidStripe(final int shift)
+		{
+			super();
+			this.shift = shift;
+		}
+		
+		final int index(final long objectId, final int hashRange)
+		{
+			return (int)(objectId >>> this.shift) & hashRange;
+		}
+		
+		final void reset(final int hashLength, final float hashDensity)
+		{
+			this.setTable(new Entry[hashLength], hashDensity);
+			this.size = 0;
+		}
+		
+		final void setTable(final Entry[] table, final float hashDensity)
+		{
+			this.table     = table;
+			this.hashRange = table.length - 1;
+			this.updateCapacity(hashDensity);
+		}
+		
+		final void updateCapacity(final float hashDensity)
+		{
+			this.capacity = calculateCapacity(this.table.length, hashDensity);
+		}
+		
+		final Entry lookup(final long objectId)
+		{
+			for(Entry e = this.table[this.index(objectId, this.hashRange)]; e != null; e = e.oidNext)
+			{
+				if(e.objectId == objectId)
+				{
+					return e;
+				}
+			}
+			
+			return null;
+		}
+		
+		final void add(final Entry entry, final float hashDensity)
+		{
+			final int index = this.index(entry.objectId, this.hashRange);
+			entry.oidNext = this.table[index];
+			this.table[index] = entry;
+			
+			if(++this.size > this.capacity)
+			{
+				this.rebuild(this.table.length << 1, hashDensity);
+			}
+		}
+		
+		final void remove(final Entry entry)
+		{
+			final Entry[] table = this.table;
+			final int     index = this.index(entry.objectId, this.hashRange);
+			for(Entry e = table[index], last = null; e != null; e = (last = e).oidNext)
+			{
+				if(e == entry)
+				{
+					if(last == null)
+					{
+						table[index] = e.oidNext;
+					}
+					else
+					{
+						last.oidNext = e.oidNext;
+					}
+					this.size--;
+					return;
+				}
+			}
+		}
+		
+		final void consolidate()
+		{
+			final Entry[] table = this.table;
+			
+			int orphanCount = 0;
+			for(int h = 0; h < table.length; h++)
+			{
+				for(Entry e = table[h], lastProper = null; e != null; e = e.oidNext)
+				{
+					if(e.get() != null)
+					{
+						lastProper = e;
+						continue;
+					}
+					
+					if(lastProper == null)
+					{
+						table[h] = e.oidNext;
+					}
+					else
+					{
+						lastProper.oidNext = e.oidNext;
+					}
+					orphanCount++;
+				}
+			}
+			
+			this.size -= orphanCount;
+		}
+		
+		final boolean ensureHashLength(final int requiredHashLength, final float hashDensity)
+		{
+			if(requiredHashLength > this.table.length)
+			{
+				this.rebuild(requiredHashLength, hashDensity);
+				return true;
+			}
+			
+			return false;
+		}
+		
+		final boolean checkForDecrease(final int requiredHashLength, final float hashDensity)
+		{
+			if(requiredHashLength < this.table.length)
+			{
+				this.rebuild(requiredHashLength, hashDensity);
+				return true;
+			}
+			
+			return false;
+		}
+		
+		final void rebuild(final int hashLength, final float hashDensity)
+		{
+			final Entry[] oldTable  = this.table;
+			final Entry[] newTable  = new Entry[hashLength];
+			final int     hashRange = hashLength - 1;
+			
+			int orphanCount = 0;
+			for(int i = 0; i < oldTable.length; i++)
+			{
+				for(Entry e = oldTable[i], next; e != null; e = next)
+				{
+					next = e.oidNext;
+					if(e.get() == null)
+					{
+						orphanCount++;
+						continue;
+					}
+					
+					final int index = this.index(e.objectId, hashRange);
+					e.oidNext = newTable[index];
+					newTable[index] = e;
+				}
+			}
+			
+			this.size -= orphanCount;
+			this.setTable(newTable, hashDensity);
+		}
+		
+		final void clear()
+		{
+			final Entry[] table = this.table;
+			for(int i = 0; i < table.length; i++)
+			{
+				table[i] = null;
+			}
+			this.size = 0;
+		}
+		
+		final void iterateEntries(final PersistenceAcceptor acceptor)
+		{
+			final Entry[] table = this.table;
+			for(int s = 0; s < table.length; s++)
+			{
+				for(Entry e = table[s]; e != null; e = e.oidNext)
+				{
+					acceptor.accept(e.objectId, e.get());
+				}
+			}
+		}
+		
+	}
+	
+	/**
+	 * Hash table of entries chained via {@link Entry#refNext}. All methods must be called while holding the
+	 * stripe's monitor.
+	 */
+	static final class RefStripe
+	{
+		final int     shift    ;
+		      Entry[] table    ;
+		      int     hashRange;
+		      long    capacity ;
+		      long    size     ;
+		
+		RefStripe(final int shift)
+		{
+			super();
+			this.shift = shift;
+		}
+		
+		final int index(final int refHash, final int hashRange)
+		{
+			return refHash >>> this.shift & hashRange;
+		}
+		
+		final void reset(final int hashLength, final float hashDensity)
+		{
+			this.setTable(new Entry[hashLength], hashDensity);
+			this.size = 0;
+		}
+		
+		final void setTable(final Entry[] table, final float hashDensity)
+		{
+			this.table     = table;
+			this.hashRange = table.length - 1;
+			this.updateCapacity(hashDensity);
+		}
+		
+		final void updateCapacity(final float hashDensity)
+		{
+			this.capacity = calculateCapacity(this.table.length, hashDensity);
+		}
+		
+		final Entry lookup(final Object object)
+		{
+			for(Entry e = this.table[this.index(DefaultObjectRegistry.hash(object), this.hashRange)]; e != null; e = e.refNext)
+			{
+				if(e.get() == object)
+				{
+					return e;
+				}
+			}
+			
+			return null;
+		}
+		
+		final void add(final Entry entry, final float hashDensity)
+		{
+			final int index = this.index(entry.refHash, this.hashRange);
+			entry.refNext = this.table[index];
+			this.table[index] = entry;
+			
+			if(++this.size > this.capacity)
+			{
+				this.rebuild(this.table.length << 1, hashDensity);
+			}
+		}
+		
+		final void consolidate()
+		{
+			final Entry[] table = this.table;
+			
+			int orphanCount = 0;
+			for(int h = 0; h < table.length; h++)
+			{
+				for(Entry e = table[h], lastProper = null; e != null; e = e.refNext)
+				{
+					if(e.get() != null)
+					{
+						lastProper = e;
+						continue;
+					}
+					
+					if(lastProper == null)
+					{
+						table[h] = e.refNext;
+					}
+					else
+					{
+						lastProper.refNext = e.refNext;
+					}
+					orphanCount++;
+				}
+			}
+			
+			this.size -= orphanCount;
+		}
+		
+		final boolean ensureHashLength(final int requiredHashLength, final float hashDensity)
+		{
+			if(requiredHashLength > this.table.length)
+			{
+				this.rebuild(requiredHashLength, hashDensity);
+				return true;
+			}
+			
+			return false;
+		}
+		
+		final boolean checkForDecrease(final int requiredHashLength, final float hashDensity)
+		{
+			if(requiredHashLength < this.table.length)
+			{
+				this.rebuild(requiredHashLength, hashDensity);
+				return true;
+			}
+			
+			return false;
+		}
+		
+		final void rebuild(final int hashLength, final float hashDensity)
+		{
+			final Entry[] oldTable  = this.table;
+			final Entry[] newTable  = new Entry[hashLength];
+			final int     hashRange = hashLength - 1;
+			
+			int orphanCount = 0;
+			for(int i = 0; i < oldTable.length; i++)
+			{
+				for(Entry e = oldTable[i], next; e != null; e = next)
+				{
+					next = e.refNext;
+					if(e.get() == null)
+					{
+						orphanCount++;
+						continue;
+					}
+					
+					final int index = this.index(e.refHash, hashRange);
+					e.refNext = newTable[index];
+					newTable[index] = e;
+				}
+			}
+			
+			this.size -= orphanCount;
+			this.setTable(newTable, hashDensity);
+		}
+		
+		final void clear()
+		{
+			final Entry[] table = this.table;
+			for(int i = 0; i < table.length; i++)
+			{
+				table[i] = null;
+			}
+			this.size = 0;
+		}
+		
+	}
+
+}
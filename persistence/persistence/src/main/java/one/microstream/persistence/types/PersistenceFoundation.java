@@ -102,6 +102,8 @@ extends Cloneable<PersistenceFoundation<D, F>>,
 	public PersistenceSource<D> getPersistenceSource();
 	
 	public PersistenceObjectRegistry getObjectRegistry();
+	
+	public PersistenceObjectRegistry.Creator getObjectRegistryCreator();
 
 	public PersistenceObjectManager<D> getObjectManager();
 	
@@ -230,6 +232,19 @@ extends Cloneable<PersistenceFoundation<D, F>>,
 	
 	public F setObjectRegistry(PersistenceObjectRegistry objectRegistry);
 	
+	/**
+	 * Sets the {@link PersistenceObjectRegistry.Creator} used to create the object registry if no
+	 * {@link PersistenceObjectRegistry} instance is set explicitly. The Java constants are registered
+	 * in the created registry automatically.
+	 * <p>
+	 * For highly concurrent applications, {@link PersistenceObjectRegistry#CreatorStriped()} provides a
+	 * registry without a single global monitor.
+	 * 
+	 * @param objectRegistryCreator the creator to be used.
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setObjectRegistryCreator(PersistenceObjectRegistry.Creator objectRegistryCreator);
+	
 	public F setTypeRegistry(PersistenceTypeRegistry typeRegistry);
 
 	public F setInstanceDispatcher(InstanceDispatcherLogic instanceDispatcher);
@@ -445,6 +460,7 @@ extends Cloneable<PersistenceFoundation<D, F>>,
 		private PersistenceTypeIdProvider                      tidProvider                     ;
 		private PersistenceTypeRegistry                        typeRegistry                    ;
 		private PersistenceObjectRegistry                      objectRegistry                  ;
+		private PersistenceObjectRegistry.Creator              objectRegistryCreator           ;
 		private PersistenceTypeHandlerManager<D>               typeHandlerManager              ;
 		private PersistenceContextDispatcher<D>                contextDispatcher               ;
 		private PersistenceStorer.Creator<D>                   storerCreator                   ;
@@ -686,6 +702,17 @@ extends Cloneable<PersistenceFoundation<D, F>>,
 			return this.objectRegistry;
 		}
 		
+		@Override
+		public PersistenceObjectRegistry.Creator getObjectRegistryCreator()
+		{
+			if(this.objectRegistryCreator == null)
+			{
+				this.objectRegistryCreator = this.dispatch(this.ensureObjectRegistryCreator());
+			}
+			
+			return this.objectRegistryCreator;
+		}
+		
 		@Override
 		public PersistenceTypeRegistry getTypeRegistry()
 		{
@@ -1511,6 +1538,15 @@ extends Cloneable<PersistenceFoundation<D, F>>,
 			return this.$();
 		}
 		
+		@Override
+		public F setObjectRegistryCreator(
+			final PersistenceObjectRegistry.Creator objectRegistryCreator
+		)
+		{
+			this.objectRegistryCreator = objectRegistryCreator;
+			return this.$();
+		}
+		
 		@Override
 		public F setTypeRegistry(final PersistenceTypeRegistry typeRegistry)
 		{
@@ -2019,11 +2055,16 @@ extends Cloneable<PersistenceFoundation<D, F>>,
 
 		protected PersistenceObjectRegistry ensureObjectRegistry()
 		{
-			final PersistenceObjectRegistry registry = PersistenceObjectRegistry.New();
+			final PersistenceObjectRegistry registry = this.getObjectRegistryCreator().createObjectRegistry();
 			Persistence.registerJavaConstants(registry);
 			
 			return registry;
 		}
+		
+		protected PersistenceObjectRegistry.Creator ensureObjectRegistryCreator()
+		{
+			return PersistenceObjectRegistry.Creator();
+		}
 
 		protected PersistenceTypeRegistry ensureTypeRegistry()
 		{
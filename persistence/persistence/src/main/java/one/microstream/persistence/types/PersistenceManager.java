@@ -24,6 +24,7 @@ import static one.microstream.X.mayNull;
 import static one.microstream.X.notNull;
 
 import java.nio.ByteOrder;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 import one.microstream.X;
@@ -324,6 +325,40 @@ ByteOrderTargeting<PersistenceManager<D>>
 			}
 		}
 		
+		@Override
+		public final CompletableFuture<Long> storeAsync(final Object object)
+		{
+			final long objectId;
+			final CompletableFuture<Void> committed;
+			final PersistenceStorer persister = this.createStorer();
+			
+			// the mutex is only held until the data is handed over, which suffices to guarantee the order.
+			synchronized(this.storeMutex)
+			{
+				objectId  = persister.store(object);
+				committed = persister.commitAsync();
+			}
+
+			return committed.thenApply(v -> objectId);
+		}
+
+		@Override
+		public final CompletableFuture<long[]> storeAllAsync(final Object... instances)
+		{
+			final long[] objectIds;
+			final CompletableFuture<Void> committed;
+			final PersistenceStorer persister = this.createStorer();
+			
+			// the mutex is only held until the data is handed over, which suffices to guarantee the order.
+			synchronized(this.storeMutex)
+			{
+				objectIds = persister.storeAll(instances);
+				committed = persister.commitAsync();
+			}
+
+			return committed.thenApply(v -> objectIds);
+		}
+		
 		@Override
 		public final long ensureObjectId(final Object object)
 		{
@@ -93,6 +93,9 @@ extends PersistenceSwizzlingLookup, PersistenceObjectIdHolder, Cloneable<Persist
 		private final PersistenceObjectRegistry   objectRegistry;
 		private final PersistenceObjectIdProvider oidProvider   ;
 		
+		// single registry operations need no outer lock, see PersistenceObjectRegistry#isConcurrent
+		private final boolean                     isConcurrent  ;
+		
 		private WeakReference<PersistenceLocalObjectIdRegistry<D>>[] localRegistries = X.WeakReferences(1);
 		
 		private final PersistenceObjectIdRequestor<D> noOp = PersistenceObjectIdRequestor.NoOp();
@@ -109,8 +112,9 @@ extends PersistenceSwizzlingLookup, PersistenceObjectIdHolder, Cloneable<Persist
 		)
 		{
 			super();
-			this.objectRegistry = objectRegistry;
-			this.oidProvider    = oidProvider   ;
+			this.objectRegistry = objectRegistry             ;
+			this.oidProvider    = oidProvider                ;
+			this.isConcurrent   = objectRegistry.isConcurrent();
 		}
 
 
@@ -139,6 +143,12 @@ extends PersistenceSwizzlingLookup, PersistenceObjectIdHolder, Cloneable<Persist
 		@Override
 		public void consolidate()
 		{
+			if(this.isConcurrent)
+			{
+				this.objectRegistry.consolidate();
+				return;
+			}
+			
 			synchronized(this.objectRegistry)
 			{
 				this.objectRegistry.consolidate();
@@ -148,6 +158,11 @@ extends PersistenceSwizzlingLookup, PersistenceObjectIdHolder, Cloneable<Persist
 		@Override
 		public long lookupObjectId(final Object object)
 		{
+			if(this.isConcurrent)
+			{
+				return this.objectRegistry.lookupObjectId(object);
+			}
+			
 			synchronized(this.objectRegistry)
 			{
 				return this.objectRegistry.lookupObjectId(object);
@@ -160,7 +175,8 @@ extends PersistenceSwizzlingLookup, PersistenceObjectIdHolder, Cloneable<Persist
 //			XDebug.debugln(XChars.systemString(this) + " looking up \n" + objectId
 //				+ " -> " + XChars.systemString(this.objectRegistry.lookupObject(objectId))
 //			);
-			synchronized(this.objectRegistry)
+			// the looked up instance must not be one that is currently being built by a loader.
+			synchronized(this.isConcurrent ? this.objectRegistry.buildLock() : this.objectRegistry)
 			{
 				return this.objectRegistry.lookupObject(objectId);
 			}
@@ -186,7 +202,20 @@ extends PersistenceSwizzlingLookup, PersistenceObjectIdHolder, Cloneable<Persist
 			 * 1.) check if already globally known.
 			 * 2.) check if already locally known in on of the other storers (= "local registries)"
 			 * 3.) otherwise, provide and assign a new ObjectId.
+			 * 
+			 * A concurrent registry allows to check step 1 without the lock first: an association, once registered,
+			 * does not change, so the lock is only required if the object is not yet globally known.
 			 */
+			if(this.isConcurrent)
+			{
+				final long objectId = this.objectRegistry.lookupObjectId(object);
+				if(Swizzling.isProperId(objectId))
+				{
+					objectIdRequestor.registerEagerOptional(objectId, object, optionalHandler);
+					return objectId;
+				}
+			}
+			
 			synchronized(this.objectRegistry)
 			{
 				long objectId;
@@ -235,6 +264,16 @@ extends PersistenceSwizzlingLookup, PersistenceObjectIdHolder, Cloneable<Persist
 		)
 		{
 			// see #ensureObjectId for explaining comments
+			if(this.isConcurrent)
+			{
+				final long objectId = this.objectRegistry.lookupObjectId(object);
+				if(Swizzling.isProperId(objectId))
+				{
+					objectIdRequestor.registerGuaranteed(objectId, object, optionalHandler);
+					return objectId;
+				}
+			}
+			
 			synchronized(this.objectRegistry)
 			{
 				long objectId;
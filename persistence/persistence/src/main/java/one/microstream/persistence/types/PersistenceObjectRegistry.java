@@ -23,6 +23,7 @@ package one.microstream.persistence.types;
 import one.microstream.collections.types.XGettingTable;
 import one.microstream.hashing.HashStatistics;
 import one.microstream.persistence.internal.DefaultObjectRegistry;
+import one.microstream.persistence.internal.StripedObjectRegistry;
 import one.microstream.util.Cloneable;
 
 /**
@@ -154,6 +155,39 @@ public interface PersistenceObjectRegistry extends PersistenceSwizzlingLookup, C
 	
 	// removing logic is not viable except for testing purposes, which can be done implementation-specific.
 	
+	// locking //
+	
+	/**
+	 * Returns whether every single operation of this registry is thread safe on its own.
+	 * <p>
+	 * If {@literal false}, callers have to synchronize every access on the registry instance.
+	 * If {@literal true}, single operations may be called without an outer lock. Operations consisting of multiple
+	 * calls that have to be atomic as a whole, like assigning a new objectId to a not yet registered object,
+	 * still have to be synchronized on the registry instance, so a concurrent registry may not use its own monitor
+	 * to guard its entries.
+	 * 
+	 * @return whether single operations may be called without synchronizing on the registry instance.
+	 */
+	public default boolean isConcurrent()
+	{
+		return false;
+	}
+	
+	/**
+	 * Returns the monitor that loaders have to hold while building loaded instances, as well as every caller
+	 * who looks up instances by objectId without an outer lock and requires them to be completely built.
+	 * Loaders register new instances before they are completely initialized, so building them has to be
+	 * mutually exclusive with other loaders using the same registry.
+	 * <p>
+	 * By default, this is the registry instance itself.
+	 * 
+	 * @return the monitor to synchronize the building of loaded instances on.
+	 */
+	public default Object buildLock()
+	{
+		return this;
+	}
+	
 	public XGettingTable<String, ? extends HashStatistics> createHashStatistics();
 	
 	
@@ -163,4 +197,34 @@ public interface PersistenceObjectRegistry extends PersistenceSwizzlingLookup, C
 		return DefaultObjectRegistry.New();
 	}
 	
+	/**
+	 * Creates a new {@link StripedObjectRegistry} that distributes its entries over independently locked stripes
+	 * instead of synchronizing every operation on one monitor. Preferable for many concurrently storing and
+	 * loading threads.
+	 * 
+	 * @return a new {@link StripedObjectRegistry} instance.
+	 */
+	public static StripedObjectRegistry NewStriped()
+	{
+		return StripedObjectRegistry.New();
+	}
+	
+	
+	
+	public static PersistenceObjectRegistry.Creator Creator()
+	{
+		return PersistenceObjectRegistry::New;
+	}
+	
+	public static PersistenceObjectRegistry.Creator CreatorStriped()
+	{
+		return PersistenceObjectRegistry::NewStriped;
+	}
+	
+	@FunctionalInterface
+	public interface Creator
+	{
+		public PersistenceObjectRegistry createObjectRegistry();
+	}
+	
 }
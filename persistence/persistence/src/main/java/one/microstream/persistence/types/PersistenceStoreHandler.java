@@ -51,4 +51,19 @@ public interface PersistenceStoreHandler<D> extends PersistenceFunction
 	
 	public ObjectSwizzling getObjectRetriever();
 	
+	/**
+	 * Registers an action to be executed once the data handled so far has been committed successfully.
+	 * If the commit fails or the handled data gets discarded otherwise, the action is never executed.<br>
+	 * This is needed, for example, to reset state that marks an instance as requiring to be stored, since
+	 * doing so while storing it would lose that information if the commit fails.<br>
+	 * The default implementation never executes the action, which only causes such instances to be
+	 * stored again.
+	 * 
+	 * @param action the action to be executed after a successful commit.
+	 */
+	public default void registerCommitListener(final Runnable action)
+	{
+		// no-op by default, since never executing the action is always safe.
+	}
+	
 }
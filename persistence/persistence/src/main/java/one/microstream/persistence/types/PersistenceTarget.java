@@ -20,12 +20,33 @@ package one.microstream.persistence.types;
  * #L%
  */
 
+import java.util.concurrent.CompletableFuture;
+
 import one.microstream.persistence.exceptions.PersistenceExceptionTransfer;
 
 public interface PersistenceTarget<D> extends PersistenceWriteController
 {
 	public void write(D data) throws PersistenceExceptionTransfer;
 	
+	/**
+	 * Writes the passed data like {@link #write(Object)}, but without waiting for the writing to be completed,
+	 * if the target supports it. Problems that occur before the data is handed over to the target's writing
+	 * logic are thrown directly, all others complete the returned future exceptionally.
+	 * <p>
+	 * By default, the data is written synchronously and a completed future is returned.
+	 * 
+	 * @param data the data to be written.
+	 * @return a future that completes when the data has been written.
+	 * 
+	 * @throws PersistenceExceptionTransfer if the data cannot be handed over to the target.
+	 */
+	public default CompletableFuture<Void> writeAsync(final D data) throws PersistenceExceptionTransfer
+	{
+		this.write(data);
+		
+		return CompletableFuture.completedFuture(null);
+	}
+	
 	/**
 	 * Prepare to write to this target. E.g. open a defined file.
 	 * 
@@ -25,8 +25,8 @@ import static one.microstream.X.notNull;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
-import one.microstream.collections.HashMapIdObject;
 import one.microstream.collections.MiniMap;
+import one.microstream.collections.OpenHashMapIdObject;
 import one.microstream.persistence.exceptions.PersistenceExceptionConsistency;
 import one.microstream.persistence.exceptions.PersistenceExceptionTypeHandlerConsistencyConflictedType;
 import one.microstream.persistence.exceptions.PersistenceExceptionTypeHandlerConsistencyConflictedTypeId;
@@ -63,8 +63,8 @@ extends PersistenceTypeHandlerLookup<D>, PersistenceTypeRegistry, PersistenceTyp
 
 		private final PersistenceTypeRegistry typeRegistry;
 
-		private final MiniMap<Class<?>, PersistenceTypeHandler<D, ?>> handlersByType   = new MiniMap<>();
-		private final HashMapIdObject<PersistenceTypeHandler<D, ?>>   handlersByTypeId = HashMapIdObject.New();
+		private final MiniMap<Class<?>, PersistenceTypeHandler<D, ?>>   handlersByType   = new MiniMap<>()         ;
+		private final OpenHashMapIdObject<PersistenceTypeHandler<D, ?>> handlersByTypeId = OpenHashMapIdObject.New();
 
 
 
@@ -106,7 +106,17 @@ extends PersistenceTypeHandlerLookup<D>, PersistenceTypeRegistry, PersistenceTyp
 		@Override
 		public PersistenceTypeHandler<D, ?> lookupTypeHandler(final long typeId)
 		{
-			return this.handlersByTypeId.get(typeId);
+			final PersistenceTypeHandler<D, ?> typeHandler = this.handlersByTypeId.get(typeId);
+			if(typeHandler != null)
+			{
+				return typeHandler;
+			}
+			
+			// the unlocked lookup might miss a handler being registered concurrently, only a locked one is definite.
+			synchronized(this.handlersByType)
+			{
+				return this.handlersByTypeId.get(typeId);
+			}
 		}
 
 		@Override
@@ -22,8 +22,8 @@ import java.util.function.BiConsumer;
  * #L%
  */
 
-import one.microstream.collections.HashMapIdObject;
 import one.microstream.collections.HashMapObjectId;
+import one.microstream.collections.OpenHashMapIdObject;
 import one.microstream.persistence.exceptions.PersistenceException;
 import one.microstream.persistence.exceptions.PersistenceExceptionConsistency;
 import one.microstream.persistence.exceptions.PersistenceExceptionConsistencyWrongType;
@@ -50,8 +50,8 @@ public interface PersistenceTypeRegistry extends PersistenceTypeLookup
 		// instance fields //
 		////////////////////
 
-		private final HashMapIdObject<Class<?>> typesPerIds = HashMapIdObject.New();
-		private final HashMapObjectId<Class<?>> idsPerTypes = HashMapObjectId.New();
+		private final OpenHashMapIdObject<Class<?>> typesPerIds = OpenHashMapIdObject.New();
+		private final HashMapObjectId<Class<?>>     idsPerTypes = HashMapObjectId.New()    ;
 		
 		
 		
@@ -188,7 +188,7 @@ public interface PersistenceTypeRegistry extends PersistenceTypeLookup
 		}
 		
 		@Override
-		public void iteratePerIds(final BiConsumer<Long, ? super Class<?>> consumer)
+		public final synchronized void iteratePerIds(final BiConsumer<Long, ? super Class<?>> consumer)
 		{
 			this.typesPerIds.iterate(c -> consumer.accept(c.key(), c.value()));
 		}
@@ -20,6 +20,8 @@ package one.microstream.persistence.types;
  * #L%
  */
 
+import java.util.concurrent.CompletableFuture;
+
 import one.microstream.reference.ObjectSwizzling;
 
 public interface Persister extends ObjectSwizzling, PersistenceStoring
@@ -47,6 +49,40 @@ public interface Persister extends ObjectSwizzling, PersistenceStoring
 	 */
 	@Override
 	public void storeAll(Iterable<?> instances);
+	
+	/**
+	 * Asynchronous variant of {@link #store(Object)}: Collects the data to be stored, hands it over to be
+	 * persisted and returns without waiting for the persisting to be completed.
+	 * The same ordering and durability guarantees apply as for {@link #store(Object)}.
+	 * See {@link Storer#commitAsync()}.
+	 * 
+	 * @param instance the root instance of the subgraph to be stored.
+	 * @return a future that completes with the object id of the passed instance when the data has been persisted.
+	 */
+	public default CompletableFuture<Long> storeAsync(final Object instance)
+	{
+		final Storer storer   = this.createStorer();
+		final long   objectId = storer.store(instance);
+		
+		return storer.commitAsync().thenApply(v -> objectId);
+	}
+	
+	/**
+	 * Asynchronous variant of {@link #storeAll(Object...)}: Collects the data to be stored, hands it over to be
+	 * persisted and returns without waiting for the persisting to be completed.
+	 * The same ordering and durability guarantees apply as for {@link #storeAll(Object...)}.
+	 * See {@link Storer#commitAsync()}.
+	 * 
+	 * @param instances the root instances of the subgraphs to be stored.
+	 * @return a future that completes with the object ids of the passed instances when the data has been persisted.
+	 */
+	public default CompletableFuture<long[]> storeAllAsync(final Object... instances)
+	{
+		final Storer storer    = this.createStorer();
+		final long[] objectIds = storer.storeAll(instances);
+		
+		return storer.commitAsync().thenApply(v -> objectIds);
+	}
 
 	
 	/**
@@ -20,6 +20,8 @@ package one.microstream.persistence.types;
  * #L%
  */
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * A type extending the simple {@link PersistenceStoring} to enable stateful store handling.
  * This can be used to do what is generally called "transactions": preprocess data to be stored and then store
@@ -42,6 +44,25 @@ public interface Storer extends PersistenceStoring
 	 */
 	public Object commit();
 
+	/**
+	 * Asynchronous variant of {@link #commit()}: Hands the collected data over to be persisted and returns
+	 * without waiting for the persisting to be completed, if the underlying target supports it.
+	 * The same atomicity and ordering guarantees apply as for {@link #commit()}: Commits are persisted in the
+	 * order of the calls to this method and either all or none of a commit's data is persisted.
+	 * <p>
+	 * The storer instance may not be used again until the returned future has completed.
+	 * <p>
+	 * By default, {@link #commit()} is called and a completed future is returned.
+	 *
+	 * @return a future that completes when all collected data has been persisted.
+	 */
+	public default CompletableFuture<Void> commitAsync()
+	{
+		this.commit();
+		
+		return CompletableFuture.completedFuture(null);
+	}
+
 	/**
 	 * Clears all internal state regarding collected data and/or registered skips.
 	 */
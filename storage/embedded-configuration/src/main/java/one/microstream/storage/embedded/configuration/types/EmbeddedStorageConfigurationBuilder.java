@@ -234,6 +234,21 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 	 */
 	public EmbeddedStorageConfigurationBuilder setEntityCacheTimeout(Duration entityCacheTimeout);
 
+	/**
+	 * Enables the frequency-based entity cache evaluator with the given recency window. Entities used within
+	 * this timespan stay in the cache, all others only if they are used frequently enough in relation to the
+	 * cache's fullness. If not set, the default entity cache evaluator is used.
+	 * See {@link StorageEntityCacheEvaluator#NewFrequencyBased(long, long)}.
+	 *
+	 * @param entityCacheFrequencyWindow the new recency window
+	 * @return this
+	 *
+	 * @see Duration
+	 * @see #setEntityCacheThreshold(long)
+	 * @see #setEntityCacheTimeout(Duration)
+	 */
+	public EmbeddedStorageConfigurationBuilder setEntityCacheFrequencyWindow(Duration entityCacheFrequencyWindow);
+
 	/**
 	 * Minimum file size for a data file to avoid cleaning it up. Default is 1 MiB.
 	 *
@@ -530,6 +545,14 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 			return this.set(ENTITY_CACHE_TIMEOUT, entityCacheTimeout.toString());
 		}
 
+		@Override
+		public EmbeddedStorageConfigurationBuilder setEntityCacheFrequencyWindow(
+			final Duration entityCacheFrequencyWindow
+		)
+		{
+			return this.set(ENTITY_CACHE_FREQUENCY_WINDOW, entityCacheFrequencyWindow.toString());
+		}
+
 		@Override
 		public EmbeddedStorageConfigurationBuilder setDataFileMinimumSize(
 			final ByteSize dataFileMinimumSize
@@ -117,6 +117,11 @@ public interface EmbeddedStorageConfigurationPropertyNames
 	 */
 	public final static String ENTITY_CACHE_TIMEOUT          = "entity-cache-timeout";
 
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setEntityCacheFrequencyWindow(java.time.Duration)
+	 */
+	public final static String ENTITY_CACHE_FREQUENCY_WINDOW = "entity-cache-frequency-window";
+
 	/**
 	 * @see EmbeddedStorageConfigurationBuilder#setDataFileMinimumSize(one.microstream.configuration.types.ByteSize)
 	 */
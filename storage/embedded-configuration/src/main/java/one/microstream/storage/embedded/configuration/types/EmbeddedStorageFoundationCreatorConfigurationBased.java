@@ -41,6 +41,7 @@ import one.microstream.storage.types.StorageChannelCountProvider;
 import one.microstream.storage.types.StorageConfiguration;
 import one.microstream.storage.types.StorageDataFileEvaluator;
 import one.microstream.storage.types.StorageEntityCacheEvaluator;
+import one.microstream.storage.types.StorageEntityFrequencySketch;
 import one.microstream.storage.types.StorageFileNameProvider;
 import one.microstream.storage.types.StorageHousekeepingController;
 import one.microstream.storage.types.StorageLiveFileProvider;
@@ -244,13 +245,23 @@ public interface EmbeddedStorageFoundationCreatorConfigurationBased extends Embe
 
 		private StorageEntityCacheEvaluator createEntityCacheEvaluator()
 		{
-			return Storage.EntityCacheEvaluator(
-				this.configuration.opt(ENTITY_CACHE_TIMEOUT, Duration.class)
-					.map(Duration::toMillis)
-					.orElse(StorageEntityCacheEvaluator.Defaults.defaultTimeoutMs()),
-				this.configuration.optLong(ENTITY_CACHE_THRESHOLD)
-					.orElse(StorageEntityCacheEvaluator.Defaults.defaultCacheThreshold())
-			);
+			final long timeoutMs = this.configuration.opt(ENTITY_CACHE_TIMEOUT, Duration.class)
+				.map(Duration::toMillis)
+				.orElse(StorageEntityCacheEvaluator.Defaults.defaultTimeoutMs())
+			;
+			final long threshold = this.configuration.optLong(ENTITY_CACHE_THRESHOLD)
+				.orElse(StorageEntityCacheEvaluator.Defaults.defaultCacheThreshold())
+			;
+			
+			return this.configuration.opt(ENTITY_CACHE_FREQUENCY_WINDOW, Duration.class)
+				.map(window -> (StorageEntityCacheEvaluator)StorageEntityCacheEvaluator.NewFrequencyBased(
+					timeoutMs                         ,
+					threshold                         ,
+					window.toMillis()                 ,
+					StorageEntityFrequencySketch.New()
+				))
+				.orElseGet(() -> Storage.EntityCacheEvaluator(timeoutMs, threshold))
+			;
 		}
 		
 		private String createDirectoryPath(
@@ -22,6 +22,8 @@ package one.microstream.storage.embedded.types;
 
 import static one.microstream.X.notNull;
 
+import java.util.concurrent.CompletableFuture;
+
 import one.microstream.persistence.binary.types.Binary;
 import one.microstream.persistence.exceptions.PersistenceExceptionTransfer;
 import one.microstream.persistence.types.PersistenceTarget;
@@ -32,6 +34,9 @@ public interface EmbeddedStorageBinaryTarget extends PersistenceTarget<Binary>
 {
 	@Override
 	public void write(Binary data) throws PersistenceExceptionTransfer;
+	
+	@Override
+	public CompletableFuture<Void> writeAsync(Binary data) throws PersistenceExceptionTransfer;
 
 
 	
@@ -91,6 +96,20 @@ public interface EmbeddedStorageBinaryTarget extends PersistenceTarget<Binary>
 			}
 		}
 		
+		@Override
+		public final CompletableFuture<Void> writeAsync(final Binary data) throws PersistenceExceptionTransfer
+		{
+			try
+			{
+				this.writeController.validateIsWritable();
+				return this.requestAcceptor.storeDataAsync(data);
+			}
+			catch(final Exception e)
+			{
+				throw new PersistenceExceptionTransfer(e);
+			}
+		}
+		
 		@Override
 		public final void validateIsWritable()
 		{
@@ -0,0 +1,73 @@
+package one.microstream.collections;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+
+@DisplayName("Check the mappings and the closing of the off-heap OpenHashMapIdId")
+public class OpenHashMapIdIdOffHeapTest
+{
+	private static final int ENTRY_COUNT = 10_000;
+	
+	@Test
+	public void shouldMapIdsBeyondInitialCapacity()
+	{
+		try(final OpenHashMapIdId.OffHeap map = OpenHashMapIdId.NewOffHeap())
+		{
+			for(long id = 0; id < ENTRY_COUNT; id++)
+			{
+				Assertions.assertTrue(map.put(id, id * 2));
+			}
+			
+			Assertions.assertEquals(ENTRY_COUNT, map.size());
+			for(long id = 0; id < ENTRY_COUNT; id++)
+			{
+				Assertions.assertEquals(id * 2, map.get(id));
+			}
+			
+			Assertions.assertEquals(84L, map.remove(42));
+			Assertions.assertFalse(map.containsId(42));
+			Assertions.assertEquals(ENTRY_COUNT - 1, map.size());
+		}
+	}
+	
+	@Test
+	public void shouldRejectAccessAfterClose()
+	{
+		final OpenHashMapIdId.OffHeap map = OpenHashMapIdId.NewOffHeap();
+		map.put(1, 1);
+		map.close();
+		
+		Assertions.assertTrue(map.isClosed());
+		Assertions.assertThrows(IllegalStateException.class, () -> map.get(1));
+		Assertions.assertThrows(IllegalStateException.class, () -> map.put(2, 2));
+		Assertions.assertThrows(IllegalStateException.class, () -> map.remove(1));
+		Assertions.assertThrows(IllegalStateException.class, () -> map.iterateIds(id -> {}));
+		Assertions.assertThrows(IllegalStateException.class, map::clear);
+		
+		// closing again has no effect
+		map.close();
+	}
+
+}
@@ -0,0 +1,101 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.storage.types.Storage;
+
+
+@DisplayName("Check if strings stored with the native String TypeId can be loaded with compact strings enabled")
+public class CompactStringLegacyLoadTest
+{
+	@TempDir
+	Path directory;
+	
+	@Test
+	public void shouldLoadLegacyStringsWithCompactStrings()
+	{
+		final List<String> legacyData = new ArrayList<>(Arrays.asList(
+			"latin-1 text",
+			"latin-1 äöü",
+			"utf-8 € 中文",
+			""
+		));
+		
+		final EmbeddedStorageManager legacy = this.start(false);
+		try
+		{
+			legacy.setRoot(legacyData);
+			legacy.storeRoot();
+		}
+		finally
+		{
+			legacy.shutdown();
+		}
+		
+		final EmbeddedStorageManager compact = this.start(true);
+		try
+		{
+			Assertions.assertEquals(legacyData, compact.root());
+			
+			// mixes compact records into the legacy ones.
+			@SuppressWarnings("unchecked")
+			final List<String> data = (List<String>)compact.root();
+			data.add("compact ä €");
+			compact.store(data);
+			legacyData.add("compact ä €");
+		}
+		finally
+		{
+			compact.shutdown();
+		}
+		
+		final EmbeddedStorageManager restarted = this.start(true);
+		try
+		{
+			Assertions.assertEquals(legacyData, restarted.root());
+		}
+		finally
+		{
+			restarted.shutdown();
+		}
+	}
+	
+	private EmbeddedStorageManager start(final boolean isCompactStringsEnabled)
+	{
+		return EmbeddedStorage.Foundation(Storage.ConfigurationBuilder()
+			.setStorageFileProvider(Storage.FileProvider(this.directory))
+			.createConfiguration()
+		)
+		.onConnectionFoundation(f -> f.setCompactStringsEnabled(isCompactStringsEnabled))
+		.start();
+	}
+
+}
@@ -0,0 +1,155 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import one.microstream.afs.nio.types.NioFileSystem;
+import one.microstream.afs.types.AFile;
+import one.microstream.collections.EqHashEnum;
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageDataFileCompressor;
+import one.microstream.storage.types.StorageDataFileEvaluator;
+import one.microstream.storage.types.StorageFileWriter;
+
+
+@DisplayName("Check if data exported from a compressed storage can be imported again")
+public class CompressedStorageExportImportTest
+{
+	private static final int ENTITY_COUNT = 20_000;
+	
+	@TempDir
+	Path directory;
+	
+	@ParameterizedTest
+	@ValueSource(booleans = {false, true})
+	public void shouldImportExportedCompressedData(final boolean isTargetCompressed) throws IOException
+	{
+		final NioFileSystem fileSystem      = NioFileSystem.New();
+		final Path          sourceDirectory = this.directory.resolve("source");
+		final Path          exportDirectory = this.directory.resolve("export");
+		final Path          targetDirectory = this.directory.resolve("target");
+		
+		final List<String> data = new ArrayList<>();
+		for(int i = 0; i < ENTITY_COUNT; i++)
+		{
+			data.add("entity " + i + " with a well compressible payload payload payload");
+		}
+		
+		final EmbeddedStorageManager source = start(sourceDirectory, true);
+		try
+		{
+			source.setRoot(data);
+			source.storeRoot();
+			source.createConnection().exportChannels(
+				Storage.FileProvider(fileSystem.ensureDirectory(exportDirectory))
+			);
+		}
+		finally
+		{
+			source.shutdown();
+		}
+		
+		// the export holds the uncompressed data, like it is read from the storage.
+		Assertions.assertTrue(dataFileLength(exportDirectory) > dataFileLength(sourceDirectory));
+		
+		// the imported data refers to the source's types.
+		Files.createDirectories(targetDirectory);
+		Files.copy(
+			sourceDirectory.resolve("PersistenceTypeDictionary.ptd"),
+			targetDirectory.resolve("PersistenceTypeDictionary.ptd")
+		);
+		
+		final EqHashEnum<AFile> importFiles = EqHashEnum.New();
+		try(Stream<Path> files = Files.walk(exportDirectory))
+		{
+			files.filter(CompressedStorageExportImportTest::isDataFile).sorted().forEach(file ->
+				importFiles.add(fileSystem.ensureFile(file))
+			);
+		}
+		
+		final EmbeddedStorageManager importing = start(targetDirectory, isTargetCompressed);
+		try
+		{
+			importing.importFiles(importFiles);
+		}
+		finally
+		{
+			importing.shutdown();
+		}
+		
+		final EmbeddedStorageManager target = start(targetDirectory, isTargetCompressed);
+		try
+		{
+			Assertions.assertEquals(data, target.root());
+		}
+		finally
+		{
+			target.shutdown();
+		}
+	}
+	
+	private static EmbeddedStorageManager start(final Path directory, final boolean isCompressed)
+	{
+		final EmbeddedStorageFoundation<?> foundation = EmbeddedStorage.Foundation(
+			Storage.ConfigurationBuilder()
+				.setStorageFileProvider(Storage.FileProvider(directory))
+				// small files to export and import several files per channel
+				.setDataFileEvaluator(StorageDataFileEvaluator.New(16 * 1024, 256 * 1024, 0.8))
+				.createConfiguration()
+		);
+		if(isCompressed)
+		{
+			foundation.setWriterProvider(StorageFileWriter.Provider(StorageDataFileCompressor.New()));
+		}
+		
+		return foundation.start();
+	}
+	
+	private static boolean isDataFile(final Path file)
+	{
+		return file.getFileName().toString().endsWith(".dat");
+	}
+	
+	private static long dataFileLength(final Path directory) throws IOException
+	{
+		try(Stream<Path> files = Files.walk(directory))
+		{
+			return files
+				.filter(CompressedStorageExportImportTest::isDataFile)
+				.mapToLong(file -> file.toFile().length())
+				.sum()
+			;
+		}
+	}
+	
+}
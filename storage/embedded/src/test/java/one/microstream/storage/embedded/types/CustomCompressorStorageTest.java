@@ -0,0 +1,144 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageDataFileCompressor;
+import one.microstream.storage.types.StorageFileWriter;
+
+
+@DisplayName("Check if data files of a custom compressor are read with the compressor of their header")
+public class CustomCompressorStorageTest
+{
+	private static final int ENTITY_COUNT = 5_000;
+	
+	@TempDir
+	Path directory;
+	
+	@Test
+	public void shouldReadCustomCompressedDataAfterDisablingCompression()
+	{
+		final List<String> data = new ArrayList<>();
+		for(int i = 0; i < ENTITY_COUNT; i++)
+		{
+			data.add("entity " + i + " with a well compressible payload payload payload");
+		}
+		
+		final EmbeddedStorageManager writing = this.start(StorageFileWriter.Provider(new XorDeflateCompressor()));
+		try
+		{
+			writing.setRoot(data);
+			writing.storeRoot();
+		}
+		finally
+		{
+			writing.shutdown();
+		}
+		
+		// the built-in DEFLATE compressor must not be used for a foreign format.
+		Assertions.assertThrows(RuntimeException.class, () -> this.start(new StorageFileWriter.Provider.Default()));
+		
+		final EmbeddedStorageManager reading = this.start(
+			StorageFileWriter.DecompressingProvider(new XorDeflateCompressor())
+		);
+		try
+		{
+			Assertions.assertEquals(data, reading.root());
+		}
+		finally
+		{
+			reading.shutdown();
+		}
+	}
+	
+	private EmbeddedStorageManager start(final StorageFileWriter.Provider writerProvider)
+	{
+		return EmbeddedStorage.Foundation(
+			Storage.ConfigurationBuilder()
+				.setStorageFileProvider(Storage.FileProvider(this.directory))
+				.createConfiguration()
+		)
+		.setWriterProvider(writerProvider)
+		.start();
+	}
+	
+	
+	/**
+	 * A format that is not readable as plain DEFLATE.
+	 */
+	static final class XorDeflateCompressor implements StorageDataFileCompressor
+	{
+		private static final byte MASK = 0x5A;
+		
+		private final StorageDataFileCompressor deflate = StorageDataFileCompressor.New();
+		
+		@Override
+		public int algorithmId()
+		{
+			return 1000;
+		}
+		
+		@Override
+		public int blockLength()
+		{
+			return this.deflate.blockLength();
+		}
+		
+		@Override
+		public int compress(final byte[] source, final int sourceLength, final byte[] target)
+		{
+			final int length = this.deflate.compress(source, sourceLength, target);
+			if(length < sourceLength)
+			{
+				mask(target, length);
+			}
+			
+			return length;
+		}
+		
+		@Override
+		public void decompress(final byte[] source, final int sourceLength, final byte[] target, final int targetLength)
+		{
+			final byte[] unmasked = source.clone();
+			mask(unmasked, sourceLength);
+			this.deflate.decompress(unmasked, sourceLength, target, targetLength);
+		}
+		
+		private static void mask(final byte[] bytes, final int length)
+		{
+			for(int i = 0; i < length; i++)
+			{
+				bytes[i] ^= MASK;
+			}
+		}
+	
+	}
+
+}
@@ -0,0 +1,179 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.collections.lazy.LazyHashMap;
+
+
+@DisplayName("Check that modifications via a LazyHashMap iteration are not lost if segments get unloaded")
+public class LazyHashMapIterationTest
+{
+	private static final int ENTRY_COUNT = 100;
+	
+	@TempDir
+	Path directory;
+	
+	@Test
+	public void shouldRejectRemovalOfReloadedSegment()
+	{
+		final EmbeddedStorageManager storage = EmbeddedStorage.start(this.directory);
+		try
+		{
+			final LazyHashMap<Integer, String> map = storeMap(storage);
+			
+			final Iterator<Map.Entry<Integer, String>> iterator = map.entrySet().iterator();
+			iterator.next();
+			unloadAndForget(storage, map);
+			
+			Assertions.assertThrows(ConcurrentModificationException.class, iterator::remove);
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+	
+	@Test
+	public void shouldRejectValueSettingOfReloadedSegment()
+	{
+		final EmbeddedStorageManager storage = EmbeddedStorage.start(this.directory);
+		try
+		{
+			final LazyHashMap<Integer, String> map = storeMap(storage);
+			
+			final Map.Entry<Integer, String> entry = map.entrySet().iterator().next();
+			unloadAndForget(storage, map);
+			
+			Assertions.assertThrows(ConcurrentModificationException.class, () -> entry.setValue("modified"));
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+	
+	@Test
+	public void shouldStoreRemovalAfterSegmentUnloading()
+	{
+		final Integer removedKey;
+		final EmbeddedStorageManager storage = EmbeddedStorage.start(this.directory);
+		try
+		{
+			final LazyHashMap<Integer, String> map = storeMap(storage);
+			
+			final Iterator<Map.Entry<Integer, String>> iterator = map.entrySet().iterator();
+			removedKey = iterator.next().getKey();
+			
+			// the iterated segment data is still registered, so reloading yields the same instance.
+			Assertions.assertTrue(map.unloadSegments() > 0);
+			iterator.remove();
+			storage.store(map);
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+		
+		final EmbeddedStorageManager restarted = EmbeddedStorage.start(this.directory);
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final LazyHashMap<Integer, String> map = (LazyHashMap<Integer, String>)restarted.root();
+			Assertions.assertEquals(ENTRY_COUNT - 1, map.size());
+			Assertions.assertFalse(map.containsKey(removedKey));
+		}
+		finally
+		{
+			restarted.shutdown();
+		}
+	}
+	
+	@Test
+	public void shouldRejectIterationAfterGrowing()
+	{
+		final LazyHashMap<Integer, String> map = new LazyHashMap<>(10);
+		for(int i = 0; i < 10; i++)
+		{
+			map.put(i, "value " + i);
+		}
+		
+		final Iterator<Map.Entry<Integer, String>> iterator = map.entrySet().iterator();
+		iterator.next();
+		
+		map.put(ENTRY_COUNT, "growing");
+		Assertions.assertEquals(2, map.segmentCount());
+		
+		Assertions.assertThrows(ConcurrentModificationException.class, iterator::next);
+	}
+	
+	@Test
+	public void shouldRejectIterationAfterRemovalViaMap()
+	{
+		final LazyHashMap<Integer, String> map = new LazyHashMap<>(10);
+		for(int i = 0; i < ENTRY_COUNT; i++)
+		{
+			map.put(i, "value " + i);
+		}
+		
+		final Iterator<Map.Entry<Integer, String>> iterator = map.entrySet().iterator();
+		final Integer key = iterator.next().getKey();
+		
+		// removing via the iterator keeps it valid, removing via the map does not
+		iterator.remove();
+		iterator.next();
+		map.remove(key + 1 == ENTRY_COUNT ? 0 : key + 1);
+		
+		Assertions.assertThrows(ConcurrentModificationException.class, iterator::next);
+	}
+	
+	/**
+	 * Unloads all segments and clears the object registry, so that reloading a segment creates a new instance.
+	 */
+	private static void unloadAndForget(final EmbeddedStorageManager storage, final LazyHashMap<?, ?> map)
+	{
+		Assertions.assertTrue(map.unloadSegments() > 0);
+		storage.persistenceManager().objectRegistry().clear();
+	}
+	
+	private static LazyHashMap<Integer, String> storeMap(final EmbeddedStorageManager storage)
+	{
+		final LazyHashMap<Integer, String> map = new LazyHashMap<>(10);
+		for(int i = 0; i < ENTRY_COUNT; i++)
+		{
+			map.put(i, "value " + i);
+		}
+		storage.setRoot(map);
+		storage.storeRoot();
+		
+		return map;
+	}
+
+}
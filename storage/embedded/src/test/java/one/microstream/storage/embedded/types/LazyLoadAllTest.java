@@ -0,0 +1,293 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.reference.Lazy;
+import one.microstream.reference.ObjectSwizzling;
+
+
+@DisplayName("Check the bulk loading of lazy references via Lazy#loadAll and Lazy#prefetching")
+public class LazyLoadAllTest
+{
+	private static final int NODE_COUNT = 10;
+	
+	@TempDir
+	Path directory;
+	
+	@Test
+	public void shouldAssignSubjectsIncludingNullsAndDuplicates()
+	{
+		final CountingLoader loader = new CountingLoader(0);
+		
+		final Lazy<Object> first     = Lazy.New(1, loader);
+		final Lazy<Object> second    = Lazy.New(2, loader);
+		final Lazy<Object> secondToo = Lazy.New(2, loader);
+		final Lazy<Object> loaded    = Lazy.New("loaded", 3, loader);
+		
+		Lazy.loadAll(Arrays.asList(first, null, second, first, secondToo, loaded));
+		
+		Assertions.assertEquals("subject 1", first.peek());
+		Assertions.assertEquals("subject 2", second.peek());
+		Assertions.assertSame(second.peek(), secondToo.peek());
+		Assertions.assertEquals("loaded", loaded.peek());
+		
+		Assertions.assertEquals(1, loader.collectCalls.size());
+		Assertions.assertEquals(0, loader.getObjectCalls);
+		// the already loaded reference is not requested
+		Assertions.assertFalse(Arrays.stream(loader.collectCalls.get(0)).anyMatch(objectId -> objectId == 3));
+	}
+	
+	@Test
+	public void shouldCollectOncePerLoader()
+	{
+		final CountingLoader loader1 = new CountingLoader(0);
+		final CountingLoader loader2 = new CountingLoader(0);
+		
+		final List<Lazy<Object>> references = new ArrayList<>();
+		for(int i = 1; i <= NODE_COUNT; i++)
+		{
+			references.add(Lazy.New(i, i % 2 == 0 ? loader1 : loader2));
+		}
+		
+		Lazy.loadAll(references);
+		
+		Assertions.assertEquals(1, loader1.collectCalls.size());
+		Assertions.assertEquals(1, loader2.collectCalls.size());
+		Assertions.assertEquals(NODE_COUNT / 2, loader1.collectCalls.get(0).length);
+		Assertions.assertEquals(NODE_COUNT / 2, loader2.collectCalls.get(0).length);
+		for(int i = 1; i <= NODE_COUNT; i++)
+		{
+			Assertions.assertEquals("subject " + i, references.get(i - 1).peek());
+		}
+	}
+	
+	@Test
+	public void shouldLoadNestedReferencesLevelByLevel()
+	{
+		// every subject above the leaf level references two further lazily referenced subjects.
+		final CountingLoader loader = new CountingLoader(3);
+		final List<Lazy<Object>> roots = Arrays.asList(Lazy.New(1, loader), Lazy.New(2, loader));
+		
+		Lazy.loadAll(roots, 1);
+		
+		Assertions.assertEquals(2, loader.collectCalls.size());
+		Assertions.assertEquals(2, loader.collectCalls.get(0).length);
+		Assertions.assertEquals(4, loader.collectCalls.get(1).length);
+		for(final Lazy<Object> root : roots)
+		{
+			for(final Lazy<Object> child : ((Node)root.peek()).children)
+			{
+				Assertions.assertTrue(child.isLoaded());
+				for(final Lazy<Object> grandChild : ((Node)child.peek()).children)
+				{
+					Assertions.assertFalse(grandChild.isLoaded());
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void shouldNotLoadNestedReferencesWithoutDepth()
+	{
+		final CountingLoader loader = new CountingLoader(2);
+		final List<Lazy<Object>> roots = Arrays.asList(Lazy.New(1, loader), Lazy.New(2, loader));
+		
+		Lazy.loadAll(roots, 0);
+		
+		Assertions.assertEquals(1, loader.collectCalls.size());
+		for(final Lazy<Object> root : roots)
+		{
+			for(final Lazy<Object> child : ((Node)root.peek()).children)
+			{
+				Assertions.assertFalse(child.isLoaded());
+			}
+		}
+	}
+	
+	@Test
+	public void shouldPrefetchInBatches()
+	{
+		final CountingLoader loader = new CountingLoader(0);
+		
+		final List<Lazy<Object>> references = new ArrayList<>();
+		for(int i = 1; i <= 5; i++)
+		{
+			references.add(Lazy.New(i, loader));
+		}
+		
+		final Iterator<Object> subjects = Lazy.prefetching(references, 2).iterator();
+		Assertions.assertEquals("subject 1", subjects.next());
+		Assertions.assertEquals(1, loader.collectCalls.size());
+		Assertions.assertTrue(references.get(1).isLoaded());
+		Assertions.assertFalse(references.get(2).isLoaded());
+		
+		Assertions.assertEquals("subject 2", subjects.next());
+		Assertions.assertEquals("subject 3", subjects.next());
+		Assertions.assertEquals("subject 4", subjects.next());
+		Assertions.assertEquals("subject 5", subjects.next());
+		
+		Assertions.assertEquals(3, loader.collectCalls.size());
+		Assertions.assertArrayEquals(new long[]{5}, loader.collectCalls.get(2));
+		Assertions.assertFalse(subjects.hasNext());
+		Assertions.assertThrows(NoSuchElementException.class, subjects::next);
+	}
+	
+	@Test
+	public void shouldLoadNestedReferencesFromStorage()
+	{
+		final EmbeddedStorageManager storage = EmbeddedStorage.start(this.directory);
+		try
+		{
+			final List<Lazy<StoredNode>> root = new ArrayList<>();
+			for(int i = 0; i < NODE_COUNT; i++)
+			{
+				root.add(Lazy.Reference(new StoredNode(Lazy.Reference("value " + i))));
+			}
+			storage.setRoot(root);
+			storage.storeRoot();
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+		
+		this.assertLoadedFromStorage(0);
+		this.assertLoadedFromStorage(1);
+	}
+	
+	private void assertLoadedFromStorage(final int depth)
+	{
+		final EmbeddedStorageManager storage = EmbeddedStorage.start(this.directory);
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final List<Lazy<StoredNode>> root = (List<Lazy<StoredNode>>)storage.root();
+			root.forEach(node -> Assertions.assertFalse(node.isLoaded()));
+			
+			Lazy.loadAll(root, depth);
+			
+			for(int i = 0; i < NODE_COUNT; i++)
+			{
+				final Lazy<String> value = root.get(i).peek().value;
+				Assertions.assertEquals(depth > 0, value.isLoaded());
+				Assertions.assertEquals("value " + i, value.get());
+			}
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+	
+	
+	static final class StoredNode
+	{
+		final Lazy<String> value;
+		
+		StoredNode(final Lazy<String> value)
+		{
+			super();
+			this.value = value;
+		}
+	
+	}
+	
+	static final class Node
+	{
+		final List<Lazy<Object>> children;
+		
+		Node(final List<Lazy<Object>> children)
+		{
+			super();
+			this.children = children;
+		}
+	
+	}
+	
+	/**
+	 * Creates the subject of an object id on its first request, like loading it from persisted data would do.
+	 * Above the leaf level, a subject is a {@link Node} holding two newly created lazy references.
+	 */
+	static final class CountingLoader implements ObjectSwizzling
+	{
+		final int               levels        ;
+		final Map<Long, Object> subjects      = new HashMap<>();
+		final List<long[]>      collectCalls  = new ArrayList<>();
+		int                     getObjectCalls;
+		
+		CountingLoader(final int levels)
+		{
+			super();
+			this.levels = levels;
+		}
+		
+		@Override
+		public Object getObject(final long objectId)
+		{
+			this.getObjectCalls++;
+			return this.subjects.computeIfAbsent(objectId, this::create);
+		}
+		
+		@Override
+		public <C extends Consumer<Object>> C collect(final C collector, final long... objectIds)
+		{
+			this.collectCalls.add(objectIds.clone());
+			for(final long objectId : objectIds)
+			{
+				collector.accept(this.subjects.computeIfAbsent(objectId, this::create));
+			}
+			
+			return collector;
+		}
+		
+		private Object create(final Long objectId)
+		{
+			// the level of an object id is its number of digits, the ids of its children append a digit.
+			final int level = String.valueOf(objectId).length();
+			if(level >= this.levels)
+			{
+				return "subject " + objectId;
+			}
+			
+			return new Node(Arrays.asList(
+				Lazy.New(objectId * 10 + 1, this),
+				Lazy.New(objectId * 10 + 2, this)
+			));
+		}
+	
+	}
+
+}
@@ -0,0 +1,157 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.collections.lazy.LazyHashMap;
+import one.microstream.storage.types.Storage;
+import one.microstream.storage.types.StorageFileWriter;
+import one.microstream.storage.types.StorageLiveDataFile;
+
+
+@DisplayName("Check that modifications of a lazy segment during an asynchronous store are not lost")
+public class LazySegmentAsyncStoreTest
+{
+	private static final int ENTRY_COUNT = 100;
+	
+	@TempDir
+	Path directory;
+	
+	@Test
+	public void shouldKeepModificationMadeBeforeCommitCompletion()
+	{
+		final GatingWriter writer = new GatingWriter();
+		
+		final EmbeddedStorageManager storage = this.start(writer);
+		try
+		{
+			final LazyHashMap<Integer, String> map = new LazyHashMap<>(10);
+			for(int i = 0; i < ENTRY_COUNT; i++)
+			{
+				map.put(i, "value " + i);
+			}
+			storage.setRoot(map);
+			storage.storeRoot();
+			
+			map.put(0, "stored");
+			final CompletableFuture<Long> stored = writer.hold(() -> storage.storeAsync(map));
+			
+			// the store has been serialized, but its commit is still pending.
+			Assertions.assertFalse(stored.isDone());
+			map.put(0, "modified");
+			
+			writer.release();
+			stored.join();
+			
+			// the completed commit must not mark the segment as stored, so it gets stored again and is not unloaded.
+			map.unloadSegments();
+			storage.store(map);
+		}
+		finally
+		{
+			writer.release();
+			storage.shutdown();
+		}
+		
+		final EmbeddedStorageManager restarted = this.start(new GatingWriter());
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final LazyHashMap<Integer, String> map = (LazyHashMap<Integer, String>)restarted.root();
+			Assertions.assertEquals("modified", map.get(0));
+			Assertions.assertEquals(ENTRY_COUNT, map.size());
+		}
+		finally
+		{
+			restarted.shutdown();
+		}
+	}
+	
+	private EmbeddedStorageManager start(final StorageFileWriter writer)
+	{
+		return EmbeddedStorage.Foundation(Storage.ConfigurationBuilder()
+			.setStorageFileProvider(Storage.FileProvider(this.directory))
+			.createConfiguration()
+		)
+		.setWriterProvider(() -> writer)
+		.start();
+	}
+	
+	
+	/**
+	 * Holds back the writing of stores that are issued by {@link #hold(Supplier)}
+	 * until {@link #release()} is called.
+	 */
+	static final class GatingWriter implements StorageFileWriter
+	{
+		private volatile CountDownLatch gate;
+		
+		<T> T hold(final Supplier<T> storing)
+		{
+			this.gate = new CountDownLatch(1);
+			
+			return storing.get();
+		}
+		
+		void release()
+		{
+			final CountDownLatch gate = this.gate;
+			if(gate != null)
+			{
+				gate.countDown();
+			}
+		}
+		
+		@Override
+		public long writeStore(
+			final StorageLiveDataFile            targetFile ,
+			final Iterable<? extends ByteBuffer> byteBuffers
+		)
+		{
+			final CountDownLatch gate = this.gate;
+			if(gate != null)
+			{
+				try
+				{
+					gate.await();
+				}
+				catch(final InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+				}
+			}
+			
+			return StorageFileWriter.super.writeStore(targetFile, byteBuffers);
+		}
+	
+	}
+
+}
@@ -0,0 +1,93 @@
+package one.microstream.storage.embedded.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import one.microstream.afs.nio.types.NioFileSystem;
+import one.microstream.storage.types.StorageEntityTypeExportFileProvider;
+import one.microstream.storage.types.StorageEntityTypeExportStatistics;
+
+
+@DisplayName("Check if the entities of an uncompressed storage can be exported into new files")
+public class StorageEntityTypeExportTest
+{
+	private static final int ENTITY_COUNT = 1_000;
+	
+	@TempDir
+	Path directory;
+	
+	@Test
+	public void shouldExportEntitiesIntoNonExistingFiles() throws IOException
+	{
+		final NioFileSystem fileSystem       = NioFileSystem.New();
+		final Path          storageDirectory = this.directory.resolve("storage");
+		final Path          exportDirectory  = this.directory.resolve("export");
+		
+		final List<String> data = new ArrayList<>();
+		for(int i = 0; i < ENTITY_COUNT; i++)
+		{
+			data.add("entity " + i);
+		}
+		
+		final StorageEntityTypeExportStatistics statistics;
+		final EmbeddedStorageManager storage = EmbeddedStorage.start(storageDirectory);
+		try
+		{
+			storage.setRoot(data);
+			storage.storeRoot();
+			statistics = storage.createConnection().exportTypes(
+				new StorageEntityTypeExportFileProvider.Default(fileSystem.ensureDirectory(exportDirectory), "bin")
+			);
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+		
+		Assertions.assertTrue(statistics.entityCount() > ENTITY_COUNT);
+		Assertions.assertTrue(statistics.bytesWritten() > 0);
+		Assertions.assertEquals(statistics.bytesWritten(), exportFileLength(exportDirectory));
+	}
+	
+	private static long exportFileLength(final Path directory) throws IOException
+	{
+		try(Stream<Path> files = Files.walk(directory))
+		{
+			return files
+				.filter(file -> file.getFileName().toString().endsWith(".bin"))
+				.mapToLong(file -> file.toFile().length())
+				.sum()
+			;
+		}
+	}
+
+}
@@ -0,0 +1,219 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import one.microstream.afs.types.AWritableFile;
+import one.microstream.persistence.binary.types.MemoryRangeReader;
+import one.microstream.persistence.types.PersistenceObjectIdAcceptor;
+
+
+@DisplayName("Check the keep and clear decisions of StorageEntityCacheEvaluator.FrequencyBased")
+public class StorageEntityCacheEvaluatorFrequencyBasedTest
+{
+	private static final long TIMEOUT_MS = 10_000;
+	private static final long THRESHOLD  =  1_600;
+	private static final long WINDOW_MS  =  1_000;
+	private static final long EVAL_TIME  = 100_000;
+	
+	private static final long OBJECT_ID = 1_000_000_000_000_000_001L;
+	
+	@Test
+	public void shouldKeepEntitiesInsideWindow()
+	{
+		final StorageEntityCacheEvaluator evaluator = evaluator(0);
+		
+		Assertions.assertFalse(evaluator.clearEntityCache(THRESHOLD - 1, EVAL_TIME, entity(WINDOW_MS - 1, false)));
+		Assertions.assertFalse(evaluator.clearEntityCache(THRESHOLD - 1, EVAL_TIME, entity(0, false)));
+		// touched "in the future"
+		Assertions.assertFalse(evaluator.clearEntityCache(THRESHOLD - 1, EVAL_TIME, entity(-WINDOW_MS, false)));
+	}
+	
+	@Test
+	public void shouldClearEverythingAtThreshold()
+	{
+		final StorageEntityCacheEvaluator evaluator = evaluator(15);
+		
+		Assertions.assertTrue(evaluator.clearEntityCache(THRESHOLD, EVAL_TIME, entity(0, true)));
+		Assertions.assertTrue(evaluator.clearEntityCache(THRESHOLD + 1, EVAL_TIME, entity(WINDOW_MS, true)));
+	}
+	
+	@Test
+	public void shouldClearEverythingAtTimeout()
+	{
+		final StorageEntityCacheEvaluator evaluator = evaluator(15);
+		
+		Assertions.assertFalse(evaluator.clearEntityCache(0, EVAL_TIME, entity(TIMEOUT_MS - 1, true)));
+		Assertions.assertTrue(evaluator.clearEntityCache(0, EVAL_TIME, entity(TIMEOUT_MS, true)));
+	}
+	
+	@Test
+	public void shouldKeepEntitiesWithReferencesInEmptyCache()
+	{
+		final StorageEntityCacheEvaluator evaluator = evaluator(0);
+		
+		// at the window boundary, an entity is judged by its frequency, which is not required in an empty cache.
+		Assertions.assertFalse(evaluator.clearEntityCache(0, EVAL_TIME, entity(WINDOW_MS, true)));
+		// entities without references need one more frequency point.
+		Assertions.assertTrue(evaluator.clearEntityCache(0, EVAL_TIME, entity(WINDOW_MS, false)));
+	}
+	
+	@Test
+	public void shouldRequireFrequencyProportionalToFullness()
+	{
+		// a cache filled to 50% requires a frequency of 8 (of 15) outside of the window.
+		final long halfFull = THRESHOLD / 2;
+		
+		Assertions.assertTrue(evaluator(7).clearEntityCache(halfFull, EVAL_TIME, entity(WINDOW_MS, true)));
+		Assertions.assertFalse(evaluator(8).clearEntityCache(halfFull, EVAL_TIME, entity(WINDOW_MS, true)));
+		
+		Assertions.assertTrue(evaluator(8).clearEntityCache(halfFull, EVAL_TIME, entity(WINDOW_MS, false)));
+		Assertions.assertFalse(evaluator(9).clearEntityCache(halfFull, EVAL_TIME, entity(WINDOW_MS, false)));
+	}
+	
+	@Test
+	public void shouldCountHitsAndMisses()
+	{
+		final StorageEntityCacheEvaluator.FrequencyBased evaluator = evaluator(0);
+		evaluator.registerAccess(entity(0, true), true);
+		evaluator.registerAccess(entity(0, true), true);
+		evaluator.registerAccess(entity(0, true), true);
+		evaluator.registerAccess(entity(0, true), false);
+		
+		Assertions.assertEquals(3, evaluator.hitCount());
+		Assertions.assertEquals(1, evaluator.missCount());
+		Assertions.assertEquals(0.75, evaluator.hitRatio());
+		
+		evaluator.resetStatistics();
+		Assertions.assertEquals(0.0, evaluator.hitRatio());
+	}
+	
+	/**
+	 * Creates an evaluator whose sketch holds the passed access frequency for the tested entity.
+	 */
+	private static StorageEntityCacheEvaluator.FrequencyBased evaluator(final int frequency)
+	{
+		final StorageEntityFrequencySketch sketch = StorageEntityFrequencySketch.New(100);
+		for(int i = 0; i < frequency; i++)
+		{
+			sketch.increment(OBJECT_ID);
+		}
+		Assertions.assertEquals(frequency, sketch.frequency(OBJECT_ID));
+		
+		return StorageEntityCacheEvaluator.NewFrequencyBased(TIMEOUT_MS, THRESHOLD, WINDOW_MS, sketch);
+	}
+	
+	private static StorageEntity entity(final long ageInMs, final boolean hasReferences)
+	{
+		return new TestEntity(EVAL_TIME - ageInMs, hasReferences);
+	}
+	
+	
+	static final class TestEntity implements StorageEntity
+	{
+		private final long    lastTouched  ;
+		private final boolean hasReferences;
+		
+		TestEntity(final long lastTouched, final boolean hasReferences)
+		{
+			super();
+			this.lastTouched   = lastTouched  ;
+			this.hasReferences = hasReferences;
+		}
+		
+		@Override
+		public long dataLength()
+		{
+			return 100;
+		}
+		
+		@Override
+		public long typeId()
+		{
+			return 1;
+		}
+		
+		@Override
+		public long objectId()
+		{
+			return OBJECT_ID;
+		}
+		
+		@Override
+		public boolean hasReferences()
+		{
+			return this.hasReferences;
+		}
+		
+		@Override
+		public long cachedDataLength()
+		{
+			return this.dataLength();
+		}
+		
+		@Override
+		public long lastTouched()
+		{
+			return this.lastTouched;
+		}
+		
+		@Override
+		public long storagePosition()
+		{
+			return 0;
+		}
+		
+		@Override
+		public StorageLiveDataFile storageFile()
+		{
+			throw new UnsupportedOperationException();
+		}
+		
+		@Override
+		public void copyCachedData(final MemoryRangeReader entityDataCollector)
+		{
+			throw new UnsupportedOperationException();
+		}
+		
+		@Override
+		public long clearCache()
+		{
+			return 0;
+		}
+		
+		@Override
+		public boolean iterateReferenceIds(final PersistenceObjectIdAcceptor referenceIdIterator)
+		{
+			throw new UnsupportedOperationException();
+		}
+		
+		@Override
+		public long exportTo(final AWritableFile file)
+		{
+			throw new UnsupportedOperationException();
+		}
+	
+	}
+
+}
@@ -0,0 +1,84 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage-embedded
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+
+@DisplayName("Check the frequency estimation, saturation and aging of StorageEntityFrequencySketch")
+public class StorageEntityFrequencySketchTest
+{
+	// results in a sample size of 1000 recorded accesses until the sketch ages.
+	private static final long EXPECTED_ENTITY_COUNT = 100;
+	
+	private static final long OBJECT_ID = 1_000_000_000_000_000_001L;
+	
+	@Test
+	public void shouldCountAccesses()
+	{
+		final StorageEntityFrequencySketch sketch = StorageEntityFrequencySketch.New(EXPECTED_ENTITY_COUNT);
+		Assertions.assertEquals(0, sketch.frequency(OBJECT_ID));
+		
+		for(int i = 1; i <= 5; i++)
+		{
+			sketch.increment(OBJECT_ID);
+			Assertions.assertEquals(i, sketch.frequency(OBJECT_ID));
+		}
+	}
+	
+	@Test
+	public void shouldSaturateAtMaximumFrequency()
+	{
+		final StorageEntityFrequencySketch sketch = StorageEntityFrequencySketch.New(EXPECTED_ENTITY_COUNT);
+		
+		for(int i = 0; i < sketch.maximumFrequency() * 4; i++)
+		{
+			sketch.increment(OBJECT_ID);
+		}
+		
+		Assertions.assertEquals(sketch.maximumFrequency(), sketch.frequency(OBJECT_ID));
+	}
+	
+	@Test
+	public void shouldHalveFrequenciesWhenAging()
+	{
+		final StorageEntityFrequencySketch sketch = StorageEntityFrequencySketch.New(EXPECTED_ENTITY_COUNT);
+		
+		for(int i = 0; i < sketch.maximumFrequency(); i++)
+		{
+			sketch.increment(OBJECT_ID);
+		}
+		Assertions.assertEquals(sketch.maximumFrequency(), sketch.frequency(OBJECT_ID));
+		
+		// accesses of other entities eventually reach the sample size, which halves all counters.
+		long otherObjectId = 1;
+		while(sketch.frequency(OBJECT_ID) == sketch.maximumFrequency())
+		{
+			Assertions.assertTrue(otherObjectId <= EXPECTED_ENTITY_COUNT * 10, "Sketch did not age.");
+			sketch.increment(otherObjectId++);
+		}
+		
+		Assertions.assertEquals(sketch.maximumFrequency() / 2, sketch.frequency(OBJECT_ID));
+	}
+
+}
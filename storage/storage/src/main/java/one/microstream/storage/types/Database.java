@@ -21,6 +21,8 @@ package one.microstream.storage.types;
  */
 
 import java.lang.ref.WeakReference;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import one.microstream.chars.XChars;
 import one.microstream.persistence.types.Persister;
@@ -165,6 +167,14 @@ public interface Database extends DatabasePart, Persister
 			return storage.getObject(objectId);
 		}
 		
+		@Override
+		public final <C extends Consumer<Object>> C collect(final C collector, final long... objectIds)
+		{
+			final StorageManager storage = this.guaranteeActiveStorage();
+
+			return storage.collect(collector, objectIds);
+		}
+		
 		@Override
 		public final long store(final Object instance)
 		{
@@ -189,6 +199,22 @@ public interface Database extends DatabasePart, Persister
 			storage.storeAll(instances);
 		}
 		
+		@Override
+		public final CompletableFuture<Long> storeAsync(final Object instance)
+		{
+			final StorageManager storage = this.guaranteeActiveStorage();
+
+			return storage.storeAsync(instance);
+		}
+		
+		@Override
+		public final CompletableFuture<long[]> storeAllAsync(final Object... instances)
+		{
+			final StorageManager storage = this.guaranteeActiveStorage();
+
+			return storage.storeAllAsync(instances);
+		}
+		
 		@Override
 		public final Storer createLazyStorer()
 		{
@@ -34,7 +34,6 @@ import one.microstream.afs.types.AWritableFile;
 import one.microstream.collections.BulkList;
 import one.microstream.functional.ThrowingProcedure;
 import one.microstream.functional._longProcedure;
-import one.microstream.persistence.binary.types.Chunk;
 import one.microstream.persistence.binary.types.ChunksBuffer;
 import one.microstream.persistence.binary.types.ChunksBufferByteReversing;
 import one.microstream.persistence.types.PersistenceIdSet;
@@ -57,7 +56,7 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 
 	public ChunksBuffer collectLoadByTids(ChunksBuffer[] channelChunks, PersistenceIdSet loadTids);
 
-	public KeyValue<ByteBuffer[], long[]> storeEntities(long timestamp, Chunk chunkData);
+	public KeyValue<ByteBuffer[], long[]> storeEntities(long timestamp, ByteBuffer[] dataBuffers);
 
 	public void rollbackChunkStorage();
 
@@ -107,6 +106,12 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 //	public void truncateData();
 
 	public void cleanupStore();
+	
+	/**
+	 * Writes an index snapshot of the channel's entities if index snapshots are used.
+	 * See {@link StorageIndexSnapshot}.
+	 */
+	public void writeIndexSnapshot();
 
 
 	
@@ -198,6 +203,7 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			tasks.add(this::houseKeepingCheckFileCleanup);
 			tasks.add(this::houseKeepingGarbageCollection);
 			tasks.add(this::houseKeepingEntityCacheCheck);
+			tasks.add(this::houseKeepingIndexSnapshot);
 			// (16.06.2020 TM)TODO: priv#49: housekeeping task that closes data files after a timeout.
 
 			return tasks.toArray(HousekeepingTask.class);
@@ -409,6 +415,17 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			return this.housekeepingBroker.performEntityCacheCheck(this, nanoTimeBudget);
 		}
 
+		final boolean houseKeepingIndexSnapshot()
+		{
+			final long nanoTimeBudget = this.calculateSpecificHousekeepingTimeBudget(
+				this.housekeepingController.housekeepingTimeBudgetNs()
+			);
+			
+			return this.fileManager.incrementalIndexSnapshotCheck(
+				XTime.calculateNanoTimeBudgetBound(nanoTimeBudget)
+			);
+		}
+
 		private void work() throws InterruptedException
 		{
 			logger.debug("StorageChannel#{} started", this.channelIndex);
@@ -564,17 +581,15 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 		}
 
 		@Override
-		public KeyValue<ByteBuffer[], long[]> storeEntities(final long timestamp, final Chunk chunkData)
+		public KeyValue<ByteBuffer[], long[]> storeEntities(final long timestamp, final ByteBuffer[] dataBuffers)
 		{
 			// reset even if there is no new data to account for (potential) new data in other channel
 			this.entityCache.registerPendingStoreUpdate();
-
-			final ByteBuffer[] buffers = chunkData.buffers();
 			
 			// (11.03.2019 TM)FIXME: priv#74: Pre-Write EntityValidator
 			
 			// set new data flag, even if chunk has no data to account for (potential) data in other channels
-			return X.KeyValue(buffers, this.fileManager.storeChunks(timestamp, buffers));
+			return X.KeyValue(dataBuffers, this.fileManager.storeChunks(timestamp, dataBuffers));
 		}
 
 		@Override
@@ -795,6 +810,12 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			this.entityCache.clearPendingStoreUpdate();
 		}
 
+		@Override
+		public void writeIndexSnapshot()
+		{
+			this.fileManager.writeIndexSnapshot();
+		}
+
 		@Override
 		public final void dispose()
 		{
@@ -855,8 +876,7 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 				 */
 				throw new StorageExceptionConsistency("No entity found for objectId " + objectId);
 			}
-			entry.copyCachedData(this.dataCollector);
-			this.entityCache.checkForCacheClear(entry, System.currentTimeMillis());
+			this.entityCache.collectEntityData(entry, this.dataCollector);
 		}
 
 	}
@@ -905,8 +925,7 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			// all the type's entities are iterated and their data is collected
 			for(StorageEntity.Default entity = type.head; (entity = entity.typeNext) != null;)
 			{
-				entity.copyCachedData(this.dataCollector);
-				this.entityCache.checkForCacheClear(entity, System.currentTimeMillis());
+				this.entityCache.collectEntityData(entity, this.dataCollector);
 			}
 		}
 
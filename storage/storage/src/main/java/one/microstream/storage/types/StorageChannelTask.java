@@ -2,6 +2,8 @@ package one.microstream.storage.types;
 
 import static one.microstream.X.notNull;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
@@ -51,6 +53,9 @@ public interface StorageChannelTask extends StorageTask
 
 		private int remainingForCompletion;
 		private int remainingForProcessing;
+		
+		// created on demand for asynchronous callers, guarded by this.
+		private CompletableFuture<Void> completion;
 
 		private final AtomicBoolean hasProblems = new AtomicBoolean();
 		private final Throwable[]   problems   ; // unshared instance conveniently abused as a second lock
@@ -157,6 +162,44 @@ public interface StorageChannelTask extends StorageTask
 			// may never get negative or something is seriously broken
 			this.remainingForCompletion--; // suffices as this method gets called by every manager thread exactely once.
 			this.notifyAll();
+			
+			if(this.remainingForCompletion == 0 && this.completion != null)
+			{
+				this.completeAsynchronously(this.completion);
+			}
+		}
+		
+		@Override
+		public final synchronized CompletableFuture<Void> completion()
+		{
+			if(this.completion == null)
+			{
+				this.completion = new CompletableFuture<>();
+				if(this.remainingForCompletion == 0)
+				{
+					this.completeAsynchronously(this.completion);
+				}
+			}
+			
+			return this.completion;
+		}
+		
+		private void completeAsynchronously(final CompletableFuture<Void> completion)
+		{
+			// dependent actions may never be executed by the completing channel thread, hence the detour.
+			ForkJoinPool.commonPool().execute(() ->
+			{
+				try
+				{
+					// same problem reporting as for synchronously waiting callers.
+					this.checkForProblems();
+					completion.complete(null);
+				}
+				catch(final Throwable t)
+				{
+					completion.completeExceptionally(t);
+				}
+			});
 		}
 
 		@Override
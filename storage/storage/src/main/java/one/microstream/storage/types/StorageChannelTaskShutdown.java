@@ -48,6 +48,9 @@ public interface StorageChannelTaskShutdown extends StorageChannelTask
 		@Override
 		protected final Void internalProcessBy(final StorageChannel channel)
 		{
+			// a clean shutdown is the ideal moment for an index snapshot as no more data can be written afterwards.
+			channel.writeIndexSnapshot();
+			
 			// may not deactivate here as some channel threads would die before all others notice the progress
 			return null;
 		}
@@ -45,6 +45,10 @@ public interface StorageChannelsCreator
 		StorageRootOidSelector.Provider      rootOidSelectorProvider      ,
 		StorageObjectIdMarkQueue.Creator     oidMarkQueueCreator          ,
 		StorageEntityMarkMonitor.Creator     entityMarkMonitorCreator     ,
+		StorageEntityIndex.Creator           entityIndexCreator           ,
+		StorageMarkingWorkerPool.Creator     markingWorkerPoolCreator     ,
+		StorageEntityInitializer.Creator     entityInitializerCreator     ,
+		StorageIndexSnapshot.Creator         indexSnapshotCreator         ,
 		StorageBackupHandler                 backupHandler                ,
 		StorageEventLogger                   eventLogger                  ,
 		boolean                              switchByteOrder              ,
@@ -79,6 +83,10 @@ public interface StorageChannelsCreator
 			final StorageRootOidSelector.Provider      rootOidSelectorProvider      ,
 			final StorageObjectIdMarkQueue.Creator     oidMarkQueueCreator          ,
 			final StorageEntityMarkMonitor.Creator     entityMarkMonitorCreator     ,
+			final StorageEntityIndex.Creator           entityIndexCreator           ,
+			final StorageMarkingWorkerPool.Creator     markingWorkerPoolCreator     ,
+			final StorageEntityInitializer.Creator     entityInitializerCreator     ,
+			final StorageIndexSnapshot.Creator         indexSnapshotCreator         ,
 			final StorageBackupHandler                 backupHandler                ,
 			final StorageEventLogger                   eventLogger                  ,
 			final boolean                              switchByteOrder              ,
@@ -121,7 +129,9 @@ public interface StorageChannelsCreator
 					markQueues[i]                                    ,
 					eventLogger                                      ,
 					markingWaitTimeMs                                ,
-					markBufferLength
+					markBufferLength                                 ,
+					entityIndexCreator.createEntityIndex(i, channels.length),
+					markingWorkerPoolCreator.createMarkingWorkerPool(i, markMonitor)
 				);
 
 				// file manager to handle "file" IO (whatever "file" might be, might be a RDBMS binary table as well)
@@ -135,7 +145,9 @@ public interface StorageChannelsCreator
 					writeController                 ,
 					writerProvider.provideWriter(i) ,
 					readingDefaultBufferSizeProvider,
-					backupHandler
+					backupHandler                   ,
+					entityInitializerCreator        ,
+					indexSnapshotCreator
 				);
 
 				// required to resolve the initializer cyclic depedency
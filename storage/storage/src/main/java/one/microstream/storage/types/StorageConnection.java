@@ -22,6 +22,8 @@ package one.microstream.storage.types;
 
 import static one.microstream.X.notNull;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import one.microstream.afs.types.ADirectory;
@@ -399,6 +401,24 @@ public interface StorageConnection extends Persister
 		this.persistenceManager().storeAll(instances);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public default CompletableFuture<Long> storeAsync(final Object instance)
+	{
+		return this.persistenceManager().storeAsync(instance);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public default CompletableFuture<long[]> storeAllAsync(final Object... instances)
+	{
+		return this.persistenceManager().storeAllAsync(instances);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -434,6 +454,15 @@ public interface StorageConnection extends Persister
 	{
 		return this.persistenceManager().getObject(objectId);
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public default <C extends Consumer<Object>> C collect(final C collector, final long... objectIds)
+	{
+		return this.persistenceManager().collect(collector, objectIds);
+	}
 
 
 	
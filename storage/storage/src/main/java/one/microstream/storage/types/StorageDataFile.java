@@ -89,6 +89,19 @@ public interface StorageDataFile extends StorageChannelFile, StorageBackupableFi
 			return this.number;
 		}
 		
+		@Override
+		protected boolean isCompressible()
+		{
+			return true;
+		}
+		
+		@Override
+		protected StorageDataFileCompressor newContentCompressor(final StorageDataFileCompressor sourceCompressor)
+		{
+			// e.g. backup files keep the format of the live files they are copied from.
+			return sourceCompressor;
+		}
+		
 //		@Override
 //		public synchronized boolean isOpen()
 //		{
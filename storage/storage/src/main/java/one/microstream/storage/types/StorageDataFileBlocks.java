@@ -0,0 +1,532 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import one.microstream.X;
+import one.microstream.afs.types.AReadableFile;
+import one.microstream.afs.types.AWritableFile;
+import one.microstream.storage.exceptions.StorageExceptionIoReading;
+
+
+/**
+ * The block index and format logic of a block-compressed storage data file.
+ * <p>
+ * Physical layout: a 12 byte file header, consisting of a magic value (long) and the
+ * {@link StorageDataFileCompressor#algorithmId()} of the writing compressor (int), followed by any number
+ * of blocks, each consisting of the physical payload length (int), the uncompressed length (int) and the
+ * payload. A payload with the same length as the uncompressed data is stored uncompressed.<br>
+ * All positions and lengths passed to and returned by the methods refer to the uncompressed data.
+ * <p>
+ * Instances are not thread-safe, the owning {@link StorageFile.Abstract} synchronizes all accesses.
+ */
+final class StorageDataFileBlocks
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+	
+	/*
+	 * The first 8 bytes of an uncompressed data file are the native length of an entity or a gap.
+	 * The magic value's byte sequence cannot be such a length in either byte order.
+	 */
+	static final long MAGIC = 0x8000_4D53_4246_0002L;
+	
+	static final int FILE_HEADER_LENGTH  = Long.BYTES + Integer.BYTES;
+	static final int BLOCK_HEADER_LENGTH = Integer.BYTES + Integer.BYTES;
+	
+	private static final int INITIAL_INDEX_LENGTH = 16;
+	
+	// reading DEFLATE files does not depend on the writing compressor's block length and level.
+	static final StorageDataFileCompressor DEFAULT_COMPRESSOR = StorageDataFileCompressor.New();
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+	
+	/**
+	 * Detects the format of the passed file's content.
+	 * 
+	 * @param decompressorResolver resolves the compressor to read a file written with the passed algorithm id,
+	 *        or returns {@literal null} if the algorithm is unknown. The built-in DEFLATE format is always known.
+	 * @return the block index of a compressed file or {@literal null} for an uncompressed or empty file.
+	 */
+	static StorageDataFileBlocks detect(
+		final AReadableFile                          file                ,
+		final IntFunction<StorageDataFileCompressor> decompressorResolver
+	)
+	{
+		final long physicalLength = file.size();
+		if(physicalLength < FILE_HEADER_LENGTH)
+		{
+			return null;
+		}
+		
+		final ByteBuffer header = readPhysical(file, 0, FILE_HEADER_LENGTH);
+		if(header.getLong() != MAGIC)
+		{
+			return null;
+		}
+		
+		final StorageDataFileCompressor compressor = resolveDecompressor(file, header.getInt(), decompressorResolver);
+		final StorageDataFileBlocks     blocks     = new StorageDataFileBlocks(compressor);
+		blocks.indexBlocks(file, physicalLength);
+		
+		return blocks;
+	}
+	
+	/**
+	 * Writes the file header to an empty file to make it a compressed file.
+	 */
+	static StorageDataFileBlocks initialize(
+		final AWritableFile             file      ,
+		final StorageDataFileCompressor compressor
+	)
+	{
+		final ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_LENGTH);
+		header.putLong(MAGIC).putInt(compressor.algorithmId()).flip();
+		file.writeBytes(header);
+		
+		final StorageDataFileBlocks blocks = new StorageDataFileBlocks(compressor);
+		blocks.physicalLength = FILE_HEADER_LENGTH;
+		
+		return blocks;
+	}
+	
+	private static StorageDataFileCompressor resolveDecompressor(
+		final AReadableFile                          file                ,
+		final int                                    algorithmId         ,
+		final IntFunction<StorageDataFileCompressor> decompressorResolver
+	)
+	{
+		final StorageDataFileCompressor resolved = decompressorResolver.apply(algorithmId);
+		if(resolved != null)
+		{
+			return resolved;
+		}
+		if(algorithmId == StorageDataFileCompressor.algorithmIdDeflate())
+		{
+			return DEFAULT_COMPRESSOR;
+		}
+		
+		throw new StorageExceptionIoReading(
+			"No compressor for algorithm id " + algorithmId + " is known to read " + file.identifier() + "."
+		);
+	}
+	
+	private static ByteBuffer readPhysical(final AReadableFile file, final long position, final int length)
+	{
+		final ByteBuffer buffer = ByteBuffer.allocate(length);
+		file.readBytes(buffer, position, length);
+		buffer.flip();
+		
+		return buffer;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	private final StorageDataFileCompressor compressor;
+	
+	private long[] logicalStarts  = new long[INITIAL_INDEX_LENGTH];
+	private long[] physicalStarts = new long[INITIAL_INDEX_LENGTH];
+	private int    blockCount    ;
+	private long   logicalLength ;
+	private long   physicalLength;
+	
+	// physical bytes of a torn block from an interrupted write that have to be cut off before appending.
+	private boolean hasTornTail;
+	
+	// the most recently decompressed block, since consecutive entity loads tend to hit the same block.
+	private int    cachedBlockIndex = -1;
+	private byte[] cachedBlockData ;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+	
+	private StorageDataFileBlocks(final StorageDataFileCompressor compressor)
+	{
+		super();
+		this.compressor = compressor;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	final StorageDataFileCompressor compressor()
+	{
+		return this.compressor;
+	}
+	
+	final long logicalLength()
+	{
+		return this.logicalLength;
+	}
+	
+	private void indexBlocks(final AReadableFile file, final long fileLength)
+	{
+		final ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_LENGTH);
+		
+		long position = this.physicalLength = FILE_HEADER_LENGTH;
+		while(position + BLOCK_HEADER_LENGTH <= fileLength)
+		{
+			header.clear();
+			file.readBytes(header, position, BLOCK_HEADER_LENGTH);
+			header.flip();
+			
+			final int payloadLength = header.getInt();
+			final int dataLength    = header.getInt();
+			if(payloadLength <= 0 || dataLength < payloadLength)
+			{
+				throw new StorageExceptionIoReading(
+					"Invalid compressed block header at position " + position + " of " + file.identifier()
+				);
+			}
+			
+			final long blockEnd = position + BLOCK_HEADER_LENGTH + payloadLength;
+			if(blockEnd > fileLength)
+			{
+				break;
+			}
+			
+			this.addBlock(position, dataLength, blockEnd);
+			position = blockEnd;
+		}
+		
+		this.hasTornTail = position != fileLength;
+	}
+	
+	private void addBlock(final long physicalStart, final int dataLength, final long physicalEnd)
+	{
+		if(this.blockCount == this.logicalStarts.length)
+		{
+			this.logicalStarts  = Arrays.copyOf(this.logicalStarts , this.blockCount * 2);
+			this.physicalStarts = Arrays.copyOf(this.physicalStarts, this.blockCount * 2);
+		}
+		
+		this.logicalStarts [this.blockCount] = this.logicalLength;
+		this.physicalStarts[this.blockCount] = physicalStart;
+		this.blockCount++;
+		
+		this.logicalLength += dataLength;
+		this.physicalLength = physicalEnd;
+	}
+	
+	private long logicalEnd(final int blockIndex)
+	{
+		return blockIndex + 1 < this.blockCount
+			? this.logicalStarts[blockIndex + 1]
+			: this.logicalLength
+		;
+	}
+	
+	private long physicalEnd(final int blockIndex)
+	{
+		return blockIndex + 1 < this.blockCount
+			? this.physicalStarts[blockIndex + 1]
+			: this.physicalLength
+		;
+	}
+	
+	/**
+	 * @return the index of the block containing the passed logical position.
+	 */
+	private int blockIndex(final long position)
+	{
+		final int index = Arrays.binarySearch(this.logicalStarts, 0, this.blockCount, position);
+		
+		return index >= 0
+			? index
+			: -index - 2
+		;
+	}
+	
+	private byte[] decompressBlock(final AReadableFile file, final int blockIndex)
+	{
+		if(blockIndex == this.cachedBlockIndex)
+		{
+			return this.cachedBlockData;
+		}
+		
+		final long       physicalStart = this.physicalStarts[blockIndex];
+		final int        payloadLength = X.checkArrayRange(this.physicalEnd(blockIndex) - physicalStart - BLOCK_HEADER_LENGTH);
+		final int        dataLength    = X.checkArrayRange(this.logicalEnd(blockIndex) - this.logicalStarts[blockIndex]);
+		final ByteBuffer payload       = readPhysical(file, physicalStart + BLOCK_HEADER_LENGTH, payloadLength);
+		
+		final byte[] data;
+		if(payloadLength == dataLength)
+		{
+			data = payload.array();
+		}
+		else
+		{
+			data = new byte[dataLength];
+			this.compressor.decompress(payload.array(), payloadLength, data, dataLength);
+		}
+		
+		this.cachedBlockIndex = blockIndex;
+		this.cachedBlockData  = data;
+		
+		return data;
+	}
+	
+	private void invalidateCache()
+	{
+		this.cachedBlockIndex = -1;
+		this.cachedBlockData  = null;
+	}
+	
+	final long read(
+		final AReadableFile file        ,
+		final ByteBuffer    targetBuffer,
+		final long          position    ,
+		final long          length
+	)
+	{
+		if(length == 0)
+		{
+			return 0;
+		}
+		X.validateRange(this.logicalLength, position, length);
+		if(targetBuffer.remaining() < length)
+		{
+			throw new IllegalArgumentException(
+				"Provided target buffer has not enough space remaining: " + targetBuffer.remaining() + " < " + length
+			);
+		}
+		
+		final long bound = position + length;
+		for(int i = this.blockIndex(position); i < this.blockCount && this.logicalStarts[i] < bound; i++)
+		{
+			final byte[] data  = this.decompressBlock(file, i);
+			final long   start = Math.max(position, this.logicalStarts[i]);
+			final long   end   = Math.min(bound   , this.logicalEnd(i)   );
+			targetBuffer.put(data, (int)(start - this.logicalStarts[i]), (int)(end - start));
+		}
+		
+		return length;
+	}
+	
+	final ByteBuffer read(final AReadableFile file, final long position, final long length)
+	{
+		final ByteBuffer buffer = ByteBuffer.allocate(X.checkArrayRange(length));
+		this.read(file, buffer, position, length);
+		buffer.flip();
+		
+		return buffer;
+	}
+	
+	/**
+	 * Reads the physical blocks representing the passed logical range, if it starts and ends at block boundaries.
+	 * 
+	 * @return the physical blocks or {@literal null} if the range is not aligned to blocks.
+	 */
+	final ByteBuffer readAlignedBlocks(final AReadableFile file, final long position, final long length)
+	{
+		final long bound      = position + length;
+		final int  firstIndex = this.blockIndex(position);
+		if(length <= 0 || bound > this.logicalLength || firstIndex < 0 || this.logicalStarts[firstIndex] != position)
+		{
+			return null;
+		}
+		
+		final int lastIndex = this.blockIndex(bound - 1);
+		if(this.logicalEnd(lastIndex) != bound)
+		{
+			return null;
+		}
+		
+		final long physicalStart = this.physicalStarts[firstIndex];
+		
+		return readPhysical(file, physicalStart, X.checkArrayRange(this.physicalEnd(lastIndex) - physicalStart));
+	}
+	
+	/**
+	 * Appends physical blocks as read by {@link #readAlignedBlocks(AReadableFile, long, long)}.
+	 * 
+	 * @return the appended logical length.
+	 */
+	final long appendBlocks(final AWritableFile file, final ByteBuffer blocks)
+	{
+		this.cutTornTail(file);
+		
+		final long oldLogicalLength  = this.logicalLength;
+		final long oldPhysicalLength = this.physicalLength;
+		final int  physicalLength    = blocks.remaining();
+		
+		file.writeBytes(blocks);
+		
+		for(int offset = 0; offset < physicalLength;)
+		{
+			final int payloadLength = blocks.getInt(offset);
+			final int dataLength    = blocks.getInt(offset + Integer.BYTES);
+			final int blockLength   = BLOCK_HEADER_LENGTH + payloadLength;
+			this.addBlock(oldPhysicalLength + offset, dataLength, oldPhysicalLength + offset + blockLength);
+			offset += blockLength;
+		}
+		
+		return this.logicalLength - oldLogicalLength;
+	}
+	
+	/**
+	 * Compresses and appends the passed buffers' remaining content as one or more blocks.
+	 * 
+	 * @return the appended logical length.
+	 */
+	final long append(final AWritableFile file, final Iterable<? extends ByteBuffer> buffers)
+	{
+		this.cutTornTail(file);
+		
+		final int              blockLength = this.compressor.blockLength();
+		final byte[]           block       = new byte[blockLength];
+		final byte[]           compressed  = new byte[blockLength];
+		final List<ByteBuffer> output      = new ArrayList<>();
+		
+		long logicalLength = 0;
+		int  blockFill     = 0;
+		for(final ByteBuffer buffer : buffers)
+		{
+			while(buffer.hasRemaining())
+			{
+				final int chunk = Math.min(buffer.remaining(), blockLength - blockFill);
+				buffer.get(block, blockFill, chunk);
+				blockFill     += chunk;
+				logicalLength += chunk;
+				
+				if(blockFill == blockLength)
+				{
+					output.add(this.createBlock(block, blockFill, compressed));
+					blockFill = 0;
+				}
+			}
+		}
+		if(blockFill > 0)
+		{
+			output.add(this.createBlock(block, blockFill, compressed));
+		}
+		
+		if(output.isEmpty())
+		{
+			return 0;
+		}
+		
+		file.writeBytes(output);
+		
+		for(final ByteBuffer written : output)
+		{
+			final int payloadLength = written.getInt(0);
+			final int dataLength    = written.getInt(Integer.BYTES);
+			this.addBlock(this.physicalLength, dataLength, this.physicalLength + BLOCK_HEADER_LENGTH + payloadLength);
+		}
+		
+		return logicalLength;
+	}
+	
+	private ByteBuffer createBlock(final byte[] data, final int dataLength, final byte[] compressed)
+	{
+		final int     compressedLength = this.compressor.compress(data, dataLength, compressed);
+		final boolean isCompressed     = compressedLength < dataLength;
+		final int     payloadLength    = isCompressed ? compressedLength : dataLength;
+		
+		final ByteBuffer block = ByteBuffer.allocate(BLOCK_HEADER_LENGTH + payloadLength);
+		block
+			.putInt(payloadLength)
+			.putInt(dataLength)
+			.put(isCompressed ? compressed : data, 0, payloadLength)
+			.flip()
+		;
+		
+		return block;
+	}
+	
+	private void cutTornTail(final AWritableFile file)
+	{
+		if(!this.hasTornTail)
+		{
+			return;
+		}
+		
+		file.truncate(this.physicalLength);
+		this.hasTornTail = false;
+	}
+	
+	/**
+	 * Truncates the file to the passed logical length. A block that is cut in two is replaced by its
+	 * recompressed leading part.
+	 * 
+	 * @return {@literal false} if the file has to be truncated completely, meaning the file header as well.
+	 */
+	final boolean truncate(final AWritableFile file, final long newLength)
+	{
+		if(newLength == 0)
+		{
+			return false;
+		}
+		X.validateRange(this.logicalLength, 0, newLength);
+		
+		final int    blockIndex    = this.blockIndex(newLength - 1);
+		final long   blockStart    = this.logicalStarts[blockIndex];
+		final byte[] remainingData = this.logicalEnd(blockIndex) == newLength
+			? null
+			: Arrays.copyOf(this.decompressBlock(file, blockIndex), X.checkArrayRange(newLength - blockStart))
+		;
+		
+		final int keptBlockCount = remainingData == null
+			? blockIndex + 1
+			: blockIndex
+		;
+		final long physicalLength = keptBlockCount < this.blockCount
+			? this.physicalStarts[keptBlockCount]
+			: this.physicalLength
+		;
+		
+		file.truncate(physicalLength);
+		this.hasTornTail    = false;
+		this.blockCount     = keptBlockCount;
+		this.logicalLength  = remainingData == null ? newLength : blockStart;
+		this.physicalLength = physicalLength;
+		this.invalidateCache();
+		
+		if(remainingData != null)
+		{
+			this.append(file, X.List(ByteBuffer.wrap(remainingData)));
+		}
+		
+		return true;
+	}
+	
+}
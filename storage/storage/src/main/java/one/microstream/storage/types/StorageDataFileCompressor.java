@@ -0,0 +1,252 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.positive;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import one.microstream.storage.exceptions.StorageExceptionIoReading;
+
+
+/**
+ * Function type that compresses and decompresses the blocks of block-compressed storage data files.
+ * <p>
+ * Data files are only compressed if a compressor is set for the {@link StorageFileWriter} of a channel
+ * (see {@link StorageFileWriter#Provider(StorageDataFileCompressor)}). Compressed files are self-describing,
+ * so existing uncompressed files keep being read and appended to as they are. The header of a compressed file
+ * holds the {@link #algorithmId()} of its compressor, so files written by the built-in DEFLATE compressor can
+ * still be read after compression has been disabled again. Files written by any other implementation require
+ * that implementation to stay known to the channel's writer, either for writing or for reading only
+ * (see {@link StorageFileWriter#DecompressingProvider(StorageDataFileCompressor)}).
+ * <p>
+ * Every block is compressed independently, so loading a single entity only requires decompressing the block
+ * that contains it. Positions and lengths in data files, as they are used by the entity index, the transactions
+ * file, housekeeping and backup, always refer to the uncompressed data.
+ */
+public interface StorageDataFileCompressor
+{
+	/**
+	 * The identifier of the compression format, which is written into the header of every compressed file
+	 * to find a compressor that is able to read the file. Identifiers up to 255 are reserved for built-in
+	 * compressors.
+	 * 
+	 * @return the identifier of the compression format.
+	 */
+	public int algorithmId();
+	
+	/**
+	 * The maximum amount of uncompressed bytes that are compressed as one block.
+	 * 
+	 * @return the maximum uncompressed block length.
+	 */
+	public int blockLength();
+	
+	/**
+	 * Compresses the first {@code sourceLength} bytes of {@code source} into {@code target}, which
+	 * has at least the length of {@link #blockLength()}.
+	 * 
+	 * @param source the uncompressed data.
+	 * @param sourceLength the amount of uncompressed bytes.
+	 * @param target the array to receive the compressed data.
+	 * @return the compressed length or {@code sourceLength} if compressing would not reduce the data's length.
+	 */
+	public int compress(byte[] source, int sourceLength, byte[] target);
+	
+	/**
+	 * Decompresses the first {@code sourceLength} bytes of {@code source} into the first {@code targetLength}
+	 * bytes of {@code target}.
+	 * 
+	 * @param source the compressed data.
+	 * @param sourceLength the amount of compressed bytes.
+	 * @param target the array to receive the uncompressed data.
+	 * @param targetLength the expected amount of uncompressed bytes.
+	 */
+	public void decompress(byte[] source, int sourceLength, byte[] target, int targetLength);
+	
+	
+	
+	public static int algorithmIdDeflate()
+	{
+		return 1;
+	}
+	
+	
+	
+	public interface Defaults
+	{
+		public static int defaultBlockLength()
+		{
+			return 64 * 1024; // 64 KB
+		}
+		
+		public static int defaultLevel()
+		{
+			// favors throughput over ratio, as storing happens synchronously in the channel threads.
+			return Deflater.BEST_SPEED;
+		}
+	}
+	
+	
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileCompressor} instance
+	 * using default values specified by {@link StorageDataFileCompressor.Defaults}.
+	 * 
+	 * @return a new {@link StorageDataFileCompressor} instance.
+	 */
+	public static StorageDataFileCompressor New()
+	{
+		return New(
+			Defaults.defaultBlockLength(),
+			Defaults.defaultLevel()
+		);
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileCompressor} instance
+	 * that compresses blocks in the DEFLATE format.
+	 * <p>
+	 * Larger blocks improve the compression ratio, smaller blocks reduce the amount of data that has to be
+	 * decompressed to load a single entity. The level does not have to match for reading, any DEFLATE
+	 * compressor can read blocks written with any block length and level.
+	 * 
+	 * @param blockLength the maximum amount of uncompressed bytes per block.
+	 * @param level the compression level in the range of {@link Deflater#BEST_SPEED} to
+	 *        {@link Deflater#BEST_COMPRESSION}.
+	 * @return a new {@link StorageDataFileCompressor} instance.
+	 */
+	public static StorageDataFileCompressor New(
+		final int blockLength,
+		final int level
+	)
+	{
+		if(level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION)
+		{
+			throw new IllegalArgumentException("Invalid compression level: " + level);
+		}
+		
+		return new StorageDataFileCompressor.Default(
+			positive(blockLength),
+			level
+		);
+	}
+	
+	public final class Default implements StorageDataFileCompressor
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final int blockLength;
+		private final int level      ;
+		
+		// zlib instances allocate native memory and are not thread-safe, so every channel thread gets its own.
+		private final ThreadLocal<Deflater> deflaters = ThreadLocal.withInitial(this::createDeflater);
+		private final ThreadLocal<Inflater> inflaters = ThreadLocal.withInitial(() -> new Inflater(true));
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Default(final int blockLength, final int level)
+		{
+			super();
+			this.blockLength = blockLength;
+			this.level       = level      ;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		private Deflater createDeflater()
+		{
+			return new Deflater(this.level, true);
+		}
+		
+		@Override
+		public final int algorithmId()
+		{
+			return StorageDataFileCompressor.algorithmIdDeflate();
+		}
+		
+		@Override
+		public final int blockLength()
+		{
+			return this.blockLength;
+		}
+		
+		@Override
+		public final int compress(final byte[] source, final int sourceLength, final byte[] target)
+		{
+			final Deflater deflater = this.deflaters.get();
+			deflater.reset();
+			deflater.setInput(source, 0, sourceLength);
+			deflater.finish();
+			
+			// output that does not fit into less than the source length is not worth being compressed.
+			final int compressedLength = deflater.deflate(target, 0, sourceLength - 1);
+			
+			return deflater.finished()
+				? compressedLength
+				: sourceLength
+			;
+		}
+		
+		@Override
+		public final void decompress(
+			final byte[] source      ,
+			final int    sourceLength,
+			final byte[] target      ,
+			final int    targetLength
+		)
+		{
+			final Inflater inflater = this.inflaters.get();
+			inflater.reset();
+			inflater.setInput(source, 0, sourceLength);
+			
+			try
+			{
+				final int length = inflater.inflate(target, 0, targetLength);
+				if(length != targetLength || !inflater.finished())
+				{
+					throw new StorageExceptionIoReading(
+						"Inconsistent compressed block: expected " + targetLength
+						+ " uncompressed bytes but got " + length + "."
+					);
+				}
+			}
+			catch(final DataFormatException e)
+			{
+				throw new StorageExceptionIoReading(e);
+			}
+		}
+		
+	}
+	
+}
@@ -23,6 +23,8 @@ package one.microstream.storage.types;
 import static one.microstream.X.notNull;
 import static one.microstream.math.XMath.notNegative;
 
+import java.util.function.IntFunction;
+
 import one.microstream.afs.types.AFile;
 
 
@@ -52,23 +54,70 @@ public interface StorageDataInventoryFile extends StorageDataFile
 		final int   channelIndex,
 		final long  number
 	)
+	{
+		return New(file, channelIndex, number, algorithmId -> null);
+	}
+	
+	/**
+	 * Creates an inventory file that reads compressed content of a custom {@link StorageDataFileCompressor}
+	 * with the compressor provided by the passed lookup.
+	 * 
+	 * @param file the file.
+	 * @param channelIndex the index of the file's channel.
+	 * @param number the file's number.
+	 * @param decompressorLookup the lookup of a compressor by its {@link StorageDataFileCompressor#algorithmId()}.
+	 * @return a new {@link StorageDataInventoryFile}.
+	 */
+	public static StorageDataInventoryFile New(
+		final AFile                                  file              ,
+		final int                                    channelIndex      ,
+		final long                                   number            ,
+		final IntFunction<StorageDataFileCompressor> decompressorLookup
+	)
 	{
 		return new StorageDataInventoryFile.Default(
 			    notNull(file),
 			notNegative(channelIndex),
-			notNegative(number)
+			notNegative(number),
+			    notNull(decompressorLookup)
 		);
 	}
 	
 	public class Default extends StorageDataFile.Abstract implements StorageDataInventoryFile
 	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final IntFunction<StorageDataFileCompressor> decompressorLookup;
+		
+		
+		
 		///////////////////////////////////////////////////////////////////////////
 		// constructors //
 		/////////////////
 
-		protected Default(final AFile file, final int channelIndex, final long number)
+		protected Default(
+			final AFile                                  file              ,
+			final int                                    channelIndex      ,
+			final long                                   number            ,
+			final IntFunction<StorageDataFileCompressor> decompressorLookup
+		)
 		{
 			super(file, channelIndex, number);
+			this.decompressorLookup = decompressorLookup;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		protected StorageDataFileCompressor contentDecompressor(final int algorithmId)
+		{
+			return this.decompressorLookup.apply(algorithmId);
 		}
 				
 	}
@@ -93,7 +93,7 @@ public interface StorageEntity
 
 
 	// (27.07.2015 TM)TODO: move internal/default  StorageEntity implementation to StorageEntityCacheItem
-	public final class Default implements StorageEntity
+	public class Default implements StorageEntity
 	{
 		///////////////////////////////////////////////////////////////////////////
 		// constants //
@@ -201,7 +201,6 @@ public interface StorageEntity
 		StorageEntity.Default
 			filePrev, // the prev in the file, potentially with a gap in between. Required for entity reassignment.
 			fileNext, // the next in the file, potentially with a gap in between.
-			hashNext, // the next in the oid-lookup hash collision one-way lane.
 			typeNext  // the next of the same type. Required for per-type iteration (e.g. export)
 		;
 
@@ -231,7 +230,6 @@ public interface StorageEntity
 			return new Default(
 				0                ,
 				type             ,
-				null             ,
 				(byte)0
 			);
 		}
@@ -239,15 +237,27 @@ public interface StorageEntity
 		static Default New(
 			final long       objectId            ,
 			final TypeInFile type                ,
-			final Default    hashNext            ,
 			final boolean    hasReferences       ,
 			final long       simpleReferenceCount
 		)
 		{
-			return new Default(
+			return new Default(objectId, type, hasReferences, simpleReferenceCount);
+		}
+
+		/**
+		 * Constructor for subclasses that extend the entity by structural fields of a specific
+		 * {@link StorageEntityIndex} implementation.
+		 */
+		Default(
+			final long       objectId            ,
+			final TypeInFile type                ,
+			final boolean    hasReferences       ,
+			final long       simpleReferenceCount
+		)
+		{
+			this(
 				objectId                                                    ,
 				type                                                        ,
-				hashNext                                                    ,
 				calculateReferenceCount(hasReferences, simpleReferenceCount)
 			);
 		}
@@ -257,15 +267,13 @@ public interface StorageEntity
 		 * initialized (JVM default value or value determined in the constructor)
 		 */
 		private Default(
-			final long                         objectId      ,
-			final TypeInFile                   type          ,
-			final StorageEntity.Default hashNext      ,
-			final byte                         referenceCount
+			final long       objectId      ,
+			final TypeInFile type          ,
+			final byte       referenceCount
 		)
 		{
 			super();
 			this.objectId       = objectId      ;
-			this.hashNext       = hashNext      ;
 			this.lastTouched    = Integer.MAX_VALUE; // initially "touched in eternity", especially for dummy entities.
 			this.typeInFile     = type          ;
 			this.referenceCount = referenceCount;
@@ -557,6 +565,20 @@ public interface StorageEntity
 				return false;
 			}
 
+			final boolean requiredLoading = this.prepareReferenceIteration();
+			this.iterateCachedReferenceIds(referenceIdIterator);
+			
+			return requiredLoading;
+		}
+		
+		/**
+		 * Ensures the reference data to be cached and touches the entity. Must be called by the owning channel's
+		 * thread before {@link #iterateCachedReferenceIds(PersistenceObjectIdAcceptor)} is called.
+		 * 
+		 * @return whether loading was required to ensure the cached reference data.
+		 */
+		final boolean prepareReferenceIteration()
+		{
 			final boolean requiredLoading = this.ensureCachedReferenceData();
 
 			/*
@@ -565,10 +587,20 @@ public interface StorageEntity
 			 * - to cache-favor entities with references over entities without.
 			 */
 			this.touch();
-
-			this.typeInFile.type.iterateEntityReferenceIds(this, referenceIdIterator);
+			
 			return requiredLoading;
 		}
+		
+		/**
+		 * Iterates the already cached reference data. Does not modify any state, so as long as the cached data
+		 * is guaranteed to stay present, this method may be called by threads other than the owning channel's thread.
+		 * 
+		 * @param referenceIdIterator the acceptor for all reference ids.
+		 */
+		final void iterateCachedReferenceIds(final PersistenceObjectIdAcceptor referenceIdIterator)
+		{
+			this.typeInFile.type.iterateEntityReferenceIds(this, referenceIdIterator);
+		}
 
 		@Override
 		public final long exportTo(final AWritableFile file)
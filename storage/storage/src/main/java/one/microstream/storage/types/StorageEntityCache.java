@@ -20,19 +20,19 @@ package one.microstream.storage.types;
  * #L%
  */
 
+import static one.microstream.X.mayNull;
 import static one.microstream.X.notNull;
-import static one.microstream.math.XMath.log2pow2;
 import static one.microstream.math.XMath.notNegative;
 import static one.microstream.math.XMath.positive;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import org.slf4j.Logger;
 
 import one.microstream.X;
 import one.microstream.collections.EqHashEnum;
 import one.microstream.functional.ThrowingProcedure;
-import one.microstream.math.XMath;
 import one.microstream.memory.XMemory;
 import one.microstream.persistence.binary.types.Binary;
 import one.microstream.persistence.binary.types.ChunksBuffer;
@@ -108,7 +108,6 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 
 		private final int                                channelIndex        ;
 		private final int                                channelHashModulo   ;
-		private final int                                channelHashShift    ;
 		private final long                               rootTypeId          ;
 		private final long                               markingWaitTimeMs   ;
 		        final StorageEntityCacheEvaluator        entityCacheEvaluator;
@@ -117,7 +116,10 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		private final StorageGCZombieOidHandler          zombieOidHandler    ;
 		private final StorageRootOidSelector             rootOidSelector     ;
 		private final RootEntityRootOidSelectionIterator rootEntityIterator  ;
-		private final StorageEventLogger                 eventLogger         ;
+		        final StorageEventLogger                 eventLogger         ;
+		private final StorageEntityIndex                 oidIndex            ; // resetting handled here
+		private final StorageMarkingWorkerPool           markingWorkerPool   ; // null for single-threaded marking
+		private final StorageEntity.Default[]            markingEntityBuffer ; // only used for parallel marking
 		private       StorageFileManager.Default         fileManager         ; // pseudo-final
 		
 		
@@ -141,10 +143,6 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		
 		// state 3.1: variable length content
 		
-		private       StorageEntity.Default[]     oidHashTable ;
-		private       int                         oidModulo    ; // long modulo makes not difference
-		private       long                        oidSize      ;
-		
 		private       StorageEntityType.Default[] tidHashTable ;
 		private       int                         tidModulo    ;
 		private       int                         tidSize      ;
@@ -171,12 +169,13 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			final StorageObjectIdMarkQueue    oidMarkQueue       ,
 			final StorageEventLogger          eventLogger        ,
 			final long                        markingWaitTimeMs  ,
-			final int                         markingBufferLength
+			final int                         markingBufferLength,
+			final StorageEntityIndex          oidIndex           ,
+			final StorageMarkingWorkerPool    markingWorkerPool
 		)
 		{
 			super();
 			this.channelIndex         = notNegative(channelIndex)     ;
-			this.channelHashShift     = log2pow2   (channelCount)     ;
 			this.entityCacheEvaluator = notNull    (cacheEvaluator)   ;
 			this.typeDictionary       = notNull    (typeDictionary)   ;
 			this.markMonitor          = notNull    (markMonitor)      ;
@@ -186,11 +185,17 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			this.oidMarkQueue         = notNull    (oidMarkQueue)     ;
 			this.eventLogger          =             eventLogger       ;
 			this.markingWaitTimeMs    = positive   (markingWaitTimeMs);
+			this.oidIndex             = notNull    (oidIndex)         ;
+			this.markingWorkerPool    = mayNull    (markingWorkerPool);
 			
 			// derived values
 			
 			this.channelHashModulo  = channelCount - 1;
 			this.markingOidBuffer   = new long[markingBufferLength];
+			this.markingEntityBuffer = markingWorkerPool == null
+				? null
+				: new StorageEntity.Default[markingBufferLength]
+			;
 			this.rootEntityIterator = new RootEntityRootOidSelectionIterator(rootOidSelector);
 			this.typeHead           = new StorageEntityType.Default(this.channelIndex);
 			
@@ -271,9 +276,12 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			
 			this.markMonitor.reset();
 			
-			this.oidHashTable   = new StorageEntity.Default[1];
-			this.oidModulo      = this.oidHashTable.length - 1;
-			this.oidSize        = 0;
+			if(this.markingWorkerPool != null)
+			{
+				this.markingWorkerPool.shutdown();
+			}
+			
+			this.oidIndex.clear();
 
 			this.tidHashTable   = new StorageEntityType.Default[1];
 			this.tidModulo      = this.tidHashTable.length - 1;
@@ -299,58 +307,6 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 //			this.liveCursor = this.typeHead.head;
 		}
 
-		// must use lock to keep other channels from marking while rebuild is in progress
-		private void enlargeOidHashTable()
-		{
-			final int newModulo;
-			final StorageEntity.Default[] newSlots =
-				XMath.isGreaterThanOrEqualHighestPowerOf2(this.oidHashTable.length)
-				? new StorageEntity.Default[newModulo = Integer.MAX_VALUE] // perfect hash range special case
-				: new StorageEntity.Default[(newModulo = (this.oidModulo + 1 << 1) - 1) + 1] // 1111 :D
-			;
-			rebuildOidHashSlots(this.oidHashTable, newSlots, this.channelHashShift, newModulo);
-			this.oidHashTable = newSlots;
-			this.oidModulo    = newModulo;
-			
-			logger.debug("Enlarged StorageEntityCache to {} entries!", newSlots.length);
-		}
-
-		private static void rebuildOidHashSlots(
-			final StorageEntity.Default[] oldSlots     ,
-			final StorageEntity.Default[] newSlots     ,
-			final int                            bitShiftCount,
-			final int                            newModulo
-		)
-		{
-			for(StorageEntity.Default entry : oldSlots)
-			{
-				for(StorageEntity.Default next; entry != null; entry = next)
-				{
-					next = entry.hashNext;
-					entry.hashNext = newSlots[oidHashIndex(entry.objectId(), bitShiftCount, newModulo)];
-					newSlots[oidHashIndex(entry.objectId(), bitShiftCount, newModulo)] = entry;
-				}
-			}
-		}
-
-		private void checkOidHashTableConsolidation()
-		{
-			// if the hash table has suitable size, abort
-			if(this.oidHashTable.length >>> 1 < this.oidSize)
-			{
-				return;
-			}
-
-			// if the hash table is unnecessary large, shrink it
-			final int                            newModulo = XMath.pow2BoundMaxed((int)this.oidSize) - 1;
-			final StorageEntity.Default[] newSlots  = new StorageEntity.Default[newModulo + 1];
-			rebuildOidHashSlots(this.oidHashTable, newSlots, this.channelHashShift, newModulo);
-			this.oidHashTable = newSlots;
-			this.oidModulo    = newModulo;
-			
-			logger.debug("Consolidated StorageEntityCache to {} entries!", newSlots.length);
-		}
-
 		private void rebuildTidHashTable()
 		{
 			final int newModulo;
@@ -435,26 +391,11 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			return hash(objectId, channelHashModulo);
 		}
 
-		private int oidHashIndex(final long objectId)
-		{
-			return oidHashIndex(objectId, this.channelHashShift, this.oidModulo);
-		}
-
 		private int oidChannelIndex(final long objectId)
 		{
 			return oidChannelIndex(objectId, this.channelHashModulo);
 		}
 
-		private StorageEntity.Default getOidHashChainHead(final long objectId)
-		{
-			return this.oidHashTable[this.oidHashIndex(objectId)];
-		}
-
-		private void setOidHashChainHead(final long objectId, final StorageEntity.Default head)
-		{
-			this.oidHashTable[this.oidHashIndex(objectId)] = head;
-		}
-
 
 		/* Note on synchronization:
 		 * This method does not need to be synchronized (locked), as it is exclusively always called by the
@@ -463,20 +404,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		 */
 		final void unregisterEntity(final StorageEntity.Default item)
 		{
-			StorageEntity.Default entry;
-			if((entry = this.getOidHashChainHead(item.objectId())) == item)
-			{
-				this.setOidHashChainHead(item.objectId(), item.hashNext);
-			}
-			else
-			{
-				// subject is (must be) guaranteed to be contained in the hash chain, hence no null check
-				while(entry.hashNext != item)
-				{
-					entry = entry.hashNext;
-				}
-				entry.hashNext = item.hashNext;
-			}
+			this.oidIndex.remove(item);
 		}
 
 		/* Note on synchronization:
@@ -486,14 +414,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		 */
 		public final StorageEntity.Default getEntry(final long objectId)
 		{
-			for(StorageEntity.Default e = this.getOidHashChainHead(objectId); e != null; e = e.hashNext)
-			{
-				if(e.objectId() == objectId)
-				{
-					return e;
-				}
-			}
-			return null;
+			return this.oidIndex.get(objectId);
 		}
 
 		final void registerPendingStoreUpdate()
@@ -712,6 +633,11 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			
 			return entity;
 		}
+		
+		final StorageEntity.Default initialCreateEntity(final long objectId, final long typeId)
+		{
+			return this.createEntity(objectId, this.getType(typeId));
+		}
 
 		private void resetExistingEntityForUpdate(final StorageEntity.Default entry)
 		{
@@ -818,7 +744,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 
 		public final long entityCount()
 		{
-			return this.oidSize;
+			return this.oidIndex.size();
 		}
 
 		/* Note on synchronization:
@@ -831,26 +757,10 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			final StorageEntityType.Default type
 		)
 		{
-			// increment size and check for necessary (and reasonable) rebuild
-			if(this.oidSize >= this.oidModulo && this.oidModulo < Integer.MAX_VALUE)
-			{
-				this.enlargeOidHashTable();
-			}
-
-			// create and put entry
-			final StorageEntity.Default entity;
-			this.setOidHashChainHead(
-				objectId,
-				entity = StorageEntity.Default.New(
-					objectId,
-					type.dummy,
-					this.getOidHashChainHead(objectId),
-					type.hasReferences(),
-					type.simpleReferenceDataCount()
-				)
-			);
+			// create and put entry. The index takes care of its size and necessary (and reasonable) rebuilds.
+			final StorageEntity.Default entity = this.oidIndex.createEntity(objectId, type);
+			this.oidIndex.add(entity);
 			type.add(entity);
-			this.oidSize++; // increment size not before creating and registering succeeded
 
 			// (17.11.2016 TM)NOTE: moved outside
 //			this.markEntityForChangedData(entity);
@@ -883,9 +793,18 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 
 			// 5.) mark entity as deleted
 			entity.setDeleted();
-						
-			// decrement size, otherwise the the cache can't shrink
-			this.oidSize--;
+		}
+
+		/**
+		 * Copies the passed entity's data to the passed collector, loading it if necessary, reports the access to
+		 * the cache evaluator and checks whether the data may stay cached afterwards.
+		 */
+		final void collectEntityData(final StorageEntity.Default entity, final ChunksBuffer dataCollector)
+		{
+			final boolean cached = entity.isLive() && !entity.hasOnlySimpleReferencesLoaded();
+			this.entityCacheEvaluator.registerAccess(entity, cached);
+			entity.copyCachedData(dataCollector);
+			this.checkForCacheClear(entity, System.currentTimeMillis());
 		}
 
 		void checkForCacheClear(final StorageEntity.Default entry, final long evalTime)
@@ -917,6 +836,11 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		 */
 		private boolean incrementalMark(final long nanoTimeBudgetBound)
 		{
+			if(this.markingWorkerPool != null)
+			{
+				return this.incrementalMarkParallel(nanoTimeBudgetBound);
+			}
+			
 			final long                     evalTime        = System.currentTimeMillis();
 			final StorageReferenceMarker   referenceMarker = this.referenceMarker      ;
 			final StorageObjectIdMarkQueue oidMarkQueue    = this.oidMarkQueue         ;
@@ -995,6 +919,95 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			// time ran out, return false.
 			return false;
 		}
+		
+		/**
+		 * Variant of {@link #incrementalMark(long)} that delegates the reference iteration of every batch of oids
+		 * to the {@link StorageMarkingWorkerPool}. Everything that modifies the channel's state (lookup, zombie oid
+		 * handling, data loading, cache clearing, mark queue advancing) is still done by the channel's thread,
+		 * the workers only iterate cached reference data and mark the entities black.
+		 * <p>
+		 * The time budget is checked once per batch instead of once per entity.
+		 */
+		private boolean incrementalMarkParallel(final long nanoTimeBudgetBound)
+		{
+			final long                     evalTime     = System.currentTimeMillis();
+			final StorageObjectIdMarkQueue oidMarkQueue = this.oidMarkQueue         ;
+			final long[]                   oidsBuffer   = this.markingOidBuffer     ;
+			final StorageEntity.Default[]  entities     = this.markingEntityBuffer  ;
+
+			// mark at least one batch, even if there no time, to avoid starvation
+			do
+			{
+				final int oidsMarkAmount;
+				if((oidsMarkAmount = oidMarkQueue.getNext(oidsBuffer)) == 0)
+				{
+					// ran out of work before time ran out. So return true.
+					return true;
+				}
+
+				int entityCount = 0, loadedCount = 0;
+				for(int i = 0; i < oidsMarkAmount; i++)
+				{
+					final StorageEntity.Default entry = this.getEntry(oidsBuffer[i]);
+
+					// externalized/modularized zombie oid handling
+					if(entry == null)
+					{
+						if(!this.zombieOidHandler.handleZombieOid(oidsBuffer[i]))
+						{
+							// if the handler didn't throw an exception but didn't say it's handled, either, then log it.
+							logger.warn("Storage GC marking encountered zombie ObjectId {}", oidsBuffer[i]);
+							this.eventLogger.logGarbageCollectorEncounteredZombieObjectId(oidsBuffer[i]);
+						}
+						continue;
+					}
+
+					// if the entry is already marked black (was redundantly enqueued), skip it and continue to the next
+					if(entry.isGcBlack())
+					{
+						continue;
+					}
+
+					if(!entry.hasReferences())
+					{
+						// no references to be iterated, so the entry is fully processed right away.
+						entry.markBlack();
+						continue;
+					}
+
+					// loading must be done by the channel's thread. Entities that required loading are sorted to the front.
+					if(entry.prepareReferenceIteration())
+					{
+						entities[entityCount] = entities[loadedCount];
+						entities[loadedCount++] = entry;
+						entityCount++;
+					}
+					else
+					{
+						entities[entityCount++] = entry;
+					}
+				}
+
+				// iterate all references in parallel. Returns not before all found references have been enqueued.
+				this.markingWorkerPool.markReferences(entities, entityCount, this.referenceMarker);
+
+				// must check for clearing the cache again for all entities that required loading
+				for(int i = 0; i < loadedCount; i++)
+				{
+					this.checkForCacheClear(entities[i], evalTime);
+				}
+
+				// clear the buffer to not keep deleted entities reachable.
+				Arrays.fill(entities, 0, entityCount, null);
+
+				// the whole batch has been processed, so advance the gray queue accordingly.
+				this.advanceMarking(oidsMarkAmount);
+			}
+			while(System.nanoTime() < nanoTimeBudgetBound);
+
+			// time ran out, return false.
+			return false;
+		}
 
 		private void sweep()
 		{
@@ -1471,7 +1484,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			if(this.markMonitor.isComplete(this))
 			{
 				// minimize hash table memory consumption if storage is potentially going to be inactive
-				this.checkOidHashTableConsolidation();
+				this.oidIndex.consolidate();
 
 				return true;
 			}
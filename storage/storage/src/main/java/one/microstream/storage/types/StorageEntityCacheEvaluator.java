@@ -20,6 +20,11 @@ package one.microstream.storage.types;
  * #L%
  */
 
+import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.notNegative;
+
+import java.util.concurrent.atomic.LongAdder;
+
 import one.microstream.chars.VarString;
 import one.microstream.exceptions.NumberRangeException;
 
@@ -47,6 +52,20 @@ public interface StorageEntityCacheEvaluator
 	{
 		return !this.clearEntityCache(totalCacheSize, evaluationTime, entity);
 	}
+	
+	/**
+	 * Callback for every load request for the passed entity's data, before the data is loaded (if required).
+	 * Allows implementations to track access patterns and statistics. Does nothing by default.
+	 * <p>
+	 * Note that this method is called concurrently by all channel threads.
+	 * 
+	 * @param entity the entity whose data is requested.
+	 * @param cached whether the entity's complete data was already cached ("hit") or has to be loaded ("miss").
+	 */
+	public default void registerAccess(final StorageEntity entity, final boolean cached)
+	{
+		// no-op by default
+	}
 
 
 
@@ -63,6 +82,12 @@ public interface StorageEntityCacheEvaluator
 			// 1 day default timeout
 			return 86_400_000;
 		}
+
+		public static long defaultWindowMs()
+		{
+			// 1 minute of unconditional caching for recently used entities
+			return 60_000;
+		}
 	}
 
 	public interface Validation
@@ -196,6 +221,105 @@ public interface StorageEntityCacheEvaluator
 		return new StorageEntityCacheEvaluator.Default(timeoutMs, threshold);
 	}
 
+	/**
+	 * Pseudo-constructor method to create a new frequency-based {@link StorageEntityCacheEvaluator} instance
+	 * using default values defined by {@link StorageEntityCacheEvaluator.Defaults}.
+	 * <p>
+	 * For explanations and customizing values, see
+	 * {@link StorageEntityCacheEvaluator#NewFrequencyBased(long, long, long, StorageEntityFrequencySketch)}.
+	 *
+	 * @return a new {@link StorageEntityCacheEvaluator.FrequencyBased} instance.
+	 */
+	public static StorageEntityCacheEvaluator.FrequencyBased NewFrequencyBased()
+	{
+		return NewFrequencyBased(
+			Defaults.defaultTimeoutMs()     ,
+			Defaults.defaultCacheThreshold()
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new frequency-based {@link StorageEntityCacheEvaluator} instance
+	 * using the passed values and default values defined by {@link StorageEntityCacheEvaluator.Defaults}.
+	 * <p>
+	 * For explanations and customizing values, see
+	 * {@link StorageEntityCacheEvaluator#NewFrequencyBased(long, long, long, StorageEntityFrequencySketch)}.
+	 *
+	 * @param timeoutMs the time (in milliseconds, greater than 0) of not being read, after which a particular
+	 *        entity's data will be cleared from the Storage's internal cache.
+	 *
+	 * @param threshold the cache size in bytes (greater than 0) at which all entity data is cleared.
+	 *
+	 * @return a new {@link StorageEntityCacheEvaluator.FrequencyBased} instance.
+	 *
+	 * @throws NumberRangeException if any of the passed values is equal to or lower than 0.
+	 */
+	public static StorageEntityCacheEvaluator.FrequencyBased NewFrequencyBased(
+		final long timeoutMs,
+		final long threshold
+	)
+	{
+		return NewFrequencyBased(
+			timeoutMs                          ,
+			threshold                          ,
+			Defaults.defaultWindowMs()         ,
+			StorageEntityFrequencySketch.New()
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new frequency-based {@link StorageEntityCacheEvaluator} instance
+	 * using the passed values.
+	 * <p>
+	 * In contrast to the default implementation (see {@link #New(long, long)}), which judges entities solely by
+	 * the time of their last use and their size, this implementation additionally takes into account how often
+	 * an entity's data has recently been requested, estimated by a {@link StorageEntityFrequencySketch}.
+	 * This prevents a one-off scan (e.g. an export or a report iterating all entities of a type) from
+	 * displacing the frequently used "working set" from the cache. The cache is divided into two regions,
+	 * in the spirit of a W-TinyLFU policy:
+	 * <ol>
+	 * <li>A "window" of recently used entities (not older than {@literal windowMs}), which stay cached
+	 * as long as the cache size is below the threshold. This protects bursts of accesses to new entities.</li>
+	 * <li>The "main" region of all other entities. An entity in it must have a recent access frequency
+	 * proportional to the cache's fullness to stay cached: In an almost empty cache, nothing is cleared,
+	 * in a cache filled to 50%, only entities with at least half the maximum frequency remain cached, etc.
+	 * Entities without references need one more frequency point, as in the default implementation.</li>
+	 * </ol>
+	 * Additionally, every entity not used longer than {@literal timeoutMs} is cleared.
+	 * <p>
+	 * The instance also counts cache hits and misses of all data requests, see {@link FrequencyBased#hitCount()}.
+	 *
+	 * @param timeoutMs the time (in milliseconds, greater than 0) of not being read, after which a particular
+	 *        entity's data will be cleared from the Storage's internal cache.
+	 *
+	 * @param threshold the cache size in bytes (greater than 0) at which all entity data is cleared.
+	 *
+	 * @param windowMs the time (in milliseconds) after their last use during which entities are cached
+	 *        regardless of their frequency.
+	 *
+	 * @param sketch the sketch to estimate the access frequency of entities.
+	 *
+	 * @return a new {@link StorageEntityCacheEvaluator.FrequencyBased} instance.
+	 *
+	 * @throws NumberRangeException if any of the passed values is equal to or lower than 0.
+	 */
+	public static StorageEntityCacheEvaluator.FrequencyBased NewFrequencyBased(
+		final long                         timeoutMs,
+		final long                         threshold,
+		final long                         windowMs ,
+		final StorageEntityFrequencySketch sketch
+	)
+	{
+		Validation.validateParameters(timeoutMs, threshold);
+
+		return new StorageEntityCacheEvaluator.FrequencyBased(
+			timeoutMs            ,
+			threshold            ,
+			notNegative(windowMs),
+			notNull(sketch)
+		);
+	}
+
 	public final class Default implements StorageEntityCacheEvaluator
 	{
 		///////////////////////////////////////////////////////////////////////////
@@ -336,4 +460,145 @@ public interface StorageEntityCacheEvaluator
 
 	}
 
+
+
+	public final class FrequencyBased implements StorageEntityCacheEvaluator
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long                         timeoutMs;
+		private final long                         threshold;
+		private final long                         windowMs ;
+		private final StorageEntityFrequencySketch sketch   ;
+		private final LongAdder                    hitCount ;
+		private final LongAdder                    missCount;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		FrequencyBased(
+			final long                         timeoutMs,
+			final long                         threshold,
+			final long                         windowMs ,
+			final StorageEntityFrequencySketch sketch
+		)
+		{
+			super();
+			this.timeoutMs = timeoutMs      ;
+			this.threshold = threshold      ;
+			this.windowMs  = windowMs       ;
+			this.sketch    = sketch         ;
+			this.hitCount  = new LongAdder();
+			this.missCount = new LongAdder();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		public long timeout()
+		{
+			return this.timeoutMs;
+		}
+
+		public long threshold()
+		{
+			return this.threshold;
+		}
+
+		public long window()
+		{
+			return this.windowMs;
+		}
+
+		/**
+		 * @return the number of data requests that were served from the cache since creation or the last reset.
+		 */
+		public long hitCount()
+		{
+			return this.hitCount.sum();
+		}
+
+		/**
+		 * @return the number of data requests that required loading since creation or the last reset.
+		 */
+		public long missCount()
+		{
+			return this.missCount.sum();
+		}
+
+		/**
+		 * @return the ratio of cache hits to all data requests or {@literal 0} if there were no requests.
+		 */
+		public double hitRatio()
+		{
+			final long hits  = this.hitCount();
+			final long total = hits + this.missCount();
+
+			return total == 0 ? 0.0 : (double)hits / total;
+		}
+
+		public void resetStatistics()
+		{
+			this.hitCount.reset();
+			this.missCount.reset();
+		}
+
+		@Override
+		public final void registerAccess(final StorageEntity entity, final boolean cached)
+		{
+			this.sketch.increment(entity.objectId());
+			(cached ? this.hitCount : this.missCount).increment();
+		}
+
+		@Override
+		public final boolean clearEntityCache(
+			final long          cacheSize,
+			final long          evalTime ,
+			final StorageEntity e
+		)
+		{
+			final long ageInMs = evalTime - e.lastTouched();
+			if(ageInMs >= this.timeoutMs || cacheSize >= this.threshold)
+			{
+				return true;
+			}
+			if(ageInMs < this.windowMs)
+			{
+				// window region: recently used entities are kept, as well as ones touched "in the future" (negative age).
+				return false;
+			}
+
+			// main region: the required frequency rises linearly with the cache fullness (0 to maximum frequency).
+			final int maximumFrequency  = this.sketch.maximumFrequency();
+			final int requiredFrequency = (int)(cacheSize * (maximumFrequency + 1) / this.threshold)
+				+ (e.hasReferences() ? 0 : 1)
+			;
+
+			return requiredFrequency > 0 && this.sketch.frequency(e.objectId()) < requiredFrequency;
+		}
+
+		@Override
+		public String toString()
+		{
+			return VarString.New()
+				.add(this.getClass().getName()).add(':').lf()
+				.blank().add("threshold ").tab().add('=').blank().add(this.threshold).lf()
+				.blank().add("timeout   ").tab().add('=').blank().add(this.timeoutMs).lf()
+				.blank().add("window    ").tab().add('=').blank().add(this.windowMs).lf()
+				.blank().add("hits      ").tab().add('=').blank().add(this.hitCount()).lf()
+				.blank().add("misses    ").tab().add('=').blank().add(this.missCount())
+				.toString()
+			;
+		}
+
+	}
+
 }
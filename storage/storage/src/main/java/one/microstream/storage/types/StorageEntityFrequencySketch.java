@@ -0,0 +1,229 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+
+import static one.microstream.math.XMath.positive;
+
+import one.microstream.math.XMath;
+
+
+/**
+ * Probabilistic, fixed-size estimator of how often the data of entities is accessed, implemented as a
+ * count-min sketch with 4-bit counters and periodic aging ("TinyLFU").
+ * <p>
+ * Every entity is tracked by its object id only, so no additional per-entity state is required. Each access
+ * increments four counters in a table of {@code long} values (16 counters per value), the estimated frequency is
+ * the minimum of those counters. Once the number of recorded accesses reaches the sample size, all counters are
+ * halved, so that frequencies reflect recent history and formerly hot entities eventually lose their advantage.
+ * <p>
+ * Note that this implementation is intentionally not synchronized: it is updated concurrently by all channel
+ * threads, where an occasionally lost increment only makes the estimation marginally less accurate, which is
+ * negligible compared to the cost of synchronization on the loading path.
+ */
+public interface StorageEntityFrequencySketch
+{
+	/**
+	 * Records one access of the entity with the passed object id.
+	 *
+	 * @param objectId the object id of the accessed entity.
+	 */
+	public void increment(long objectId);
+
+	/**
+	 * Returns the estimated recent access frequency of the entity with the passed object id,
+	 * ranging from 0 to {@link #maximumFrequency()}.
+	 *
+	 * @param objectId the object id of the entity to be estimated.
+	 * @return the estimated access frequency.
+	 */
+	public int frequency(long objectId);
+
+	/**
+	 * @return the maximum frequency value that {@link #frequency(long)} can return.
+	 */
+	public int maximumFrequency();
+
+
+
+	public interface Defaults
+	{
+		public static long defaultExpectedEntityCount()
+		{
+			// covers the "hot" part of even huge databases with a sketch of 2 MB.
+			return 1_000_000;
+		}
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityFrequencySketch} instance
+	 * using default values defined by {@link StorageEntityFrequencySketch.Defaults}.
+	 *
+	 * @return a new {@link StorageEntityFrequencySketch} instance.
+	 */
+	public static StorageEntityFrequencySketch New()
+	{
+		return New(Defaults.defaultExpectedEntityCount());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityFrequencySketch} instance
+	 * sized to distinguish the access frequencies of roughly {@code expectedEntityCount} entities.
+	 * Note that the expected count only needs to cover the frequently used entities, not the whole database.
+	 *
+	 * @param expectedEntityCount the number of entities whose frequencies shall be reliably distinguishable.
+	 * @return a new {@link StorageEntityFrequencySketch} instance.
+	 */
+	public static StorageEntityFrequencySketch New(final long expectedEntityCount)
+	{
+		positive(expectedEntityCount);
+
+		// 16 counters per long, 4 counters per entity: a quarter of the expected count suffices as table length.
+		final int tableLength = XMath.pow2BoundCapped((int)Math.min(
+			Math.max(expectedEntityCount >>> 2, Default.MINIMUM_TABLE_LENGTH),
+			Default.MAXIMUM_TABLE_LENGTH
+		));
+
+		return new StorageEntityFrequencySketch.Default(
+			new long[tableLength],
+			Math.min(expectedEntityCount * Default.SAMPLE_FACTOR, Integer.MAX_VALUE)
+		);
+	}
+
+	public final class Default implements StorageEntityFrequencySketch
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		static final int  MINIMUM_TABLE_LENGTH = 64                 ;
+		static final int  MAXIMUM_TABLE_LENGTH = 1 << 26            ;
+		static final int  SAMPLE_FACTOR        = 10                 ;
+		static final int  MAXIMUM_FREQUENCY    = 15                 ;
+		static final long RESET_MASK           = 0x7777777777777777L;
+
+		// odd multipliers to derive four independent hashes from one object id. Taken from common hash functions.
+		private static final long[] SEEDS =
+		{
+			0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xFF51AFD7ED558CCDL
+		};
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long[] table     ;
+		private final int    tableMask ;
+		private final long   sampleSize;
+		private       long   size      ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final long[] table, final long sampleSize)
+		{
+			super();
+			this.table      = table           ;
+			this.tableMask  = table.length - 1;
+			this.sampleSize = sampleSize      ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		private static long hash(final long objectId, final int depth)
+		{
+			final long hash = (objectId + depth) * SEEDS[depth];
+			return hash ^ hash >>> 32;
+		}
+
+		@Override
+		public final void increment(final long objectId)
+		{
+			final long[] table = this.table;
+
+			boolean incremented = false;
+			for(int d = 0; d < SEEDS.length; d++)
+			{
+				final long hash   = hash(objectId, d);
+				final int  index  = (int)(hash >>> 4) & this.tableMask;
+				final int  offset = ((int)hash & 15) << 2;
+
+				final long value = table[index];
+				if((value >>> offset & MAXIMUM_FREQUENCY) != MAXIMUM_FREQUENCY)
+				{
+					table[index] = value + (1L << offset);
+					incremented = true;
+				}
+			}
+
+			if(incremented && ++this.size >= this.sampleSize)
+			{
+				this.age();
+			}
+		}
+
+		private void age()
+		{
+			// halving all counters at once keeps the sketch "fresh" and is the aging mechanism of TinyLFU.
+			final long[] table = this.table;
+			for(int i = 0; i < table.length; i++)
+			{
+				table[i] = table[i] >>> 1 & RESET_MASK;
+			}
+			this.size >>>= 1;
+		}
+
+		@Override
+		public final int frequency(final long objectId)
+		{
+			final long[] table = this.table;
+
+			int frequency = MAXIMUM_FREQUENCY;
+			for(int d = 0; d < SEEDS.length; d++)
+			{
+				final long hash   = hash(objectId, d);
+				final int  index  = (int)(hash >>> 4) & this.tableMask;
+				final int  offset = ((int)hash & 15) << 2;
+
+				frequency = Math.min(frequency, (int)(table[index] >>> offset & MAXIMUM_FREQUENCY));
+			}
+
+			return frequency;
+		}
+
+		@Override
+		public final int maximumFrequency()
+		{
+			return MAXIMUM_FREQUENCY;
+		}
+
+	}
+
+}
@@ -0,0 +1,672 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.math.XMath.log2pow2;
+
+import java.lang.ref.Cleaner;
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+
+import one.microstream.math.XMath;
+import one.microstream.memory.XMemory;
+import one.microstream.storage.exceptions.StorageException;
+import one.microstream.util.logging.Logging;
+
+
+/**
+ * The object id lookup structure of a channel's {@link StorageEntityCache}.
+ * <p>
+ * Like the entity cache itself, an index instance is exclusively used by its channel's thread,
+ * so implementations do not need to be thread safe.
+ */
+public interface StorageEntityIndex
+{
+	/**
+	 * Creates a new, not yet registered entity instance suitable to be registered in this index.
+	 * Implementations that need per-entity structural fields (like a hash collision link) create a
+	 * subclass instance carrying them, so that other implementations do not pay for those fields.
+	 *
+	 * @param objectId the object id of the new entity.
+	 * @param type the type of the new entity.
+	 * @return a new entity instance.
+	 */
+	public StorageEntity.Default createEntity(long objectId, StorageEntityType.Default type);
+
+	public StorageEntity.Default get(long objectId);
+
+	/**
+	 * Registers the passed entity. The caller must guarantee that no entity with the same object id
+	 * is already contained.
+	 *
+	 * @param entity the entity to be registered.
+	 */
+	public void add(StorageEntity.Default entity);
+
+	/**
+	 * Unregisters the passed entity. The caller must guarantee that the entity is contained.
+	 *
+	 * @param entity the entity to be unregistered.
+	 */
+	public void remove(StorageEntity.Default entity);
+
+	public long size();
+
+	/**
+	 * Shrinks the internal storage if it is unnecessarily large for the current size.
+	 */
+	public void consolidate();
+
+	/**
+	 * Removes all entries and releases all internally allocated memory.
+	 * This is called whenever the owning channel is reset, which includes its shutdown.
+	 */
+	public void clear();
+
+
+
+	public static StorageEntityIndex.Creator Creator()
+	{
+		return new StorageEntityIndex.Creator.Default();
+	}
+
+	/**
+	 * Creates a {@link StorageEntityIndex.Creator} for off-heap, open-addressing entity indices.
+	 * <p>
+	 * The hash table of object ids and entity handles is kept in an off-heap memory block, the entities themselves
+	 * are only referenced once by a densely filled on-heap array. Entities created for such an index do not carry
+	 * a hash collision link field, so the on-heap memory required per entity is lower than for the default index.
+	 * Lookups only probe the off-heap table and do not have to chase per-entity hash collision links,
+	 * which keeps lookups cache friendly and relieves the JVM's garbage collector for huge entity counts.
+	 *
+	 * @return a new {@link StorageEntityIndex.Creator} instance.
+	 */
+	public static StorageEntityIndex.Creator CreatorOffHeap()
+	{
+		return new StorageEntityIndex.Creator.OffHeap();
+	}
+
+
+
+	public interface Creator
+	{
+		public StorageEntityIndex createEntityIndex(int channelIndex, int channelCount);
+
+
+
+		public final class Default implements StorageEntityIndex.Creator
+		{
+			@Override
+			public StorageEntityIndex createEntityIndex(final int channelIndex, final int channelCount)
+			{
+				return new StorageEntityIndex.Default(log2pow2(channelCount));
+			}
+
+		}
+
+		public final class OffHeap implements StorageEntityIndex.Creator
+		{
+			@Override
+			public StorageEntityIndex createEntityIndex(final int channelIndex, final int channelCount)
+			{
+				return new StorageEntityIndex.OffHeap(log2pow2(channelCount));
+			}
+
+		}
+
+	}
+
+
+
+	/**
+	 * The classic on-heap hash table with one-way collision chains linked via {@link ChainedEntity#hashNext}.
+	 */
+	public final class Default implements StorageEntityIndex
+	{
+		private final static Logger logger = Logging.getLogger(Default.class);
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int             channelHashShift;
+		private       ChainedEntity[] oidHashTable    ;
+		private       int             oidModulo       ; // long modulo makes not difference
+		private       long            oidSize         ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final int channelHashShift)
+		{
+			super();
+			this.channelHashShift = channelHashShift;
+			this.clear();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		private int oidHashIndex(final long objectId)
+		{
+			return StorageEntityCache.Default.oidHashIndex(objectId, this.channelHashShift, this.oidModulo);
+		}
+
+		private void enlargeOidHashTable()
+		{
+			final int newModulo;
+			final ChainedEntity[] newSlots =
+				XMath.isGreaterThanOrEqualHighestPowerOf2(this.oidHashTable.length)
+				? new ChainedEntity[newModulo = Integer.MAX_VALUE] // perfect hash range special case
+				: new ChainedEntity[(newModulo = (this.oidModulo + 1 << 1) - 1) + 1] // 1111 :D
+			;
+			rebuildOidHashSlots(this.oidHashTable, newSlots, this.channelHashShift, newModulo);
+			this.oidHashTable = newSlots;
+			this.oidModulo    = newModulo;
+
+			logger.debug("Enlarged StorageEntityCache to {} entries!", newSlots.length);
+		}
+
+		private static void rebuildOidHashSlots(
+			final ChainedEntity[] oldSlots     ,
+			final ChainedEntity[] newSlots     ,
+			final int             bitShiftCount,
+			final int             newModulo
+		)
+		{
+			for(ChainedEntity entry : oldSlots)
+			{
+				for(ChainedEntity next; entry != null; entry = next)
+				{
+					next = entry.hashNext;
+					entry.hashNext = newSlots[StorageEntityCache.Default.oidHashIndex(entry.objectId(), bitShiftCount, newModulo)];
+					newSlots[StorageEntityCache.Default.oidHashIndex(entry.objectId(), bitShiftCount, newModulo)] = entry;
+				}
+			}
+		}
+
+		@Override
+		public final StorageEntity.Default createEntity(final long objectId, final StorageEntityType.Default type)
+		{
+			return new ChainedEntity(objectId, type.dummy, type.hasReferences(), type.simpleReferenceDataCount());
+		}
+
+		@Override
+		public final StorageEntity.Default get(final long objectId)
+		{
+			for(ChainedEntity e = this.oidHashTable[this.oidHashIndex(objectId)]; e != null; e = e.hashNext)
+			{
+				if(e.objectId() == objectId)
+				{
+					return e;
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public final void add(final StorageEntity.Default entity)
+		{
+			// increment size and check for necessary (and reasonable) rebuild
+			if(this.oidSize >= this.oidModulo && this.oidModulo < Integer.MAX_VALUE)
+			{
+				this.enlargeOidHashTable();
+			}
+
+			// entities are guaranteed to have been created by this index, see #createEntity
+			final ChainedEntity chainedEntity = (ChainedEntity)entity;
+			final int           hashIndex     = this.oidHashIndex(entity.objectId());
+			chainedEntity.hashNext = this.oidHashTable[hashIndex];
+			this.oidHashTable[hashIndex] = chainedEntity;
+			this.oidSize++;
+		}
+
+		@Override
+		public final void remove(final StorageEntity.Default entity)
+		{
+			final ChainedEntity chainedEntity = (ChainedEntity)entity;
+			final int           hashIndex     = this.oidHashIndex(entity.objectId());
+
+			ChainedEntity entry;
+			if((entry = this.oidHashTable[hashIndex]) == chainedEntity)
+			{
+				this.oidHashTable[hashIndex] = chainedEntity.hashNext;
+			}
+			else
+			{
+				// subject is (must be) guaranteed to be contained in the hash chain, hence no null check
+				while(entry.hashNext != chainedEntity)
+				{
+					entry = entry.hashNext;
+				}
+				entry.hashNext = chainedEntity.hashNext;
+			}
+			this.oidSize--;
+		}
+
+		@Override
+		public final long size()
+		{
+			return this.oidSize;
+		}
+
+		@Override
+		public final void consolidate()
+		{
+			// if the hash table has suitable size, abort
+			if(this.oidHashTable.length >>> 1 < this.oidSize)
+			{
+				return;
+			}
+
+			// if the hash table is unnecessary large, shrink it
+			final int             newModulo = XMath.pow2BoundMaxed((int)this.oidSize) - 1;
+			final ChainedEntity[] newSlots  = new ChainedEntity[newModulo + 1];
+			rebuildOidHashSlots(this.oidHashTable, newSlots, this.channelHashShift, newModulo);
+			this.oidHashTable = newSlots;
+			this.oidModulo    = newModulo;
+
+			logger.debug("Consolidated StorageEntityCache to {} entries!", newSlots.length);
+		}
+
+		@Override
+		public final void clear()
+		{
+			this.oidHashTable = new ChainedEntity[1];
+			this.oidModulo    = this.oidHashTable.length - 1;
+			this.oidSize      = 0;
+		}
+
+
+
+		/**
+		 * An entity extended by the link to the next entity in the same oid hash collision one-way lane.
+		 */
+		static final class ChainedEntity extends StorageEntity.Default
+		{
+			ChainedEntity hashNext;
+
+			ChainedEntity(
+				final long       objectId            ,
+				final TypeInFile type                ,
+				final boolean    hasReferences       ,
+				final long       simpleReferenceCount
+			)
+			{
+				super(objectId, type, hasReferences, simpleReferenceCount);
+			}
+
+		}
+
+	}
+
+
+
+	/**
+	 * Open-addressing hash table that is completely held in an off-heap memory block: per slot, an object id
+	 * and the {@code int} handle of its entity, which is the entity's index in a densely filled on-heap array.
+	 * Collisions are resolved via linear probing, removal is done via backward shifting, so neither
+	 * tombstones nor per-entity collision links are required. Removing an entity moves the last entity of the
+	 * dense array into the freed position, so the array never contains gaps.
+	 * <p>
+	 * Per entity, this requires only one on-heap reference (plus the dense array's growth reserve) and
+	 * 12 bytes per off-heap slot at a load factor of at most 0.75.
+	 * <p>
+	 * An object id of 0 is never a valid entity object id and is hence used to mark free key slots.
+	 * <p>
+	 * The off-heap memory is released by {@link #clear()}, i.e. whenever the owning channel is reset or shut down.
+	 * Should an index become unreachable without having been cleared, e.g. because its storage was never shut down
+	 * properly, its memory is released as soon as the index instance has been garbage collected.
+	 */
+	public final class OffHeap implements StorageEntityIndex
+	{
+		private final static Logger  logger  = Logging.getLogger(OffHeap.class);
+		private final static Cleaner CLEANER = Cleaner.create();
+
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		private static final int  MINIMUM_CAPACITY        = 16;
+		private static final int  MAXIMUM_CAPACITY        = 1 << 30;
+		private static final int  MINIMUM_ENTITIES_LENGTH = 16;
+		private static final long FREE_KEY                =  0;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int                     channelHashShift;
+		private final Memory                  memory          ;
+		private       long                    keysAddress     ; // 0 as long as nothing is allocated.
+		private       long                    handlesAddress  ;
+		private       int                     modulo          ;
+		private       int                     growThreshold   ;
+		private       StorageEntity.Default[] entities        ;
+		private       int                     size            ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		OffHeap(final int channelHashShift)
+		{
+			super();
+			this.channelHashShift = channelHashShift;
+			this.memory           = new Memory();
+			CLEANER.register(this, this.memory);
+			this.clear();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		private long keyAddress(final int slot)
+		{
+			return this.keysAddress + ((long)slot << 3);
+		}
+
+		private long handleAddress(final int slot)
+		{
+			return this.handlesAddress + ((long)slot << 2);
+		}
+
+		private int hashIndex(final long objectId)
+		{
+			return StorageEntityCache.Default.oidHashIndex(objectId, this.channelHashShift, this.modulo);
+		}
+
+		private int capacity()
+		{
+			return this.keysAddress == 0 ? 0 : this.modulo + 1;
+		}
+
+		private static int calculateGrowThreshold(final int capacity)
+		{
+			// the maximum capacity cannot grow any further, so it is filled up to (almost) its technical limit.
+			return capacity >= MAXIMUM_CAPACITY
+				? capacity - 1
+				: capacity - (capacity >>> 2)
+			;
+		}
+
+		private void rebuild(final int newCapacity)
+		{
+			final long keysByteSize = (long)newCapacity << 3;
+			final long address      = XMemory.allocate(keysByteSize + ((long)newCapacity << 2));
+
+			// handles are only read for occupied slots, so they need no initialization.
+			XMemory.fillMemory(address, keysByteSize, (byte)0);
+
+			this.memory.free();
+			this.memory.address = address;
+			this.keysAddress    = address;
+			this.handlesAddress = address + keysByteSize;
+			this.modulo         = newCapacity - 1;
+			this.growThreshold  = calculateGrowThreshold(newCapacity);
+
+			final StorageEntity.Default[] entities = this.entities;
+			for(int handle = 0; handle < this.size; handle++)
+			{
+				this.insert(entities[handle].objectId(), handle);
+			}
+		}
+
+		private void insert(final long objectId, final int handle)
+		{
+			final int modulo = this.modulo;
+
+			int i = this.hashIndex(objectId);
+			while(XMemory.get_long(this.keyAddress(i)) != FREE_KEY)
+			{
+				i = i + 1 & modulo;
+			}
+			XMemory.set_long(this.keyAddress(i), objectId);
+			XMemory.set_int(this.handleAddress(i), handle);
+		}
+
+		private int slotOf(final long objectId)
+		{
+			if(this.keysAddress == 0)
+			{
+				return -1;
+			}
+
+			final int modulo = this.modulo;
+			for(int i = this.hashIndex(objectId);; i = i + 1 & modulo)
+			{
+				final long key = XMemory.get_long(this.keyAddress(i));
+				if(key == objectId)
+				{
+					return i;
+				}
+				if(key == FREE_KEY)
+				{
+					return -1;
+				}
+			}
+		}
+
+		private void deleteSlot(final int slot)
+		{
+			final int modulo = this.modulo;
+
+			// backward shift deletion: move subsequent entries of the probe sequence into the gap if allowed.
+			int gap = slot;
+			for(int i = gap + 1 & modulo;; i = i + 1 & modulo)
+			{
+				final long key = XMemory.get_long(this.keyAddress(i));
+				if(key == FREE_KEY)
+				{
+					break;
+				}
+
+				// an entry may only be moved to the gap if its home index is not cyclically in (gap; i]
+				final int home = this.hashIndex(key);
+				if((i - home & modulo) >= (i - gap & modulo))
+				{
+					XMemory.set_long(this.keyAddress(gap), key);
+					XMemory.set_int(this.handleAddress(gap), XMemory.get_int(this.handleAddress(i)));
+					gap = i;
+				}
+			}
+
+			XMemory.set_long(this.keyAddress(gap), FREE_KEY);
+		}
+
+		private void ensureEntitiesCapacity()
+		{
+			if(this.entities == null)
+			{
+				this.entities = new StorageEntity.Default[MINIMUM_ENTITIES_LENGTH];
+			}
+			else if(this.size == this.entities.length)
+			{
+				// grow by half to keep the unused reserve of the dense array small.
+				this.entities = Arrays.copyOf(this.entities, this.size + (this.size >>> 1));
+			}
+		}
+
+		@Override
+		public final StorageEntity.Default createEntity(final long objectId, final StorageEntityType.Default type)
+		{
+			return StorageEntity.Default.New(
+				objectId                       ,
+				type.dummy                     ,
+				type.hasReferences()           ,
+				type.simpleReferenceDataCount()
+			);
+		}
+
+		@Override
+		public final StorageEntity.Default get(final long objectId)
+		{
+			final int slot = this.slotOf(objectId);
+
+			return slot < 0 ? null : this.entities[XMemory.get_int(this.handleAddress(slot))];
+		}
+
+		@Override
+		public final void add(final StorageEntity.Default entity)
+		{
+			if(this.size >= this.growThreshold)
+			{
+				final int capacity = this.capacity();
+				if(capacity >= MAXIMUM_CAPACITY)
+				{
+					throw new StorageException(
+						"Off-heap entity index exceeds its technical limit of " + this.growThreshold + " entities."
+					);
+				}
+				this.rebuild(capacity == 0 ? MINIMUM_CAPACITY : capacity << 1);
+				logger.debug("Enlarged off-heap StorageEntityIndex to {} entries!", this.capacity());
+			}
+			this.ensureEntitiesCapacity();
+
+			final int handle = this.size;
+			this.entities[handle] = entity;
+			this.insert(entity.objectId(), handle);
+			this.size = handle + 1;
+		}
+
+		@Override
+		public final void remove(final StorageEntity.Default entity)
+		{
+			// subject is (must be) guaranteed to be contained, hence no validation
+			final int slot   = this.slotOf(entity.objectId());
+			final int handle = XMemory.get_int(this.handleAddress(slot));
+			this.deleteSlot(slot);
+
+			// fill the gap in the dense array with its last entity to keep it dense.
+			final int lastHandle = --this.size;
+			if(handle != lastHandle)
+			{
+				final StorageEntity.Default last = this.entities[lastHandle];
+				this.entities[handle] = last;
+				XMemory.set_int(this.handleAddress(this.slotOf(last.objectId())), handle);
+			}
+			this.entities[lastHandle] = null;
+		}
+
+		@Override
+		public final long size()
+		{
+			return this.size;
+		}
+
+		@Override
+		public final void consolidate()
+		{
+			if(this.entities == null)
+			{
+				return;
+			}
+
+			if(this.size == 0)
+			{
+				this.clear();
+				return;
+			}
+
+			// shrink only if less than a quarter is used to avoid thrashing between growing and shrinking.
+			if(this.entities.length > MINIMUM_ENTITIES_LENGTH && this.size < this.entities.length >>> 2)
+			{
+				this.entities = Arrays.copyOf(
+					this.entities,
+					Math.max(MINIMUM_ENTITIES_LENGTH, this.size + (this.size >>> 1))
+				);
+			}
+
+			final int capacity = this.capacity();
+			if(capacity <= MINIMUM_CAPACITY || this.size >= capacity >>> 2)
+			{
+				return;
+			}
+
+			final int newCapacity = Math.max(MINIMUM_CAPACITY, XMath.pow2BoundMaxed(this.size) << 1);
+			if(newCapacity >= capacity)
+			{
+				return;
+			}
+
+			this.rebuild(newCapacity);
+			logger.debug("Consolidated off-heap StorageEntityIndex to {} entries!", newCapacity);
+		}
+
+		@Override
+		public final void clear()
+		{
+			this.memory.free();
+
+			// memory is allocated lazily on the first add, so a cleared index does not hold any off-heap memory.
+			this.keysAddress    = 0;
+			this.handlesAddress = 0;
+			this.modulo         = 0;
+			this.growThreshold  = 0;
+			this.entities       = null;
+			this.size           = 0;
+		}
+
+
+
+		/**
+		 * Holder of the currently allocated off-heap memory block. Also serves as the cleaning action that releases
+		 * the memory of an index that became unreachable without having been cleared, so it must not reference
+		 * the index itself.
+		 */
+		static final class Memory implements Runnable
+		{
+			long address;
+
+			final void free()
+			{
+				if(this.address != 0)
+				{
+					XMemory.free(this.address);
+					this.address = 0;
+				}
+			}
+
+			@Override
+			public final void run()
+			{
+				this.free();
+			}
+
+		}
+
+	}
+
+}
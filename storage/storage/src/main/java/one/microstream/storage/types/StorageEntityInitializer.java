@@ -21,15 +21,23 @@ package one.microstream.storage.types;
  */
 
 import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.notNegative;
+import static one.microstream.math.XMath.positive;
 
 import java.nio.ByteBuffer;
 import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import one.microstream.X;
 import one.microstream.collections.types.XGettingSequence;
 import one.microstream.memory.XMemory;
 import one.microstream.persistence.binary.types.Binary;
+import one.microstream.storage.exceptions.StorageException;
 import one.microstream.storage.exceptions.StorageExceptionConsistency;
 import one.microstream.storage.exceptions.StorageExceptionIoReading;
 import one.microstream.typing.XTypes;
@@ -51,6 +59,105 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 		);
 	}
 	
+	/**
+	 * Creates a new {@link StorageEntityInitializer} instance that reads and indexes a channel's data files
+	 * with the passed amount of worker threads. See {@link StorageEntityInitializer.Parallel}.
+	 * 
+	 * @param entityCache the entity cache to register the entities in.
+	 * @param dataFileCreator the logic creating the live data files.
+	 * @param workerCount the amount of worker threads. Must be positive.
+	 * 
+	 * @return a new {@link StorageEntityInitializer} instance.
+	 */
+	static StorageEntityInitializer<StorageLiveDataFile.Default> NewParallel(
+		final StorageEntityCache.Default                                      entityCache    ,
+		final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator,
+		final int                                                             workerCount
+	)
+	{
+		return new StorageEntityInitializer.Parallel(
+			notNull(dataFileCreator),
+			notNull(entityCache)    ,
+			positive(workerCount)
+		);
+	}
+	
+	
+	
+	public static StorageEntityInitializer.Creator Creator()
+	{
+		return Creator(0);
+	}
+	
+	/**
+	 * Creates a {@link StorageEntityInitializer.Creator} instance creating an initializer that reads and indexes
+	 * every channel's data files with the passed amount of worker threads during startup.
+	 * A worker count of 0 lets every channel read its files by itself, one after the other.
+	 * 
+	 * @param workerCount the amount of initialization worker threads per channel.
+	 * 
+	 * @return a new {@link StorageEntityInitializer.Creator} instance.
+	 */
+	public static StorageEntityInitializer.Creator Creator(final int workerCount)
+	{
+		return new StorageEntityInitializer.Creator.Default(
+			notNegative(workerCount)
+		);
+	}
+	
+	
+	
+	public interface Creator
+	{
+		public StorageEntityInitializer<StorageLiveDataFile.Default> createEntityInitializer(
+			StorageEntityCache.Default                                      entityCache    ,
+			Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator
+		);
+		
+		
+		
+		public final class Default implements StorageEntityInitializer.Creator
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			private final int workerCount;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+			
+			Default(final int workerCount)
+			{
+				super();
+				this.workerCount = workerCount;
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
+			@Override
+			public StorageEntityInitializer<StorageLiveDataFile.Default> createEntityInitializer(
+				final StorageEntityCache.Default                                      entityCache    ,
+				final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator
+			)
+			{
+				return this.workerCount == 0
+					? StorageEntityInitializer.New(entityCache, dataFileCreator)
+					: StorageEntityInitializer.NewParallel(entityCache, dataFileCreator, this.workerCount)
+				;
+			}
+			
+		}
+		
+	}
+	
 	final class Default implements StorageEntityInitializer<StorageLiveDataFile.Default>
 	{
 		///////////////////////////////////////////////////////////////////////////
@@ -102,21 +209,31 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			final Iterator<? extends StorageDataInventoryFile> iterator = reversedFiles.iterator();
 			final int[] entityOffsets = createAllFilesOffsetsArray(buffer.capacity());
 			
-			final long initTime = System.currentTimeMillis();
+			final long initTime  = System.currentTimeMillis();
+			final long fileCount = reversedFiles.size();
 			
 			// special case handling for last/head file
 			final StorageLiveDataFile.Default headFile = setupHeadFile(fileCreator.apply(iterator.next()));
 			registerFileEntities(entityCache, initTime, headFile, lastFileLength, buffer, entityOffsets);
+			reportProgress(entityCache, 1, fileCount);
 			
 			// simple tail file adding iteration for all remaining (previous!) storage files
+			long initializedFileCount = 1;
 			for(StorageLiveDataFile.Default dataFile = headFile; iterator.hasNext();)
 			{
 				dataFile = linkTailFile(dataFile, fileCreator.apply(iterator.next()));
 				registerFileEntities(entityCache, initTime, dataFile, dataFile.size(), buffer, entityOffsets);
+				reportProgress(entityCache, ++initializedFileCount, fileCount);
 			}
 			
 			XMemory.deallocateDirectByteBuffer(buffer);
 			
+			entityCache.eventLogger.logEntityInitializationComplete(
+				entityCache,
+				fileCount,
+				System.currentTimeMillis() - initTime
+			);
+			
 			return headFile;
 		}
 		
@@ -130,9 +247,53 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 		)
 		{
 			// entities must be indexed first to allow reverse iteration.
-			final int                         entityCount = indexEntities(file, fileActualLength, buffer, entityOffsets);
+			final int entityCount = indexEntities(file, fileActualLength, buffer, entityOffsets);
+			registerIndexedEntities(entityCache, initializationTime, file, buffer, entityOffsets, entityCount);
+		}
+		
+		final static void registerIndexedEntities(
+			final StorageEntityCache.Default  entityCache       ,
+			final long                        initializationTime,
+			final StorageLiveDataFile.Default file              ,
+			final ByteBuffer                  buffer            ,
+			final int[]                       entityOffsets     ,
+			final int                         entityCount
+		)
+		{
+			final long totalFileContentLength = registerIndexedEntities(
+				entityCache                               ,
+				initializationTime                        ,
+				file                                      ,
+				XMemory.getDirectByteBufferAddress(buffer),
+				0                                         ,
+				entityOffsets                             ,
+				entityCount
+			);
+
+			// the total length of all actually registered entities is the file's content length. The rest is gaps.
+			file.increaseContentLength(totalFileContentLength);
+			
+			// the buffer is currently limited to exactely the file size. So gapLength = limit - contentLength.
+			file.registerGapLength(buffer.limit() - totalFileContentLength);
+		}
+		
+		/**
+		 * Registers the indexed entities located in a buffer that contains the file's content starting at
+		 * {@code filePosition}, without any file length accounting.
+		 * 
+		 * @return the total length of all registered entities.
+		 */
+		final static long registerIndexedEntities(
+			final StorageEntityCache.Default  entityCache       ,
+			final long                        initializationTime,
+			final StorageLiveDataFile.Default file              ,
+			final long                        bufferStartAddress,
+			final int                         filePosition      ,
+			final int[]                       entityOffsets     ,
+			final int                         entityCount
+		)
+		{
 			final StorageEntityCacheEvaluator entityCacheEvaluator = entityCache.entityCacheEvaluator;
-			final long                        bufferStartAddress   = XMemory.getDirectByteBufferAddress(buffer);
 			
 			long totalFileContentLength = 0;
 			
@@ -153,7 +314,7 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 				final long                  entityLength  = Binary.getEntityLengthRawValue(entityAddress);
 				final StorageEntity.Default entity        = entityCache.initialCreateEntity(entityAddress);
 				
-				entity.updateStorageInformation(XTypes.to_int(entityLength), entityOffsets[i]);
+				entity.updateStorageInformation(XTypes.to_int(entityLength), filePosition + entityOffsets[i]);
 				file.prependEntry(entity);
 				totalFileContentLength += entityLength;
 				
@@ -163,28 +324,40 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 					entityCache.modifyUsedCacheSize(entityLength);
 				}
 			}
-
-			// the total length of all actually registered entities is the file's content length. The rest is gaps.
-			file.increaseContentLength(totalFileContentLength);
 			
-			// the buffer is currently limited to exactely the file size. So gapLength = limit - contentLength.
-			file.registerGapLength(buffer.limit() - totalFileContentLength);
+			return totalFileContentLength;
 		}
 				
 		/**
 		 * 
 		 * @return the entity count.
 		 */
-		private static int indexEntities(
+		static int indexEntities(
 			final StorageLiveDataFile.Default file            ,
 			final long                        fileActualLength,
 			final ByteBuffer                  buffer          ,
 			final int[]                       entityOffsets
 		)
+		{
+			return indexEntities(file, 0, fileActualLength, buffer, entityOffsets);
+		}
+		
+		/**
+		 * Indexes the entities in the passed range of the file. The returned offsets are relative to the range start.
+		 * 
+		 * @return the entity count.
+		 */
+		static int indexEntities(
+			final StorageLiveDataFile.Default file         ,
+			final long                        filePosition ,
+			final long                        length       ,
+			final ByteBuffer                  buffer       ,
+			final int[]                       entityOffsets
+		)
 		{
 			int lastEntityIndex = -1;
 			
-			fillBuffer(buffer, file, fileActualLength);
+			fillBuffer(buffer, file, filePosition, length);
 			
 			final long bufferStartAddress = XMemory.getDirectByteBufferAddress(buffer);
 			final long bufferBoundAddress = bufferStartAddress + buffer.limit();
@@ -223,7 +396,22 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 		// utility methods //
 		////////////////////
 		
-		private static StorageLiveDataFile.Default setupHeadFile(
+		static void reportProgress(
+			final StorageEntityCache.Default entityCache         ,
+			final long                       initializedFileCount,
+			final long                       totalFileCount
+		)
+		{
+			// report in steps of one percent to not flood the logger for storages with a huge amount of files.
+			if(initializedFileCount * 100 / totalFileCount == (initializedFileCount - 1) * 100 / totalFileCount)
+			{
+				return;
+			}
+			
+			entityCache.eventLogger.logEntityInitializationProgress(entityCache, initializedFileCount, totalFileCount);
+		}
+		
+		static StorageLiveDataFile.Default setupHeadFile(
 			final StorageLiveDataFile.Default storageFile
 		)
 		{
@@ -232,7 +420,7 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			return storageFile;
 		}
 
-		private static StorageLiveDataFile.Default linkTailFile(
+		static StorageLiveDataFile.Default linkTailFile(
 			final StorageLiveDataFile.Default currentTailFile,
 			final StorageLiveDataFile.Default nextTailFile
 		)
@@ -266,19 +454,20 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 			return buffer;
 		}
 		
-		private static void fillBuffer(
-			final ByteBuffer                  buffer          ,
-			final StorageLiveDataFile.Default file            ,
-			final long                        fileActualLength
+		static void fillBuffer(
+			final ByteBuffer                  buffer      ,
+			final StorageLiveDataFile.Default file        ,
+			final long                        filePosition,
+			final long                        length
 		)
 		{
 			try
 			{
 				buffer.clear();
 				// the reason for the stupid limit is actually a single clumsy toArray() somewhere in NIO.
-				buffer.limit(X.checkArrayRange(fileActualLength));
+				buffer.limit(X.checkArrayRange(length));
 				
-				file.readBytes(buffer, 0, fileActualLength);
+				file.readBytes(buffer, filePosition, length);
 			}
 			catch(final Exception e)
 			{
@@ -324,4 +513,298 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 		
 	}
 
+	
+	
+	/**
+	 * An initializer that distributes the reading and indexing of a channel's data files to a pool of worker threads
+	 * that is created for the initialization and terminated afterwards.
+	 * <p>
+	 * The registration of the indexed entities in the {@link StorageEntityCache} is still done by the channel's
+	 * thread in reverse file order, as only the most current version of every entity counts and the cache is not
+	 * thread-safe. To limit the memory occupied by files that are indexed but not registered, yet, the workers only
+	 * work ahead a limited amount of files.
+	 */
+	final class Parallel implements StorageEntityInitializer<StorageLiveDataFile.Default>
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator;
+		private final StorageEntityCache.Default                                      entityCache    ;
+		private final int                                                             workerCount    ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Parallel(
+			final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator,
+			final StorageEntityCache.Default                                      entityCache    ,
+			final int                                                             workerCount
+		)
+		{
+			super();
+			this.dataFileCreator = dataFileCreator;
+			this.entityCache     = entityCache    ;
+			this.workerCount     = workerCount    ;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final StorageLiveDataFile.Default registerEntities(
+			final XGettingSequence<? extends StorageDataInventoryFile> files         ,
+			final long                                                 lastFileLength
+		)
+		{
+			final StorageLiveDataFile.Default[] dataFiles = this.createDataFiles(files.toReversed());
+			final ExecutorService               executor  = this.createExecutor();
+			try
+			{
+				return this.internalRegisterEntities(executor, dataFiles, lastFileLength);
+			}
+			finally
+			{
+				executor.shutdownNow();
+			}
+		}
+		
+		private StorageLiveDataFile.Default[] createDataFiles(
+			final XGettingSequence<? extends StorageDataInventoryFile> reversedFiles
+		)
+		{
+			// creating the live files is cheap and done upfront, so that the workers can read them right away.
+			final StorageLiveDataFile.Default[] dataFiles = new StorageLiveDataFile.Default[
+				XTypes.to_int(reversedFiles.size())
+			];
+			
+			int i = 0;
+			for(final StorageDataInventoryFile file : reversedFiles)
+			{
+				dataFiles[i++] = this.dataFileCreator.apply(file);
+			}
+			
+			return dataFiles;
+		}
+		
+		private ExecutorService createExecutor()
+		{
+			final String        namePrefix  = StorageEntityInitializer.class.getSimpleName()
+				+ "-" + this.entityCache.channelIndex() + "-"
+			;
+			final AtomicInteger threadCount = new AtomicInteger();
+			
+			return Executors.newFixedThreadPool(this.workerCount, r ->
+			{
+				final Thread thread = new Thread(r, namePrefix + threadCount.getAndIncrement());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		
+		private StorageLiveDataFile.Default internalRegisterEntities(
+			final ExecutorService               executor      ,
+			final StorageLiveDataFile.Default[] dataFiles     ,
+			final long                          lastFileLength
+		)
+		{
+			final long initTime  = System.currentTimeMillis();
+			final int  fileCount = dataFiles.length;
+			
+			@SuppressWarnings("unchecked")
+			final Future<IndexedFile>[] futures = new Future[fileCount];
+			
+			// twice the worker count keeps all workers busy while the channel thread registers entities.
+			int submitCount = 0;
+			for(final int initialCount = Math.min(fileCount, this.workerCount * 2); submitCount < initialCount;)
+			{
+				futures[submitCount] = submitIndexing(executor, dataFiles, submitCount++, lastFileLength);
+			}
+			
+			try
+			{
+				final StorageLiveDataFile.Default headFile = Default.setupHeadFile(dataFiles[0]);
+				for(int i = 0; i < fileCount; i++)
+				{
+					final IndexedFile indexedFile = awaitIndexing(futures[i]);
+					futures[i] = null;
+					
+					if(submitCount < fileCount)
+					{
+						futures[submitCount] = submitIndexing(executor, dataFiles, submitCount++, lastFileLength);
+					}
+					
+					if(i > 0)
+					{
+						Default.linkTailFile(dataFiles[i - 1], dataFiles[i]);
+					}
+					
+					try
+					{
+						Default.registerIndexedEntities(
+							this.entityCache         ,
+							initTime                 ,
+							dataFiles[i]             ,
+							indexedFile.buffer       ,
+							indexedFile.entityOffsets,
+							indexedFile.entityCount
+						);
+					}
+					finally
+					{
+						indexedFile.dispose();
+					}
+					
+					Default.reportProgress(this.entityCache, i + 1, fileCount);
+				}
+				
+				this.entityCache.eventLogger.logEntityInitializationComplete(
+					this.entityCache,
+					fileCount,
+					System.currentTimeMillis() - initTime
+				);
+				
+				return headFile;
+			}
+			finally
+			{
+				disposePending(futures);
+			}
+		}
+		
+		private static Future<IndexedFile> submitIndexing(
+			final ExecutorService               executor      ,
+			final StorageLiveDataFile.Default[] dataFiles     ,
+			final int                           index         ,
+			final long                          lastFileLength
+		)
+		{
+			final StorageLiveDataFile.Default file = dataFiles[index];
+			
+			// the head file's relevant length is determined by the transactions file, all others are complete.
+			final long fileLength = index == 0
+				? lastFileLength
+				: file.size()
+			;
+			
+			return executor.submit(() ->
+				IndexedFile.index(file, fileLength)
+			);
+		}
+		
+		private static IndexedFile awaitIndexing(final Future<IndexedFile> future)
+		{
+			try
+			{
+				return future.get();
+			}
+			catch(final InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				throw new StorageException(e);
+			}
+			catch(final ExecutionException e)
+			{
+				if(e.getCause() instanceof RuntimeException)
+				{
+					throw (RuntimeException)e.getCause();
+				}
+				throw new StorageExceptionIoReading(e.getCause());
+			}
+		}
+		
+		private static void disposePending(final Future<IndexedFile>[] futures)
+		{
+			// only relevant in case of a problem: release the buffers of files that have already been indexed.
+			for(final Future<IndexedFile> future : futures)
+			{
+				if(future == null || future.cancel(true))
+				{
+					continue;
+				}
+				
+				try
+				{
+					future.get().dispose();
+				}
+				catch(final Exception e)
+				{
+					// the problem that caused the abort is already being propagated.
+					continue;
+				}
+			}
+		}
+		
+		
+		
+		static final class IndexedFile
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// static methods //
+			///////////////////
+			
+			static IndexedFile index(final StorageLiveDataFile.Default file, final long fileLength)
+			{
+				// cast safety is guaranteed by the buffer allocation. Larger files cannot be read, anyway.
+				final ByteBuffer buffer        = XMemory.allocateDirectNative(X.checkArrayRange(fileLength));
+				final int[]      entityOffsets = new int[(int)fileLength / Binary.entityHeaderLength()];
+				try
+				{
+					final int entityCount = Default.indexEntities(file, fileLength, buffer, entityOffsets);
+					
+					return new IndexedFile(buffer, entityOffsets, entityCount);
+				}
+				catch(final RuntimeException e)
+				{
+					XMemory.deallocateDirectByteBuffer(buffer);
+					throw e;
+				}
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			final ByteBuffer buffer       ;
+			final int[]      entityOffsets;
+			final int        entityCount  ;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+			
+			IndexedFile(final ByteBuffer buffer, final int[] entityOffsets, final int entityCount)
+			{
+				super();
+				this.buffer        = buffer       ;
+				this.entityOffsets = entityOffsets;
+				this.entityCount   = entityCount  ;
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
+			final void dispose()
+			{
+				XMemory.deallocateDirectByteBuffer(this.buffer);
+			}
+			
+		}
+		
+	}
+
 }
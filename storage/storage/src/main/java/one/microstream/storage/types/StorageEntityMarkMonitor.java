@@ -66,6 +66,15 @@ public interface StorageEntityMarkMonitor extends PersistenceObjectIdAcceptor
 	public boolean isMarkingComplete();
 
 	public StorageReferenceMarker provideReferenceMarker(StorageEntityCache<?> channel);
+	
+	/**
+	 * Creates an additional {@link StorageReferenceMarker} that is not associated with any channel,
+	 * e.g. for a worker thread of a {@link StorageMarkingWorkerPool}.
+	 * Such a marker must always be flushed by its user before the work it was used for is reported as done.
+	 * 
+	 * @return a new {@link StorageReferenceMarker} instance.
+	 */
+	public StorageReferenceMarker createReferenceMarker();
 
 	public void enqueue(StorageObjectIdMarkQueue objectIdMarkQueue, long objectId);
 
@@ -647,9 +656,13 @@ public interface StorageEntityMarkMonitor extends PersistenceObjectIdAcceptor
 				);
 			}
 			
-			return this.referenceMarkers[channel.channelIndex()] =
-				new CachingReferenceMarker(this, this.channelCount, this.referenceCacheLength)
-			;
+			return this.referenceMarkers[channel.channelIndex()] = this.createReferenceMarker();
+		}
+		
+		@Override
+		public final StorageReferenceMarker createReferenceMarker()
+		{
+			return new CachingReferenceMarker(this, this.channelCount, this.referenceCacheLength);
 		}
 
 		final void enqueueBulk(final ObjectIds[] oidsPerChannel)
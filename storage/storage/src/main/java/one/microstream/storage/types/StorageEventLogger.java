@@ -84,6 +84,24 @@ public interface StorageEventLogger
 		// no-op by default
 	}
 	
+	public default void logEntityInitializationProgress(
+		final StorageEntityCache<?> entityCache         ,
+		final long                  initializedFileCount,
+		final long                  totalFileCount
+	)
+	{
+		// no-op by default
+	}
+	
+	public default void logEntityInitializationComplete(
+		final StorageEntityCache<?> entityCache,
+		final long                  fileCount  ,
+		final long                  durationMs
+	)
+	{
+		// no-op by default
+	}
+	
 	
 	/**
 	 * Creates a NoOp StorageEventLogger that does really nothing.
@@ -304,6 +322,32 @@ public interface StorageEventLogger
 			this.log("Storage-GC completed #" + gcColdGeneration + " @ " + lastGcColdCompletion);
 		}
 		
+		@Override
+		public void logEntityInitializationProgress(
+			final StorageEntityCache<?> entityCache         ,
+			final long                  initializedFileCount,
+			final long                  totalFileCount
+		)
+		{
+			this.log(
+				toChannelIdentifier(entityCache) + " initialized " + initializedFileCount
+				+ " of " + totalFileCount + " data files."
+			);
+		}
+		
+		@Override
+		public void logEntityInitializationComplete(
+			final StorageEntityCache<?> entityCache,
+			final long                  fileCount  ,
+			final long                  durationMs
+		)
+		{
+			this.log(
+				toChannelIdentifier(entityCache) + " completed entity initialization of " + fileCount
+				+ " data files in " + durationMs + " ms."
+			);
+		}
+		
 	}
 	
 }
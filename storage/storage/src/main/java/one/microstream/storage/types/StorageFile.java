@@ -22,6 +22,8 @@ package one.microstream.storage.types;
 
 import java.nio.ByteBuffer;
 
+import one.microstream.X;
+import one.microstream.afs.types.AFS;
 import one.microstream.afs.types.AFile;
 import one.microstream.afs.types.AReadableFile;
 import one.microstream.afs.types.AWritableFile;
@@ -99,6 +101,13 @@ public interface StorageFile
 	
 	public abstract class Abstract implements StorageFile
 	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+		
+		private static final int COPY_PORTION_BLOCK_COUNT = 16;
+		
+		
 		///////////////////////////////////////////////////////////////////////////
 		// instance fields //
 		////////////////////
@@ -108,6 +117,10 @@ public interface StorageFile
 		private AWritableFile writeAccess;
 		private AReadableFile readAccess ;
 		
+		// block index of block-compressed content, null for uncompressed or not yet detected content.
+		private StorageDataFileBlocks blocks       ;
+		private boolean               isFormatKnown;
+		
 		
 		///////////////////////////////////////////////////////////////////////////
 		// constructors //
@@ -134,7 +147,12 @@ public interface StorageFile
 		@Override
 		public final synchronized long size()
 		{
-			return this.file().size();
+			final StorageDataFileBlocks blocks = this.blocks();
+			
+			return blocks != null
+				? blocks.logicalLength()
+				: this.file().size()
+			;
 		}
 		
 		@Override
@@ -149,6 +167,12 @@ public interface StorageFile
 		{
 			try
 			{
+				final StorageDataFileBlocks blocks = this.blocks();
+				if(blocks != null)
+				{
+					return blocks.read(this.ensureReadable(), targetBuffer, 0, blocks.logicalLength());
+				}
+				
 				return this.ensureReadable().readBytes(targetBuffer);
 			}
 			catch(final Exception e)
@@ -162,6 +186,12 @@ public interface StorageFile
 		{
 			try
 			{
+				final StorageDataFileBlocks blocks = this.blocks();
+				if(blocks != null)
+				{
+					return blocks.read(this.ensureReadable(), targetBuffer, position, targetBuffer.remaining());
+				}
+				
 				return this.ensureReadable().readBytes(targetBuffer, position);
 			}
 			catch(final Exception e)
@@ -175,6 +205,12 @@ public interface StorageFile
 		{
 			try
 			{
+				final StorageDataFileBlocks blocks = this.blocks();
+				if(blocks != null)
+				{
+					return blocks.read(this.ensureReadable(), targetBuffer, position, length);
+				}
+				
 				return this.ensureReadable().readBytes(targetBuffer, position, length);
 			}
 			catch(final Exception e)
@@ -188,6 +224,12 @@ public interface StorageFile
 		{
 			try
 			{
+				final StorageDataFileBlocks blocks = this.blocks();
+				if(blocks != null)
+				{
+					return this.readBlocks(blocks, bufferProvider, 0, blocks.logicalLength());
+				}
+				
 				return this.ensureReadable().readBytes(bufferProvider);
 			}
 			catch(final Exception e)
@@ -204,6 +246,12 @@ public interface StorageFile
 		{
 			try
 			{
+				final StorageDataFileBlocks blocks = this.blocks();
+				if(blocks != null)
+				{
+					return this.readBlocks(blocks, bufferProvider, position, blocks.logicalLength() - position);
+				}
+				
 				return this.ensureReadable().readBytes(bufferProvider, position);
 			}
 			catch(final Exception e)
@@ -221,6 +269,12 @@ public interface StorageFile
 		{
 			try
 			{
+				final StorageDataFileBlocks blocks = this.blocks();
+				if(blocks != null)
+				{
+					return this.readBlocks(blocks, bufferProvider, position, length);
+				}
+				
 				return this.ensureReadable().readBytes(bufferProvider, position, length);
 			}
 			catch(final Exception e)
@@ -235,6 +289,12 @@ public interface StorageFile
 		{
 			try
 			{
+				final StorageDataFileBlocks blocks = this.ensureWritingBlocks(null);
+				if(blocks != null)
+				{
+					return blocks.append(this.ensureWritable(), buffers);
+				}
+				
 				return this.ensureWritable().writeBytes(buffers);
 			}
 			catch(final Exception e)
@@ -261,6 +321,12 @@ public interface StorageFile
 			final StorageFile target
 		)
 		{
+			final StorageDataFileBlocks blocks = this.blocks();
+			if(blocks != null)
+			{
+				return this.copyBlocksTo(target, blocks, 0, blocks.logicalLength());
+			}
+			
 			return target.copyFrom(this.ensureReadable());
 		}
 		
@@ -270,6 +336,12 @@ public interface StorageFile
 			final long        sourcePosition
 		)
 		{
+			final StorageDataFileBlocks blocks = this.blocks();
+			if(blocks != null)
+			{
+				return this.copyBlocksTo(target, blocks, sourcePosition, blocks.logicalLength() - sourcePosition);
+			}
+			
 			return target.copyFrom(this.ensureReadable(), sourcePosition);
 		}
 
@@ -280,6 +352,12 @@ public interface StorageFile
 			final long        length
 		)
 		{
+			final StorageDataFileBlocks blocks = this.blocks();
+			if(blocks != null)
+			{
+				return this.copyBlocksTo(target, blocks, sourcePosition, length);
+			}
+			
 			return target.copyFrom(this.ensureReadable(), sourcePosition, length);
 		}
 		
@@ -290,6 +368,12 @@ public interface StorageFile
 		{
 			try
 			{
+				final StorageDataFileBlocks blocks = this.blocks();
+				if(blocks != null)
+				{
+					return this.copyBlocksTo(target, blocks, 0, blocks.logicalLength());
+				}
+				
 				return target.copyFrom(this.ensureReadable());
 			}
 			catch(final Exception e)
@@ -306,6 +390,12 @@ public interface StorageFile
 		{
 			try
 			{
+				final StorageDataFileBlocks blocks = this.blocks();
+				if(blocks != null)
+				{
+					return this.copyBlocksTo(target, blocks, sourcePosition, blocks.logicalLength() - sourcePosition);
+				}
+				
 				return target.copyFrom(this.ensureReadable(), sourcePosition);
 			}
 			catch(final Exception e)
@@ -323,6 +413,12 @@ public interface StorageFile
 		{
 			try
 			{
+				final StorageDataFileBlocks blocks = this.blocks();
+				if(blocks != null)
+				{
+					return this.copyBlocksTo(target, blocks, sourcePosition, length);
+				}
+				
 				target.ensureExists();
 				return target.copyFrom(this.ensureReadable(), sourcePosition, length);
 			}
@@ -339,6 +435,12 @@ public interface StorageFile
 		{
 			try
 			{
+				final StorageDataFileBlocks blocks = this.ensureWritingBlocks(null);
+				if(blocks != null)
+				{
+					return blocks.append(this.ensureWritable(), X.List(source.readBytes()));
+				}
+				
 				return source.copyTo(this.ensureWritable());
 			}
 			catch(final Exception e)
@@ -355,6 +457,12 @@ public interface StorageFile
 		{
 			try
 			{
+				final StorageDataFileBlocks blocks = this.ensureWritingBlocks(null);
+				if(blocks != null)
+				{
+					return blocks.append(this.ensureWritable(), X.List(source.readBytes(sourcePosition)));
+				}
+				
 				return source.copyTo(this.ensureWritable(), sourcePosition);
 			}
 			catch(final Exception e)
@@ -372,6 +480,12 @@ public interface StorageFile
 		{
 			try
 			{
+				final StorageDataFileBlocks blocks = this.ensureWritingBlocks(null);
+				if(blocks != null)
+				{
+					return blocks.append(this.ensureWritable(), X.List(source.readBytes(sourcePosition, length)));
+				}
+				
 				return source.copyTo(this.ensureWritable(), sourcePosition, length);
 			}
 			catch(final Exception e)
@@ -382,21 +496,196 @@ public interface StorageFile
 				
 		public final synchronized void truncate(final long newLength)
 		{
+			final StorageDataFileBlocks blocks = this.blocks();
+			if(blocks != null && blocks.truncate(this.ensureWritable(), newLength))
+			{
+				return;
+			}
+			
+			this.resetFormat();
 			this.ensureWritable().truncate(newLength);
 		}
 		
 		@Override
 		public final synchronized boolean delete()
 		{
+			this.resetFormat();
+			
 			return this.ensureWritable().delete();
 		}
 		
 		@Override
 		public final synchronized void moveTo(final AWritableFile target)
 		{
+			this.resetFormat();
 			this.ensureWritable().moveTo(target);
 		}
 		
+		/**
+		 * Defines if the file's content may be block-compressed (see {@link StorageDataFileCompressor}), meaning
+		 * its format has to be detected before accessing it. Only data files can be compressed.
+		 * 
+		 * @return whether the file's content may be block-compressed.
+		 */
+		protected boolean isCompressible()
+		{
+			return false;
+		}
+		
+		/**
+		 * Provides the compressor to be used when writing to the file while it is still empty.
+		 * 
+		 * @param sourceCompressor the compressor of the compressed file the written data is copied from or
+		 *        {@literal null}.
+		 * @return the compressor to be used or {@literal null} to write the file uncompressed.
+		 */
+		protected StorageDataFileCompressor newContentCompressor(final StorageDataFileCompressor sourceCompressor)
+		{
+			return null;
+		}
+		
+		/**
+		 * Provides the compressor to read a compressed file written with the passed algorithm id. The built-in
+		 * DEFLATE format does not have to be provided.
+		 * 
+		 * @param algorithmId the {@link StorageDataFileCompressor#algorithmId()} of the file's compressor.
+		 * @return the compressor to be used or {@literal null} if none is known.
+		 */
+		protected StorageDataFileCompressor contentDecompressor(final int algorithmId)
+		{
+			return null;
+		}
+		
+		private StorageDataFileBlocks blocks()
+		{
+			if(this.isFormatKnown || !this.isCompressible() || !this.file.exists())
+			{
+				return this.blocks;
+			}
+			
+			if(this.file.size() == 0)
+			{
+				// the format of an empty file is determined by the first write.
+				return null;
+			}
+			
+			// detecting must not leave an access behind that might conflict with another thread's writing later on.
+			this.blocks = this.readAccess != null && !this.readAccess.isRetired()
+				? StorageDataFileBlocks.detect(this.readAccess, this::contentDecompressor)
+				: AFS.apply(this.file, file -> StorageDataFileBlocks.detect(file, this::contentDecompressor))
+			;
+			this.isFormatKnown = true;
+			
+			return this.blocks;
+		}
+		
+		private StorageDataFileBlocks ensureWritingBlocks(final StorageDataFileCompressor sourceCompressor)
+		{
+			final StorageDataFileBlocks blocks = this.blocks();
+			if(blocks != null || this.isFormatKnown || !this.isCompressible())
+			{
+				return blocks;
+			}
+			
+			final StorageDataFileCompressor compressor = this.newContentCompressor(sourceCompressor);
+			if(compressor == null)
+			{
+				return null;
+			}
+			
+			this.blocks        = StorageDataFileBlocks.initialize(this.ensureWritable(), compressor);
+			this.isFormatKnown = true;
+			
+			return this.blocks;
+		}
+		
+		private void resetFormat()
+		{
+			this.blocks        = null ;
+			this.isFormatKnown = false;
+		}
+		
+		private long readBlocks(
+			final StorageDataFileBlocks blocks        ,
+			final BufferProvider        bufferProvider,
+			final long                  position      ,
+			final long                  length
+		)
+		{
+			bufferProvider.initializeOperation();
+			try
+			{
+				return blocks.read(this.ensureReadable(), bufferProvider.provideBuffer(length), position, length);
+			}
+			finally
+			{
+				bufferProvider.completeOperation();
+			}
+		}
+		
+		private long copyBlocksTo(
+			final StorageFile           target        ,
+			final StorageDataFileBlocks blocks        ,
+			final long                  sourcePosition,
+			final long                  length
+		)
+		{
+			if(target instanceof StorageFile.Abstract)
+			{
+				return ((StorageFile.Abstract)target).appendBlocks(this.ensureReadable(), blocks, sourcePosition, length);
+			}
+			
+			return target.writeBytes(X.List(blocks.read(this.ensureReadable(), sourcePosition, length)));
+		}
+		
+		/*
+		 * Copying to a plain file (e.g. an export) writes the uncompressed data, so that the copy can be
+		 * read like any uncompressed storage file. Copying is done in portions of some blocks each.
+		 */
+		private long copyBlocksTo(
+			final AWritableFile         target        ,
+			final StorageDataFileBlocks blocks        ,
+			final long                  sourcePosition,
+			final long                  length
+		)
+		{
+			target.ensureExists();
+			
+			final long portionLength = (long)blocks.compressor().blockLength() * COPY_PORTION_BLOCK_COUNT;
+			final long bound         = sourcePosition + length;
+			
+			long copyLength = 0;
+			for(long position = sourcePosition; position < bound; position += portionLength)
+			{
+				copyLength += target.writeBytes(
+					blocks.read(this.ensureReadable(), position, Math.min(portionLength, bound - position))
+				);
+			}
+			
+			return copyLength;
+		}
+		
+		final synchronized long appendBlocks(
+			final AReadableFile         source        ,
+			final StorageDataFileBlocks sourceBlocks  ,
+			final long                  sourcePosition,
+			final long                  length
+		)
+		{
+			final StorageDataFileBlocks blocks = this.ensureWritingBlocks(sourceBlocks.compressor());
+			if(blocks != null && blocks.compressor().algorithmId() == sourceBlocks.compressor().algorithmId())
+			{
+				// block-aligned ranges of the same format, like whole stores being backupped, are not recompressed.
+				final ByteBuffer physicalBlocks = sourceBlocks.readAlignedBlocks(source, sourcePosition, length);
+				if(physicalBlocks != null)
+				{
+					return blocks.appendBlocks(this.ensureWritable(), physicalBlocks);
+				}
+			}
+			
+			return this.writeBytes(X.List(sourceBlocks.read(source, sourcePosition, length)));
+		}
+		
 		protected synchronized AReadableFile ensureReadable()
 		{
 			this.internalOpenReading();
@@ -27,6 +27,7 @@ import static one.microstream.math.XMath.notNegative;
 
 import java.nio.ByteBuffer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 
@@ -159,6 +160,8 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		private final StorageWriteController               writeController              ;
 		private final StorageFileWriter                    writer                       ;
 		private final StorageBackupHandler                 backupHandler                ;
+		private final StorageEntityInitializer.Creator     entityInitializerCreator     ;
+		private final StorageIndexSnapshot                 indexSnapshot                ; // null if not used
 		
 		// to avoid permanent lambda instantiation
 		private final Consumer<? super StorageLiveDataFile.Default> deleter        = this::deleteFile       ;
@@ -221,6 +224,9 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 
 		// cleared in reset() directly, but kind of irrelevant.
 		private int pendingFileDeletes;
+
+		// set on initialization, only relevant for index snapshots.
+		private long lastStoreTimestamp;
 		
 		
 		// state 3.1: variable length content
@@ -244,7 +250,9 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			final StorageWriteController               writeController              ,
 			final StorageFileWriter                    writer                       ,
 			final BufferSizeProvider                   standardBufferSizeProvider   ,
-			final StorageBackupHandler                 backupHandler
+			final StorageBackupHandler                 backupHandler                ,
+			final StorageEntityInitializer.Creator     entityInitializerCreator     ,
+			final StorageIndexSnapshot.Creator         indexSnapshotCreator
 		)
 		{
 			super();
@@ -257,6 +265,8 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			this.writeController               =     notNull(writeController)              ;
 			this.writer                        =     notNull(writer)                       ;
 			this.backupHandler                 =     mayNull(backupHandler)                ;
+			this.entityInitializerCreator      =     notNull(entityInitializerCreator)     ;
+			this.indexSnapshot                 = indexSnapshotCreator.createIndexSnapshot(channelIndex, fileProvider);
 			
 			this.standardByteBuffer = XMemory.allocateDirectNative(
 				standardBufferSizeProvider.provideBufferSize()
@@ -280,6 +290,16 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		{
 			return this.writeController.isFileCleanupEnabled();
 		}
+		
+		final StorageDataFileCompressor dataFileCompressor()
+		{
+			return this.writer.dataFileCompressor();
+		}
+		
+		final StorageDataFileCompressor dataFileDecompressor(final int algorithmId)
+		{
+			return this.writer.dataFileDecompressor(algorithmId);
+		}
 
 		final <L extends Consumer<StorageEntity.Default>> L iterateEntities(final L logic)
 		{
@@ -714,7 +734,8 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			final StorageTransactionsAnalysis      transactionsAnalysis = this.readTransactionsFile();
 			final EqHashTable<Long, StorageDataInventoryFile> dataFiles = EqHashTable.New();
 			this.fileProvider.collectDataFiles(
-				StorageDataInventoryFile::New,
+				(file, channelIndex, number) ->
+					StorageDataInventoryFile.New(file, channelIndex, number, this::dataFileDecompressor),
 				f ->
 					dataFiles.add(f.number(), f),
 				this.channelIndex()
@@ -872,6 +893,8 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		{
 //			DEBUGStorage.println(this.channelIndex + " init for consistent timestamp " + consistentStoreTimestamp);
 
+			this.lastStoreTimestamp = consistentStoreTimestamp;
+
 			final EqHashTable<Long, StorageDataInventoryFile> supplementedMissingEmptyFiles = EqHashTable.New();
 			
 			// validate file lengths, even in case of no files, to validate transactions entries to that state
@@ -1010,12 +1033,12 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			;
 
 			// register items (gaps and entities, with latest version of each entity replacing all previous)
-			final StorageEntityInitializer<StorageLiveDataFile.Default> initializer =
-				StorageEntityInitializer.New(this.entityCache, f ->
-					StorageLiveDataFile.New(this, f)
-				)
-			;
-			this.headFile = initializer.registerEntities(files, lastFileLength);
+			this.headFile = this.registerEntities(
+				files                                      ,
+				lastFileLength                             ,
+				storageInventory.transactionsFileAnalysis(),
+				consistentStoreTimestamp
+			);
 
 			// validate entities (only the latest versions) before potential transaction file derivation
 			final StorageIdAnalysis idAnalysis = this.entityCache.validateEntities();
@@ -1032,6 +1055,76 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			return idAnalysis;
 		}
 
+		private StorageLiveDataFile.Default registerEntities(
+			final XGettingSequence<StorageDataInventoryFile> files                   ,
+			final long                                       lastFileLength          ,
+			final StorageTransactionsAnalysis                transactionsAnalysis    ,
+			final long                                       consistentStoreTimestamp
+		)
+		{
+			final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator = f ->
+				StorageLiveDataFile.New(this, f)
+			;
+			
+			// a valid index snapshot spares reading all the data that has been written before it.
+			if(this.indexSnapshot != null)
+			{
+				final StorageLiveDataFile.Default headFile = this.indexSnapshot.registerEntities(
+					this.entityCache        ,
+					dataFileCreator         ,
+					files                   ,
+					lastFileLength          ,
+					transactionsAnalysis    ,
+					consistentStoreTimestamp
+				);
+				if(headFile != null)
+				{
+					return headFile;
+				}
+			}
+			
+			return this.entityInitializerCreator.createEntityInitializer(this.entityCache, dataFileCreator)
+				.registerEntities(files, lastFileLength)
+			;
+		}
+		
+		/**
+		 * Writes an index snapshot if snapshots are used and the channel's data is in a committed state.
+		 * Since a snapshot is a mere optimization of the next startup, a failure is only logged.
+		 */
+		final void writeIndexSnapshot()
+		{
+			this.writeIndexSnapshot(Long.MAX_VALUE);
+		}
+		
+		final boolean incrementalIndexSnapshotCheck(final long nanoTimeBudgetBound)
+		{
+			if(this.indexSnapshot != null && this.indexSnapshot.isDue(System.currentTimeMillis()))
+			{
+				return this.writeIndexSnapshot(nanoTimeBudgetBound);
+			}
+			
+			return true;
+		}
+		
+		private boolean writeIndexSnapshot(final long nanoTimeBudgetBound)
+		{
+			if(this.indexSnapshot == null || this.headFile == null || this.uncommittedDataLength != 0)
+			{
+				return true;
+			}
+			
+			try
+			{
+				return this.indexSnapshot.write(this.headFile, this.lastStoreTimestamp, nanoTimeBudgetBound);
+			}
+			catch(final RuntimeException e)
+			{
+				logger.warn("StorageChannel#{} failed to write entity index snapshot", this.channelIndex, e);
+				return true;
+			}
+		}
+
 		private long determineLastFileLength(
 			final long             consistentStoreTimestamp,
 			final StorageInventory storageInventory
@@ -1179,6 +1272,8 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			final long                headFileNewTotalLength
 		)
 		{
+			this.lastStoreTimestamp = timestamp;
+			
 			this.entryBufferStore.clear();
 			StorageTransactionsAnalysis.Logic.setEntryStore(
 				this.entryBufferStoreAddress,
@@ -1288,6 +1383,12 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			
 			// at this point, it is either 0 already or it won't matter since everything has been cleared.
 			this.pendingFileDeletes = 0;
+			
+			// a snapshot being written refers to the cleared files.
+			if(this.indexSnapshot != null)
+			{
+				this.indexSnapshot.cancelWrite();
+			}
 		}
 		
 		/**
@@ -20,6 +20,8 @@ package one.microstream.storage.types;
  * #L%
  */
 
+import static one.microstream.X.notNull;
+
 import java.io.IOException;
 import java.nio.ByteBuffer;
 
@@ -50,6 +52,35 @@ public interface StorageFileWriter
 		);
 	}
 	
+	/**
+	 * Returns the compressor to be used for data files that are newly written, or {@literal null} to write them
+	 * uncompressed. See {@link StorageDataFileCompressor}.
+	 * 
+	 * @return the compressor for new data files or {@literal null}.
+	 */
+	public default StorageDataFileCompressor dataFileCompressor()
+	{
+		return null;
+	}
+	
+	/**
+	 * Returns the compressor to read data files that have been compressed with the passed
+	 * {@link StorageDataFileCompressor#algorithmId()}, or {@literal null} if none is known.
+	 * The built-in DEFLATE format is always readable and does not have to be provided.
+	 * 
+	 * @param algorithmId the algorithm id of a compressed data file.
+	 * @return the compressor to read the data file or {@literal null}.
+	 */
+	public default StorageDataFileCompressor dataFileDecompressor(final int algorithmId)
+	{
+		final StorageDataFileCompressor compressor = this.dataFileCompressor();
+		
+		return compressor != null && compressor.algorithmId() == algorithmId
+			? compressor
+			: null
+		;
+	}
+	
 	public default long write(final StorageFile file, final Iterable<? extends ByteBuffer> buffers)
 	{
 		return file.writeBytes(buffers);
@@ -282,7 +313,109 @@ public interface StorageFileWriter
 		// since default methods, interfaces should be directly instantiable :(
 	}
 	
+	public final class Compressing implements StorageFileWriter
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final StorageDataFileCompressor dataFileCompressor;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Compressing(final StorageDataFileCompressor dataFileCompressor)
+		{
+			super();
+			this.dataFileCompressor = dataFileCompressor;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final StorageDataFileCompressor dataFileCompressor()
+		{
+			return this.dataFileCompressor;
+		}
+		
+	}
+	
+	public final class Decompressing implements StorageFileWriter
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final StorageDataFileCompressor dataFileDecompressor;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Decompressing(final StorageDataFileCompressor dataFileDecompressor)
+		{
+			super();
+			this.dataFileDecompressor = dataFileDecompressor;
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		@Override
+		public final StorageDataFileCompressor dataFileDecompressor(final int algorithmId)
+		{
+			return this.dataFileDecompressor.algorithmId() == algorithmId
+				? this.dataFileDecompressor
+				: null
+			;
+		}
+		
+	}
+	
+	
 	
+	/**
+	 * Creates a {@link StorageFileWriter.Provider} whose writers compress all data files that are newly written
+	 * with the passed {@link StorageDataFileCompressor}. Existing uncompressed data files are not converted, but
+	 * their live data is written compressed whenever the housekeeping file cleanup dissolves them.
+	 * 
+	 * @param dataFileCompressor the compressor to be used for new data files.
+	 * @return a new {@link StorageFileWriter.Provider} instance.
+	 */
+	public static StorageFileWriter.Provider Provider(final StorageDataFileCompressor dataFileCompressor)
+	{
+		return new StorageFileWriter.Provider.Compressing(
+			notNull(dataFileCompressor)
+		);
+	}
+
+	/**
+	 * Creates a {@link StorageFileWriter.Provider} whose writers write all new data files uncompressed, but can
+	 * still read data files that have been compressed with the passed {@link StorageDataFileCompressor}.
+	 * This is only required to disable compression with a custom compressor, files of the built-in DEFLATE
+	 * compressor are always readable.
+	 * 
+	 * @param dataFileDecompressor the compressor to read existing compressed data files.
+	 * @return a new {@link StorageFileWriter.Provider} instance.
+	 */
+	public static StorageFileWriter.Provider DecompressingProvider(final StorageDataFileCompressor dataFileDecompressor)
+	{
+		return new StorageFileWriter.Provider.Decompressing(
+			notNull(dataFileDecompressor)
+		);
+	}
 
 	@FunctionalInterface
 	public interface Provider
@@ -302,6 +435,72 @@ public interface StorageFileWriter
 				return new StorageFileWriter.Default();
 			}
 		}
+		
+		public final class Compressing implements StorageFileWriter.Provider
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			private final StorageDataFileCompressor dataFileCompressor;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+			
+			Compressing(final StorageDataFileCompressor dataFileCompressor)
+			{
+				super();
+				this.dataFileCompressor = dataFileCompressor;
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
+			@Override
+			public StorageFileWriter provideWriter()
+			{
+				return new StorageFileWriter.Compressing(this.dataFileCompressor);
+			}
+		}
+		
+		public final class Decompressing implements StorageFileWriter.Provider
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			private final StorageDataFileCompressor dataFileDecompressor;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+			
+			Decompressing(final StorageDataFileCompressor dataFileDecompressor)
+			{
+				super();
+				this.dataFileDecompressor = dataFileDecompressor;
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
+			@Override
+			public StorageFileWriter provideWriter()
+			{
+				return new StorageFileWriter.Decompressing(this.dataFileDecompressor);
+			}
+		}
 
 	}
 	
@@ -57,6 +57,18 @@ public interface StorageFileWriterBackupping extends StorageFileWriter
 		///////////////////////////////////////////////////////////////////////////
 		// methods //
 		////////////
+		
+		@Override
+		public final StorageDataFileCompressor dataFileCompressor()
+		{
+			return this.delegate.dataFileCompressor();
+		}
+		
+		@Override
+		public final StorageDataFileCompressor dataFileDecompressor(final int algorithmId)
+		{
+			return this.delegate.dataFileDecompressor(algorithmId);
+		}
 			
 		@Override
 		public final long writeStore(
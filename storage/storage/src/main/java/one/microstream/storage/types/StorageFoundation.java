@@ -388,6 +388,62 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 	 */
 	public StorageEntityMarkMonitor.Creator getEntityMarkMonitorCreator();
 	
+	/**
+	 * Returns the currently set {@link StorageEntityIndex.Creator} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * executon of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageEntityIndex.Creator getEntityIndexCreator();
+	
+	/**
+	 * Returns the currently set {@link StorageMarkingWorkerPool.Creator} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * executon of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageMarkingWorkerPool.Creator getMarkingWorkerPoolCreator();
+	
+	/**
+	 * Returns the currently set {@link StorageEntityInitializer.Creator} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * executon of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageEntityInitializer.Creator getEntityInitializerCreator();
+	
+	/**
+	 * Returns the currently set {@link StorageIndexSnapshot.Creator} instance.
+	 * <p>
+	 * If no instance is set and the implementation deems an instance of this type mandatory for the successful
+	 * executon of {@link #createStorageSystem()}, a suitable instance is created via an internal default
+	 * creation logic and then set as the current. If the implementation has not sufficient logic and/or data
+	 * to create a default instance, a {@link MissingFoundationPartException} is thrown.
+	 * 
+	 * @return the currently set instance, potentially created on-demand if required.
+	 * 
+	 * @throws MissingFoundationPartException if a returnable instance is required but cannot be created by default.
+	 */
+	public StorageIndexSnapshot.Creator getIndexSnapshotCreator();
+	
 	/**
 	 * Returns the currently set {@link StorageDataFileValidator.Creator} instance.
 	 * <p>
@@ -562,6 +618,8 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 	
 	/**
 	 * Sets the {@link StorageTaskBroker.Creator} instance to be used for the assembly.
+	 * <p>
+	 * See {@link StorageTaskBroker#CreatorGroupCommitting(long, long)} for combining concurrent store requests.
 	 * 
 	 * @param taskBrokerCreator the instance to be used.
 	 * 
@@ -731,6 +789,54 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 	 */
 	public F setEntityMarkMonitorCreator(StorageEntityMarkMonitor.Creator entityMarkMonitorCreator);
 	
+	/**
+	 * Sets the {@link StorageEntityIndex.Creator} instance to be used for the assembly.
+	 * <p>
+	 * Use {@link StorageEntityIndex#CreatorOffHeap()} to keep the object id index of every channel's
+	 * entity cache in off-heap memory.
+	 * 
+	 * @param entityIndexCreator the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setEntityIndexCreator(StorageEntityIndex.Creator entityIndexCreator);
+	
+	/**
+	 * Sets the {@link StorageMarkingWorkerPool.Creator} instance to be used for the assembly.
+	 * <p>
+	 * Use {@link StorageMarkingWorkerPool#Creator(int)} with a positive worker count to let the storage
+	 * garbage collector's marking be done by a pool of workers per channel.
+	 * 
+	 * @param markingWorkerPoolCreator the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setMarkingWorkerPoolCreator(StorageMarkingWorkerPool.Creator markingWorkerPoolCreator);
+	
+	/**
+	 * Sets the {@link StorageEntityInitializer.Creator} instance to be used for the assembly.
+	 * <p>
+	 * Use {@link StorageEntityInitializer#Creator(int)} with a positive worker count to let every channel
+	 * read and index its data files with a pool of workers during startup.
+	 * 
+	 * @param entityInitializerCreator the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setEntityInitializerCreator(StorageEntityInitializer.Creator entityInitializerCreator);
+	
+	/**
+	 * Sets the {@link StorageIndexSnapshot.Creator} instance to be used for the assembly.
+	 * <p>
+	 * Use {@link StorageIndexSnapshot#Creator(long)} to let every channel write a snapshot of its entity index
+	 * on shutdown (and optionally periodically), which spares reading all data files on the next startup.
+	 * 
+	 * @param indexSnapshotCreator the instance to be used.
+	 * 
+	 * @return {@literal this} to allow method chaining.
+	 */
+	public F setIndexSnapshotCreator(StorageIndexSnapshot.Creator indexSnapshotCreator);
+	
 	/**
 	 * Sets the {@link StorageDataFileValidator.Creator} instance to be used for the assembly.
 	 * 
@@ -871,6 +977,10 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 		private StorageRootOidSelector.Provider       rootOidSelectorProvider      ;
 		private StorageObjectIdMarkQueue.Creator      oidMarkQueueCreator          ;
 		private StorageEntityMarkMonitor.Creator      entityMarkMonitorCreator     ;
+		private StorageEntityIndex.Creator            entityIndexCreator           ;
+		private StorageMarkingWorkerPool.Creator      markingWorkerPoolCreator     ;
+		private StorageEntityInitializer.Creator      entityInitializerCreator     ;
+		private StorageIndexSnapshot.Creator          indexSnapshotCreator         ;
 		private StorageDataFileValidator.Creator      dataFileValidatorCreator     ;
 		private BinaryEntityRawDataIterator.Provider  entityDataIteratorProvider   ;
 		private StorageEntityDataValidator.Creator    entityDataValidatorCreator   ;
@@ -1047,6 +1157,26 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 			return StorageEntityMarkMonitor.Creator();
 		}
 
+		protected StorageEntityIndex.Creator ensureEntityIndexCreator()
+		{
+			return StorageEntityIndex.Creator();
+		}
+
+		protected StorageMarkingWorkerPool.Creator ensureMarkingWorkerPoolCreator()
+		{
+			return StorageMarkingWorkerPool.Creator();
+		}
+
+		protected StorageEntityInitializer.Creator ensureEntityInitializerCreator()
+		{
+			return StorageEntityInitializer.Creator();
+		}
+
+		protected StorageIndexSnapshot.Creator ensureIndexSnapshotCreator()
+		{
+			return StorageIndexSnapshot.Creator();
+		}
+
 		protected StorageDataFileValidator.Creator ensureDataFileValidatorCreator()
 		{
 			return StorageDataFileValidator.Creator(
@@ -1363,6 +1493,46 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 			return this.entityMarkMonitorCreator;
 		}
 		
+		@Override
+		public StorageEntityIndex.Creator getEntityIndexCreator()
+		{
+			if(this.entityIndexCreator == null)
+			{
+				this.entityIndexCreator = this.dispatch(this.ensureEntityIndexCreator());
+			}
+			return this.entityIndexCreator;
+		}
+		
+		@Override
+		public StorageMarkingWorkerPool.Creator getMarkingWorkerPoolCreator()
+		{
+			if(this.markingWorkerPoolCreator == null)
+			{
+				this.markingWorkerPoolCreator = this.dispatch(this.ensureMarkingWorkerPoolCreator());
+			}
+			return this.markingWorkerPoolCreator;
+		}
+		
+		@Override
+		public StorageEntityInitializer.Creator getEntityInitializerCreator()
+		{
+			if(this.entityInitializerCreator == null)
+			{
+				this.entityInitializerCreator = this.dispatch(this.ensureEntityInitializerCreator());
+			}
+			return this.entityInitializerCreator;
+		}
+		
+		@Override
+		public StorageIndexSnapshot.Creator getIndexSnapshotCreator()
+		{
+			if(this.indexSnapshotCreator == null)
+			{
+				this.indexSnapshotCreator = this.dispatch(this.ensureIndexSnapshotCreator());
+			}
+			return this.indexSnapshotCreator;
+		}
+		
 		@Override
 		public StorageDataFileValidator.Creator getDataFileValidatorCreator()
 		{
@@ -1664,6 +1834,42 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 			return this.$();
 		}
 		
+		@Override
+		public F setEntityIndexCreator(
+			final StorageEntityIndex.Creator entityIndexCreator
+		)
+		{
+			this.entityIndexCreator = entityIndexCreator;
+			return this.$();
+		}
+		
+		@Override
+		public F setMarkingWorkerPoolCreator(
+			final StorageMarkingWorkerPool.Creator markingWorkerPoolCreator
+		)
+		{
+			this.markingWorkerPoolCreator = markingWorkerPoolCreator;
+			return this.$();
+		}
+		
+		@Override
+		public F setEntityInitializerCreator(
+			final StorageEntityInitializer.Creator entityInitializerCreator
+		)
+		{
+			this.entityInitializerCreator = entityInitializerCreator;
+			return this.$();
+		}
+		
+		@Override
+		public F setIndexSnapshotCreator(
+			final StorageIndexSnapshot.Creator indexSnapshotCreator
+		)
+		{
+			this.indexSnapshotCreator = indexSnapshotCreator;
+			return this.$();
+		}
+		
 		@Override
 		public F setDataFileValidatorCreator(
 			final StorageDataFileValidator.Creator dataFileValidatorCreator
@@ -1808,6 +2014,10 @@ public interface StorageFoundation<F extends StorageFoundation<?>> extends Insta
 				this.getRootOidSelectorProvider()      ,
 				this.getOidMarkQueueCreator()          ,
 				this.getEntityMarkMonitorCreator()     ,
+				this.getEntityIndexCreator()           ,
+				this.getMarkingWorkerPoolCreator()     ,
+				this.getEntityInitializerCreator()     ,
+				this.getIndexSnapshotCreator()         ,
 				this.isByteOrderMismatch()             ,
 				this.getLockFileSetup()                ,
 				this.getLockFileManagerCreator()       ,
@@ -0,0 +1,915 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.notNegative;
+
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+
+import one.microstream.afs.types.ADirectory;
+import one.microstream.afs.types.AFS;
+import one.microstream.afs.types.AFile;
+import one.microstream.afs.types.AWritableFile;
+import one.microstream.collections.EqHashTable;
+import one.microstream.collections.types.XGettingSequence;
+import one.microstream.collections.types.XGettingTable;
+import one.microstream.memory.XMemory;
+import one.microstream.persistence.binary.types.Binary;
+import one.microstream.typing.XTypes;
+import one.microstream.util.logging.Logging;
+
+
+/**
+ * A per-channel snapshot of the entity index (object id, type id, data file number, position and length of every
+ * entity) that allows a channel to be initialized without reading all of its data files.
+ * <p>
+ * On startup, a snapshot is only used if every data file it covers still exists with at least the recorded length,
+ * both physically and according to the {@link StorageTransactionsAnalysis}, where the head file's length is the
+ * consistent length determined by the analysis. The snapshot must also not cover a store that is newer than the
+ * consistent store timestamp, e.g. one that has been rolled back.
+ * Data files only ever get appended to, so the parts of the files covered by the snapshot are guaranteed to be
+ * unchanged. Only the data written after the snapshot (the "tail") is read from the data files and registered
+ * with precedence over the snapshot's entries, exactly like a complete initialization would do it.
+ * Any inconsistency (missing or shortened files, a damaged snapshot file, etc.) simply causes a complete
+ * initialization.
+ * <p>
+ * Snapshots are written completely on shutdown and, optionally in a configurable interval, incrementally during
+ * housekeeping, one data file at a time. Both only happen if the channel has no uncommitted data. A snapshot is
+ * written to a temporary file that replaces the previous snapshot only when it is complete.
+ */
+public interface StorageIndexSnapshot
+{
+	/**
+	 * Writes a snapshot of all files of the channel and the entities in them, or completes the snapshot
+	 * currently being written.
+	 *
+	 * @param headFile the channel's current head file.
+	 * @param storeTimestamp the timestamp of the channel's latest store.
+	 */
+	public default void write(final StorageLiveDataFile.Default headFile, final long storeTimestamp)
+	{
+		this.write(headFile, storeTimestamp, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Writes the next part of a snapshot until it is complete or the time budget is used up. At least one
+	 * data file is written per call. If a file covered by the snapshot has been deleted since the snapshot
+	 * was started, the snapshot is started anew.
+	 *
+	 * @param headFile the channel's current head file.
+	 * @param storeTimestamp the timestamp of the channel's latest store.
+	 * @param nanoTimeBudgetBound the {@link System#nanoTime()} value after which no further file is written.
+	 * @return whether the snapshot has been completed.
+	 */
+	public boolean write(StorageLiveDataFile.Default headFile, long storeTimestamp, long nanoTimeBudgetBound);
+
+	/**
+	 * Discards the snapshot currently being written, if any. The previous snapshot remains unaffected.
+	 */
+	public void cancelWrite();
+
+	/**
+	 * Checks if a snapshot is due to be written as part of the housekeeping, which is the case if the interval
+	 * has passed or if a snapshot is currently being written.
+	 *
+	 * @param currentTimeMs the current time in milliseconds.
+	 * @return whether a snapshot shall be written.
+	 */
+	public boolean isDue(long currentTimeMs);
+
+	/**
+	 * Registers all entities of the passed files in the passed entity cache by using a valid snapshot and
+	 * reading only the data written after it. Returns {@literal null} if no valid snapshot exists, in which case
+	 * nothing has been registered and the files have to be initialized completely.
+	 *
+	 * @param entityCache the entity cache to register the entities in.
+	 * @param dataFileCreator the logic creating the live data files.
+	 * @param files the channel's data files in ascending order.
+	 * @param lastFileLength the consistent length of the last file.
+	 * @param transactionsAnalysis the analysis of the channel's transactions file, may be {@literal null}.
+	 * @param consistentStoreTimestamp the timestamp of the latest store that is consistent in all channels.
+	 * @return the head file or {@literal null}.
+	 */
+	public StorageLiveDataFile.Default registerEntities(
+		StorageEntityCache.Default                                      entityCache             ,
+		Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator         ,
+		XGettingSequence<? extends StorageDataInventoryFile>            files                   ,
+		long                                                            lastFileLength          ,
+		StorageTransactionsAnalysis                                     transactionsAnalysis    ,
+		long                                                            consistentStoreTimestamp
+	);
+
+
+
+	public static StorageIndexSnapshot.Creator Creator()
+	{
+		return new StorageIndexSnapshot.Creator.Disabled();
+	}
+
+	/**
+	 * Creates a {@link StorageIndexSnapshot.Creator} instance creating snapshots that are written on shutdown
+	 * and additionally every {@code intervalMs} milliseconds during housekeeping. An interval of 0 means only
+	 * on shutdown.
+	 *
+	 * @param intervalMs the interval in milliseconds in which snapshots shall be written during housekeeping.
+	 *
+	 * @return a new {@link StorageIndexSnapshot.Creator} instance.
+	 */
+	public static StorageIndexSnapshot.Creator Creator(final long intervalMs)
+	{
+		return new StorageIndexSnapshot.Creator.Default(
+			notNegative(intervalMs)
+		);
+	}
+
+
+
+	public interface Defaults
+	{
+		public static String defaultFileName()
+		{
+			return "entityindex_";
+		}
+
+		public static String defaultFileType()
+		{
+			return "snp";
+		}
+
+		public static String defaultTempFileType()
+		{
+			return "tmp";
+		}
+	}
+
+
+
+	public interface Creator
+	{
+		/**
+		 * Creates the snapshot instance for the channel with the passed index or {@literal null} if no snapshots
+		 * shall be used.
+		 *
+		 * @param channelIndex the index of the channel.
+		 * @param fileProvider the channel's file provider.
+		 *
+		 * @return the snapshot instance to be used or {@literal null}.
+		 */
+		public StorageIndexSnapshot createIndexSnapshot(int channelIndex, StorageLiveFileProvider fileProvider);
+
+
+
+		public final class Disabled implements StorageIndexSnapshot.Creator
+		{
+			Disabled()
+			{
+				super();
+			}
+
+			@Override
+			public StorageIndexSnapshot createIndexSnapshot(
+				final int                     channelIndex,
+				final StorageLiveFileProvider fileProvider
+			)
+			{
+				return null;
+			}
+
+		}
+
+		public final class Default implements StorageIndexSnapshot.Creator
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			private final long intervalMs;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			Default(final long intervalMs)
+			{
+				super();
+				this.intervalMs = intervalMs;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			@Override
+			public StorageIndexSnapshot createIndexSnapshot(
+				final int                     channelIndex,
+				final StorageLiveFileProvider fileProvider
+			)
+			{
+				// the snapshot is placed next to the transactions file, i.e. in the channel directory.
+				final ADirectory directory = fileProvider.provideTransactionsFile(channelIndex).parent();
+				final AFile      file      = directory.ensureFile(
+					Defaults.defaultFileName() + channelIndex,
+					Defaults.defaultFileType()
+				);
+				final AFile      tempFile  = directory.ensureFile(
+					Defaults.defaultFileName() + channelIndex,
+					Defaults.defaultTempFileType()
+				);
+
+				return new StorageIndexSnapshot.Default(notNull(file), notNull(tempFile), channelIndex, this.intervalMs);
+			}
+
+		}
+
+	}
+
+
+
+	public final class Default implements StorageIndexSnapshot
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		private final static Logger logger = Logging.getLogger(Default.class);
+
+		static final long MAGIC   = 0x4D53_4958_534E_5031L; // "MSIXSNP1"
+		static final int  VERSION = 2;
+
+		// magic, version, channel index, file count
+		static final int HEADER_LENGTH      = Long.BYTES + Integer.BYTES + Integer.BYTES + Integer.BYTES;
+
+		// file number, file length, entity count, followed by the file's entity records
+		static final int FILE_ENTRY_LENGTH  = Long.BYTES + Long.BYTES + Integer.BYTES;
+
+		// object id, type id, position, length
+		static final int ENTITY_RECORD_LENGTH = Long.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+		// store timestamp, checksum
+		static final int FOOTER_LENGTH      = Long.BYTES + Long.BYTES;
+
+		static final int WRITE_BUFFER_SIZE  = 1 << 20;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final AFile file        ;
+		private final AFile tempFile    ;
+		private final int   channelIndex;
+		private final long  intervalMs  ;
+		private       long  lastWriteMs ;
+
+		// state of the snapshot being written, all null if none is.
+		private AWritableFile pendingFile       ;
+		private ByteBuffer    pendingBuffer     ;
+		private CRC32         pendingChecksum   ;
+		private long[]        pendingFileNumbers; // from the newest to the oldest file
+		private int           pendingFileIndex  ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final AFile file, final AFile tempFile, final int channelIndex, final long intervalMs)
+		{
+			super();
+			this.file         = file                      ;
+			this.tempFile     = tempFile                  ;
+			this.channelIndex = channelIndex              ;
+			this.intervalMs   = intervalMs                ;
+			this.lastWriteMs  = System.currentTimeMillis();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final boolean isDue(final long currentTimeMs)
+		{
+			return this.pendingFile != null
+				|| this.intervalMs > 0 && currentTimeMs - this.lastWriteMs >= this.intervalMs
+			;
+		}
+
+		@Override
+		public final boolean write(
+			final StorageLiveDataFile.Default headFile           ,
+			final long                        storeTimestamp     ,
+			final long                        nanoTimeBudgetBound
+		)
+		{
+			try
+			{
+				if(this.pendingFile != null && !containsAll(headFile, this.pendingFileNumbers))
+				{
+					// a file has been deleted by the file cleanup in the meantime, so the snapshot is outdated.
+					logger.debug("StorageChannel#{} restarts outdated entity index snapshot", this.channelIndex);
+					this.cancelWrite();
+				}
+				if(this.pendingFile == null)
+				{
+					this.startWrite(headFile);
+				}
+
+				/*
+				 * Every file is written completely at once, so its entity records match the recorded file length.
+				 * Changes between two calls are either appended to the head file after its recorded length or
+				 * newer files, which are both read on startup with precedence, or are file deletions, see above.
+				 */
+				do
+				{
+					this.writeFile(findFile(headFile, this.pendingFileNumbers[this.pendingFileIndex]));
+				}
+				while(++this.pendingFileIndex < this.pendingFileNumbers.length
+					&& System.nanoTime() < nanoTimeBudgetBound
+				);
+
+				if(this.pendingFileIndex < this.pendingFileNumbers.length)
+				{
+					return false;
+				}
+
+				this.completeWrite(storeTimestamp);
+			}
+			catch(final RuntimeException e)
+			{
+				this.cancelWrite();
+				throw e;
+			}
+
+			logger.debug("StorageChannel#{} wrote entity index snapshot", this.channelIndex);
+
+			return true;
+		}
+
+		@Override
+		public final void cancelWrite()
+		{
+			if(this.pendingFile == null)
+			{
+				return;
+			}
+
+			try
+			{
+				this.pendingFile.release();
+			}
+			finally
+			{
+				this.clearPendingWrite();
+			}
+		}
+
+		private void startWrite(final StorageLiveDataFile.Default headFile)
+		{
+			this.lastWriteMs = System.currentTimeMillis();
+
+			int fileCount = 0;
+			StorageLiveDataFile.Default file = headFile;
+			do
+			{
+				fileCount++;
+			}
+			while((file = file.prev) != headFile);
+
+			final long[] fileNumbers = new long[fileCount];
+			for(int i = 0; i < fileCount; i++, file = file.prev)
+			{
+				fileNumbers[i] = file.number();
+			}
+
+			final AWritableFile wf = this.tempFile.useWriting();
+			try
+			{
+				// a partially written snapshot (e.g. crash while writing) is recognized by its missing/wrong checksum.
+				wf.ensureExists();
+				wf.truncate(0);
+
+				this.pendingBuffer = XMemory.allocateDirectNative(WRITE_BUFFER_SIZE);
+			}
+			catch(final RuntimeException e)
+			{
+				wf.release();
+				throw e;
+			}
+
+			this.pendingFile        = wf         ;
+			this.pendingChecksum    = new CRC32();
+			this.pendingFileNumbers = fileNumbers;
+			this.pendingFileIndex   = 0          ;
+
+			final ByteBuffer buffer = this.pendingBuffer;
+			buffer.clear();
+			buffer.putLong(MAGIC);
+			buffer.putInt(VERSION);
+			buffer.putInt(this.channelIndex);
+			buffer.putInt(fileCount);
+		}
+
+		private void writeFile(final StorageLiveDataFile.Default file)
+		{
+			this.ensureSpace(FILE_ENTRY_LENGTH);
+			this.pendingBuffer.putLong(file.number());
+			this.pendingBuffer.putLong(file.totalLength());
+			this.pendingBuffer.putInt(countEntities(file));
+
+			// entity records from the last to the first to be prepended in that order again.
+			for(StorageEntity.Default e = file.tail.filePrev; e != file.head; e = e.filePrev)
+			{
+				this.ensureSpace(ENTITY_RECORD_LENGTH);
+				this.pendingBuffer.putLong(e.objectId());
+				this.pendingBuffer.putLong(e.typeInFile.type.typeId);
+				this.pendingBuffer.putInt(e.storagePosition);
+				this.pendingBuffer.putInt(e.length);
+			}
+		}
+
+		private void completeWrite(final long storeTimestamp)
+		{
+			this.ensureSpace(Long.BYTES);
+			this.pendingBuffer.putLong(storeTimestamp);
+			this.flush();
+
+			this.pendingBuffer.clear();
+			this.pendingBuffer.putLong(this.pendingChecksum.getValue());
+			this.pendingBuffer.flip();
+			this.pendingFile.writeBytes(this.pendingBuffer);
+			this.pendingFile.close();
+
+			/*
+			 * Moving does not replace an existing file, so the previous snapshot has to be deleted first.
+			 * Should the process die in between, the complete temporary file is used on the next startup.
+			 */
+			if(this.file.exists())
+			{
+				AFS.executeWriting(this.file, AWritableFile::delete);
+			}
+
+			final AWritableFile source = this.pendingFile;
+			AFS.executeWriting(this.file, source::moveTo);
+
+			this.cancelWrite();
+		}
+
+		private void clearPendingWrite()
+		{
+			XMemory.deallocateDirectByteBuffer(this.pendingBuffer);
+
+			this.pendingFile        = null;
+			this.pendingBuffer      = null;
+			this.pendingChecksum    = null;
+			this.pendingFileNumbers = null;
+			this.pendingFileIndex   = 0   ;
+		}
+
+		private static StorageLiveDataFile.Default findFile(
+			final StorageLiveDataFile.Default headFile  ,
+			final long                        fileNumber
+		)
+		{
+			StorageLiveDataFile.Default file = headFile;
+			do
+			{
+				if(file.number() == fileNumber)
+				{
+					return file;
+				}
+			}
+			while((file = file.prev) != headFile);
+
+			return null;
+		}
+
+		private static boolean containsAll(final StorageLiveDataFile.Default headFile, final long[] fileNumbers)
+		{
+			// both the files and the numbers are ordered from the newest to the oldest file.
+			int i = 0;
+			StorageLiveDataFile.Default file = headFile;
+			do
+			{
+				if(i < fileNumbers.length && file.number() == fileNumbers[i])
+				{
+					i++;
+				}
+			}
+			while((file = file.prev) != headFile);
+
+			return i == fileNumbers.length;
+		}
+
+		private static int countEntities(final StorageLiveDataFile.Default file)
+		{
+			int count = 0;
+			for(StorageEntity.Default e = file.head.fileNext; e != file.tail; e = e.fileNext)
+			{
+				count++;
+			}
+
+			return count;
+		}
+
+		private void ensureSpace(final int requiredSpace)
+		{
+			if(this.pendingBuffer.remaining() < requiredSpace)
+			{
+				this.flush();
+			}
+		}
+
+		private void flush()
+		{
+			this.pendingBuffer.flip();
+			this.pendingChecksum.update(this.pendingBuffer.duplicate());
+			this.pendingFile.writeBytes(this.pendingBuffer);
+			this.pendingBuffer.clear();
+		}
+
+		@Override
+		public final StorageLiveDataFile.Default registerEntities(
+			final StorageEntityCache.Default                                      entityCache             ,
+			final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator         ,
+			final XGettingSequence<? extends StorageDataInventoryFile>            files                   ,
+			final long                                                            lastFileLength          ,
+			final StorageTransactionsAnalysis                                     transactionsAnalysis    ,
+			final long                                                            consistentStoreTimestamp
+		)
+		{
+			// without transactions entries, neither the files nor the snapshot's timestamp can be verified.
+			if(transactionsAnalysis == null || transactionsAnalysis.isEmpty())
+			{
+				return null;
+			}
+
+			ByteBuffer buffer = null;
+			int[]      fileEntryOffsets;
+			if((fileEntryOffsets = this.validate(buffer = this.readSnapshot(this.file),
+				files, lastFileLength, transactionsAnalysis, consistentStoreTimestamp)) == null
+			)
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+
+				// a complete snapshot that has not replaced the previous one because of a crash.
+				if((fileEntryOffsets = this.validate(buffer = this.readSnapshot(this.tempFile),
+					files, lastFileLength, transactionsAnalysis, consistentStoreTimestamp)) == null
+				)
+				{
+					XMemory.deallocateDirectByteBuffer(buffer);
+					return null;
+				}
+			}
+
+			try
+			{
+				return this.registerEntities(entityCache, dataFileCreator, files, lastFileLength, buffer, fileEntryOffsets);
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+			}
+		}
+
+		private ByteBuffer readSnapshot(final AFile file)
+		{
+			try
+			{
+				if(!file.exists())
+				{
+					return null;
+				}
+
+				final long size = file.size();
+				if(size < HEADER_LENGTH + FOOTER_LENGTH || size > Integer.MAX_VALUE)
+				{
+					return null;
+				}
+
+				final ByteBuffer buffer = XMemory.allocateDirectNative(size);
+				try
+				{
+					AFS.execute(file, rf ->
+						rf.readBytes(buffer, 0, size)
+					);
+				}
+				catch(final RuntimeException e)
+				{
+					XMemory.deallocateDirectByteBuffer(buffer);
+					throw e;
+				}
+
+				return buffer;
+			}
+			catch(final RuntimeException e)
+			{
+				logger.warn("StorageChannel#{} could not read entity index snapshot {}", this.channelIndex, file, e);
+				return null;
+			}
+		}
+
+		/**
+		 * Validates the passed snapshot and returns the offsets of its file entries, in the order of the
+		 * file table, or {@literal null} if the snapshot is invalid.
+		 */
+		private int[] validate(
+			final ByteBuffer                                           buffer                  ,
+			final XGettingSequence<? extends StorageDataInventoryFile> files                   ,
+			final long                                                 lastFileLength          ,
+			final StorageTransactionsAnalysis                          transactionsAnalysis    ,
+			final long                                                 consistentStoreTimestamp
+		)
+		{
+			if(buffer == null)
+			{
+				return null;
+			}
+
+			final int contentLength = buffer.limit() - Long.BYTES;
+
+			final ByteBuffer content = buffer.duplicate();
+			content.position(0);
+			content.limit(contentLength);
+
+			final CRC32 checksum = new CRC32();
+			checksum.update(content);
+			if(checksum.getValue() != buffer.getLong(contentLength))
+			{
+				logger.debug("StorageChannel#{} ignores damaged entity index snapshot", this.channelIndex);
+				return null;
+			}
+
+			if(buffer.getLong(0) != MAGIC
+				|| buffer.getInt(Long.BYTES) != VERSION
+				|| buffer.getInt(Long.BYTES + Integer.BYTES) != this.channelIndex
+			)
+			{
+				return null;
+			}
+
+			// a snapshot covering a store that is not consistent (e.g. rolled back) must not be used.
+			final long storeTimestamp = buffer.getLong(contentLength - Long.BYTES);
+			if(storeTimestamp > consistentStoreTimestamp)
+			{
+				logger.debug(
+					"StorageChannel#{} ignores entity index snapshot of inconsistent store {}",
+					this.channelIndex, storeTimestamp
+				);
+				return null;
+			}
+
+			final int fileCount = buffer.getInt(Long.BYTES + Integer.BYTES + Integer.BYTES);
+			final int boundOffset = buffer.limit() - FOOTER_LENGTH;
+			if(fileCount <= 0 || (long)fileCount * FILE_ENTRY_LENGTH > boundOffset - HEADER_LENGTH)
+			{
+				return null;
+			}
+
+			final EqHashTable<Long, StorageDataInventoryFile> inventory = EqHashTable.New();
+			files.iterate(f -> inventory.add(f.number(), f));
+			final StorageDataInventoryFile lastFile = files.peek();
+			final XGettingTable<Long, ? extends StorageTransactionEntry> entries =
+				transactionsAnalysis.transactionsFileEntries()
+			;
+
+			final int[] fileEntryOffsets = new int[fileCount];
+			long maxFileNumber = -1;
+			int  offset        = HEADER_LENGTH;
+			for(int i = 0; i < fileCount; i++)
+			{
+				if(offset > boundOffset - FILE_ENTRY_LENGTH)
+				{
+					return null;
+				}
+
+				final long                     number      = buffer.getLong(offset);
+				final long                     length      = buffer.getLong(offset + Long.BYTES);
+				final int                      entityCount = buffer.getInt(offset + Long.BYTES + Long.BYTES);
+				final StorageDataInventoryFile file        = inventory.get(number);
+				final StorageTransactionEntry  entry       = entries.get(number);
+
+				/*
+				 * A file that is missing (e.g. deleted by the file cleanup) or shorter than recorded, physically
+				 * or according to the transactions file, invalidates the snapshot.
+				 */
+				if(file == null || entry == null || entry.isDeleted()
+					|| length > (file == lastFile ? lastFileLength : Math.min(file.size(), entry.length()))
+				)
+				{
+					logger.debug(
+						"StorageChannel#{} ignores outdated entity index snapshot (file {})",
+						this.channelIndex, number
+					);
+					return null;
+				}
+
+				if(entityCount < 0
+					|| (long)entityCount * ENTITY_RECORD_LENGTH > boundOffset - offset - FILE_ENTRY_LENGTH
+				)
+				{
+					return null;
+				}
+
+				maxFileNumber = Math.max(maxFileNumber, number);
+				fileEntryOffsets[i] = offset;
+				offset += FILE_ENTRY_LENGTH + entityCount * ENTITY_RECORD_LENGTH;
+			}
+
+			if(offset != boundOffset)
+			{
+				return null;
+			}
+
+			// every existing file older than the newest file in the snapshot must be covered by the snapshot.
+			for(final StorageDataInventoryFile file : files)
+			{
+				if(file.number() < maxFileNumber && findFileEntry(buffer, fileEntryOffsets, file.number()) < 0)
+				{
+					return null;
+				}
+			}
+
+			return fileEntryOffsets;
+		}
+
+		private static int findFileEntry(final ByteBuffer buffer, final int[] fileEntryOffsets, final long fileNumber)
+		{
+			for(final int offset : fileEntryOffsets)
+			{
+				if(buffer.getLong(offset) == fileNumber)
+				{
+					return offset;
+				}
+			}
+
+			return -1;
+		}
+
+		private StorageLiveDataFile.Default registerEntities(
+			final StorageEntityCache.Default                                      entityCache     ,
+			final Function<StorageDataInventoryFile, StorageLiveDataFile.Default> dataFileCreator ,
+			final XGettingSequence<? extends StorageDataInventoryFile>            files           ,
+			final long                                                            lastFileLength  ,
+			final ByteBuffer                                                      snapshot        ,
+			final int[]                                                           fileEntryOffsets
+		)
+		{
+			final long initTime  = System.currentTimeMillis();
+			final long fileCount = files.size();
+
+			// buffer for reading the file tails written after the snapshot, allocated on demand.
+			ByteBuffer tailBuffer = null;
+			try
+			{
+				StorageLiveDataFile.Default headFile = null, dataFile = null;
+				long initializedFileCount = 0;
+				for(final StorageDataInventoryFile inventoryFile : files.toReversed())
+				{
+					final StorageLiveDataFile.Default file = dataFileCreator.apply(inventoryFile);
+					dataFile = dataFile == null
+						? headFile = StorageEntityInitializer.Default.setupHeadFile(file)
+						: StorageEntityInitializer.Default.linkTailFile(dataFile, file)
+					;
+
+					final long fileLength  = file == headFile ? lastFileLength : inventoryFile.size();
+					final int  entryOffset = findFileEntry(snapshot, fileEntryOffsets, file.number());
+					final long snapLength  = entryOffset < 0 ? 0 : snapshot.getLong(entryOffset + Long.BYTES);
+
+					long contentLength = 0;
+					if(fileLength > snapLength)
+					{
+						final int tailLength = XTypes.to_int(fileLength - snapLength);
+						if(tailBuffer == null || tailBuffer.capacity() < tailLength)
+						{
+							XMemory.deallocateDirectByteBuffer(tailBuffer);
+							tailBuffer = XMemory.allocateDirectNative(Math.max(tailLength, XMemory.defaultBufferSize()));
+						}
+						contentLength += registerTailEntities(entityCache, initTime, file, snapLength, tailLength, tailBuffer);
+					}
+
+					if(entryOffset >= 0)
+					{
+						contentLength += registerSnapshotEntities(
+							entityCache,
+							file,
+							snapshot,
+							entryOffset + FILE_ENTRY_LENGTH,
+							snapshot.getInt(entryOffset + Long.BYTES + Long.BYTES)
+						);
+					}
+
+					file.increaseContentLength(contentLength);
+					file.registerGapLength(fileLength - contentLength);
+					StorageEntityInitializer.Default.reportProgress(entityCache, ++initializedFileCount, fileCount);
+				}
+
+				entityCache.eventLogger.logEntityInitializationComplete(
+					entityCache,
+					fileCount,
+					System.currentTimeMillis() - initTime
+				);
+				logger.debug("StorageChannel#{} initialized from entity index snapshot", this.channelIndex);
+
+				return headFile;
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(tailBuffer);
+			}
+		}
+
+		private static long registerTailEntities(
+			final StorageEntityCache.Default  entityCache,
+			final long                        initTime   ,
+			final StorageLiveDataFile.Default file       ,
+			final long                        position   ,
+			final int                         length     ,
+			final ByteBuffer                  buffer
+		)
+		{
+			final int[] entityOffsets = new int[length / Binary.entityHeaderLength() + 1];
+			final int   entityCount   = StorageEntityInitializer.Default.indexEntities(
+				file, position, length, buffer, entityOffsets
+			);
+
+			return StorageEntityInitializer.Default.registerIndexedEntities(
+				entityCache,
+				initTime,
+				file,
+				XMemory.getDirectByteBufferAddress(buffer),
+				XTypes.to_int(position),
+				entityOffsets,
+				entityCount
+			);
+		}
+
+		private static long registerSnapshotEntities(
+			final StorageEntityCache.Default  entityCache,
+			final StorageLiveDataFile.Default file       ,
+			final ByteBuffer                  snapshot   ,
+			final int                         startOffset,
+			final int                         entityCount
+		)
+		{
+			long contentLength = 0;
+
+			// the records are in reverse file order, so prepending them restores the file's entity order.
+			final int boundOffset = startOffset + entityCount * ENTITY_RECORD_LENGTH;
+			for(int offset = startOffset; offset < boundOffset; offset += ENTITY_RECORD_LENGTH)
+			{
+				final long objectId = snapshot.getLong(offset);
+
+				// entities (re)written after the snapshot have already been registered from the file tail.
+				if(entityCache.getEntry(objectId) != null)
+				{
+					continue;
+				}
+
+				final int                   length = snapshot.getInt(offset + Long.BYTES + Long.BYTES + Integer.BYTES);
+				final StorageEntity.Default entity = entityCache.initialCreateEntity(
+					objectId,
+					snapshot.getLong(offset + Long.BYTES)
+				);
+				entity.updateStorageInformation(length, snapshot.getInt(offset + Long.BYTES + Long.BYTES));
+				file.prependEntry(entity);
+				contentLength += length;
+			}
+
+			return contentLength;
+		}
+
+	}
+
+}
@@ -263,6 +263,25 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 			);
 		}
 		
+		@Override
+		protected boolean isCompressible()
+		{
+			return true;
+		}
+		
+		@Override
+		protected StorageDataFileCompressor newContentCompressor(final StorageDataFileCompressor sourceCompressor)
+		{
+			// live files follow the channel's configuration, so disabling compression applies to new files.
+			return this.parent.dataFileCompressor();
+		}
+		
+		@Override
+		protected StorageDataFileCompressor contentDecompressor(final int algorithmId)
+		{
+			return this.parent.dataFileDecompressor(algorithmId);
+		}
+		
 		@Override
 		protected synchronized boolean internalOpenWriting()
 		{
@@ -279,7 +298,8 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 				return true;
 			}
 			
-			final long actualSize = this.ensureReadable().size();
+			// the logical size, which differs from the physical size for block-compressed files.
+			final long actualSize = this.size();
 
 			if(actualSize != expectedSize)
 			{
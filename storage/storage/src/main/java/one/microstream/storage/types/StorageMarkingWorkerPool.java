@@ -0,0 +1,348 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.notNegative;
+import static one.microstream.math.XMath.positive;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * A pool of work-stealing worker threads that a channel's {@link StorageEntityCache} uses to iterate the references
+ * of a batch of entities to be marked by the storage garbage collector in parallel.
+ * <p>
+ * All state-changing operations like looking up entities, loading their data into the cache and cache size accounting
+ * remain exclusive to the owning channel's thread. The workers only iterate already cached reference data, enqueue
+ * the found object ids via worker-local {@link StorageReferenceMarker}s and finally mark the processed entities black.
+ * The black/gray/white protocol of the {@link StorageEntityMarkMonitor} is unchanged, as every worker's reference
+ * marker is flushed before the owning channel advances its mark queue.
+ */
+public interface StorageMarkingWorkerPool
+{
+	/**
+	 * Iterates the references of all passed entities in parallel, enqueues them for marking and marks the entities
+	 * black. The reference data of all passed entities must already be cached. Returns not before all entities
+	 * have been processed and all found references have been flushed to the {@link StorageEntityMarkMonitor}.
+	 *
+	 * @param entities the entities to be processed.
+	 * @param size the amount of entities in the array to be processed.
+	 * @param callerReferenceMarker the reference marker to be used if a part of the work is executed by the calling thread.
+	 */
+	public void markReferences(
+		StorageEntity.Default[] entities             ,
+		int                     size                 ,
+		StorageReferenceMarker  callerReferenceMarker
+	);
+
+	/**
+	 * Terminates all worker threads. A subsequent call to
+	 * {@link #markReferences(StorageEntity.Default[], int, StorageReferenceMarker)} starts them again.
+	 */
+	public void shutdown();
+
+
+
+	public static StorageMarkingWorkerPool.Creator Creator()
+	{
+		return Creator(0);
+	}
+
+	/**
+	 * Creates a {@link StorageMarkingWorkerPool.Creator} instance creating a pool of the passed amount of workers
+	 * for every channel. A worker count of 0 disables the parallel marking, leaving all marking work to the
+	 * channel threads themselves.
+	 *
+	 * @param workerCount the amount of marking worker threads per channel.
+	 *
+	 * @return a new {@link StorageMarkingWorkerPool.Creator} instance.
+	 */
+	public static StorageMarkingWorkerPool.Creator Creator(final int workerCount)
+	{
+		return Creator(workerCount, StorageMarkingWorkerPool.Defaults.defaultTaskGranularity());
+	}
+
+	/**
+	 * Creates a {@link StorageMarkingWorkerPool.Creator} instance creating a pool of the passed amount of workers
+	 * for every channel.
+	 *
+	 * @param workerCount the amount of marking worker threads per channel. 0 disables parallel marking.
+	 * @param taskGranularity the amount of entities below which a marking task is not split up any further.
+	 *
+	 * @return a new {@link StorageMarkingWorkerPool.Creator} instance.
+	 */
+	public static StorageMarkingWorkerPool.Creator Creator(final int workerCount, final int taskGranularity)
+	{
+		return new StorageMarkingWorkerPool.Creator.Default(
+			notNegative(workerCount),
+			positive(taskGranularity)
+		);
+	}
+
+
+
+	public interface Defaults
+	{
+		public static int defaultTaskGranularity()
+		{
+			// big enough to amortize the task and flushing overhead, small enough to allow proper work stealing.
+			return 256;
+		}
+	}
+
+
+
+	public interface Creator
+	{
+		/**
+		 * Creates the marking worker pool for the channel with the passed index or {@literal null} if the
+		 * marking shall be done exclusively by the channel's thread.
+		 *
+		 * @param channelIndex the index of the channel the pool is created for.
+		 * @param markMonitor the mark monitor providing the worker's reference markers.
+		 *
+		 * @return the pool to be used or {@literal null}.
+		 */
+		public StorageMarkingWorkerPool createMarkingWorkerPool(
+			int                      channelIndex,
+			StorageEntityMarkMonitor markMonitor
+		);
+
+
+
+		public final class Default implements StorageMarkingWorkerPool.Creator
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			private final int workerCount    ;
+			private final int taskGranularity;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			Default(final int workerCount, final int taskGranularity)
+			{
+				super();
+				this.workerCount     = workerCount    ;
+				this.taskGranularity = taskGranularity;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			@Override
+			public StorageMarkingWorkerPool createMarkingWorkerPool(
+				final int                      channelIndex,
+				final StorageEntityMarkMonitor markMonitor
+			)
+			{
+				if(this.workerCount == 0)
+				{
+					return null;
+				}
+
+				return new StorageMarkingWorkerPool.Default(
+					channelIndex        ,
+					notNull(markMonitor),
+					this.workerCount    ,
+					this.taskGranularity
+				);
+			}
+
+		}
+
+	}
+
+
+
+	public final class Default implements StorageMarkingWorkerPool
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int                      channelIndex   ;
+		private final StorageEntityMarkMonitor markMonitor    ;
+		private final int                      workerCount    ;
+		private final int                      taskGranularity;
+
+		// created lazily on demand, so an unused or shut down pool does not occupy any threads.
+		private ForkJoinPool pool;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final int                      channelIndex   ,
+			final StorageEntityMarkMonitor markMonitor    ,
+			final int                      workerCount    ,
+			final int                      taskGranularity
+		)
+		{
+			super();
+			this.channelIndex    = channelIndex   ;
+			this.markMonitor     = markMonitor    ;
+			this.workerCount     = workerCount    ;
+			this.taskGranularity = taskGranularity;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		private synchronized ForkJoinPool pool()
+		{
+			if(this.pool == null)
+			{
+				this.pool = new ForkJoinPool(
+					this.workerCount,
+					p -> new Worker(p, this.markMonitor.createReferenceMarker(), this.channelIndex),
+					null,
+					false
+				);
+			}
+			return this.pool;
+		}
+
+		@Override
+		public final void markReferences(
+			final StorageEntity.Default[] entities             ,
+			final int                     size                 ,
+			final StorageReferenceMarker  callerReferenceMarker
+		)
+		{
+			if(size == 0)
+			{
+				return;
+			}
+
+			this.pool().invoke(new MarkingTask(entities, 0, size, this.taskGranularity, callerReferenceMarker));
+		}
+
+		@Override
+		public final synchronized void shutdown()
+		{
+			if(this.pool == null)
+			{
+				return;
+			}
+
+			this.pool.shutdownNow();
+			this.pool = null;
+		}
+
+
+
+		static final class Worker extends ForkJoinWorkerThread
+		{
+			final StorageReferenceMarker referenceMarker;
+
+			Worker(
+				final ForkJoinPool           pool           ,
+				final StorageReferenceMarker referenceMarker,
+				final int                    channelIndex
+			)
+			{
+				super(pool);
+				this.referenceMarker = referenceMarker;
+				this.setName(StorageMarkingWorkerPool.class.getSimpleName() + "-" + channelIndex + "-" + this.getPoolIndex());
+				this.setDaemon(true);
+			}
+
+		}
+
+		static final class MarkingTask extends RecursiveAction
+		{
+			private final StorageEntity.Default[] entities             ;
+			private final int                     lowIndex             ;
+			private final int                     boundIndex           ;
+			private final int                     taskGranularity      ;
+			private final StorageReferenceMarker  callerReferenceMarker;
+
+			MarkingTask(
+				final StorageEntity.Default[] entities             ,
+				final int                     lowIndex             ,
+				final int                     boundIndex           ,
+				final int                     taskGranularity      ,
+				final StorageReferenceMarker  callerReferenceMarker
+			)
+			{
+				super();
+				this.entities              = entities             ;
+				this.lowIndex              = lowIndex             ;
+				this.boundIndex            = boundIndex           ;
+				this.taskGranularity       = taskGranularity      ;
+				this.callerReferenceMarker = callerReferenceMarker;
+			}
+
+			@Override
+			protected final void compute()
+			{
+				if(this.boundIndex - this.lowIndex > this.taskGranularity)
+				{
+					final int middleIndex = this.lowIndex + this.boundIndex >>> 1;
+					invokeAll(
+						new MarkingTask(this.entities, this.lowIndex, middleIndex, this.taskGranularity, this.callerReferenceMarker),
+						new MarkingTask(this.entities, middleIndex, this.boundIndex, this.taskGranularity, this.callerReferenceMarker)
+					);
+					return;
+				}
+
+				final Thread currentThread = Thread.currentThread();
+
+				// the calling channel thread may help executing tasks, so it must use its own marker.
+				final StorageReferenceMarker referenceMarker = currentThread instanceof Worker
+					? ((Worker)currentThread).referenceMarker
+					: this.callerReferenceMarker
+				;
+
+				final StorageEntity.Default[] entities = this.entities;
+				for(int i = this.lowIndex; i < this.boundIndex; i++)
+				{
+					entities[i].iterateCachedReferenceIds(referenceMarker);
+					entities[i].markBlack();
+				}
+
+				// it is crucial to enqueue all found references before the owning channel advances its mark queue.
+				referenceMarker.tryFlush();
+			}
+
+		}
+
+	}
+
+}
@@ -22,6 +22,7 @@ package one.microstream.storage.types;
 
 import static one.microstream.X.notNull;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 
 import one.microstream.afs.types.AFile;
@@ -37,6 +38,16 @@ public interface StorageRequestAcceptor
 
 	public void storeData(Binary data) throws StorageExceptionRequest, InterruptedException;
 
+	/**
+	 * Enqueues the passed data to be stored like {@link #storeData(Binary)}, but returns right after enqueuing
+	 * instead of waiting for all channels to have written and committed the data.
+	 * The order of store requests is the order of enqueuing, just like for synchronous requests.
+	 * 
+	 * @param data the data to be stored.
+	 * @return a future that completes when the data has been committed by all channels.
+	 */
+	public CompletableFuture<Void> storeDataAsync(Binary data) throws StorageExceptionRequest, InterruptedException;
+
 	// querying //
 
 	public Binary queryByObjectIds(PersistenceIdSet[] loadOids) throws StorageExceptionRequest, InterruptedException;
@@ -154,7 +165,7 @@ public interface StorageRequestAcceptor
 		}
 
 
-		private static <T extends StorageRequestTask> T waitOnTask(final T task) throws InterruptedException
+		private static <T extends StorageTaskCompletion> T waitOnTask(final T task) throws InterruptedException
 		{
 			task.waitOnCompletion();
 			return task;
@@ -177,6 +188,17 @@ public interface StorageRequestAcceptor
 			waitOnTask(this.taskBroker.enqueueStoreTask(data));
 		}
 
+		@Override
+		public final CompletableFuture<Void> storeDataAsync(final Binary data) throws InterruptedException
+		{
+			// note: enabled accepting tasks has to be checked prior to calling this method (external concern)
+
+			// prevalidate on the caller site before creating and enqueing a task (may be no-op)
+			this.prevalidatorDataChunk.validateDataChunk(data);
+
+			return this.taskBroker.enqueueStoreTask(data).completion();
+		}
+
 		@Override
 		public final Binary queryByObjectIds(final PersistenceIdSet[] loadOids) throws InterruptedException
 		{
@@ -41,6 +41,11 @@ public interface StorageRequestTaskCreator
 		StorageOperationController controller
 	);
 
+	public StorageRequestTaskStoreEntities createSaveGroupTask(
+		Binary[]                   data      ,
+		StorageOperationController controller
+	);
+
 	public StorageRequestTaskLoadByOids createLoadTaskByOids(
 		PersistenceIdSet[]         loadOids  ,
 		StorageOperationController controller
@@ -177,6 +182,19 @@ public interface StorageRequestTaskCreator
 			);
 		}
 
+		@Override
+		public StorageRequestTaskStoreEntities createSaveGroupTask(
+			final Binary[]                   data      ,
+			final StorageOperationController controller
+		)
+		{
+			return new StorageRequestTaskStoreEntities.Group(
+				this.timestampProvider.currentNanoTimestamp(),
+				data,
+				controller
+			);
+		}
+
 		@Override
 		public StorageRequestTaskLoadByOids createLoadTaskByOids(
 			final PersistenceIdSet[]   loadOids  ,
@@ -43,31 +43,30 @@ public interface StorageRequestTaskStoreEntities extends StorageRequestTask
 	 * "never touch a running system" proverb applies.
 	 */
 	
-	public final class Default
+	public abstract class Abstract
 	extends StorageChannelSynchronizingTask.AbstractCompletingTask<KeyValue<ByteBuffer[], long[]>>
 	implements StorageRequestTaskStoreEntities, StorageChannelTaskStoreEntities
 	{
-		///////////////////////////////////////////////////////////////////////////
-		// instance fields //
-		////////////////////
-
-		private final Binary data;
-
-
-
 		///////////////////////////////////////////////////////////////////////////
 		// constructors //
 		/////////////////
 
-		Default(final long timestamp, final Binary data, final StorageOperationController controller)
+		Abstract(final long timestamp, final int channelCount, final StorageOperationController controller)
 		{
 			// every channel has to store at least a chunk header, so progress count is always equal to channel count
-			super(timestamp, data.channelCount(), controller);
-			this.data = data;
+			super(timestamp, channelCount, controller);
 		}
 
 
 
+		///////////////////////////////////////////////////////////////////////////
+		// declared methods //
+		/////////////////////
+
+		protected abstract ByteBuffer[] channelBuffers(int channelIndex);
+
+
+
 		///////////////////////////////////////////////////////////////////////////
 		// methods //
 		////////////
@@ -76,7 +75,7 @@ public interface StorageRequestTaskStoreEntities extends StorageRequestTask
 		protected final KeyValue<ByteBuffer[], long[]> internalProcessBy(final StorageChannel channel)
 		{
 //			this.DEBUG_Print(channel);
-			return channel.storeEntities(this.timestamp(), this.data.channelChunk(channel.channelIndex()));
+			return channel.storeEntities(this.timestamp(), this.channelBuffers(channel.channelIndex()));
 		}
 		
 		public final void DEBUG_Print(final StorageChannel channel)
@@ -157,5 +156,95 @@ public interface StorageRequestTaskStoreEntities extends StorageRequestTask
 		}
 
 	}
+	
+	public final class Default extends StorageRequestTaskStoreEntities.Abstract
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final Binary data;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final long timestamp, final Binary data, final StorageOperationController controller)
+		{
+			super(timestamp, data.channelCount(), controller);
+			this.data = data;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		protected final ByteBuffer[] channelBuffers(final int channelIndex)
+		{
+			return this.data.channelChunk(channelIndex).buffers();
+		}
+
+	}
+	
+	/**
+	 * Store task combining the data of several concurrently issued store requests (group commit).
+	 * Every channel writes the data of all requests with a single write and a single transactions entry.
+	 * Consequently, the requests either all succeed or all fail together.
+	 */
+	public final class Group extends StorageRequestTaskStoreEntities.Abstract
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final Binary[] data;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Group(final long timestamp, final Binary[] data, final StorageOperationController controller)
+		{
+			super(timestamp, data[0].channelCount(), controller);
+			this.data = data;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		protected final ByteBuffer[] channelBuffers(final int channelIndex)
+		{
+			int bufferCount = 0;
+			for(final Binary data : this.data)
+			{
+				bufferCount += data.channelChunk(channelIndex).buffers().length;
+			}
+			
+			final ByteBuffer[] buffers = new ByteBuffer[bufferCount];
+			
+			int i = 0;
+			for(final Binary data : this.data)
+			{
+				for(final ByteBuffer buffer : data.channelChunk(channelIndex).buffers())
+				{
+					buffers[i++] = buffer;
+				}
+			}
+			
+			return buffers;
+		}
+
+	}
 
 }
@@ -107,6 +107,10 @@ public interface StorageSystem extends StorageController
 		private final StorageRootOidSelector.Provider      rootOidSelectorProvider       ;
 		private final StorageObjectIdMarkQueue.Creator     oidMarkQueueCreator           ;
 		private final StorageEntityMarkMonitor.Creator     entityMarkMonitorCreator      ;
+		private final StorageEntityIndex.Creator           entityIndexCreator            ;
+		private final StorageMarkingWorkerPool.Creator     markingWorkerPoolCreator      ;
+		private final StorageEntityInitializer.Creator     entityInitializerCreator      ;
+		private final StorageIndexSnapshot.Creator         indexSnapshotCreator          ;
 		private final StorageDataFileValidator.Creator     backupDataFileValidatorCreator;
 		private final StorageBackupSetup                   backupSetup                   ;
 		private final StorageLockFileSetup                 lockFileSetup                 ;
@@ -161,6 +165,10 @@ public interface StorageSystem extends StorageController
 			final StorageRootOidSelector.Provider      rootOidSelectorProvider       ,
 			final StorageObjectIdMarkQueue.Creator     oidMarkQueueCreator           ,
 			final StorageEntityMarkMonitor.Creator     entityMarkMonitorCreator      ,
+			final StorageEntityIndex.Creator           entityIndexCreator            ,
+			final StorageMarkingWorkerPool.Creator     markingWorkerPoolCreator      ,
+			final StorageEntityInitializer.Creator     entityInitializerCreator      ,
+			final StorageIndexSnapshot.Creator         indexSnapshotCreator          ,
 			final boolean                              switchByteOrder               ,
 			final StorageLockFileSetup                 lockFileSetup                 ,
 			final StorageLockFileManager.Creator       lockFileManagerCreator        ,
@@ -202,6 +210,10 @@ public interface StorageSystem extends StorageController
 			this.rootOidSelectorProvider        = notNull(rootOidSelectorProvider)             ;
 			this.oidMarkQueueCreator            = notNull(oidMarkQueueCreator)                 ;
 			this.entityMarkMonitorCreator       = notNull(entityMarkMonitorCreator)            ;
+			this.entityIndexCreator             = notNull(entityIndexCreator)                  ;
+			this.markingWorkerPoolCreator       = notNull(markingWorkerPoolCreator)            ;
+			this.entityInitializerCreator       = notNull(entityInitializerCreator)            ;
+			this.indexSnapshotCreator           = notNull(indexSnapshotCreator)                ;
 			this.exceptionHandler               = notNull(exceptionHandler)                    ;
 			this.lockFileSetup                  = mayNull(lockFileSetup)                       ;
 			this.lockFileManagerCreator         = notNull(lockFileManagerCreator)              ;
@@ -459,6 +471,10 @@ public interface StorageSystem extends StorageController
 				this.rootOidSelectorProvider               ,
 				this.oidMarkQueueCreator                   ,
 				this.entityMarkMonitorCreator              ,
+				this.entityIndexCreator                    ,
+				this.markingWorkerPoolCreator              ,
+				this.entityInitializerCreator              ,
+				this.indexSnapshotCreator                  ,
 				this.provideBackupHandler()                ,
 				this.eventLogger                           ,
 				this.switchByteOrder                       ,
@@ -20,9 +20,11 @@ package one.microstream.storage.types;
  * #L%
  */
 
+import java.util.concurrent.CompletableFuture;
+
 import one.microstream.storage.exceptions.StorageException;
 
-public interface StorageTask
+public interface StorageTask extends StorageTaskCompletion
 {
 	public void setNext(StorageTask saveChunkEntry);
 
@@ -32,16 +34,6 @@ public interface StorageTask
 
 	public void processBy(StorageChannel storageChannel) throws InterruptedException;
 
-	public boolean isComplete();
-
-	public void waitOnCompletion() throws InterruptedException;
-
-	public boolean hasProblems();
-
-	public Throwable[] problems();
-
-	public Throwable problemForChannel(StorageChannel channel);
-
 	public long timestamp();
 
 
@@ -154,6 +146,12 @@ public interface StorageTask
 			// no-op, i.e. instantly complete
 		}
 
+		@Override
+		public final CompletableFuture<Void> completion()
+		{
+			return CompletableFuture.completedFuture(null);
+		}
+
 		@Override
 		public void processBy(final StorageChannel storageChannel) throws InterruptedException
 		{
@@ -21,10 +21,15 @@ package one.microstream.storage.types;
  */
 
 import static one.microstream.X.notNull;
+import static one.microstream.math.XMath.notNegative;
+import static one.microstream.math.XMath.positive;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 import one.microstream.afs.types.AFile;
+import one.microstream.collections.BulkList;
 import one.microstream.collections.types.XGettingEnum;
 import one.microstream.persistence.binary.types.Binary;
 import one.microstream.persistence.types.PersistenceIdSet;
@@ -45,7 +50,7 @@ public interface StorageTaskBroker
 	public StorageRequestTaskLoadByOids enqueueLoadTaskByOids(PersistenceIdSet[] loadOids)
 		throws InterruptedException;
 	
-	public StorageRequestTaskStoreEntities enqueueStoreTask(Binary data)
+	public StorageTaskCompletion enqueueStoreTask(Binary data)
 		throws InterruptedException;
 
 	public default StorageRequestTaskExportEntitiesByType enqueueExportTypesTask(
@@ -97,6 +102,41 @@ public interface StorageTaskBroker
 		throws InterruptedException;
 
 	public StorageOperationController operationController();
+	
+	
+	
+	public static StorageTaskBroker.Creator Creator()
+	{
+		return new StorageTaskBroker.Creator.Default();
+	}
+	
+	/**
+	 * Creates a {@link StorageTaskBroker.Creator} instance creating task brokers that combine store requests
+	 * arriving within the passed time window into a single store task (group commit). Each channel then writes
+	 * the data of all combined requests with a single write and a single transactions file entry.
+	 * <p>
+	 * A group is enqueued as soon as its time window has elapsed or the combined data reaches the passed
+	 * byte threshold, whatever comes first. Every issuing thread still waits for the completion of its own request
+	 * and gets its own success or failure outcome. Since a group is written as a whole, a failing write causes
+	 * the storing of all requests of the group to fail.
+	 * 
+	 * @param windowNanos the time window in nanoseconds a group is kept open for further store requests.
+	 * @param byteThreshold the combined data length in bytes at which a group is enqueued immediately.
+	 * 
+	 * @return a new {@link StorageTaskBroker.Creator} instance.
+	 */
+	public static StorageTaskBroker.Creator CreatorGroupCommitting(
+		final long windowNanos  ,
+		final long byteThreshold
+	)
+	{
+		return new StorageTaskBroker.Creator.Default(
+			positive(windowNanos)  ,
+			positive(byteThreshold)
+		);
+	}
+	
+	
 
 	public final class Default implements StorageTaskBroker
 	{
@@ -110,8 +150,14 @@ public interface StorageTaskBroker
 		private final StorageObjectIdRangeEvaluator objectIdRangeEvaluator;
 		private final StorageRequestTaskCreator     taskCreator           ;
 		private final int                           channelCount          ;
+		private final long                          groupWindowNanos      ; // 0 means no group commit
+		private final long                          groupByteThreshold    ;
 
 		private volatile StorageTask currentHead;
+		
+		// separate lock to let store requests join a group without blocking on the task chain lock.
+		private final Object     groupLock = new Object();
+		private       StoreGroup pendingGroup;
 
 
 
@@ -124,7 +170,9 @@ public interface StorageTaskBroker
 			final StorageOperationController    operationController   ,
 			final StorageDataFileEvaluator      fileEvaluator         ,
 			final StorageObjectIdRangeEvaluator objectIdRangeEvaluator,
-			final int                           channelCount
+			final int                           channelCount          ,
+			final long                          groupWindowNanos      ,
+			final long                          groupByteThreshold
 		)
 		{
 			super();
@@ -133,6 +181,8 @@ public interface StorageTaskBroker
 			this.fileEvaluator          = notNull(fileEvaluator);
 			this.objectIdRangeEvaluator = notNull(objectIdRangeEvaluator);
 			this.channelCount           =         channelCount;
+			this.groupWindowNanos       =         groupWindowNanos;
+			this.groupByteThreshold     =         groupByteThreshold;
 			this.currentHead            = new StorageTask.DummyTask();
 		}
 
@@ -387,11 +437,22 @@ public interface StorageTaskBroker
 		}
 
 		@Override
-		public final synchronized StorageRequestTaskStoreEntities enqueueStoreTask(final Binary data)
+		public final StorageTaskCompletion enqueueStoreTask(final Binary data)
 			throws InterruptedException
 		{
 			this.validateChannelCount(data.channelCount());
 			
+			if(this.groupWindowNanos == 0)
+			{
+				return this.enqueueSingleStoreTask(data);
+			}
+			
+			return this.joinStoreGroup(data);
+		}
+		
+		private synchronized StorageRequestTaskStoreEntities enqueueSingleStoreTask(final Binary data)
+			throws InterruptedException
+		{
 			// task creation must be called AFTER acquiring the lock to ensure temporal consistency in the task chain
 			final StorageRequestTaskStoreEntities task = this.taskCreator.createSaveTask(data, this.operationController);
 			
@@ -400,6 +461,63 @@ public interface StorageTaskBroker
 			this.enqueueTaskAndNotifyAll(task);
 			return task;
 		}
+		
+		private synchronized StorageRequestTaskStoreEntities enqueueGroupStoreTask(final Binary[] data)
+			throws InterruptedException
+		{
+			// task creation must be called AFTER acquiring the lock to ensure temporal consistency in the task chain
+			final StorageRequestTaskStoreEntities task = data.length == 1
+				? this.taskCreator.createSaveTask(data[0], this.operationController)
+				: this.taskCreator.createSaveGroupTask(data, this.operationController)
+			;
+			
+			this.enqueueTaskAndNotifyAll(task);
+			return task;
+		}
+		
+		private StoreGroupMember joinStoreGroup(final Binary data)
+		{
+			synchronized(this.groupLock)
+			{
+				if(this.pendingGroup == null)
+				{
+					this.pendingGroup = new StoreGroup(System.nanoTime() + this.groupWindowNanos);
+				}
+				
+				final StoreGroup group = this.pendingGroup;
+				group.add(data);
+				if(group.byteCount >= this.groupByteThreshold)
+				{
+					this.flushStoreGroup(group);
+				}
+				
+				return new StoreGroupMember(this, group);
+			}
+		}
+		
+		final void flushStoreGroup(final StoreGroup group)
+		{
+			synchronized(this.groupLock)
+			{
+				// the group might already have been flushed by another member or by reaching the byte threshold
+				if(this.pendingGroup != group)
+				{
+					return;
+				}
+				this.pendingGroup = null;
+				
+				// lock order is always group lock, then task chain lock. Hence no deadlocks.
+				try
+				{
+					group.complete(this.enqueueGroupStoreTask(group.data.toArray(Binary.class)), null);
+				}
+				catch(final Throwable t)
+				{
+					// reported to every member of the group, including the flushing thread.
+					group.complete(null, t);
+				}
+			}
+		}
 
 		@Override
 		public final synchronized StorageRequestTaskLoadByOids enqueueLoadTaskByOids(
@@ -483,6 +601,229 @@ public interface StorageTaskBroker
 		{
 			return this.operationController;
 		}
+		
+		
+		
+		static final class StoreGroup
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			final BulkList<Binary> data = BulkList.New();
+			final long             deadline ;
+			      long             byteCount;
+			
+			// set exactly once when the group gets flushed.
+			private StorageRequestTaskStoreEntities task   ;
+			private Throwable                       problem;
+			
+			// one timer flush per group is enough, no matter how many asynchronous members it has.
+			private boolean isFlushScheduled;
+			
+			// for asynchronous members that cannot wait on the group.
+			final CompletableFuture<StorageRequestTaskStoreEntities> flushed = new CompletableFuture<>();
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+			
+			StoreGroup(final long deadline)
+			{
+				super();
+				this.deadline = deadline;
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
+			final void add(final Binary data)
+			{
+				this.data.add(data);
+				this.byteCount += data.totalLength();
+			}
+			
+			final synchronized void complete(final StorageRequestTaskStoreEntities task, final Throwable problem)
+			{
+				this.task    = task   ;
+				this.problem = problem;
+				this.notifyAll();
+				
+				if(task != null)
+				{
+					this.flushed.complete(task);
+				}
+				else
+				{
+					this.flushed.completeExceptionally(problem);
+				}
+			}
+			
+			/**
+			 * Marks the group's timer flush as scheduled.
+			 * 
+			 * @return whether the timer flush has to be scheduled by the caller.
+			 */
+			final synchronized boolean scheduleFlush()
+			{
+				if(this.isFlushScheduled || this.task != null || this.problem != null)
+				{
+					return false;
+				}
+				
+				return this.isFlushScheduled = true;
+			}
+			
+			final synchronized StorageRequestTaskStoreEntities task()
+			{
+				return this.task;
+			}
+			
+			final synchronized Throwable problem()
+			{
+				return this.problem;
+			}
+			
+			/**
+			 * Waits until the group got flushed or its time window has elapsed.
+			 * 
+			 * @return the enqueued group task or {@literal null} if the group is still to be flushed.
+			 */
+			final synchronized StorageRequestTaskStoreEntities awaitTask() throws InterruptedException
+			{
+				long remainingNanos;
+				while(this.task == null && this.problem == null
+					&& (remainingNanos = this.deadline - System.nanoTime()) > 0
+				)
+				{
+					this.wait(remainingNanos / 1_000_000, (int)(remainingNanos % 1_000_000));
+				}
+				
+				if(this.problem != null)
+				{
+					if(this.problem instanceof RuntimeException)
+					{
+						throw (RuntimeException)this.problem;
+					}
+					throw new StorageException("Enqueuing the store group failed.", this.problem);
+				}
+				
+				return this.task;
+			}
+			
+		}
+		
+		/**
+		 * The handle a store request gets while being part of a {@link StoreGroup}. Only used to wait on the
+		 * completion of the group task, it is not a task itself and never gets enqueued.
+		 */
+		static final class StoreGroupMember implements StorageTaskCompletion
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			private final StorageTaskBroker.Default broker;
+			private final StoreGroup                group ;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+			
+			StoreGroupMember(final StorageTaskBroker.Default broker, final StoreGroup group)
+			{
+				super();
+				this.broker = broker;
+				this.group  = group ;
+			}
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
+			@Override
+			public final void waitOnCompletion() throws InterruptedException
+			{
+				StorageRequestTaskStoreEntities task;
+				while((task = this.group.awaitTask()) == null)
+				{
+					// time window elapsed, so the first waiting member enqueues the group.
+					this.broker.flushStoreGroup(this.group);
+				}
+				
+				task.waitOnCompletion();
+			}
+			
+			@Override
+			public final CompletableFuture<Void> completion()
+			{
+				// without a waiting member, the group has to be flushed by a timer when its time window has elapsed.
+				if(this.group.scheduleFlush())
+				{
+					final long remainingNanos = Math.max(this.group.deadline - System.nanoTime(), 0);
+					CompletableFuture.delayedExecutor(remainingNanos, TimeUnit.NANOSECONDS).execute(() ->
+						this.broker.flushStoreGroup(this.group)
+					);
+				}
+				
+				return this.group.flushed.thenCompose(StorageTask::completion);
+			}
+			
+			@Override
+			public final boolean isComplete()
+			{
+				final StorageRequestTaskStoreEntities task = this.group.task();
+				
+				return this.group.problem() != null || task != null && task.isComplete();
+			}
+			
+			@Override
+			public final boolean hasProblems()
+			{
+				final StorageRequestTaskStoreEntities task = this.group.task();
+				
+				return this.group.problem() != null || task != null && task.hasProblems();
+			}
+			
+			@Override
+			public final Throwable[] problems()
+			{
+				final StorageRequestTaskStoreEntities task = this.group.task();
+				
+				if(task != null)
+				{
+					return task.problems();
+				}
+				
+				final Throwable problem = this.group.problem();
+				
+				return problem != null
+					? new Throwable[]{problem}
+					: new Throwable[0]
+				;
+			}
+			
+			@Override
+			public final Throwable problemForChannel(final StorageChannel channel)
+			{
+				final StorageRequestTaskStoreEntities task = this.group.task();
+				
+				return task != null
+					? task.problemForChannel(channel)
+					: this.group.problem()
+				;
+			}
+
+		}
 
 	}
 
@@ -497,11 +838,38 @@ public interface StorageTaskBroker
 
 		public final class Default implements Creator
 		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+			
+			private final long groupWindowNanos  ;
+			private final long groupByteThreshold;
+			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+			
 			public Default()
+			{
+				// no group commit
+				this(0, Long.MAX_VALUE);
+			}
+			
+			public Default(final long groupWindowNanos, final long groupByteThreshold)
 			{
 				super();
+				this.groupWindowNanos   = notNegative(groupWindowNanos);
+				this.groupByteThreshold = notNegative(groupByteThreshold);
 			}
 			
+			
+			
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+			
 			@Override
 			public StorageTaskBroker createTaskBroker(
 				final StorageSystem             storageSystem,
@@ -513,7 +881,9 @@ public interface StorageTaskBroker
 					storageSystem.operationController(),
 					storageSystem.configuration().dataFileEvaluator(),
 					storageSystem.objectIdRangeEvaluator(),
-					storageSystem.channelCountProvider().getChannelCount()
+					storageSystem.channelCountProvider().getChannelCount(),
+					this.groupWindowNanos,
+					this.groupByteThreshold
 				);
 			}
 
@@ -0,0 +1,51 @@
+package one.microstream.storage.types;
+
+/*-
+ * #%L
+ * microstream-storage
+ * %%
+ * Copyright (C) 2019 - 2022 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ * 
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 2
+ * with the GNU Classpath Exception which is
+ * available at https://www.gnu.org/software/classpath/license.html.
+ * 
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ * #L%
+ */
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The part of a {@link StorageTask} that is relevant for the issuer of a request: waiting on its completion
+ * and querying its problems. Processing the task is none of the issuer's business.
+ */
+public interface StorageTaskCompletion
+{
+	public boolean isComplete();
+
+	public void waitOnCompletion() throws InterruptedException;
+
+	/**
+	 * Returns a future that completes at the same moment {@link #waitOnCompletion()} would return, or completes
+	 * exceptionally with the exception {@link #waitOnCompletion()} would throw.
+	 * <p>
+	 * Dependent actions are never executed by a channel thread, so they may safely issue further requests.
+	 * 
+	 * @return a future representing the task's completion.
+	 */
+	public CompletableFuture<Void> completion();
+
+	public boolean hasProblems();
+
+	public Throwable[] problems();
+
+	public Throwable problemForChannel(StorageChannel channel);
+
+}
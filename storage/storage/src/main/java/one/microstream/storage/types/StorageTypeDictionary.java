@@ -22,7 +22,7 @@ package one.microstream.storage.types;
 
 import java.util.function.Consumer;
 
-import one.microstream.collections.HashMapIdObject;
+import one.microstream.collections.OpenHashMapIdObject;
 import one.microstream.collections.types.XGettingTable;
 import one.microstream.persistence.exceptions.PersistenceExceptionTypeHandlerConsistencyUnhandledTypeId;
 import one.microstream.persistence.types.PersistenceTypeDefinition;
@@ -74,9 +74,9 @@ public interface StorageTypeDictionary extends PersistenceTypeDictionary, Persis
 		// instance fields //
 		////////////////////
 
-		private final HashMapIdObject<StorageEntityTypeHandler> registry        = HashMapIdObject.New();
-		private final boolean                                   switchByteOrder;
-		private       PersistenceTypeDictionary                 dictionary     ;
+		private final OpenHashMapIdObject<StorageEntityTypeHandler> registry        = OpenHashMapIdObject.New();
+		private final boolean                                       switchByteOrder;
+		private       PersistenceTypeDictionary                     dictionary     ;
 
 		
 		